@@ -0,0 +1,194 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A writer writing content to a temporary file next to a target file, while
+ * calculating the hash of the content. When the writer is committed, the
+ * temporary file is discarded if the target file already has the same content,
+ * and atomically moved into place otherwise. Readers of the target file thus
+ * never see a half-written file, and the target file isn't touched at all if
+ * its content didn't change. The file moved into place keeps the permissions of
+ * the target file it replaces, or gets the default permissions for new files if
+ * there was no target file yet.
+ */
+final class AtomicFileWriter extends Writer {
+    /**
+     * The suffix for temporary files.
+     */
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    /**
+     * The path to the target file.
+     */
+    private final Path target;
+    /**
+     * The path to the temporary file.
+     */
+    private final Path temporaryFile;
+    /**
+     * The message digest calculating the hash of the content.
+     */
+    private final MessageDigest digest;
+    /**
+     * The output stream to the temporary file.
+     */
+    private final OutputStream stream;
+    /**
+     * The writer to the temporary file.
+     */
+    private final Writer writer;
+    /**
+     * Whether the writer has been closed already.
+     */
+    private boolean closed;
+
+    /**
+     * Constructor taking the path to the target file as its parameter. The
+     * temporary file is created in the same directory as the target file, such
+     * that it can be moved atomically.
+     *
+     * @param target The path to the target file.
+     * @throws IOException Thrown if the temporary file can't be created.
+     */
+    AtomicFileWriter(final Path target) throws IOException {
+        this.target = target.toAbsolutePath();
+        try {
+            digest = MessageDigest.getInstance(FileSystemServices.HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        temporaryFile = createTemporaryFile(this.target);
+        stream = new BufferedOutputStream(new DigestOutputStream(Files.newOutputStream(temporaryFile), digest));
+        writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a temporary file next to a target file, with a random name. The file
+     * is created with the default permissions for new files, and not with the
+     * owner-only permissions of <code>Files.createTempFile</code>, such that a new
+     * target file can be read by the same users as any other file in the
+     * directory.
+     *
+     * @param target The path to the target file.
+     * @return The path to the temporary file.
+     * @throws IOException Thrown if the temporary file can't be created.
+     */
+    private static Path createTemporaryFile(final Path target) throws IOException {
+        while (true) {
+            Path candidate = target.resolveSibling("." + target.getFileName()
+                    + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + TEMPORARY_FILE_SUFFIX);
+            try {
+                return Files.createFile(candidate);
+            } catch (FileAlreadyExistsException e) {
+                // Try again with another random name.
+            }
+        }
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        writer.write(cbuf, off, len);
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        writer.write(str, off, len);
+    }
+
+    /**
+     * Returns an output stream to the temporary file, for binary content. The
+     * characters written so far are flushed first, such that they precede the
+     * bytes written to the output stream.
+     *
+     * @return An output stream to the temporary file.
+     * @throws IOException Thrown if the characters written so far can't be
+     *                     flushed.
+     */
+    OutputStream getOutputStream() throws IOException {
+        writer.flush();
+        return stream;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            writer.close();
+        }
+    }
+
+    /**
+     * Closes the writer and moves the temporary file into place if the content
+     * differs from the content of the target file. Returns the number of bytes
+     * written to the target file, which is zero if the target file already had
+     * the same content.
+     *
+     * @return The number of bytes written to the target file.
+     * @throws IOException Thrown if the temporary file can't be moved into place.
+     */
+    long commit() throws IOException {
+        close();
+        long size = Files.size(temporaryFile);
+        String hash = FileSystemServices.formatHexadecimal(digest.digest());
+        if (Files.exists(target) && Files.size(target) == size
+                && hash.equals(FileSystemServices.calculateHash(target.toString()))) {
+            Files.delete(temporaryFile);
+            return 0L;
+        }
+        copyPermissionsOfTarget();
+        try {
+            Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return size;
+    }
+
+    /**
+     * Copies the POSIX permissions of the target file to the temporary file, if
+     * the target file exists and the file system supports POSIX permissions.
+     *
+     * @throws IOException Thrown if the permissions can't be read or set.
+     */
+    private void copyPermissionsOfTarget() throws IOException {
+        if (Files.exists(target)
+                && Files.getFileStore(target).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            Files.setPosixFilePermissions(temporaryFile, Files.getPosixFilePermissions(target));
+        }
+    }
+
+    /**
+     * Closes the writer and deletes the temporary file if it hasn't been moved
+     * into place.
+     */
+    void discard() {
+        try {
+            close();
+            Files.deleteIfExists(temporaryFile);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
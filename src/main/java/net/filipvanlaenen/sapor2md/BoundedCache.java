@@ -0,0 +1,120 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A cache holding values up to a maximum total weight. When adding a value
+ * makes the total weight exceed the capacity, the least recently used values
+ * are evicted until it fits again. Values that are evicted are loaded again on
+ * demand. The cache can be shared between threads.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+final class BoundedCache<K, V> {
+    /**
+     * The initial capacity of the map holding the values.
+     */
+    private static final int INITIAL_MAP_CAPACITY = 16;
+    /**
+     * The load factor of the map holding the values.
+     */
+    private static final float MAP_LOAD_FACTOR = 0.75F;
+    /**
+     * The map holding the values, in access order.
+     */
+    private final LinkedHashMap<K, V> map = new LinkedHashMap<K, V>(INITIAL_MAP_CAPACITY, MAP_LOAD_FACTOR, true);
+    /**
+     * The maximum total weight of the values held by the cache.
+     */
+    private final long capacity;
+    /**
+     * The function calculating the weight of a value.
+     */
+    private final ToLongFunction<V> weigher;
+    /**
+     * The total weight of the values held by the cache.
+     */
+    private long totalWeight;
+
+    /**
+     * Constructor taking the capacity and the function calculating the weight of a
+     * value as its parameters.
+     *
+     * @param capacity The maximum total weight of the values held by the cache.
+     * @param weigher  The function calculating the weight of a value.
+     */
+    BoundedCache(final long capacity, final ToLongFunction<V> weigher) {
+        this.capacity = capacity;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Returns the value for a key, loading it if it isn't in the cache. Loading
+     * happens outside of the lock, such that threads loading different values
+     * don't wait for each other.
+     *
+     * @param key    The key.
+     * @param loader The function loading the value for a key.
+     * @return The value for the key.
+     */
+    V get(final K key, final Function<K, V> loader) {
+        synchronized (this) {
+            V value = map.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        V value = loader.apply(key);
+        synchronized (this) {
+            V cachedValue = map.get(key);
+            if (cachedValue != null) {
+                return cachedValue;
+            }
+            map.put(key, value);
+            totalWeight += weigher.applyAsLong(value);
+            evict(key);
+        }
+        return value;
+    }
+
+    /**
+     * Evicts the least recently used values until the total weight doesn't exceed
+     * the capacity anymore, but never the value that was just added.
+     *
+     * @param latestKey The key of the value that was just added.
+     */
+    private void evict(final K latestKey) {
+        Iterator<Map.Entry<K, V>> iterator = map.entrySet().iterator();
+        while (totalWeight > capacity && iterator.hasNext()) {
+            Map.Entry<K, V> eldest = iterator.next();
+            if (!eldest.getKey().equals(latestKey)) {
+                totalWeight -= weigher.applyAsLong(eldest.getValue());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns whether the cache holds a value for a key.
+     *
+     * @param key The key.
+     * @return True if the cache holds a value for the key, false otherwise.
+     */
+    synchronized boolean contains(final K key) {
+        return map.containsKey(key);
+    }
+
+    /**
+     * Returns the total weight of the values held by the cache.
+     *
+     * @return The total weight of the values held by the cache.
+     */
+    synchronized long getTotalWeight() {
+        return totalWeight;
+    }
+}
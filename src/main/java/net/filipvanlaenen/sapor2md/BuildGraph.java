@@ -0,0 +1,235 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Class recording which input files each generated output in a Sapor directory
+ * was produced from, together with the fingerprints the input files had at the
+ * time. An output only needs to be regenerated if it doesn't exist, if its set
+ * of input files changed, or if one of its input files changed.
+ */
+public final class BuildGraph {
+    /**
+     * The name of the file in which the build graph is stored in a Sapor
+     * directory.
+     */
+    static final String BUILD_GRAPH_FILE_NAME = ".sapor2md-build-graph";
+    /**
+     * The number of columns on a line of the build graph file.
+     */
+    private static final int NUMBER_OF_COLUMNS = 5;
+    /**
+     * The index of the column with the last modified time of an input file.
+     */
+    private static final int LAST_MODIFIED_COLUMN = 3;
+    /**
+     * The index of the column with the hash of an input file.
+     */
+    private static final int HASH_COLUMN = 4;
+
+    /**
+     * A map holding the fingerprints of the input files per output.
+     */
+    private final Map<String, Map<String, FileFingerprint>> dependencies = new TreeMap<>();
+
+    /**
+     * Reads the build graph of a Sapor directory from the file system, or returns
+     * an empty build graph if none has been stored yet.
+     *
+     * @param directory The path to the Sapor directory.
+     * @return The build graph for the Sapor directory.
+     */
+    static BuildGraph readFromFileSystem(final String directory) {
+        String filePath = createFilePath(directory);
+        if (FileSystemServices.fileExists(filePath)) {
+            return parseFromString(FileSystemServices.readFileIntoString(filePath));
+        } else {
+            return new BuildGraph();
+        }
+    }
+
+    /**
+     * Parses a string into a build graph. Each line of the string contains the
+     * name of an output, the name of an input file, and its size, last modified
+     * time and hash, separated by pipe symbols.
+     *
+     * @param content A string representation of a build graph.
+     * @return A build graph.
+     */
+    static BuildGraph parseFromString(final String content) {
+        BuildGraph buildGraph = new BuildGraph();
+        for (String line : content.split("\\R")) {
+            String[] elements = line.split("\\|");
+            if (elements.length == NUMBER_OF_COLUMNS) {
+                FileFingerprint fingerprint = new FileFingerprint(Long.parseLong(elements[2].trim()),
+                        Long.parseLong(elements[LAST_MODIFIED_COLUMN].trim()), elements[HASH_COLUMN].trim());
+                buildGraph.getInputs(elements[0].trim()).put(elements[1].trim(), fingerprint);
+            }
+        }
+        return buildGraph;
+    }
+
+    /**
+     * Calculates the path to the build graph file in a Sapor directory.
+     *
+     * @param directory The path to the Sapor directory.
+     * @return The path to the build graph file.
+     */
+    static String createFilePath(final String directory) {
+        return directory + File.separator + BUILD_GRAPH_FILE_NAME;
+    }
+
+    /**
+     * Returns the map with the fingerprints of the input files for an output,
+     * creating it if it doesn't exist yet.
+     *
+     * @param output The name of the output.
+     * @return The map with the fingerprints of the input files for the output.
+     */
+    private Map<String, FileFingerprint> getInputs(final String output) {
+        return dependencies.computeIfAbsent(output, k -> new TreeMap<String, FileFingerprint>());
+    }
+
+    /**
+     * Returns whether an output in a Sapor directory is up to date, i.e. whether
+     * it exists, was produced from the same input files, and none of the input
+     * files changed since. If an input file was only touched, i.e. its last
+     * modified time changed but its content didn't, the recorded last modified
+     * time is updated, such that its hash doesn't have to be calculated again on
+     * the next run.
+     *
+     * @param directory  The path to the Sapor directory.
+     * @param output     The name of the output.
+     * @param inputFiles The names of the input files for the output.
+     * @return True if the output is up to date, false if it should be
+     *         regenerated.
+     */
+    boolean isUpToDate(final String directory, final String output, final List<String> inputFiles) {
+        return isUpToDate(directory, output, inputFiles, List.of());
+    }
+
+    /**
+     * Returns whether an output in a Sapor directory is up to date, i.e. whether
+     * it exists, was produced from the same input files, and none of the input
+     * files changed since. The timestamped input files are input files whose last
+     * modified time is used in the output, and they count as changed if they were
+     * only touched too.
+     *
+     * @param directory             The path to the Sapor directory.
+     * @param output                The name of the output.
+     * @param inputFiles            The names of the input files for the output.
+     * @param timestampedInputFiles The names of the input files whose last
+     *                              modified time is used in the output.
+     * @return True if the output is up to date, false if it should be
+     *         regenerated.
+     */
+    boolean isUpToDate(final String directory, final String output, final List<String> inputFiles,
+            final Collection<String> timestampedInputFiles) {
+        Map<String, FileFingerprint> recordedInputs = dependencies.get(output);
+        if (recordedInputs == null || !FileSystemServices.fileExists(directory + File.separator + output)
+                || recordedInputs.size() != inputFiles.size()) {
+            return false;
+        }
+        return areUnchanged(directory, output, inputFiles, timestampedInputFiles);
+    }
+
+    /**
+     * Returns whether some of the input files of an output in a Sapor directory
+     * were recorded for the output, and didn't change since. If an input file was
+     * only touched, the recorded last modified time is updated.
+     *
+     * @param directory  The path to the Sapor directory.
+     * @param output     The name of the output.
+     * @param inputFiles The names of the input files to check.
+     * @return True if all the input files were recorded for the output and
+     *         didn't change since, false otherwise.
+     */
+    boolean areUnchanged(final String directory, final String output, final List<String> inputFiles) {
+        return areUnchanged(directory, output, inputFiles, List.of());
+    }
+
+    /**
+     * Returns whether some of the input files of an output in a Sapor directory
+     * were recorded for the output, and didn't change since. The timestamped input
+     * files are input files whose last modified time is used in the output, like
+     * the state summaries of the polls, whose last modified time is the timestamp
+     * of the feed items. They are only unchanged if their last modified time
+     * didn't change either. If any other input file was only touched, the
+     * recorded last modified time is updated.
+     *
+     * @param directory             The path to the Sapor directory.
+     * @param output                The name of the output.
+     * @param inputFiles            The names of the input files to check.
+     * @param timestampedInputFiles The names of the input files whose last
+     *                              modified time is used in the output.
+     * @return True if all the input files were recorded for the output and
+     *         didn't change since, false otherwise.
+     */
+    boolean areUnchanged(final String directory, final String output, final List<String> inputFiles,
+            final Collection<String> timestampedInputFiles) {
+        Map<String, FileFingerprint> recordedInputs = dependencies.get(output);
+        if (recordedInputs == null) {
+            return false;
+        }
+        for (String inputFile : inputFiles) {
+            FileFingerprint recordedFingerprint = recordedInputs.get(inputFile);
+            FileFingerprint fingerprint = recordedFingerprint == null ? null
+                    : recordedFingerprint.refresh(directory + File.separator + inputFile);
+            if (fingerprint == null
+                    || fingerprint != recordedFingerprint && timestampedInputFiles.contains(inputFile)) {
+                return false;
+            }
+            recordedInputs.put(inputFile, fingerprint);
+        }
+        return true;
+    }
+
+    /**
+     * Records the current fingerprints of the input files of an output in a Sapor
+     * directory.
+     *
+     * @param directory  The path to the Sapor directory.
+     * @param output     The name of the output.
+     * @param inputFiles The names of the input files for the output.
+     */
+    void record(final String directory, final String output, final List<String> inputFiles) {
+        Map<String, FileFingerprint> inputs = new TreeMap<String, FileFingerprint>();
+        for (String inputFile : inputFiles) {
+            inputs.put(inputFile, FileFingerprint.readFromFileSystem(directory + File.separator + inputFile));
+        }
+        dependencies.put(output, inputs);
+    }
+
+    /**
+     * Writes the build graph to the file system, returning <code>true</code> if no
+     * problem occurred.
+     *
+     * @param directory The path to the Sapor directory.
+     * @return True if no problem occurred, false otherwise.
+     */
+    boolean writeToFileSystem(final String directory) {
+        return FileSystemServices.writeStringToFile(toString(), createFilePath(directory));
+    }
+
+    /**
+     * Exports the build graph as a multiline string, with one line per input file
+     * per output.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Map<String, FileFingerprint>> output : dependencies.entrySet()) {
+            for (Map.Entry<String, FileFingerprint> input : output.getValue().entrySet()) {
+                FileFingerprint fingerprint = input.getValue();
+                sb.append(output.getKey()).append(" | ").append(input.getKey()).append(" | ");
+                sb.append(fingerprint.getSize()).append(" | ").append(fingerprint.getLastModified()).append(" | ");
+                sb.append(fingerprint.getHash()).append("\n");
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.File;
+
+/**
+ * Class implementing the abstract <code>Poll</code> class using the file
+ * system, but keeping only the metadata of the poll in memory. The voting
+ * intentions and the seat projection are held in a cache shared by all the
+ * polls of a Sapor directory, and read in again from the file system when they
+ * have been evicted from the cache. The statistics derived from the seat
+ * projection are held by the poll itself, such that they don't have to be
+ * computed again when the seat projection has been read in again.
+ */
+public final class CachedFileSystemPoll extends Poll {
+    /**
+     * The directory in which the poll resides.
+     */
+    private final String directory;
+    /**
+     * The cache holding the probability mass function combinations, keyed by the
+     * path of the file they were read from.
+     */
+    private final BoundedCache<String, ProbabilityMassFunctionCombination<?>> cache;
+    /**
+     * The statistics derived from the seat projection, surviving the eviction of
+     * the seat projection from the cache.
+     */
+    private final SeatProjectionStatistics seatProjectionStatistics =
+            new SeatProjectionStatistics(this::getSeatProjection);
+
+    /**
+     * Constructor taking the directory in which the poll resides, the file name of
+     * the poll, the symbol tables in which the names should be interned and the
+     * cache for the probability mass function combinations as its parameters.
+     *
+     * @param directory        The directory in which the poll resides.
+     * @param pollFileName     The name of the poll file.
+     * @param symbolTable      The symbol table for the names of the polling firm
+     *                         and the commissioners.
+     * @param groupSymbolTable The symbol table for the names of the parliamentary
+     *                         groups.
+     * @param cache            The cache for the probability mass function
+     *                         combinations.
+     */
+    CachedFileSystemPoll(final String directory, final String pollFileName, final SymbolTable symbolTable,
+            final SymbolTable groupSymbolTable,
+            final BoundedCache<String, ProbabilityMassFunctionCombination<?>> cache) {
+        super(FileSystemPoll.readMetadataFromFileSystem(directory, pollFileName, symbolTable, groupSymbolTable));
+        this.directory = directory;
+        this.cache = cache;
+    }
+
+    @Override
+    SeatProjection getSeatProjection() {
+        String filePath = directory + File.separator + FileSystemPoll.getSeatProjectionFileName(getBaseName());
+        return (SeatProjection) cache.get(filePath,
+                f -> FileSystemPoll.readSeatProjection(directory, getBaseName(), getGroupSymbolTable(),
+                        seatProjectionStatistics));
+    }
+
+    @Override
+    VotingIntentions getVotingIntentions() {
+        String filePath = directory + File.separator + FileSystemPoll.getVotingIntentionsFileName(getBaseName());
+        return (VotingIntentions) cache.get(filePath,
+                f -> FileSystemPoll.readVotingIntentions(directory, getBaseName(), getGroupSymbolTable()));
+    }
+}
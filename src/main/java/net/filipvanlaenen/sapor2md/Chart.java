@@ -1,21 +1,16 @@
 package net.filipvanlaenen.sapor2md;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import net.filipvanlaenen.tsvgj.FontStyleValue;
 import net.filipvanlaenen.tsvgj.FontWeightValue;
-import net.filipvanlaenen.tsvgj.NoneValue;
-import net.filipvanlaenen.tsvgj.Pattern;
-import net.filipvanlaenen.tsvgj.Rect;
-import net.filipvanlaenen.tsvgj.ShapeElement;
-import net.filipvanlaenen.tsvgj.StructuralElement;
-import net.filipvanlaenen.tsvgj.Svg;
-import net.filipvanlaenen.tsvgj.Text;
 import net.filipvanlaenen.tsvgj.TextAlignValue;
 import net.filipvanlaenen.tsvgj.TextAnchorValue;
-import net.filipvanlaenen.tsvgj.Transform;
 
 /**
  * Abstract class defining the behavior of a chart.
@@ -28,6 +23,10 @@ public abstract class Chart {
     protected static final int SPACE_BETWEEN_ELEMENTS = 20;
     protected static final int SUBTITLE_FONT_SIZE = 28;
     protected static final int TITLE_FONT_SIZE = 46;
+    /**
+     * The maximum number of fragments held by a fragment cache.
+     */
+    static final long FRAGMENT_CACHE_CAPACITY = 256L;
     /**
      * The path to the Sapor directory.
      */
@@ -40,10 +39,30 @@ public abstract class Chart {
      * The Sapor directory.
      */
     private final SaporDirectory directory;
-    private Double height;
-    private Double width;
     private Integer textColor;
     private Integer backgroundColor;
+    /**
+     * The glyph advance table used to calculate the widths of the labels.
+     */
+    private GlyphAdvanceTable labelGlyphAdvanceTable;
+    /**
+     * The layout statistics for the poll.
+     */
+    private ChartLayout layout;
+    /**
+     * The layouts shared with the other charts for the same polls, or null if the
+     * chart computes its own layout.
+     */
+    private Memoizer<Poll, ChartLayout> sharedLayouts;
+    /**
+     * The cache with the fragments that don't depend on the poll, possibly
+     * shared with the charts for the other polls in the Sapor directory.
+     */
+    private BoundedCache<List<Object>, ChartFragment> fragments;
+    /**
+     * The number of decimals the numbers are rounded to in compact SVG documents.
+     */
+    private int compactSvgPrecision = CompactSvgChartCanvas.DEFAULT_PRECISION;
 
     /**
      * Constructor taking the path to the Sapor directory and the name of the poll
@@ -59,14 +78,15 @@ public abstract class Chart {
 
     /**
      * Constructor taking the path to the Sapor directory and the poll as its
-     * parameters.
+     * parameters. The probability mass functions of the other polls in the Sapor
+     * directory are only read in when needed.
      *
      * @param directoryPath The path to the Sapor directory in which the poll
      *                      resides.
      * @param poll          The poll.
      */
     public Chart(final String directoryPath, final Poll poll) {
-        this(directoryPath, new FileSystemSaporDirectory(directoryPath), poll);
+        this(directoryPath, FileSystemSaporDirectory.readWithCachedPolls(directoryPath), poll);
     }
 
     /**
@@ -80,15 +100,16 @@ public abstract class Chart {
     }
 
     /**
-     * Private constructor taking a path to the Sapor directory, a Sapor directory
-     * and a poll as its parameters.
+     * Constructor taking a path to the Sapor directory, a Sapor directory and a
+     * poll as its parameters, such that charts for several polls can share a Sapor
+     * directory that has been loaded once.
      *
      * @param directoryPath The path to the Sapor directory in which the poll
      *                      resides.
      * @param directory     The Sapor directory.
      * @param poll          The poll.
      */
-    private Chart(final String directoryPath, final SaporDirectory directory, final Poll poll) {
+    Chart(final String directoryPath, final SaporDirectory directory, final Poll poll) {
         this.directoryPath = directoryPath;
         this.directory = directory;
         this.poll = poll;
@@ -96,22 +117,83 @@ public abstract class Chart {
 
     /**
      * Writes the chart as an SVG document to the file system, using the file name
-     * for the chart, returning <code>true</code> if no problem occurred.
+     * for the chart. The file is only replaced if its content changed. Returns the
+     * number of bytes written, zero if the chart didn't change, or
+     * <code>FileSystemServices.WRITE_FAILED</code> if a problem occurred.
      *
-     * @return True if no problem occurred, false otherwise.
+     * @return The number of bytes written.
      */
-    boolean writeSvgToFileSystem() {
-        String filePath = directoryPath + File.separator + getFileName();
-        return FileSystemServices.writeStringToFile(toString(), filePath);
+    long writeSvgToFileSystem() {
+        String filePath = directoryPath + File.separator + getFileName(ChartFormat.SVG);
+        return FileSystemServices.writeToFileIfChanged(this::writeTo, filePath);
     }
 
     /**
-     * Returns the file name for the chart.
+     * Writes the chart as a compact SVG document to the file system, using the
+     * file name for the chart. The file is only replaced if its content changed.
+     * Returns the number of bytes written, zero if the chart didn't change, or
+     * <code>FileSystemServices.WRITE_FAILED</code> if a problem occurred.
+     *
+     * @return The number of bytes written.
+     */
+    long writeCompactSvgToFileSystem() {
+        String filePath = directoryPath + File.separator + getFileName(ChartFormat.COMPACT_SVG);
+        return FileSystemServices.writeToFileIfChanged(this::writeCompactTo, filePath);
+    }
+
+    /**
+     * Renders the chart as an image and writes it as a PNG file to the file
+     * system, using the file name for the chart. The file is only replaced if its
+     * content changed. Returns the number of bytes written, zero if the chart
+     * didn't change, or <code>FileSystemServices.WRITE_FAILED</code> if a problem
+     * occurred.
+     *
+     * @return The number of bytes written.
+     */
+    long writePngToFileSystem() {
+        String filePath = directoryPath + File.separator + getFileName(ChartFormat.PNG);
+        PngChartCanvas canvas = new PngChartCanvas();
+        try {
+            draw(canvas);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return FileSystemServices.WRITE_FAILED;
+        }
+        return FileSystemServices.writeBinaryToFileIfChanged(canvas::writePngTo, filePath);
+    }
+
+    /**
+     * Returns the file name for the chart as an SVG document.
      *
      * @return The file name for the chart.
      */
     String getFileName() {
-        return poll.getBaseName() + getFileNameSuffix() + ".svg";
+        return getFileName(ChartFormat.SVG);
+    }
+
+    /**
+     * Returns the file name for the chart in a format.
+     *
+     * @param format The format.
+     * @return The file name for the chart in the format.
+     */
+    String getFileName(final ChartFormat format) {
+        return poll.getBaseName() + getFileNameSuffix() + "." + format.getFileExtension(this);
+    }
+
+    /**
+     * Returns the names of the input files the chart is produced from, i.e. the
+     * country properties file, the poll file and the files with the poll's results
+     * the chart draws.
+     *
+     * @return A list with the names of the input files for the chart.
+     */
+    List<String> getInputFileNames() {
+        List<String> inputFileNames = new ArrayList<String>();
+        inputFileNames.add(FileSystemCountryProperties.COUNTRY_PROPERTIES_FILE_NAME);
+        inputFileNames.add(FileSystemPoll.getPollFileName(poll.getBaseName()));
+        inputFileNames.add(FileSystemPoll.getVotingIntentionsFileName(poll.getBaseName()));
+        return inputFileNames;
     }
 
     /**
@@ -126,23 +208,79 @@ public abstract class Chart {
      */
     @Override
     public String toString() {
-        Svg svg = new Svg().width(getWidth()).height(getHeight()).viewBox(0, 0, getWidth(), getHeight());
-        svg.addElement(createBackgroundRectangle());
-        svg.addElement(createTitle());
-        svg.addElement(createSubtitle());
-        svg.addElement(createCopyrightNotice());
-        List<Pattern> chartContentPatterns = new ArrayList<Pattern>();
-        StructuralElement chartContent = createChartContent(chartContentPatterns);
-        for (Pattern pattern : chartContentPatterns) {
-            svg.registerElementForReference(pattern);
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb);
+        } catch (IOException e) {
+            // A StringBuilder doesn't throw IOExceptions.
+            throw new UncheckedIOException(e);
         }
-        svg.addElement(chartContent);
-        return svg.asString();
+        return sb.toString();
+    }
+
+    /**
+     * Writes the chart's SVG document to an appendable, element by element while
+     * the elements are being produced, such that the document never has to be
+     * held in memory as a whole.
+     *
+     * @param out The appendable to write the SVG document to.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    void writeTo(final Appendable out) throws IOException {
+        draw(new SvgChartCanvas(out));
+    }
+
+    /**
+     * Writes the chart as a compact SVG document to an appendable, element by
+     * element while the elements are being produced.
+     *
+     * @param out The appendable to write the compact SVG document to.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    void writeCompactTo(final Appendable out) throws IOException {
+        draw(new CompactSvgChartCanvas(out, compactSvgPrecision));
+    }
+
+    /**
+     * Returns the number of decimals the numbers are rounded to in compact SVG
+     * documents.
+     *
+     * @return The number of decimals for compact SVG documents.
+     */
+    int getCompactSvgPrecision() {
+        return compactSvgPrecision;
+    }
+
+    /**
+     * Sets the number of decimals the numbers are rounded to in compact SVG
+     * documents.
+     *
+     * @param compactSvgPrecision The number of decimals for compact SVG
+     *                            documents.
+     */
+    void setCompactSvgPrecision(final int compactSvgPrecision) {
+        this.compactSvgPrecision = compactSvgPrecision;
     }
 
-    private ShapeElement createBackgroundRectangle() {
-        Rect rect = new Rect().x(0).y(0).width(getWidth()).height(getHeight());
-        rect.fill(getBackgroundColor()).stroke(NoneValue.NONE);
+    /**
+     * Draws the chart on a canvas.
+     *
+     * @param canvas The canvas to draw the chart on.
+     * @throws IOException Thrown if the canvas fails to render the chart.
+     */
+    void draw(final ChartCanvas canvas) throws IOException {
+        canvas.startDocument(getWidth(), getHeight());
+        canvas.drawFragment(getFragment("header", () -> List.of(createBackgroundRectangle(), createTitle())));
+        canvas.drawText(createSubtitle());
+        canvas.drawFragment(getFragment("copyright", () -> List.of(createCopyrightNotice())));
+        canvas.defineHatchings(createChartContentHatchings());
+        drawChartContent(canvas);
+        canvas.endDocument();
+    }
+
+    private ChartRectangle createBackgroundRectangle() {
+        ChartRectangle rect = new ChartRectangle().x(0).y(0).width(getWidth()).height(getHeight());
+        rect.fill(getBackgroundColor()).noStroke();
         return rect;
     }
 
@@ -151,8 +289,8 @@ public abstract class Chart {
      * 
      * @return
      */
-    private Text createTitle() {
-        Text text = new Text(getTitleText());
+    private ChartText createTitle() {
+        ChartText text = new ChartText(getTitleText());
         text.x(getWidth() / 2).y(MARGIN + TITLE_FONT_SIZE);
         text.fontFamily(FONT_FAMILIY).fontSize(TITLE_FONT_SIZE);
         text.fontWeight(FontWeightValue.BOLD).fontStyle(FontStyleValue.NORMAL);
@@ -168,8 +306,8 @@ public abstract class Chart {
      * 
      * @return
      */
-    private Text createSubtitle() {
-        Text text = new Text(getSubtitleText());
+    private ChartText createSubtitle() {
+        ChartText text = new ChartText(getSubtitleText());
         text.x(getWidth() / 2).y(MARGIN + TITLE_FONT_SIZE + SPACE_BETWEEN_ELEMENTS + SUBTITLE_FONT_SIZE);
         text.fontFamily(FONT_FAMILIY).fontSize(SUBTITLE_FONT_SIZE);
         text.fontWeight(FontWeightValue.BOLD).fontStyle(FontStyleValue.NORMAL);
@@ -185,7 +323,7 @@ public abstract class Chart {
         return textColor;
     }
 
-    private int getBackgroundColor() {
+    protected int getBackgroundColor() {
         if (backgroundColor == null) {
             backgroundColor = getSaporDirectory().getCountryProperties().getBackgroundColor();
         }
@@ -194,15 +332,15 @@ public abstract class Chart {
 
     protected abstract String getSubtitleText();
 
-    private Text createCopyrightNotice() {
-        Text text = new Text(getCopyrightNoticeText());
+    private ChartText createCopyrightNotice() {
+        ChartText text = new ChartText(getCopyrightNoticeText());
         text.x(-4).y(getWidth() - 4);
         text.fontFamily(FONT_FAMILIY).fontStyle(FontStyleValue.NORMAL).fontWeight(FontWeightValue.NORMAL);
         // TODO: font-size should be in px
         text.fontSize(COPYRIGHT_FONT_SIZE);
         text.textAlign(TextAlignValue.CENTER).textAnchor(TextAnchorValue.END);
         text.fill(getTextColor());
-        text.transform(Transform.rotate(270));
+        text.rotate(270);
         return text;
     }
 
@@ -221,30 +359,33 @@ public abstract class Chart {
         }
     }
 
-    protected abstract StructuralElement createChartContent(List<Pattern> chartContentPatterns);
+    /**
+     * Creates the hatchings the elements of the chart's content are filled with.
+     * The hatchings are defined on the canvas before the chart's content is
+     * drawn.
+     *
+     * @return A list with the hatchings for the chart's content.
+     */
+    abstract List<Hatching> createChartContentHatchings();
 
-    protected Double getHeight() {
-        if (height == null) {
-            height = calculateHeight();
-        }
-        return height;
-    }
+    /**
+     * Draws the chart's content, i.e. everything except the background, the
+     * titles and the copyright notice, on a canvas.
+     *
+     * @param canvas The canvas to draw the chart's content on.
+     * @throws IOException Thrown if the canvas fails to render the chart's
+     *                     content.
+     */
+    abstract void drawChartContent(ChartCanvas canvas) throws IOException;
 
-    private double calculateHeight() {
+    protected double getHeight() {
         return 2 * MARGIN + TITLE_FONT_SIZE + 2 * SPACE_BETWEEN_ELEMENTS + SUBTITLE_FONT_SIZE
                 + calculateContentHeight();
     }
 
     protected abstract double calculateContentHeight();
 
-    protected Double getWidth() {
-        if (width == null) {
-            width = calculateWidth();
-        }
-        return width;
-    }
-
-    private Double calculateWidth() {
+    protected double getWidth() {
         return 2 * MARGIN + calculateContentWidth();
     }
 
@@ -258,8 +399,92 @@ public abstract class Chart {
         return directory;
     }
 
+    /**
+     * Returns the layout statistics for the poll, computing them the first time
+     * they're needed, or taking them from the shared layouts if the chart shares
+     * its layout with other charts for the same poll.
+     *
+     * @return The layout statistics for the poll.
+     */
+    ChartLayout getLayout() {
+        if (layout == null) {
+            layout = sharedLayouts == null ? new ChartLayout(poll.getVotingIntentions(), getLabelGlyphAdvanceTable())
+                    : sharedLayouts.get(poll);
+        }
+        return layout;
+    }
+
+    /**
+     * Sets the layouts to share with the other charts for the same polls, such
+     * that the layout statistics for a poll are computed only once for all the
+     * charts for the poll.
+     *
+     * @param sharedLayouts The layouts shared by the charts, by poll.
+     */
+    void setSharedLayouts(final Memoizer<Poll, ChartLayout> sharedLayouts) {
+        this.sharedLayouts = sharedLayouts;
+    }
+
+    /**
+     * Returns a fragment that doesn't depend on the poll, creating it if it isn't
+     * in the fragment cache yet. Since the positions of the elements depend on
+     * the size of the chart, the fragments are cached by chart type, name and
+     * size of the chart.
+     *
+     * @param name            The name of the fragment.
+     * @param elementsFactory The factory creating the elements of the fragment.
+     * @return The fragment.
+     */
+    ChartFragment getFragment(final String name, final Supplier<List<ChartElement>> elementsFactory) {
+        if (fragments == null) {
+            fragments = new BoundedCache<List<Object>, ChartFragment>(FRAGMENT_CACHE_CAPACITY, f -> 1L);
+        }
+        return fragments.get(List.of(getClass(), name, getWidth(), getHeight()),
+                key -> new ChartFragment(elementsFactory.get()));
+    }
+
+    /**
+     * Sets the fragment cache to share with the charts for the other polls in the
+     * Sapor directory, such that the fragments that don't depend on the poll are
+     * created and rendered only once.
+     *
+     * @param fragments The fragment cache shared by the charts.
+     */
+    void setSharedFragments(final BoundedCache<List<Object>, ChartFragment> fragments) {
+        this.fragments = fragments;
+    }
+
+    /**
+     * Sets the glyph advance table used to calculate the widths of the labels,
+     * overriding the one bundled for the chart font.
+     *
+     * @param labelGlyphAdvanceTable The glyph advance table for the labels.
+     */
+    void setLabelGlyphAdvanceTable(final GlyphAdvanceTable labelGlyphAdvanceTable) {
+        this.labelGlyphAdvanceTable = labelGlyphAdvanceTable;
+    }
+
+    /**
+     * Returns the width of a label in the chart font in bold.
+     *
+     * @param s    The label.
+     * @param size The font size.
+     * @return The width of the label.
+     */
     protected double getLabelWidth(final String s, final double size) {
-        // TODO
-        return size * M_WIDTH * s.length();
+        return getLabelGlyphAdvanceTable().getWidth(s, size);
+    }
+
+    /**
+     * Returns the glyph advance table used to calculate the widths of the labels,
+     * by default the one for the chart font in bold.
+     *
+     * @return The glyph advance table for the labels.
+     */
+    GlyphAdvanceTable getLabelGlyphAdvanceTable() {
+        if (labelGlyphAdvanceTable == null) {
+            labelGlyphAdvanceTable = GlyphAdvanceTable.forFont(FONT_FAMILIY, true);
+        }
+        return labelGlyphAdvanceTable;
     }
 }
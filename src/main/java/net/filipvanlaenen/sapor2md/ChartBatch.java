@@ -0,0 +1,257 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Class producing a batch of charts for the polls of a Sapor directory. The
+ * Sapor directory is loaded only once and shared by all the charts, such that
+ * producing the charts for all the polls doesn't load the Sapor directory again
+ * for each chart. Likewise, the layout statistics for a poll are computed only
+ * once, and shared by all the charts for the poll, and the fragments that don't
+ * depend on the poll are rendered only once for all the charts. If a build
+ * graph is used, only the charts for which one of the input files changed since
+ * the previous run are rendered again.
+ */
+final class ChartBatch {
+    /**
+     * The value returned instead of the number of bytes written for a chart that
+     * was up to date, and therefore wasn't rendered.
+     */
+    static final long UP_TO_DATE = -2L;
+    /**
+     * The file system path to the Sapor directory.
+     */
+    private final String directoryPath;
+    /**
+     * The charts in the batch, ordered by poll first, and by chart type second.
+     */
+    private final List<Chart> charts;
+    /**
+     * Whether the charts should be rendered concurrently.
+     */
+    private boolean parallelRendering = true;
+
+    /**
+     * Constructor taking the file system path for the Sapor directory, the chart
+     * types and the names of the poll files as its arguments.
+     *
+     * @param directoryPath The file system path to the Sapor directory.
+     * @param chartTypes    The types of charts to be produced for each poll.
+     * @param pollFileNames The names of the poll files for which the charts should
+     *                      be produced, or an empty list if the charts should be
+     *                      produced for all polls.
+     */
+    ChartBatch(final String directoryPath, final List<ChartType> chartTypes, final List<String> pollFileNames) {
+        this(directoryPath, FileSystemSaporDirectory.readWithCachedPolls(directoryPath), chartTypes, pollFileNames);
+    }
+
+    /**
+     * Constructor taking the file system path for the Sapor directory, the Sapor
+     * directory, the chart types and the names of the poll files as its
+     * arguments.
+     *
+     * @param directoryPath  The file system path to the Sapor directory.
+     * @param saporDirectory The Sapor directory.
+     * @param chartTypes     The types of charts to be produced for each poll.
+     * @param pollFileNames  The names of the poll files for which the charts
+     *                       should be produced, or an empty list if the charts
+     *                       should be produced for all polls.
+     */
+    ChartBatch(final String directoryPath, final SaporDirectory saporDirectory, final List<ChartType> chartTypes,
+            final List<String> pollFileNames) {
+        this.directoryPath = directoryPath;
+        Set<String> baseNames = new LinkedHashSet<String>();
+        for (String pollFileName : pollFileNames) {
+            baseNames.add(FileSystemPoll.extractBaseNameFromFileName(pollFileName));
+        }
+        List<Chart> chartList = new ArrayList<Chart>();
+        GlyphAdvanceTable labelGlyphAdvanceTable = GlyphAdvanceTable.forFont(Chart.FONT_FAMILIY, true);
+        Memoizer<Poll, ChartLayout> layouts = new Memoizer<Poll, ChartLayout>(
+                poll -> new ChartLayout(poll.getVotingIntentions(), labelGlyphAdvanceTable));
+        BoundedCache<List<Object>, ChartFragment> fragments = new BoundedCache<List<Object>, ChartFragment>(
+                Chart.FRAGMENT_CACHE_CAPACITY, f -> 1L);
+        Iterator<Poll> pollIterator = saporDirectory.getSortedPolls();
+        while (pollIterator.hasNext()) {
+            Poll poll = pollIterator.next();
+            if (pollFileNames.isEmpty() || baseNames.remove(poll.getBaseName())) {
+                for (ChartType chartType : chartTypes) {
+                    Chart chart = chartType.createChart(directoryPath, saporDirectory, poll);
+                    chart.setSharedLayouts(layouts);
+                    chart.setSharedFragments(fragments);
+                    chartList.add(chart);
+                }
+            }
+        }
+        if (!baseNames.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "No poll found for " + FileSystemPoll.getPollFileName(baseNames.iterator().next()) + ".");
+        }
+        this.charts = Collections.unmodifiableList(chartList);
+    }
+
+    /**
+     * Sets whether the charts should be rendered concurrently. The output is the
+     * same either way.
+     *
+     * @param parallelRendering True if the charts should be rendered concurrently.
+     */
+    void setParallelRendering(final boolean parallelRendering) {
+        this.parallelRendering = parallelRendering;
+    }
+
+    /**
+     * Sets the number of decimals the numbers are rounded to when the charts are
+     * written as compact SVG documents.
+     *
+     * @param compactSvgPrecision The number of decimals for compact SVG
+     *                            documents.
+     */
+    void setCompactSvgPrecision(final int compactSvgPrecision) {
+        for (Chart chart : charts) {
+            chart.setCompactSvgPrecision(compactSvgPrecision);
+        }
+    }
+
+    /**
+     * Returns the charts in the batch, ordered by poll first, and by chart type
+     * second.
+     *
+     * @return A list with the charts in the batch.
+     */
+    List<Chart> getCharts() {
+        return charts;
+    }
+
+    /**
+     * Returns the names of the files the charts are written to as SVG documents,
+     * ordered by poll first, and by chart type second.
+     *
+     * @return A list with the names of the files the charts are written to.
+     */
+    List<String> getFileNames() {
+        return getFileNames(ChartFormat.SVG);
+    }
+
+    /**
+     * Returns the names of the files the charts are written to in a format,
+     * ordered by poll first, and by chart type second.
+     *
+     * @param format The format.
+     * @return A list with the names of the files the charts are written to.
+     */
+    List<String> getFileNames(final ChartFormat format) {
+        List<String> fileNames = new ArrayList<String>();
+        for (Chart chart : charts) {
+            fileNames.add(chart.getFileName(format));
+        }
+        return fileNames;
+    }
+
+    /**
+     * Writes all the charts as SVG documents to the file system. Returns for each
+     * chart the number of bytes written, zero if the chart didn't change, or
+     * <code>FileSystemServices.WRITE_FAILED</code> if a problem occurred.
+     *
+     * @return An array with the number of bytes written for each of the charts,
+     *         ordered by poll first, and by chart type second.
+     */
+    long[] writeToFileSystem() {
+        return writeToFileSystem(ChartFormat.SVG);
+    }
+
+    /**
+     * Writes all the charts in a format to the file system, concurrently on the
+     * common fork/join pool if parallel rendering is enabled. Returns for each
+     * chart the number of bytes written, zero if the chart didn't change, or
+     * <code>FileSystemServices.WRITE_FAILED</code> if a problem occurred.
+     *
+     * @param format The format.
+     * @return An array with the number of bytes written for each of the charts,
+     *         ordered by poll first, and by chart type second.
+     */
+    long[] writeToFileSystem(final ChartFormat format) {
+        IntStream indices = IntStream.range(0, charts.size());
+        if (parallelRendering) {
+            indices = indices.parallel();
+        }
+        return indices.mapToLong(i -> format.writeToFileSystem(charts.get(i))).toArray();
+    }
+
+    /**
+     * Writes the charts in a format to the file system for which the output isn't
+     * up to date according to a build graph, and records the input files of the
+     * charts that have been written in the build graph. Returns for each chart
+     * the number of bytes written, zero if the chart didn't change,
+     * <code>UP_TO_DATE</code> if the chart was up to date, or
+     * <code>FileSystemServices.WRITE_FAILED</code> if a problem occurred.
+     *
+     * @param format     The format.
+     * @param buildGraph The build graph.
+     * @return An array with the number of bytes written for each of the charts,
+     *         ordered by poll first, and by chart type second.
+     */
+    long[] writeToFileSystem(final ChartFormat format, final BuildGraph buildGraph) {
+        long[] bytesWritten = new long[charts.size()];
+        Arrays.fill(bytesWritten, UP_TO_DATE);
+        List<Integer> outdated = getOutdatedChartIndices(format, buildGraph);
+        IntStream indices = IntStream.range(0, outdated.size());
+        if (parallelRendering) {
+            indices = indices.parallel();
+        }
+        long[] outdatedBytesWritten = indices.mapToLong(j -> format.writeToFileSystem(charts.get(outdated.get(j))))
+                .toArray();
+        for (int j = 0; j < outdated.size(); j++) {
+            int i = outdated.get(j);
+            bytesWritten[i] = outdatedBytesWritten[j];
+            if (bytesWritten[i] != FileSystemServices.WRITE_FAILED) {
+                Chart chart = charts.get(i);
+                buildGraph.record(directoryPath, chart.getFileName(format), chart.getInputFileNames());
+            }
+        }
+        return bytesWritten;
+    }
+
+    /**
+     * Returns the file names of the charts in a format for which the output isn't
+     * up to date according to a build graph, i.e. the charts that would be written
+     * by <code>writeToFileSystem</code>, without rendering them or recording them
+     * in the build graph.
+     *
+     * @param format     The format.
+     * @param buildGraph The build graph.
+     * @return A list with the file names of the charts that aren't up to date.
+     */
+    List<String> getOutdatedFileNames(final ChartFormat format, final BuildGraph buildGraph) {
+        List<String> fileNames = new ArrayList<String>();
+        for (int i : getOutdatedChartIndices(format, buildGraph)) {
+            fileNames.add(charts.get(i).getFileName(format));
+        }
+        return fileNames;
+    }
+
+    /**
+     * Returns the indices of the charts in a format for which the output isn't up
+     * to date according to a build graph.
+     *
+     * @param format     The format.
+     * @param buildGraph The build graph.
+     * @return A list with the indices of the charts that aren't up to date.
+     */
+    private List<Integer> getOutdatedChartIndices(final ChartFormat format, final BuildGraph buildGraph) {
+        List<Integer> outdated = new ArrayList<Integer>();
+        for (int i = 0; i < charts.size(); i++) {
+            Chart chart = charts.get(i);
+            if (!buildGraph.isUpToDate(directoryPath, chart.getFileName(format), chart.getInputFileNames())) {
+                outdated.add(i);
+            }
+        }
+        return outdated;
+    }
+}
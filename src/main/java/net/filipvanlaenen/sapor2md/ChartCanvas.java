@@ -0,0 +1,77 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Abstract class defining the behavior of a canvas a chart can be drawn on.
+ * The charts draw their elements on a canvas without knowing the backend that
+ * renders them, such that the same chart can be rendered to an SVG document or
+ * to an image.
+ */
+abstract class ChartCanvas {
+    /**
+     * Starts the document.
+     *
+     * @param width  The width of the document.
+     * @param height The height of the document.
+     * @throws IOException Thrown if the backend fails to render the document.
+     */
+    abstract void startDocument(double width, double height) throws IOException;
+
+    /**
+     * Ends the document.
+     *
+     * @throws IOException Thrown if the backend fails to render the document.
+     */
+    abstract void endDocument() throws IOException;
+
+    /**
+     * Starts a group of elements.
+     *
+     * @throws IOException Thrown if the backend fails to render the document.
+     */
+    abstract void startGroup() throws IOException;
+
+    /**
+     * Ends the most recently started group of elements.
+     *
+     * @throws IOException Thrown if the backend fails to render the document.
+     */
+    abstract void endGroup() throws IOException;
+
+    /**
+     * Defines the hatchings the elements drawn afterwards can be filled with.
+     *
+     * @param hatchings The hatchings.
+     * @throws IOException Thrown if the backend fails to render the document.
+     */
+    abstract void defineHatchings(List<Hatching> hatchings) throws IOException;
+
+    /**
+     * Draws a fragment shared by several charts. By default, the elements of the
+     * fragment are drawn one by one.
+     *
+     * @param fragment The fragment.
+     * @throws IOException Thrown if the backend fails to render the document.
+     */
+    void drawFragment(final ChartFragment fragment) throws IOException {
+        fragment.drawOn(this);
+    }
+
+    /**
+     * Draws a rectangle.
+     *
+     * @param rectangle The rectangle.
+     * @throws IOException Thrown if the backend fails to render the document.
+     */
+    abstract void drawRectangle(ChartRectangle rectangle) throws IOException;
+
+    /**
+     * Draws a text.
+     *
+     * @param text The text.
+     * @throws IOException Thrown if the backend fails to render the document.
+     */
+    abstract void drawText(ChartText text) throws IOException;
+}
@@ -0,0 +1,17 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.IOException;
+
+/**
+ * Abstract class defining the behavior of an element of a chart, independently
+ * of the backend the chart is rendered with.
+ */
+abstract class ChartElement {
+    /**
+     * Draws the element on a canvas.
+     *
+     * @param canvas The canvas to draw the element on.
+     * @throws IOException Thrown if the canvas fails to render the element.
+     */
+    abstract void drawOn(ChartCanvas canvas) throws IOException;
+}
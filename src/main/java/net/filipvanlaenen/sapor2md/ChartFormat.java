@@ -0,0 +1,72 @@
+package net.filipvanlaenen.sapor2md;
+
+/**
+ * Enumeration with the formats in which charts can be produced.
+ */
+enum ChartFormat {
+    /**
+     * Charts as SVG documents.
+     */
+    SVG {
+        @Override
+        String getFileExtension(final Chart chart) {
+            return "svg";
+        }
+
+        @Override
+        long writeToFileSystem(final Chart chart) {
+            return chart.writeSvgToFileSystem();
+        }
+    },
+    /**
+     * Charts as compact SVG documents, with rounded numbers, shared CSS classes
+     * for the styling of the texts and without redundant attributes and elements.
+     * The extension contains the number of decimals, such that compact SVG
+     * documents don't overwrite the regular SVG documents, and a change of the
+     * number of decimals produces new files instead of leaving the old ones for
+     * up to date.
+     */
+    COMPACT_SVG {
+        @Override
+        String getFileExtension(final Chart chart) {
+            return "min" + chart.getCompactSvgPrecision() + ".svg";
+        }
+
+        @Override
+        long writeToFileSystem(final Chart chart) {
+            return chart.writeCompactSvgToFileSystem();
+        }
+    },
+    /**
+     * Charts as PNG images, rendered in-process with Java2D.
+     */
+    PNG {
+        @Override
+        String getFileExtension(final Chart chart) {
+            return "png";
+        }
+
+        @Override
+        long writeToFileSystem(final Chart chart) {
+            return chart.writePngToFileSystem();
+        }
+    };
+
+    /**
+     * Returns the extension for the file of a chart in this format.
+     *
+     * @param chart The chart.
+     * @return The extension for the file of the chart in this format.
+     */
+    abstract String getFileExtension(Chart chart);
+
+    /**
+     * Writes a chart in this format to the file system. Returns the number of
+     * bytes written, zero if the chart didn't change, or
+     * <code>FileSystemServices.WRITE_FAILED</code> if a problem occurred.
+     *
+     * @param chart The chart.
+     * @return The number of bytes written.
+     */
+    abstract long writeToFileSystem(Chart chart);
+}
@@ -0,0 +1,77 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Class modeling a fragment of a chart that doesn't depend on the poll, like
+ * the background, the title or the copyright notice. A fragment is created once
+ * and shared by all the charts that contain it. Canvases that support it splice
+ * a rendering of the fragment into their output, which is produced the first
+ * time it's needed and reused afterwards, instead of rendering the elements of
+ * the fragment again for each chart. Fragments shouldn't contain elements filled
+ * with hatchings, because hatchings are defined per document.
+ */
+final class ChartFragment {
+    /**
+     * The elements of the fragment.
+     */
+    private final List<ChartElement> elements;
+    /**
+     * The SVG renderings of the fragment, by indentation.
+     */
+    private final ConcurrentMap<String, String> svgRenderings = new ConcurrentHashMap<String, String>();
+
+    /**
+     * Constructor taking the elements of the fragment as its parameter.
+     *
+     * @param elements The elements of the fragment.
+     */
+    ChartFragment(final List<ChartElement> elements) {
+        this.elements = Collections.unmodifiableList(elements);
+    }
+
+    /**
+     * Draws the elements of the fragment one by one on a canvas.
+     *
+     * @param canvas The canvas to draw the fragment on.
+     * @throws IOException Thrown if the canvas fails to render the fragment.
+     */
+    void drawOn(final ChartCanvas canvas) throws IOException {
+        for (ChartElement element : elements) {
+            element.drawOn(canvas);
+        }
+    }
+
+    /**
+     * Returns the SVG rendering of the fragment at an indentation, rendering it
+     * the first time it's requested.
+     *
+     * @param indentation The indentation for the elements of the fragment.
+     * @return The SVG rendering of the fragment.
+     */
+    String getSvgRendering(final String indentation) {
+        return svgRenderings.computeIfAbsent(indentation, this::renderSvg);
+    }
+
+    /**
+     * Renders the fragment as SVG at an indentation.
+     *
+     * @param indentation The indentation for the elements of the fragment.
+     * @return The SVG rendering of the fragment.
+     */
+    private String renderSvg(final String indentation) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            drawOn(new SvgChartCanvas(new SvgWriter(sb, indentation)));
+        } catch (IOException e) {
+            // A StringBuilder doesn't throw IOExceptions.
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,210 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class modeling the layout statistics of the charts for a poll. The model is
+ * computed once per poll, in a single pass over the sorted groups, including
+ * the 95 percent confidence intervals, the medians, the labels and their
+ * widths, and can then be shared by all the charts for the poll without
+ * touching the probability mass functions again. The widths of the labels are
+ * expressed in em, i.e. relative to the font size, such that charts can use
+ * them at any font size.
+ */
+final class ChartLayout {
+    /**
+     * Magic number 0.95, or 95 percent.
+     */
+    private static final double NINETY_FIVE_PERCENT = 0.95D;
+
+    /**
+     * The groups, sorted.
+     */
+    private final List<Group> groups;
+    /**
+     * The width of the widest group name, in em.
+     */
+    private final double widestGroupNameWidth;
+    /**
+     * The width of the widest confidence interval label, in em.
+     */
+    private final double widestConfidenceIntervalLabelWidth;
+    /**
+     * The largest upper bound of the 95 percent confidence intervals.
+     */
+    private final double largestUpperBound;
+
+    /**
+     * Constructor taking the voting intentions and the glyph advance table for
+     * the labels as its parameters.
+     *
+     * @param votingIntentions       The voting intentions.
+     * @param labelGlyphAdvanceTable The glyph advance table to measure the labels
+     *                               with.
+     */
+    ChartLayout(final VotingIntentions votingIntentions, final GlyphAdvanceTable labelGlyphAdvanceTable) {
+        List<Group> groupList = new ArrayList<Group>();
+        double widestName = 0D;
+        double widestLabel = 0D;
+        double largest = 0D;
+        for (String name : votingIntentions.getSortedGroups()) {
+            ConfidenceInterval<ProbabilityRange> ci = votingIntentions.getConfidenceInterval(name,
+                    NINETY_FIVE_PERCENT);
+            String label = ProbabilityRange.formatConfidenceInterval("%.0f", ci);
+            Group group = new Group(name, ci.getLowerBound().getUpperBound(),
+                    votingIntentions.getMedian(name).getUpperBound(), ci.getUpperBound().getUpperBound(), label);
+            groupList.add(group);
+            widestName = Math.max(widestName, labelGlyphAdvanceTable.getWidth(name, 1D));
+            widestLabel = Math.max(widestLabel, labelGlyphAdvanceTable.getWidth(label, 1D));
+            largest = Math.max(largest, group.getUpperBound());
+        }
+        this.groups = Collections.unmodifiableList(groupList);
+        this.widestGroupNameWidth = widestName;
+        this.widestConfidenceIntervalLabelWidth = widestLabel;
+        this.largestUpperBound = largest;
+    }
+
+    /**
+     * Returns a group by its index in the sorted groups.
+     *
+     * @param i The index of the group.
+     * @return The group.
+     */
+    Group getGroup(final int i) {
+        return groups.get(i);
+    }
+
+    /**
+     * Returns the number of groups.
+     *
+     * @return The number of groups.
+     */
+    int getNumberOfGroups() {
+        return groups.size();
+    }
+
+    /**
+     * Returns the largest upper bound of the 95 percent confidence intervals.
+     *
+     * @return The largest upper bound.
+     */
+    double getLargestUpperBound() {
+        return largestUpperBound;
+    }
+
+    /**
+     * Returns the width of the widest confidence interval label at a font size.
+     *
+     * @param fontSize The font size.
+     * @return The width of the widest confidence interval label.
+     */
+    double getWidestConfidenceIntervalLabelWidth(final double fontSize) {
+        return fontSize * widestConfidenceIntervalLabelWidth;
+    }
+
+    /**
+     * Returns the width of the widest group name at a font size.
+     *
+     * @param fontSize The font size.
+     * @return The width of the widest group name.
+     */
+    double getWidestGroupNameWidth(final double fontSize) {
+        return fontSize * widestGroupNameWidth;
+    }
+
+    /**
+     * Class holding the statistics of a group.
+     */
+    static final class Group {
+        /**
+         * The name of the group.
+         */
+        private final String name;
+        /**
+         * The lower bound of the 95 percent confidence interval.
+         */
+        private final double lowerBound;
+        /**
+         * The median.
+         */
+        private final double median;
+        /**
+         * The upper bound of the 95 percent confidence interval.
+         */
+        private final double upperBound;
+        /**
+         * The label for the 95 percent confidence interval.
+         */
+        private final String confidenceIntervalLabel;
+
+        /**
+         * Constructor taking the name, the bounds of the 95 percent confidence
+         * interval, the median and the label for the confidence interval as its
+         * parameters.
+         *
+         * @param name                    The name of the group.
+         * @param lowerBound              The lower bound of the 95 percent
+         *                                confidence interval.
+         * @param median                  The median.
+         * @param upperBound              The upper bound of the 95 percent
+         *                                confidence interval.
+         * @param confidenceIntervalLabel The label for the 95 percent confidence
+         *                                interval.
+         */
+        Group(final String name, final double lowerBound, final double median, final double upperBound,
+                final String confidenceIntervalLabel) {
+            this.name = name;
+            this.lowerBound = lowerBound;
+            this.median = median;
+            this.upperBound = upperBound;
+            this.confidenceIntervalLabel = confidenceIntervalLabel;
+        }
+
+        /**
+         * Returns the label for the 95 percent confidence interval.
+         *
+         * @return The label for the 95 percent confidence interval.
+         */
+        String getConfidenceIntervalLabel() {
+            return confidenceIntervalLabel;
+        }
+
+        /**
+         * Returns the lower bound of the 95 percent confidence interval.
+         *
+         * @return The lower bound of the 95 percent confidence interval.
+         */
+        double getLowerBound() {
+            return lowerBound;
+        }
+
+        /**
+         * Returns the median.
+         *
+         * @return The median.
+         */
+        double getMedian() {
+            return median;
+        }
+
+        /**
+         * Returns the name of the group.
+         *
+         * @return The name of the group.
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the upper bound of the 95 percent confidence interval.
+         *
+         * @return The upper bound of the 95 percent confidence interval.
+         */
+        double getUpperBound() {
+            return upperBound;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.IOException;
+
+/**
+ * Class representing a rectangle in a chart, independently of the backend the
+ * chart is rendered with. Properties that haven't been set are null, such that
+ * the backends can apply their defaults.
+ */
+final class ChartRectangle extends ChartElement {
+    /**
+     * The x coordinate of the rectangle.
+     */
+    private Double x;
+    /**
+     * The y coordinate of the rectangle.
+     */
+    private Double y;
+    /**
+     * The width of the rectangle.
+     */
+    private Double width;
+    /**
+     * The height of the rectangle.
+     */
+    private Double height;
+    /**
+     * The color the rectangle is filled with.
+     */
+    private Integer fillColor;
+    /**
+     * The hatching the rectangle is filled with.
+     */
+    private Hatching fillHatching;
+    /**
+     * The color of the stroke of the rectangle.
+     */
+    private Integer strokeColor;
+    /**
+     * Whether the rectangle explicitly has no stroke.
+     */
+    private boolean noStroke;
+    /**
+     * The width of the stroke of the rectangle.
+     */
+    private Double strokeWidth;
+
+    /**
+     * Sets the x coordinate of the rectangle.
+     *
+     * @param newX The x coordinate.
+     * @return The rectangle.
+     */
+    ChartRectangle x(final double newX) {
+        this.x = newX;
+        return this;
+    }
+
+    /**
+     * Sets the y coordinate of the rectangle.
+     *
+     * @param newY The y coordinate.
+     * @return The rectangle.
+     */
+    ChartRectangle y(final double newY) {
+        this.y = newY;
+        return this;
+    }
+
+    /**
+     * Sets the width of the rectangle.
+     *
+     * @param newWidth The width.
+     * @return The rectangle.
+     */
+    ChartRectangle width(final double newWidth) {
+        this.width = newWidth;
+        return this;
+    }
+
+    /**
+     * Sets the height of the rectangle.
+     *
+     * @param newHeight The height.
+     * @return The rectangle.
+     */
+    ChartRectangle height(final double newHeight) {
+        this.height = newHeight;
+        return this;
+    }
+
+    /**
+     * Fills the rectangle with a color.
+     *
+     * @param color The color.
+     * @return The rectangle.
+     */
+    ChartRectangle fill(final int color) {
+        this.fillColor = color;
+        this.fillHatching = null;
+        return this;
+    }
+
+    /**
+     * Fills the rectangle with a hatching.
+     *
+     * @param hatching The hatching.
+     * @return The rectangle.
+     */
+    ChartRectangle fill(final Hatching hatching) {
+        this.fillHatching = hatching;
+        this.fillColor = null;
+        return this;
+    }
+
+    /**
+     * Sets the color of the stroke of the rectangle.
+     *
+     * @param color The color.
+     * @return The rectangle.
+     */
+    ChartRectangle stroke(final int color) {
+        this.strokeColor = color;
+        this.noStroke = false;
+        return this;
+    }
+
+    /**
+     * Removes the stroke from the rectangle explicitly.
+     *
+     * @return The rectangle.
+     */
+    ChartRectangle noStroke() {
+        this.noStroke = true;
+        this.strokeColor = null;
+        return this;
+    }
+
+    /**
+     * Sets the width of the stroke of the rectangle.
+     *
+     * @param newStrokeWidth The width of the stroke.
+     * @return The rectangle.
+     */
+    ChartRectangle strokeWidth(final double newStrokeWidth) {
+        this.strokeWidth = newStrokeWidth;
+        return this;
+    }
+
+    /**
+     * Returns the x coordinate of the rectangle.
+     *
+     * @return The x coordinate, or null if it hasn't been set.
+     */
+    Double getX() {
+        return x;
+    }
+
+    /**
+     * Returns the y coordinate of the rectangle.
+     *
+     * @return The y coordinate, or null if it hasn't been set.
+     */
+    Double getY() {
+        return y;
+    }
+
+    /**
+     * Returns the width of the rectangle.
+     *
+     * @return The width, or null if it hasn't been set.
+     */
+    Double getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the height of the rectangle.
+     *
+     * @return The height, or null if it hasn't been set.
+     */
+    Double getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the color the rectangle is filled with.
+     *
+     * @return The fill color, or null if it hasn't been set.
+     */
+    Integer getFillColor() {
+        return fillColor;
+    }
+
+    /**
+     * Returns the hatching the rectangle is filled with.
+     *
+     * @return The hatching, or null if it hasn't been set.
+     */
+    Hatching getFillHatching() {
+        return fillHatching;
+    }
+
+    /**
+     * Returns the color of the stroke of the rectangle.
+     *
+     * @return The stroke color, or null if it hasn't been set.
+     */
+    Integer getStrokeColor() {
+        return strokeColor;
+    }
+
+    /**
+     * Returns whether the rectangle explicitly has no stroke.
+     *
+     * @return True if the rectangle explicitly has no stroke.
+     */
+    boolean hasNoStroke() {
+        return noStroke;
+    }
+
+    /**
+     * Returns the width of the stroke of the rectangle.
+     *
+     * @return The width of the stroke, or null if it hasn't been set.
+     */
+    Double getStrokeWidth() {
+        return strokeWidth;
+    }
+
+    @Override
+    void drawOn(final ChartCanvas canvas) throws IOException {
+        canvas.drawRectangle(this);
+    }
+}
@@ -0,0 +1,283 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.IOException;
+
+import net.filipvanlaenen.tsvgj.FontStyleValue;
+import net.filipvanlaenen.tsvgj.FontWeightValue;
+import net.filipvanlaenen.tsvgj.TextAlignValue;
+import net.filipvanlaenen.tsvgj.TextAnchorValue;
+
+/**
+ * Class representing a text in a chart, independently of the backend the chart
+ * is rendered with. Properties that haven't been set are null, such that the
+ * backends can apply their defaults.
+ */
+final class ChartText extends ChartElement {
+    /**
+     * The text.
+     */
+    private final String text;
+    /**
+     * The x coordinate of the text.
+     */
+    private Double x;
+    /**
+     * The y coordinate of the text.
+     */
+    private Double y;
+    /**
+     * The font family of the text.
+     */
+    private String fontFamily;
+    /**
+     * The font size of the text.
+     */
+    private Double fontSize;
+    /**
+     * The font style of the text.
+     */
+    private FontStyleValue fontStyle;
+    /**
+     * The font weight of the text.
+     */
+    private FontWeightValue fontWeight;
+    /**
+     * The alignment of the text.
+     */
+    private TextAlignValue textAlign;
+    /**
+     * The anchor of the text.
+     */
+    private TextAnchorValue textAnchor;
+    /**
+     * The color the text is filled with.
+     */
+    private Integer fill;
+    /**
+     * The angle by which the text is rotated around the origin, in degrees.
+     */
+    private Double rotation;
+
+    /**
+     * Constructor taking the text as its parameter.
+     *
+     * @param text The text.
+     */
+    ChartText(final String text) {
+        this.text = text;
+    }
+
+    /**
+     * Sets the x coordinate of the text.
+     *
+     * @param newX The x coordinate.
+     * @return The text.
+     */
+    ChartText x(final double newX) {
+        this.x = newX;
+        return this;
+    }
+
+    /**
+     * Sets the y coordinate of the text.
+     *
+     * @param newY The y coordinate.
+     * @return The text.
+     */
+    ChartText y(final double newY) {
+        this.y = newY;
+        return this;
+    }
+
+    /**
+     * Sets the font family of the text.
+     *
+     * @param newFontFamily The font family.
+     * @return The text.
+     */
+    ChartText fontFamily(final String newFontFamily) {
+        this.fontFamily = newFontFamily;
+        return this;
+    }
+
+    /**
+     * Sets the font size of the text.
+     *
+     * @param newFontSize The font size.
+     * @return The text.
+     */
+    ChartText fontSize(final double newFontSize) {
+        this.fontSize = newFontSize;
+        return this;
+    }
+
+    /**
+     * Sets the font style of the text.
+     *
+     * @param newFontStyle The font style.
+     * @return The text.
+     */
+    ChartText fontStyle(final FontStyleValue newFontStyle) {
+        this.fontStyle = newFontStyle;
+        return this;
+    }
+
+    /**
+     * Sets the font weight of the text.
+     *
+     * @param newFontWeight The font weight.
+     * @return The text.
+     */
+    ChartText fontWeight(final FontWeightValue newFontWeight) {
+        this.fontWeight = newFontWeight;
+        return this;
+    }
+
+    /**
+     * Sets the alignment of the text.
+     *
+     * @param newTextAlign The alignment.
+     * @return The text.
+     */
+    ChartText textAlign(final TextAlignValue newTextAlign) {
+        this.textAlign = newTextAlign;
+        return this;
+    }
+
+    /**
+     * Sets the anchor of the text.
+     *
+     * @param newTextAnchor The anchor.
+     * @return The text.
+     */
+    ChartText textAnchor(final TextAnchorValue newTextAnchor) {
+        this.textAnchor = newTextAnchor;
+        return this;
+    }
+
+    /**
+     * Sets the color the text is filled with.
+     *
+     * @param color The color.
+     * @return The text.
+     */
+    ChartText fill(final int color) {
+        this.fill = color;
+        return this;
+    }
+
+    /**
+     * Rotates the text around the origin.
+     *
+     * @param angle The angle, in degrees.
+     * @return The text.
+     */
+    ChartText rotate(final double angle) {
+        this.rotation = angle;
+        return this;
+    }
+
+    /**
+     * Returns the text.
+     *
+     * @return The text.
+     */
+    String getText() {
+        return text;
+    }
+
+    /**
+     * Returns the x coordinate of the text.
+     *
+     * @return The x coordinate, or null if it hasn't been set.
+     */
+    Double getX() {
+        return x;
+    }
+
+    /**
+     * Returns the y coordinate of the text.
+     *
+     * @return The y coordinate, or null if it hasn't been set.
+     */
+    Double getY() {
+        return y;
+    }
+
+    /**
+     * Returns the font family of the text.
+     *
+     * @return The font family, or null if it hasn't been set.
+     */
+    String getFontFamily() {
+        return fontFamily;
+    }
+
+    /**
+     * Returns the font size of the text.
+     *
+     * @return The font size, or null if it hasn't been set.
+     */
+    Double getFontSize() {
+        return fontSize;
+    }
+
+    /**
+     * Returns the font style of the text.
+     *
+     * @return The font style, or null if it hasn't been set.
+     */
+    FontStyleValue getFontStyle() {
+        return fontStyle;
+    }
+
+    /**
+     * Returns the font weight of the text.
+     *
+     * @return The font weight, or null if it hasn't been set.
+     */
+    FontWeightValue getFontWeight() {
+        return fontWeight;
+    }
+
+    /**
+     * Returns the alignment of the text.
+     *
+     * @return The alignment, or null if it hasn't been set.
+     */
+    TextAlignValue getTextAlign() {
+        return textAlign;
+    }
+
+    /**
+     * Returns the anchor of the text.
+     *
+     * @return The anchor, or null if it hasn't been set.
+     */
+    TextAnchorValue getTextAnchor() {
+        return textAnchor;
+    }
+
+    /**
+     * Returns the color the text is filled with.
+     *
+     * @return The fill color, or null if it hasn't been set.
+     */
+    Integer getFill() {
+        return fill;
+    }
+
+    /**
+     * Returns the angle by which the text is rotated around the origin.
+     *
+     * @return The angle, in degrees, or null if the text isn't rotated.
+     */
+    Double getRotation() {
+        return rotation;
+    }
+
+    @Override
+    void drawOn(final ChartCanvas canvas) throws IOException {
+        canvas.drawText(this);
+    }
+}
@@ -0,0 +1,54 @@
+package net.filipvanlaenen.sapor2md;
+
+/**
+ * Enumeration with the types of charts that can be produced for a poll.
+ */
+enum ChartType {
+    /**
+     * The seating plan projection chart.
+     */
+    SeatingPlanChart {
+        @Override
+        Chart createChart(final String directoryPath, final SaporDirectory directory, final Poll poll) {
+            return new SeatingPlanChart(directoryPath, directory, poll);
+        }
+    },
+    /**
+     * The seat projections chart.
+     */
+    SeatProjectionsChart {
+        @Override
+        Chart createChart(final String directoryPath, final SaporDirectory directory, final Poll poll) {
+            return new SeatProjectionsChart(directoryPath, directory, poll);
+        }
+    },
+    /**
+     * The voting intentions changes chart.
+     */
+    VotingIntentionsChangesChart {
+        @Override
+        Chart createChart(final String directoryPath, final SaporDirectory directory, final Poll poll) {
+            return new VotingIntentionsChangesChart(directoryPath, directory, poll);
+        }
+    },
+    /**
+     * The voting intentions chart.
+     */
+    VotingIntentionsChart {
+        @Override
+        Chart createChart(final String directoryPath, final SaporDirectory directory, final Poll poll) {
+            return new VotingIntentionsChart(directoryPath, directory, poll);
+        }
+    };
+
+    /**
+     * Creates a chart of this type for a poll.
+     *
+     * @param directoryPath The path to the Sapor directory in which the poll
+     *                      resides.
+     * @param directory     The Sapor directory.
+     * @param poll          The poll.
+     * @return A chart of this type for the poll.
+     */
+    abstract Chart createChart(String directoryPath, SaporDirectory directory, Poll poll);
+}
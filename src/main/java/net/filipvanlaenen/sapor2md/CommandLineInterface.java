@@ -1,7 +1,16 @@
 package net.filipvanlaenen.sapor2md;
 
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import net.filipvanlaenen.sapor2md.RSS20Feed.RSS20FeedMode;
 
@@ -9,6 +18,19 @@ import net.filipvanlaenen.sapor2md.RSS20Feed.RSS20FeedMode;
  * The command-line interface for this library.
  */
 public final class CommandLineInterface {
+    /**
+     * The option requesting a command to only print what it would produce.
+     */
+    private static final String DRY_RUN_OPTION = "DryRun";
+    /**
+     * The argument requesting the charts of all types.
+     */
+    private static final String ALL_CHART_TYPES = "All";
+    /**
+     * The name of the system property switching AWT to headless mode.
+     */
+    private static final String HEADLESS_PROPERTY = "java.awt.headless";
+
     /**
      * Main entry point for the command-line interface.
      *
@@ -75,6 +97,145 @@ public final class CommandLineInterface {
                 return SeatProjection.calculateAdjustedMedians(probabilityMassFunctionsString, parliamentSize);
             }
         },
+        /**
+         * Command to produce a batch of charts as PNG images for a directory.
+         */
+        ChartImages {
+            /**
+             * Renders the charts of the requested types as PNG images for all the
+             * polls in a directory, or for the requested polls only, from a single
+             * load of the Sapor directory. AWT is switched to headless mode first,
+             * such that the images can be rendered without a display.
+             *
+             * @param args The arguments for the command, i.e. the directory for which
+             *             to produce the charts, the chart types separated by commas
+             *             (SeatingPlanChart, SeatProjectionsChart,
+             *             VotingIntentionsChart, VotingIntentionsChangesChart or All),
+             *             optionally the poll files, and optionally the dry run
+             *             option.
+             * @return A message reporting which charts have been produced.
+             */
+            @Override
+            String execute(final String... args) {
+                System.setProperty(HEADLESS_PROPERTY, Boolean.TRUE.toString());
+                return produceCharts(ChartFormat.PNG, args);
+            }
+        },
+        /**
+         * Command to produce a batch of charts for a directory.
+         */
+        Charts {
+            /**
+             * Produces the charts of the requested types for all the polls in a
+             * directory, or for the requested polls only, from a single load of the
+             * Sapor directory.
+             *
+             * @param args The arguments for the command, i.e. the directory for which
+             *             to produce the charts, the chart types separated by commas
+             *             (SeatingPlanChart, SeatProjectionsChart,
+             *             VotingIntentionsChart, VotingIntentionsChangesChart or All),
+             *             optionally the poll files, and optionally the dry run
+             *             option.
+             * @return A message reporting which charts have been produced.
+             */
+            @Override
+            String execute(final String... args) {
+                return produceCharts(ChartFormat.SVG, args);
+            }
+        },
+        /**
+         * Command to produce a batch of charts as compact SVG documents for a
+         * directory.
+         */
+        CompactCharts {
+            /**
+             * Produces the charts of the requested types as compact SVG documents for
+             * all the polls in a directory, or for the requested polls only, with the
+             * numbers rounded to the requested number of decimals. The file names
+             * end in min followed by the number of decimals and the SVG extension,
+             * such that they don't overwrite the charts produced by Charts.
+             *
+             * @param args The arguments for the command, i.e. the directory for which
+             *             to produce the charts, the number of decimals, the chart
+             *             types separated by commas (SeatingPlanChart,
+             *             SeatProjectionsChart, VotingIntentionsChart,
+             *             VotingIntentionsChangesChart or All), optionally the poll
+             *             files, and optionally the dry run option.
+             * @return A message reporting which charts have been produced.
+             */
+            @Override
+            String execute(final String... args) {
+                String[] chartArgs = new String[args.length - 1];
+                chartArgs[0] = args[0];
+                System.arraycopy(args, 2, chartArgs, 1, args.length - 2);
+                return produceCharts(ChartFormat.COMPACT_SVG, Integer.parseInt(args[1]), chartArgs);
+            }
+        },
+        /**
+         * Command to produce the feeds for a directory in a number of formats.
+         */
+        Feeds {
+            /**
+             * Produces the feeds for a directory in all modes and in the requested
+             * formats, or in all formats if none are requested, from a single load of
+             * the Sapor directory.
+             *
+             * @params args The arguments for the command, i.e. the directory for which to
+             *         produce the feeds, and optionally the formats (RSS20, Atom10 or
+             *         JsonFeed11).
+             * @return A message reporting which feeds have been produced.
+             */
+            @Override
+            String execute(final String... args) {
+                String directory = args[0];
+                List<FeedFormat> formats = new ArrayList<FeedFormat>();
+                for (int i = 1; i < args.length; i++) {
+                    formats.add(FeedFormat.valueOf(args[i]));
+                }
+                if (formats.isEmpty()) {
+                    formats.addAll(Arrays.asList(FeedFormat.values()));
+                }
+                RSS20Feed feed = new RSS20Feed(directory, formats, RSS20FeedMode.values());
+                List<String> fileNames = feed.getFileNames();
+                List<String> messages = formatArchiveMessages(feed.writeArchivesToFileSystem());
+                long[] bytesWritten = feed.writeToFileSystem();
+                for (int i = 0; i < fileNames.size(); i++) {
+                    if (bytesWritten[i] == FileSystemServices.WRITE_FAILED) {
+                        messages.add("Could not produce " + fileNames.get(i) + ".");
+                    } else {
+                        messages.add("Produced " + fileNames.get(i) + formatBytesWritten(bytesWritten[i]) + ".");
+                    }
+                }
+                return messages.stream().collect(Collectors.joining("\n"));
+            }
+        },
+        /**
+         * Command to generate a bundled table with the glyph advances of a font.
+         */
+        GlyphAdvances {
+            /**
+             * Generates the table with the glyph advances of a font from its font file,
+             * such that it can be bundled as a resource named after the font family and
+             * the weight, e.g. <code>glyph-advances/Lato-Bold.psv</code>.
+             *
+             * @param args The arguments for the command, i.e. the path to the TrueType
+             *             or OpenType font file and the path to the table to write.
+             * @return A message reporting whether the table has been generated.
+             */
+            @Override
+            String execute(final String... args) {
+                Font font;
+                try {
+                    font = Font.createFont(Font.TRUETYPE_FONT, new File(args[0]));
+                } catch (FontFormatException | IOException e) {
+                    return "Could not read the font file " + args[0] + ".";
+                }
+                if (FileSystemServices.writeStringToFile(GlyphAdvanceTable.generateBundledTable(font), args[1])) {
+                    return "Generated the glyph advances for " + font.getFontName(Locale.ROOT) + ".";
+                }
+                return "Could not write the glyph advances to " + args[1] + ".";
+            }
+        },
         /**
          * Command to produce an RSS 2.0 feed for a directory suitable for IFTTT to be
          * posted to Twitter.
@@ -93,8 +254,9 @@ public final class CommandLineInterface {
             String execute(final String... args) {
                 String directory = args[0];
                 RSS20Feed feed = new RSS20Feed(directory, RSS20FeedMode.IftttFeed);
-                boolean success = feed.writeToFileSystem();
-                return success ? "Produced an IFTTT RSS 2.0 feed." : "Could not produce an IFTTT RSS 2.0 feed.";
+                long bytesWritten = feed.writeToFileSystem()[0];
+                return bytesWritten == FileSystemServices.WRITE_FAILED ? "Could not produce an IFTTT RSS 2.0 feed."
+                        : "Produced an IFTTT RSS 2.0 feed" + formatBytesWritten(bytesWritten) + ".";
             }
         },
         /**
@@ -136,8 +298,11 @@ public final class CommandLineInterface {
             String execute(final String... args) {
                 String directory = args[0];
                 RSS20Feed feed = new RSS20Feed(directory, RSS20FeedMode.GitHubFeed);
-                boolean success = feed.writeToFileSystem();
-                return success ? "Produced an RSS 2.0 feed." : "Could not produce an RSS 2.0 feed.";
+                List<String> messages = formatArchiveMessages(feed.writeArchivesToFileSystem());
+                long bytesWritten = feed.writeToFileSystem()[0];
+                messages.add(bytesWritten == FileSystemServices.WRITE_FAILED ? "Could not produce an RSS 2.0 feed."
+                        : "Produced an RSS 2.0 feed" + formatBytesWritten(bytesWritten) + ".");
+                return messages.stream().collect(Collectors.joining("\n"));
             }
         },
         /**
@@ -145,18 +310,84 @@ public final class CommandLineInterface {
          */
         Site {
             /**
-             * Produces the site for a directory.
+             * Produces the site for a directory. Only the outputs for which one of the
+             * input files changed since the previous run are produced again, and if the
+             * dry run option is given, the outputs that would be produced are listed
+             * only. The archive pages of the feeds are outputs of their own, produced
+             * from the polls on the page only. All feeds that need to be produced are
+             * written from a single load of the Sapor directory, splicing the items
+             * for the polls that didn't change from the existing feeds.
              *
              * @params args The arguments for the command, i.e. the directory for which to
-             *         produce the site.
+             *         produce the site, and optionally the dry run option.
              * @return A message reporting whether the site has been produced.
              */
             @Override
             String execute(final String... args) {
                 String directory = args[0];
-                System.out.println(RSS20Feed.execute(directory));
-                System.out.println(IftttRSS20Feed.execute(directory));
-                return "Done.";
+                boolean dryRun = args.length > 1 && args[1].equals(DRY_RUN_OPTION);
+                BuildGraph buildGraph = BuildGraph.readFromFileSystem(directory);
+                SaporDirectory saporDirectory = FileSystemSaporDirectory.readWithCachedPolls(directory);
+                List<String> messages = new ArrayList<String>();
+                RSS20Feed archiveFeed = new RSS20Feed(directory, saporDirectory, List.of(FeedFormat.RSS20),
+                        RSS20FeedMode.values());
+                Map<String, List<String>> archivePages = archiveFeed.getArchivePages();
+                Set<String> timestampedInputFileNames = net.filipvanlaenen.sapor2md.RSS20Feed
+                        .getTimestampedInputFileNames(directory);
+                List<String> outdatedArchivePages = new ArrayList<String>();
+                for (Map.Entry<String, List<String>> archivePage : archivePages.entrySet()) {
+                    String archivePageFileName = archivePage.getKey();
+                    if (buildGraph.isUpToDate(directory, archivePageFileName, archivePage.getValue(),
+                            timestampedInputFileNames)) {
+                        messages.add(archivePageFileName + " is up to date.");
+                    } else if (dryRun) {
+                        messages.add("Would produce " + archivePageFileName + ".");
+                    } else {
+                        outdatedArchivePages.add(archivePageFileName);
+                    }
+                }
+                if (!outdatedArchivePages.isEmpty()) {
+                    Map<String, Long> bytesWritten = archiveFeed.writeArchivesToFileSystem(outdatedArchivePages);
+                    for (Map.Entry<String, Long> entry : bytesWritten.entrySet()) {
+                        if (entry.getValue() != FileSystemServices.WRITE_FAILED) {
+                            buildGraph.record(directory, entry.getKey(), archivePages.get(entry.getKey()));
+                        }
+                    }
+                    messages.addAll(formatArchiveMessages(bytesWritten));
+                }
+                List<String> feedInputFileNames = net.filipvanlaenen.sapor2md.RSS20Feed
+                        .getInputFileNames(directory);
+                List<RSS20FeedMode> outdatedFeedModes = new ArrayList<RSS20FeedMode>();
+                for (RSS20FeedMode feedMode : RSS20FeedMode.values()) {
+                    String feedFileName = feedMode.getFeedFileName();
+                    if (buildGraph.isUpToDate(directory, feedFileName, feedInputFileNames, timestampedInputFileNames)) {
+                        messages.add(feedFileName + " is up to date.");
+                    } else if (dryRun) {
+                        messages.add("Would produce " + feedFileName + ".");
+                    } else {
+                        outdatedFeedModes.add(feedMode);
+                    }
+                }
+                if (!outdatedFeedModes.isEmpty()) {
+                    RSS20Feed feed = new RSS20Feed(directory, saporDirectory, List.of(FeedFormat.RSS20),
+                            outdatedFeedModes.toArray(new RSS20FeedMode[0]));
+                    feed.setBuildGraph(buildGraph);
+                    long[] bytesWritten = feed.writeToFileSystem();
+                    for (int i = 0; i < outdatedFeedModes.size(); i++) {
+                        String feedFileName = outdatedFeedModes.get(i).getFeedFileName();
+                        if (bytesWritten[i] != FileSystemServices.WRITE_FAILED) {
+                            buildGraph.record(directory, feedFileName, feedInputFileNames);
+                            messages.add("Produced " + feedFileName + formatBytesWritten(bytesWritten[i]) + ".");
+                        } else {
+                            messages.add("Could not produce " + feedFileName + ".");
+                        }
+                    }
+                }
+                if (!dryRun) {
+                    buildGraph.writeToFileSystem(directory);
+                }
+                messages.add("Done.");
+                return messages.stream().collect(Collectors.joining("\n"));
             }
         },
         /**
@@ -176,9 +407,12 @@ public final class CommandLineInterface {
                 String directory = args[0];
                 String pollFileName = args[1];
                 VotingIntentionsChangesChart chart = new VotingIntentionsChangesChart(directory, pollFileName);
-                boolean success = chart.writeSvgToFileSystem();
-                return (success ? "Produced" : "Could not produce") + " the voting intentions changes chart for "
-                        + pollFileName + ".";
+                long bytesWritten = chart.writeSvgToFileSystem();
+                if (bytesWritten == FileSystemServices.WRITE_FAILED) {
+                    return "Could not produce the voting intentions changes chart for " + pollFileName + ".";
+                }
+                return "Produced the voting intentions changes chart for " + pollFileName
+                        + formatBytesWritten(bytesWritten) + ".";
             }
         },
         /**
@@ -198,8 +432,11 @@ public final class CommandLineInterface {
                 String directory = args[0];
                 String pollFileName = args[1];
                 VotingIntentionsChart chart = new VotingIntentionsChart(directory, pollFileName);
-                boolean success = chart.writeSvgToFileSystem();
-                return (success ? "Produced" : "Could not produce") + " the voting intentions chart for " + pollFileName
+                long bytesWritten = chart.writeSvgToFileSystem();
+                if (bytesWritten == FileSystemServices.WRITE_FAILED) {
+                    return "Could not produce the voting intentions chart for " + pollFileName + ".";
+                }
+                return "Produced the voting intentions chart for " + pollFileName + formatBytesWritten(bytesWritten)
                         + ".";
             }
         };
@@ -212,5 +449,107 @@ public final class CommandLineInterface {
          */
         abstract String execute(String... args);
 
+        /**
+         * Produces a batch of charts in a format.
+         *
+         * @param format The format.
+         * @param args   The arguments for the command, i.e. the directory for which
+         *               to produce the charts, the chart types separated by commas,
+         *               optionally the poll files, and optionally the dry run
+         *               option.
+         * @return A message reporting which charts have been produced.
+         */
+        static String produceCharts(final ChartFormat format, final String... args) {
+            return produceCharts(format, CompactSvgChartCanvas.DEFAULT_PRECISION, args);
+        }
+
+        /**
+         * Produces a batch of charts in a format, rounding the numbers to a number
+         * of decimals if the format is compact SVG. Only the charts for which one
+         * of the input files changed since the previous run are produced again,
+         * and if the dry run option is given, the charts that would be produced
+         * are listed only, without rendering them or recording them in the build
+         * graph.
+         *
+         * @param format              The format.
+         * @param compactSvgPrecision The number of decimals for compact SVG
+         *                            documents.
+         * @param args                The arguments for the command, i.e. the
+         *                            directory for which to produce the charts, the
+         *                            chart types separated by commas, optionally
+         *                            the poll files, and optionally the dry run
+         *                            option.
+         * @return A message reporting which charts have been produced.
+         */
+        static String produceCharts(final ChartFormat format, final int compactSvgPrecision,
+                final String... args) {
+            String directory = args[0];
+            List<ChartType> chartTypes = new ArrayList<ChartType>();
+            if (args[1].equals(ALL_CHART_TYPES)) {
+                chartTypes.addAll(Arrays.asList(ChartType.values()));
+            } else {
+                for (String chartType : args[1].split(",")) {
+                    chartTypes.add(ChartType.valueOf(chartType.trim()));
+                }
+            }
+            List<String> pollFileNames = new ArrayList<String>(Arrays.asList(args).subList(2, args.length));
+            boolean dryRun = pollFileNames.remove(DRY_RUN_OPTION);
+            BuildGraph buildGraph = BuildGraph.readFromFileSystem(directory);
+            ChartBatch batch = new ChartBatch(directory, chartTypes, pollFileNames);
+            batch.setCompactSvgPrecision(compactSvgPrecision);
+            List<String> fileNames = batch.getFileNames(format);
+            if (dryRun) {
+                List<String> outdatedFileNames = batch.getOutdatedFileNames(format, buildGraph);
+                return fileNames.stream().map(f -> outdatedFileNames.contains(f) ? "Would produce " + f + "."
+                        : f + " is up to date.").collect(Collectors.joining("\n"));
+            }
+            long[] bytesWritten = batch.writeToFileSystem(format, buildGraph);
+            buildGraph.writeToFileSystem(directory);
+            List<String> messages = new ArrayList<String>();
+            for (int i = 0; i < fileNames.size(); i++) {
+                if (bytesWritten[i] == ChartBatch.UP_TO_DATE) {
+                    messages.add(fileNames.get(i) + " is up to date.");
+                } else if (bytesWritten[i] == FileSystemServices.WRITE_FAILED) {
+                    messages.add("Could not produce " + fileNames.get(i) + ".");
+                } else {
+                    messages.add("Produced " + fileNames.get(i) + formatBytesWritten(bytesWritten[i]) + ".");
+                }
+            }
+            return messages.stream().collect(Collectors.joining("\n"));
+        }
+
+        /**
+         * Formats the number of bytes written to an output for inclusion in a
+         * message.
+         *
+         * @param bytesWritten The number of bytes written.
+         * @return A string reporting the number of bytes written, or that the output
+         *         was unchanged.
+         */
+        static String formatBytesWritten(final long bytesWritten) {
+            return bytesWritten == 0L ? " (unchanged)" : " (" + bytesWritten + " bytes written)";
+        }
+
+        /**
+         * Formats the messages reporting on the archive pages of a feed that have
+         * been written.
+         *
+         * @param bytesWritten A map with the names of the archive pages that have
+         *                     been written and the number of bytes written for each
+         *                     of them.
+         * @return A modifiable list with a message for each of the archive pages.
+         */
+        static List<String> formatArchiveMessages(final Map<String, Long> bytesWritten) {
+            List<String> messages = new ArrayList<String>();
+            for (Map.Entry<String, Long> entry : bytesWritten.entrySet()) {
+                if (entry.getValue() == FileSystemServices.WRITE_FAILED) {
+                    messages.add("Could not produce " + entry.getKey() + ".");
+                } else {
+                    messages.add("Produced " + entry.getKey() + formatBytesWritten(entry.getValue()) + ".");
+                }
+            }
+            return messages;
+        }
+
     }
 }
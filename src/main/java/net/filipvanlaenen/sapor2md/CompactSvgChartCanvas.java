@@ -0,0 +1,315 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.filipvanlaenen.tsvgj.FontStyleValue;
+import net.filipvanlaenen.tsvgj.FontWeightValue;
+import net.filipvanlaenen.tsvgj.TextAnchorValue;
+
+/**
+ * Class implementing a chart canvas rendering the chart to a compact SVG
+ * document, which is streamed to an appendable while the elements are being
+ * drawn. Compared to the SVG documents produced by tsvgj, the numbers are
+ * rounded to a configurable number of decimals, the styling of the texts is
+ * hoisted into CSS classes shared by all the texts with the same styling, and
+ * attributes with the default value or without effect on the rendering are left
+ * out, as are the elements that don't render anything, i.e. rectangles without
+ * an area, empty texts and empty groups. There's no whitespace between the
+ * elements. The style element with the CSS classes is written at the end of the
+ * document, such that the document can still be streamed; CSS applies to the
+ * whole document regardless of where the style element is.
+ */
+final class CompactSvgChartCanvas extends ChartCanvas {
+    /**
+     * The default number of decimals the numbers are rounded to.
+     */
+    static final int DEFAULT_PRECISION = 1;
+    /**
+     * The SVG namespace.
+     */
+    private static final String SVG_NAMESPACE = "http://www.w3.org/2000/svg";
+    /**
+     * The prefix for the names of the CSS classes for the texts.
+     */
+    private static final String TEXT_CLASS_PREFIX = "t";
+    /**
+     * The prefix for the identifiers of the patterns for the hatchings.
+     */
+    private static final String PATTERN_ID_PREFIX = "p";
+    /**
+     * Bit mask for the red, green and blue components of a color.
+     */
+    private static final int RGB_MASK = 0xFFFFFF;
+
+    /**
+     * The appendable the document is written to.
+     */
+    private final Appendable out;
+    /**
+     * The number of decimals the numbers are rounded to.
+     */
+    private final int precision;
+    /**
+     * The names of the CSS classes for the texts, by CSS declarations.
+     */
+    private final Map<String, String> textClasses = new LinkedHashMap<String, String>();
+    /**
+     * The identifiers of the patterns for the hatchings.
+     */
+    private final Map<Hatching, String> patternIds = new LinkedHashMap<Hatching, String>();
+    /**
+     * For each group that has been started and not ended yet, whether its start
+     * tag has been written already. The start tag of a group is only written
+     * when the first child of the group is written, such that empty groups can be
+     * left out.
+     */
+    private final Deque<Boolean> groupStartsWritten = new ArrayDeque<Boolean>();
+
+    /**
+     * Constructor taking the appendable to write the SVG document to and the
+     * number of decimals to round the numbers to as its parameters.
+     *
+     * @param out       The appendable to write the SVG document to.
+     * @param precision The number of decimals to round the numbers to.
+     */
+    CompactSvgChartCanvas(final Appendable out, final int precision) {
+        this.out = out;
+        this.precision = precision;
+    }
+
+    /**
+     * Formats a color as a hexadecimal color, in the short notation with three
+     * digits if possible.
+     *
+     * @param color The color.
+     * @return The formatted color.
+     */
+    static String formatColor(final int color) {
+        String hex = String.format("%06X", color & RGB_MASK);
+        StringBuilder shortHex = new StringBuilder("#");
+        for (int i = 0; i < hex.length(); i += 2) {
+            if (hex.charAt(i) != hex.charAt(i + 1)) {
+                return "#" + hex;
+            }
+            shortHex.append(hex.charAt(i));
+        }
+        return shortHex.toString();
+    }
+
+    @Override
+    void startDocument(final double width, final double height) throws IOException {
+        String formattedWidth = formatNumber(width);
+        String formattedHeight = formatNumber(height);
+        out.append("<svg xmlns=\"").append(SVG_NAMESPACE).append("\" width=\"").append(formattedWidth)
+                .append("\" height=\"").append(formattedHeight).append("\" viewBox=\"0 0 ").append(formattedWidth)
+                .append(" ").append(formattedHeight).append("\">");
+    }
+
+    @Override
+    void endDocument() throws IOException {
+        if (!textClasses.isEmpty()) {
+            out.append("<style>");
+            for (Map.Entry<String, String> textClass : textClasses.entrySet()) {
+                out.append(".").append(textClass.getValue()).append("{").append(textClass.getKey()).append("}");
+            }
+            out.append("</style>");
+        }
+        out.append("</svg>");
+    }
+
+    @Override
+    void startGroup() throws IOException {
+        groupStartsWritten.push(false);
+    }
+
+    @Override
+    void endGroup() throws IOException {
+        if (groupStartsWritten.pop()) {
+            out.append("</g>");
+        }
+    }
+
+    /**
+     * Defines the hatchings as patterns in the definitions of the SVG document.
+     * Hatchings that have been defined before aren't defined again.
+     *
+     * @param hatchings The hatchings.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    @Override
+    void defineHatchings(final List<Hatching> hatchings) throws IOException {
+        boolean definitionsStarted = false;
+        for (Hatching hatching : hatchings) {
+            if (patternIds.containsKey(hatching)) {
+                continue;
+            }
+            if (!definitionsStarted) {
+                writePendingGroupStarts();
+                out.append("<defs>");
+                definitionsStarted = true;
+            }
+            String id = PATTERN_ID_PREFIX + (patternIds.size() + 1);
+            patternIds.put(hatching, id);
+            String tileSize = formatNumber(Hatching.TILE_SIZE);
+            out.append("<pattern id=\"").append(id).append("\" width=\"").append(tileSize).append("\" height=\"")
+                    .append(tileSize).append("\" patternUnits=\"userSpaceOnUse\" patternTransform=\"rotate(")
+                    .append(formatNumber(hatching.getAngle())).append(")\"><line y2=\"").append(tileSize)
+                    .append("\" stroke=\"").append(formatColor(hatching.getColor())).append("\" stroke-width=\"")
+                    .append(formatNumber(Hatching.STROKE_WIDTH)).append("\"/></pattern>");
+        }
+        if (definitionsStarted) {
+            out.append("</defs>");
+        }
+    }
+
+    @Override
+    void drawRectangle(final ChartRectangle rectangle) throws IOException {
+        if (rectangle.getWidth() == null || rectangle.getHeight() == null || rectangle.getWidth() <= 0D
+                || rectangle.getHeight() <= 0D) {
+            return;
+        }
+        writePendingGroupStarts();
+        out.append("<rect");
+        appendCoordinate("x", rectangle.getX());
+        appendCoordinate("y", rectangle.getY());
+        appendAttribute("width", formatNumber(rectangle.getWidth()));
+        appendAttribute("height", formatNumber(rectangle.getHeight()));
+        if (rectangle.getFillColor() != null) {
+            appendAttribute("fill", formatColor(rectangle.getFillColor()));
+        } else if (rectangle.getFillHatching() != null) {
+            appendAttribute("fill", "url(#" + patternIds.get(rectangle.getFillHatching()) + ")");
+        }
+        if (!rectangle.hasNoStroke() && rectangle.getStrokeColor() != null) {
+            appendAttribute("stroke", formatColor(rectangle.getStrokeColor()));
+            if (rectangle.getStrokeWidth() != null) {
+                appendAttribute("stroke-width", formatNumber(rectangle.getStrokeWidth()));
+            }
+        }
+        out.append("/>");
+    }
+
+    @Override
+    void drawText(final ChartText text) throws IOException {
+        if (text.getText() == null || text.getText().isEmpty()) {
+            return;
+        }
+        writePendingGroupStarts();
+        out.append("<text");
+        String textClass = getTextClass(text);
+        if (textClass != null) {
+            appendAttribute("class", textClass);
+        }
+        appendCoordinate("x", text.getX());
+        appendCoordinate("y", text.getY());
+        if (text.getRotation() != null) {
+            appendAttribute("transform", "rotate(" + formatNumber(text.getRotation()) + ")");
+        }
+        out.append(">");
+        XmlServices.appendEncoded(out, text.getText());
+        out.append("</text>");
+    }
+
+    /**
+     * Returns the name of the CSS class for the styling of a text, registering a
+     * new CSS class if no other text has had the same styling before. The text
+     * alignment is left out, because it has no effect on SVG texts, and so are
+     * the normal font style, the normal font weight and the start text anchor,
+     * because these are the default values.
+     *
+     * @param text The text.
+     * @return The name of the CSS class for the styling of the text, or null if
+     *         the text has no styling.
+     */
+    private String getTextClass(final ChartText text) {
+        StringBuilder declarations = new StringBuilder();
+        if (text.getFontFamily() != null) {
+            declarations.append("font-family:").append(text.getFontFamily()).append(";");
+        }
+        if (text.getFontSize() != null) {
+            declarations.append("font-size:").append(formatNumber(text.getFontSize())).append("px;");
+        }
+        if (text.getFontStyle() != null && text.getFontStyle() != FontStyleValue.NORMAL) {
+            declarations.append("font-style:").append(text.getFontStyle()).append(";");
+        }
+        if (text.getFontWeight() != null && text.getFontWeight() != FontWeightValue.NORMAL) {
+            declarations.append("font-weight:").append(text.getFontWeight()).append(";");
+        }
+        if (text.getTextAnchor() != null && text.getTextAnchor() != TextAnchorValue.START) {
+            declarations.append("text-anchor:").append(text.getTextAnchor()).append(";");
+        }
+        if (text.getFill() != null) {
+            declarations.append("fill:").append(formatColor(text.getFill())).append(";");
+        }
+        if (declarations.length() == 0) {
+            return null;
+        }
+        // The last declaration doesn't need a semicolon.
+        declarations.setLength(declarations.length() - 1);
+        return textClasses.computeIfAbsent(declarations.toString(), d -> TEXT_CLASS_PREFIX + textClasses.size());
+    }
+
+    /**
+     * Appends an attribute to the start tag of the current element.
+     *
+     * @param name  The name of the attribute.
+     * @param value The value of the attribute.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    private void appendAttribute(final String name, final String value) throws IOException {
+        out.append(" ").append(name).append("=\"").append(value).append("\"");
+    }
+
+    /**
+     * Appends a coordinate to the start tag of the current element, unless it's
+     * undefined or it rounds to zero, which is the default value.
+     *
+     * @param name  The name of the attribute.
+     * @param value The value of the coordinate, or null.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    private void appendCoordinate(final String name, final Double value) throws IOException {
+        if (value != null) {
+            String formattedValue = formatNumber(value);
+            if (!formattedValue.equals("0")) {
+                appendAttribute(name, formattedValue);
+            }
+        }
+    }
+
+    /**
+     * Formats a number rounded to the precision of the canvas.
+     *
+     * @param number The number to format.
+     * @return The formatted number.
+     */
+    private String formatNumber(final double number) {
+        return SvgWriter.formatNumber(number, precision);
+    }
+
+    /**
+     * Writes the start tags of the groups that haven't been written yet.
+     *
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    private void writePendingGroupStarts() throws IOException {
+        int pending = 0;
+        for (Boolean written : groupStartsWritten) {
+            if (written) {
+                break;
+            }
+            pending++;
+        }
+        for (int i = 0; i < pending; i++) {
+            out.append("<g>");
+            groupStartsWritten.pop();
+        }
+        for (int i = 0; i < pending; i++) {
+            groupStartsWritten.push(true);
+        }
+    }
+}
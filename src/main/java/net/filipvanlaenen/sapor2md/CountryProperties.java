@@ -13,10 +13,18 @@ public abstract class CountryProperties {
      * The key for the background color.
      */
     static final String BACKGROUND_COLOR_KEY = "BackgroundColor";
+    /**
+     * The key for the capacity of the cache for the probability mass functions.
+     */
+    static final String CACHE_CAPACITY_KEY = "CacheCapacity";
     /**
      * The key for the copyright text.
      */
     static final String COPYRIGHT_TEXT_KEY = "CopyrightText";
+    /**
+     * The key for the number of polls per archive page of the feed.
+     */
+    static final String FEED_ARCHIVE_PAGE_SIZE_KEY = "FeedArchivePageSize";
     /**
      * The key for the property containing the URL to the GitHub directory.
      */
@@ -37,7 +45,17 @@ public abstract class CountryProperties {
      * The key for the Twitter tags color.
      */
     static final String TWITTER_TAGS_KEY = "TwitterTags";
+    /**
+     * The default capacity of the cache for the probability mass functions,
+     * expressed as the total number of values (2^22) over all probability mass
+     * functions held in memory.
+     */
+    static final long DEFAULT_CACHE_CAPACITY = 4194304L;
 
+    /**
+     * The capacity of the cache for the probability mass functions.
+     */
+    private final long cacheCapacity;
     /**
      * The copyirght text.
      */
@@ -46,6 +64,11 @@ public abstract class CountryProperties {
      * The background color.
      */
     private final int backgroundColor;
+    /**
+     * The number of polls per archive page of the feed, or zero if the feed
+     * shouldn't be archived.
+     */
+    private final int feedArchivePageSize;
     /**
      * The URL to the GitHub directory.
      */
@@ -80,7 +103,12 @@ public abstract class CountryProperties {
      */
     CountryProperties(final Map<String, String> map, final OffsetDateTime timestamp) {
         backgroundColor = parseHexadecimalColorCode(map.get(BACKGROUND_COLOR_KEY));
+        cacheCapacity = map.containsKey(CACHE_CAPACITY_KEY) ? Long.parseLong(map.get(CACHE_CAPACITY_KEY).trim())
+                : DEFAULT_CACHE_CAPACITY;
         copyrightText = map.get(COPYRIGHT_TEXT_KEY);
+        feedArchivePageSize = map.containsKey(FEED_ARCHIVE_PAGE_SIZE_KEY)
+                ? Integer.parseInt(map.get(FEED_ARCHIVE_PAGE_SIZE_KEY).trim())
+                : 0;
         gitHubDirectoryURL = map.get(GITHUB_DIRECTORY_URL_KEY);
         numberOfSeats = Integer.parseInt(map.get(NUMBER_OF_SEATS_KEY));
         parliamentName = map.get(PARLIAMENT_NAME_KEY);
@@ -123,6 +151,17 @@ public abstract class CountryProperties {
         return backgroundColor;
     }
 
+    /**
+     * Returns the capacity of the cache for the probability mass functions,
+     * expressed as the total number of values over all probability mass functions
+     * held in memory.
+     *
+     * @return The capacity of the cache for the probability mass functions.
+     */
+    long getCacheCapacity() {
+        return cacheCapacity;
+    }
+
     /**
      * Returns the copyright text.
      *
@@ -132,6 +171,16 @@ public abstract class CountryProperties {
         return copyrightText;
     }
 
+    /**
+     * Returns the number of polls per archive page of the feed. Zero means that
+     * the feed shouldn't be archived.
+     *
+     * @return The number of polls per archive page of the feed.
+     */
+    int getFeedArchivePageSize() {
+        return feedArchivePageSize;
+    }
+
     /**
      * Returns the URL of the GitHub directory.
      *
@@ -0,0 +1,150 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class indexing the item boundaries of an existing RSS 2.0 feed, such that the
+ * items for the polls that didn't change can be spliced into an updated feed
+ * without rendering them again. The feed is split into its header, i.e.
+ * everything up to the first item, and the fragments with the consecutive items
+ * for each poll, identified by the base name of the poll in the links of the
+ * items.
+ */
+final class FeedFileIndex {
+    /**
+     * The line starting an item.
+     */
+    private static final String ITEM_START = "    <item>\n";
+    /**
+     * The line ending an item.
+     */
+    private static final String ITEM_END = "    </item>\n";
+    /**
+     * The line closing the channel.
+     */
+    private static final String CHANNEL_END = "  </channel>\n";
+    /**
+     * The start tag of the link of an item.
+     */
+    private static final String LINK_START = "<link>";
+    /**
+     * The end tag of the link of an item.
+     */
+    private static final String LINK_END = "</link>";
+    /**
+     * The extension of the page a link points to.
+     */
+    private static final String PAGE_EXTENSION = ".html";
+
+    /**
+     * The header of the feed, or null if the feed couldn't be parsed.
+     */
+    private final String header;
+    /**
+     * The fragments with the items for each poll, by base name of the poll.
+     */
+    private final Map<String, String> fragments;
+
+    /**
+     * Constructor taking the content of an RSS 2.0 feed as its parameter.
+     *
+     * @param content The content of the feed.
+     */
+    FeedFileIndex(final String content) {
+        Map<String, String> fragmentMap = new LinkedHashMap<String, String>();
+        int itemStart = content.indexOf(ITEM_START);
+        int channelEnd = content.lastIndexOf(CHANNEL_END);
+        String parsedHeader = null;
+        if (channelEnd >= 0) {
+            int headerEnd = itemStart < 0 ? channelEnd : itemStart;
+            parsedHeader = content.substring(0, headerEnd);
+            int position = headerEnd;
+            while (parsedHeader != null && position < channelEnd) {
+                int itemEnd = content.indexOf(ITEM_END, position);
+                String baseName = null;
+                if (content.startsWith(ITEM_START, position) && itemEnd >= 0 && itemEnd < channelEnd) {
+                    itemEnd += ITEM_END.length();
+                    baseName = extractBaseName(content.substring(position, itemEnd));
+                }
+                if (baseName == null) {
+                    parsedHeader = null;
+                } else {
+                    fragmentMap.merge(baseName, content.substring(position, itemEnd), String::concat);
+                    position = itemEnd;
+                }
+            }
+        }
+        this.header = parsedHeader;
+        this.fragments = parsedHeader == null ? Collections.emptyMap() : Collections.unmodifiableMap(fragmentMap);
+    }
+
+    /**
+     * Reads an existing feed from the file system and indexes its item
+     * boundaries.
+     *
+     * @param filePath The path to the feed.
+     * @return An index on the feed, or null if the feed doesn't exist or couldn't
+     *         be parsed.
+     */
+    static FeedFileIndex readFromFileSystem(final String filePath) {
+        if (!FileSystemServices.fileExists(filePath)) {
+            return null;
+        }
+        String content = FileSystemServices.readFileVerbatim(filePath);
+        if (content == null) {
+            return null;
+        }
+        FeedFileIndex index = new FeedFileIndex(content);
+        return index.isParsed() ? index : null;
+    }
+
+    /**
+     * Extracts the base name of the poll an item is about from the link of the
+     * item.
+     *
+     * @param item The item.
+     * @return The base name of the poll, or null if the item doesn't have a link
+     *         to the page of a poll.
+     */
+    private static String extractBaseName(final String item) {
+        int linkStart = item.indexOf(LINK_START);
+        int linkEnd = item.indexOf(LINK_END);
+        if (linkStart < 0 || linkEnd < linkStart) {
+            return null;
+        }
+        String link = item.substring(linkStart + LINK_START.length(), linkEnd);
+        int nameStart = link.lastIndexOf('/') + 1;
+        int nameEnd = link.indexOf(PAGE_EXTENSION, nameStart);
+        return nameEnd < 0 ? null : link.substring(nameStart, nameEnd);
+    }
+
+    /**
+     * Returns whether the feed could be parsed.
+     *
+     * @return True if the feed could be parsed.
+     */
+    boolean isParsed() {
+        return header != null;
+    }
+
+    /**
+     * Returns the header of the feed, i.e. everything up to the first item.
+     *
+     * @return The header of the feed.
+     */
+    String getHeader() {
+        return header;
+    }
+
+    /**
+     * Returns the fragments with the items for each poll in the feed, by base name
+     * of the poll, in the order in which they appear in the feed.
+     *
+     * @return A map with the fragments with the items for each poll.
+     */
+    Map<String, String> getFragments() {
+        return fragments;
+    }
+}
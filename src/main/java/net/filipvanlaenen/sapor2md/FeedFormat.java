@@ -0,0 +1,367 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.IOException;
+
+import net.filipvanlaenen.sapor2md.RSS20Feed.RSS20FeedMode;
+
+/**
+ * Enumeration with the formats in which a feed can be serialized. Each format
+ * lays out the header of the feed, the neutral feed items and the footer of the
+ * feed, while the content of the items is produced by the feed mode.
+ */
+enum FeedFormat {
+    /**
+     * The RSS 2.0 format.
+     */
+    RSS20 {
+        @Override
+        String getFileName(final RSS20FeedMode mode) {
+            return "rss" + mode.getFileNameSuffix() + ".xml";
+        }
+
+        @Override
+        void appendHeader(final Appendable out, final CountryProperties countryProperties, final RSS20FeedMode mode,
+                final FeedPage page) throws IOException {
+            out.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            out.append("<rss version=\"2.0\" xmlns:dc=\"http://purl.org/dc/elements/1.1/\"");
+            if (page.hasHistoryLinks()) {
+                out.append(" xmlns:atom=\"" + ATOM_NAMESPACE + "\" xmlns:fh=\"" + FEED_HISTORY_NAMESPACE + "\"");
+            }
+            out.append(">\n");
+            out.append("  <channel>\n");
+            out.append("    <title>All Registered Polls for the ");
+            XmlServices.appendEncoded(out, countryProperties.getParliamentName());
+            out.append("</title>\n");
+            out.append("    <link>" + countryProperties.getGitHubDirectoryURL() + "</link>\n");
+            out.append("    <description>All Registered Polls for the ");
+            XmlServices.appendEncoded(out, countryProperties.getParliamentName());
+            out.append("</description>\n");
+            out.append("    <pubDate>" + TimeServices.formatRfc1123DateTime(countryProperties.getTimestamp())
+                    + "</pubDate>\n");
+            appendHistoryLinks(this, out, "    ", "atom:", countryProperties, mode, page);
+        }
+
+        @Override
+        void appendItem(final Appendable out, final FeedItem item, final RSS20FeedMode mode,
+                final CountryProperties countryProperties) throws IOException {
+            out.append("    <item>\n");
+            out.append("      <title>");
+            XmlServices.appendEncoded(out, item.getTitle());
+            out.append("</title>\n");
+            out.append("      <link>");
+            out.append(item.getLink());
+            out.append("</link>\n");
+            out.append("      <description>");
+            if (mode.isContentInCData()) {
+                out.append("<![CDATA[");
+                mode.appendContent(out, item, countryProperties);
+                out.append("]]>");
+            } else {
+                mode.appendContent(out, item, countryProperties);
+            }
+            out.append("</description>\n");
+            out.append("      <enclosure url=\"");
+            out.append(item.getImageUrl());
+            out.append("\" length=\"");
+            out.append(Long.toString(item.getImageLength()));
+            out.append("\" type=\"image/png\"/>\n");
+            out.append("      <pubDate>" + TimeServices.formatRfc1123DateTime(item.getTimestamp())
+                    + "</pubDate>\n");
+            out.append("      <dc:date>" + TimeServices.formatIsoDateTime(item.getTimestamp())
+                    + "</dc:date>\n");
+            out.append("    </item>\n");
+        }
+
+        @Override
+        String getItemSeparator() {
+            return "";
+        }
+
+        @Override
+        void appendFooter(final Appendable out) throws IOException {
+            out.append("  </channel>\n");
+            out.append("</rss>");
+        }
+    },
+    /**
+     * The Atom 1.0 format.
+     */
+    Atom10 {
+        @Override
+        String getFileName(final RSS20FeedMode mode) {
+            return "atom" + mode.getFileNameSuffix() + ".xml";
+        }
+
+        @Override
+        void appendHeader(final Appendable out, final CountryProperties countryProperties, final RSS20FeedMode mode,
+                final FeedPage page) throws IOException {
+            String feedUrl = getUrl(countryProperties, page.getFileName(this, mode));
+            out.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            out.append("<feed xmlns=\"" + ATOM_NAMESPACE + "\"");
+            if (page.hasHistoryLinks()) {
+                out.append(" xmlns:fh=\"" + FEED_HISTORY_NAMESPACE + "\"");
+            }
+            out.append(">\n");
+            out.append("  <title>All Registered Polls for the ");
+            XmlServices.appendEncoded(out, countryProperties.getParliamentName());
+            out.append("</title>\n");
+            out.append("  <subtitle>All Registered Polls for the ");
+            XmlServices.appendEncoded(out, countryProperties.getParliamentName());
+            out.append("</subtitle>\n");
+            out.append("  <link href=\"");
+            XmlServices.appendEncodedAttribute(out, countryProperties.getGitHubDirectoryURL());
+            out.append("\"/>\n");
+            out.append("  <link rel=\"self\" href=\"");
+            XmlServices.appendEncodedAttribute(out, feedUrl);
+            out.append("\"/>\n");
+            out.append("  <id>");
+            XmlServices.appendEncoded(out, feedUrl);
+            out.append("</id>\n");
+            out.append("  <updated>" + TimeServices.formatIsoOffsetDateTime(countryProperties.getTimestamp())
+                    + "</updated>\n");
+            appendHistoryLinks(this, out, "  ", "", countryProperties, mode, page);
+        }
+
+        @Override
+        void appendItem(final Appendable out, final FeedItem item, final RSS20FeedMode mode,
+                final CountryProperties countryProperties) throws IOException {
+            out.append("  <entry>\n");
+            out.append("    <title>");
+            XmlServices.appendEncoded(out, item.getTitle());
+            out.append("</title>\n");
+            out.append("    <link href=\"");
+            XmlServices.appendEncodedAttribute(out, item.getLink());
+            out.append("\"/>\n");
+            out.append("    <link rel=\"enclosure\" type=\"image/png\" length=\"");
+            out.append(Long.toString(item.getImageLength()));
+            out.append("\" href=\"");
+            XmlServices.appendEncodedAttribute(out, item.getImageUrl());
+            out.append("\"/>\n");
+            out.append("    <id>");
+            XmlServices.appendEncoded(out, item.getLink());
+            out.append("</id>\n");
+            out.append("    <updated>" + TimeServices.formatIsoOffsetDateTime(item.getTimestamp())
+                    + "</updated>\n");
+            out.append("    <content type=\"html\">");
+            XmlServices.appendEncoded(out, renderContent(item, mode, countryProperties));
+            out.append("</content>\n");
+            out.append("  </entry>\n");
+        }
+
+        @Override
+        String getItemSeparator() {
+            return "";
+        }
+
+        @Override
+        void appendFooter(final Appendable out) throws IOException {
+            out.append("</feed>");
+        }
+    },
+    /**
+     * The JSON Feed 1.1 format.
+     */
+    JsonFeed11 {
+        @Override
+        String getFileName(final RSS20FeedMode mode) {
+            return "feed" + mode.getFileNameSuffix() + ".json";
+        }
+
+        @Override
+        void appendHeader(final Appendable out, final CountryProperties countryProperties, final RSS20FeedMode mode,
+                final FeedPage page) throws IOException {
+            out.append("{\n");
+            out.append("  \"version\": \"https://jsonfeed.org/version/1.1\",\n");
+            out.append("  \"title\": ");
+            JsonServices.appendString(out, "All Registered Polls for the " + countryProperties.getParliamentName());
+            out.append(",\n");
+            out.append("  \"description\": ");
+            JsonServices.appendString(out, "All Registered Polls for the " + countryProperties.getParliamentName());
+            out.append(",\n");
+            out.append("  \"home_page_url\": ");
+            JsonServices.appendString(out, countryProperties.getGitHubDirectoryURL());
+            out.append(",\n");
+            out.append("  \"feed_url\": ");
+            JsonServices.appendString(out, getUrl(countryProperties, page.getFileName(this, mode)));
+            out.append(",\n");
+            if (page.hasPreviousArchivePage()) {
+                out.append("  \"next_url\": ");
+                JsonServices.appendString(out, getUrl(countryProperties, page.getPreviousArchiveFileName(this, mode)));
+                out.append(",\n");
+            }
+            out.append("  \"items\": [\n");
+        }
+
+        @Override
+        void appendItem(final Appendable out, final FeedItem item, final RSS20FeedMode mode,
+                final CountryProperties countryProperties) throws IOException {
+            out.append("    {\n");
+            out.append("      \"id\": ");
+            JsonServices.appendString(out, item.getLink());
+            out.append(",\n");
+            out.append("      \"url\": ");
+            JsonServices.appendString(out, item.getLink());
+            out.append(",\n");
+            out.append("      \"title\": ");
+            JsonServices.appendString(out, item.getTitle());
+            out.append(",\n");
+            out.append("      \"content_html\": ");
+            JsonServices.appendString(out, renderContent(item, mode, countryProperties));
+            out.append(",\n");
+            out.append("      \"image\": ");
+            JsonServices.appendString(out, item.getImageUrl());
+            out.append(",\n");
+            out.append("      \"date_published\": ");
+            JsonServices.appendString(out, TimeServices.formatIsoOffsetDateTime(item.getTimestamp()));
+            out.append(",\n");
+            out.append("      \"attachments\": [{\"url\": ");
+            JsonServices.appendString(out, item.getImageUrl());
+            out.append(", \"mime_type\": \"image/png\", \"size_in_bytes\": ");
+            out.append(Long.toString(item.getImageLength()));
+            out.append("}]\n");
+            out.append("    }");
+        }
+
+        @Override
+        String getItemSeparator() {
+            return ",\n";
+        }
+
+        @Override
+        void appendFooter(final Appendable out) throws IOException {
+            out.append("\n  ]\n");
+            out.append("}");
+        }
+    };
+
+    /**
+     * The namespace for Atom.
+     */
+    private static final String ATOM_NAMESPACE = "http://www.w3.org/2005/Atom";
+    /**
+     * The namespace for the feed history extension of RFC 5005.
+     */
+    private static final String FEED_HISTORY_NAMESPACE = "http://purl.org/syndication/history/1.0";
+
+    /**
+     * Writes the RFC 5005 elements for a page of an archived feed: the archive
+     * marker and the link to the current feed for an archive page, and the link
+     * to the previous archive page if there is one.
+     *
+     * @param format            The feed format.
+     * @param out               The appendable to write the elements to.
+     * @param indent            The indentation for the elements.
+     * @param linkPrefix        The namespace prefix for the link elements.
+     * @param countryProperties The country properties.
+     * @param mode              The feed mode.
+     * @param page              The page of the feed.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    private static void appendHistoryLinks(final FeedFormat format, final Appendable out, final String indent,
+            final String linkPrefix, final CountryProperties countryProperties, final RSS20FeedMode mode,
+            final FeedPage page) throws IOException {
+        if (page.isArchive()) {
+            out.append(indent + "<fh:archive/>\n");
+            out.append(indent + "<" + linkPrefix + "link rel=\"current\" href=\"");
+            XmlServices.appendEncodedAttribute(out, getUrl(countryProperties, format.getFileName(mode)));
+            out.append("\"/>\n");
+        }
+        if (page.hasPreviousArchivePage()) {
+            out.append(indent + "<" + linkPrefix + "link rel=\"prev-archive\" href=\"");
+            XmlServices.appendEncodedAttribute(out,
+                    getUrl(countryProperties, page.getPreviousArchiveFileName(format, mode)));
+            out.append("\"/>\n");
+        }
+    }
+
+    /**
+     * Returns the URL for a file in the GitHub directory.
+     *
+     * @param countryProperties The country properties.
+     * @param fileName          The name of the file.
+     * @return The URL for the file.
+     */
+    private static String getUrl(final CountryProperties countryProperties, final String fileName) {
+        return countryProperties.getGitHubDirectoryURL() + "/" + fileName;
+    }
+
+    /**
+     * Renders the content of an item in a feed mode to a string, such that it can
+     * be encoded as a whole.
+     *
+     * @param item              The feed item.
+     * @param mode              The feed mode.
+     * @param countryProperties The country properties.
+     * @return The content of the item, as HTML.
+     * @throws IOException Thrown if rendering the content fails.
+     */
+    private static String renderContent(final FeedItem item, final RSS20FeedMode mode,
+            final CountryProperties countryProperties) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        mode.appendContent(sb, item, countryProperties);
+        return sb.toString();
+    }
+
+    /**
+     * Returns the file name for a feed in this format and a feed mode.
+     *
+     * @param mode The feed mode.
+     * @return The file name for the feed.
+     */
+    abstract String getFileName(RSS20FeedMode mode);
+
+    /**
+     * Returns the file name for an archive page of a feed in this format and a
+     * feed mode, i.e. the file name of the feed with the page number inserted
+     * before the extension.
+     *
+     * @param mode       The feed mode.
+     * @param pageNumber The page number of the archive page.
+     * @return The file name for the archive page.
+     */
+    String getArchiveFileName(final RSS20FeedMode mode, final int pageNumber) {
+        String fileName = getFileName(mode);
+        int extensionIndex = fileName.lastIndexOf('.');
+        return fileName.substring(0, extensionIndex) + "-archive-" + pageNumber + fileName.substring(extensionIndex);
+    }
+
+    /**
+     * Writes the header of the feed, up to the first item, including the links to
+     * the other pages of the feed if it's archived.
+     *
+     * @param out               The appendable to write the header to.
+     * @param countryProperties The country properties.
+     * @param mode              The feed mode.
+     * @param page              The page of the feed.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    abstract void appendHeader(Appendable out, CountryProperties countryProperties, RSS20FeedMode mode,
+            FeedPage page) throws IOException;
+
+    /**
+     * Writes a feed item.
+     *
+     * @param out               The appendable to write the item to.
+     * @param item              The feed item.
+     * @param mode              The feed mode, producing the content of the item.
+     * @param countryProperties The country properties.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    abstract void appendItem(Appendable out, FeedItem item, RSS20FeedMode mode, CountryProperties countryProperties)
+            throws IOException;
+
+    /**
+     * Returns the separator to be written between two items.
+     *
+     * @return The separator between two items.
+     */
+    abstract String getItemSeparator();
+
+    /**
+     * Writes the footer of the feed, after the last item.
+     *
+     * @param out The appendable to write the footer to.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    abstract void appendFooter(Appendable out) throws IOException;
+}
@@ -0,0 +1,303 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Class modeling a feed item independently of the format of the feed. A feed
+ * item presents one aspect of a poll, i.e. its voting intentions, its seat
+ * projections per party or its seating plan projection, and holds the title,
+ * the links and the statistics for that aspect. Serializers for the various
+ * feed formats only have to lay out the item.
+ */
+final class FeedItem {
+    /**
+     * The type of the item.
+     */
+    private final Type type;
+    /**
+     * The model of the feed items for the poll.
+     */
+    private final PollFeedModel model;
+    /**
+     * The title of the item, as plain text.
+     */
+    private final String title;
+    /**
+     * The URL of the page for the item.
+     */
+    private final String link;
+    /**
+     * The URL of the image for the item.
+     */
+    private final String imageUrl;
+
+    /**
+     * Constructor taking the model of the feed items for a poll, the type of the
+     * item and the URL of the GitHub directory as its parameters.
+     *
+     * @param model              The model of the feed items for the poll.
+     * @param type               The type of the item.
+     * @param gitHubDirectoryUrl The URL of the GitHub directory.
+     */
+    FeedItem(final PollFeedModel model, final Type type, final String gitHubDirectoryUrl) {
+        this.model = model;
+        this.type = type;
+        StringBuilder sb = new StringBuilder("Opinion Poll by ");
+        sb.append(model.getPollingFirm());
+        if (model.getCommissioners() != null) {
+            sb.append(" for ").append(model.getCommissioners());
+        }
+        sb.append(", ").append(model.getFieldworkPeriod()).append(" – ").append(type.getSubject());
+        this.title = sb.toString();
+        this.link = gitHubDirectoryUrl + "/" + model.getBaseName() + ".html" + type.getAnchor();
+        this.imageUrl = gitHubDirectoryUrl + "/" + model.getBaseName() + type.getImageSuffix() + ".png";
+    }
+
+    /**
+     * Returns the type of the item.
+     *
+     * @return The type of the item.
+     */
+    Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the model of the feed items for the poll.
+     *
+     * @return The model of the feed items for the poll.
+     */
+    PollFeedModel getPollFeedModel() {
+        return model;
+    }
+
+    /**
+     * Returns the title of the item, as plain text.
+     *
+     * @return The title of the item.
+     */
+    String getTitle() {
+        return title;
+    }
+
+    /**
+     * Returns the URL of the page for the item.
+     *
+     * @return The URL of the page for the item.
+     */
+    String getLink() {
+        return link;
+    }
+
+    /**
+     * Returns the URL of the image for the item.
+     *
+     * @return The URL of the image for the item.
+     */
+    String getImageUrl() {
+        return imageUrl;
+    }
+
+    /**
+     * Returns the size of the image for the item.
+     *
+     * @return The size of the image for the item.
+     */
+    long getImageLength() {
+        return type.getImageLength(model);
+    }
+
+    /**
+     * Returns the lines with the statistics for the item.
+     *
+     * @return The lines with the statistics for the item.
+     */
+    List<PollFeedModel.Line> getLines() {
+        return type.getLines(model);
+    }
+
+    /**
+     * Returns the timestamp of the item.
+     *
+     * @return The timestamp of the item.
+     */
+    OffsetDateTime getTimestamp() {
+        return model.getTimestamp();
+    }
+
+    /**
+     * Enumeration with the types of feed items, in the order in which they're
+     * included in a feed for a poll.
+     */
+    enum Type {
+        /**
+         * An item with the seating plan projection.
+         */
+        SeatingPlanProjection("Seating Plan Projection", "Seating plan projection", "#seating-plan",
+                "-seating-plan", true) {
+            @Override
+            boolean isIncluded(final PollFeedModel model) {
+                return model.hasSeatProjectionItems();
+            }
+
+            @Override
+            long getImageLength(final PollFeedModel model) {
+                return model.getSeatingPlanProjectionChartFileSize();
+            }
+
+            @Override
+            List<PollFeedModel.Line> getLines(final PollFeedModel model) {
+                return model.getSeatingPlanProjectionLines();
+            }
+        },
+        /**
+         * An item with the seat projections per party.
+         */
+        SeatProjections("Seat Projections", "Seat projections", "#seats", "-seats", true) {
+            @Override
+            boolean isIncluded(final PollFeedModel model) {
+                return model.hasSeatProjectionItems();
+            }
+
+            @Override
+            long getImageLength(final PollFeedModel model) {
+                return model.getSeatProjectionsChartFileSize();
+            }
+
+            @Override
+            List<PollFeedModel.Line> getLines(final PollFeedModel model) {
+                return model.getSeatProjectionsLines();
+            }
+        },
+        /**
+         * An item with the voting intentions.
+         */
+        VotingIntentions("Voting Intentions", "Voting intentions", "", "", false) {
+            @Override
+            boolean isIncluded(final PollFeedModel model) {
+                return model.hasVotingIntentionsItem();
+            }
+
+            @Override
+            long getImageLength(final PollFeedModel model) {
+                return model.getVotingIntentionsChartFileSize();
+            }
+
+            @Override
+            List<PollFeedModel.Line> getLines(final PollFeedModel model) {
+                return model.getVotingIntentionsLines();
+            }
+        };
+
+        /**
+         * The subject of the item, as used in the title.
+         */
+        private final String subject;
+        /**
+         * The subject of the item, as used in a sentence.
+         */
+        private final String sentenceSubject;
+        /**
+         * The anchor on the page of the poll.
+         */
+        private final String anchor;
+        /**
+         * The suffix of the image file after the base name of the poll.
+         */
+        private final String imageSuffix;
+        /**
+         * Whether the item is about seats.
+         */
+        private final boolean aboutSeats;
+
+        /**
+         * Constructor taking the subject for the title, the subject for a sentence,
+         * the anchor, the suffix of the image and whether the item is about seats as
+         * its parameters.
+         *
+         * @param subject         The subject of the item, as used in the title.
+         * @param sentenceSubject The subject of the item, as used in a sentence.
+         * @param anchor          The anchor on the page of the poll.
+         * @param imageSuffix     The suffix of the image file.
+         * @param aboutSeats      Whether the item is about seats.
+         */
+        Type(final String subject, final String sentenceSubject, final String anchor, final String imageSuffix,
+                final boolean aboutSeats) {
+            this.subject = subject;
+            this.sentenceSubject = sentenceSubject;
+            this.anchor = anchor;
+            this.imageSuffix = imageSuffix;
+            this.aboutSeats = aboutSeats;
+        }
+
+        /**
+         * Returns the subject of the item, as used in the title.
+         *
+         * @return The subject of the item, as used in the title.
+         */
+        String getSubject() {
+            return subject;
+        }
+
+        /**
+         * Returns the subject of the item, as used in a sentence.
+         *
+         * @return The subject of the item, as used in a sentence.
+         */
+        String getSentenceSubject() {
+            return sentenceSubject;
+        }
+
+        /**
+         * Returns the anchor on the page of the poll.
+         *
+         * @return The anchor on the page of the poll.
+         */
+        String getAnchor() {
+            return anchor;
+        }
+
+        /**
+         * Returns the suffix of the image file after the base name of the poll.
+         *
+         * @return The suffix of the image file.
+         */
+        String getImageSuffix() {
+            return imageSuffix;
+        }
+
+        /**
+         * Returns whether the item is about seats.
+         *
+         * @return True if the item is about seats.
+         */
+        boolean isAboutSeats() {
+            return aboutSeats;
+        }
+
+        /**
+         * Returns whether an item of this type should be included for a poll.
+         *
+         * @param model The model of the feed items for the poll.
+         * @return True if an item of this type should be included.
+         */
+        abstract boolean isIncluded(PollFeedModel model);
+
+        /**
+         * Returns the size of the image for an item of this type.
+         *
+         * @param model The model of the feed items for the poll.
+         * @return The size of the image.
+         */
+        abstract long getImageLength(PollFeedModel model);
+
+        /**
+         * Returns the lines with the statistics for an item of this type.
+         *
+         * @param model The model of the feed items for the poll.
+         * @return The lines with the statistics.
+         */
+        abstract List<PollFeedModel.Line> getLines(PollFeedModel model);
+    }
+}
@@ -0,0 +1,172 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.File;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class caching the rendered feed items for the polls of a Sapor directory on
+ * the file system. For each poll and feed output, the fragment with the items is
+ * stored together with the fingerprints of the input files of the poll and the
+ * timestamp of the country properties. A fragment can be reused as long as none
+ * of the input files of the poll changed and the country properties weren't
+ * updated. The state summary of the poll counts as changed as soon as its last
+ * modified time changes, because that's the timestamp of the poll's items.
+ */
+final class FeedItemCache {
+    /**
+     * The name of the directory in which the fragments are stored in a Sapor
+     * directory.
+     */
+    static final String CACHE_DIRECTORY_NAME = ".sapor2md-feed-items";
+    /**
+     * The key for the line with the timestamp of the country properties.
+     */
+    private static final String COUNTRY_PROPERTIES_KEY = "country-properties";
+    /**
+     * The key for the lines with the fingerprints of the input files.
+     */
+    private static final String INPUT_KEY = "input";
+    /**
+     * The number of columns on a line with the fingerprint of an input file.
+     */
+    private static final int NUMBER_OF_INPUT_COLUMNS = 5;
+    /**
+     * The index of the column with the last modified time of an input file.
+     */
+    private static final int LAST_MODIFIED_COLUMN = 3;
+    /**
+     * The index of the column with the hash of an input file.
+     */
+    private static final int HASH_COLUMN = 4;
+    /**
+     * The separator between the header with the key and the fragment.
+     */
+    private static final String HEADER_SEPARATOR = "\n\n";
+
+    /**
+     * The file system path to the Sapor directory.
+     */
+    private final String directory;
+    /**
+     * The timestamp of the country properties, formatted.
+     */
+    private final String countryPropertiesTimestamp;
+
+    /**
+     * Constructor taking the file system path to the Sapor directory and the
+     * timestamp of the country properties as its parameters.
+     *
+     * @param directory                  The file system path to the Sapor
+     *                                   directory.
+     * @param countryPropertiesTimestamp The timestamp of the country properties.
+     */
+    FeedItemCache(final String directory, final OffsetDateTime countryPropertiesTimestamp) {
+        this.directory = directory;
+        this.countryPropertiesTimestamp = countryPropertiesTimestamp == null ? "-"
+                : countryPropertiesTimestamp.format(DateTimeFormatter.ISO_DATE_TIME);
+    }
+
+    /**
+     * Returns the cached fragment with the items for a poll in a feed output, if
+     * it's still valid.
+     *
+     * @param baseName       The base name of the poll.
+     * @param outputFileName The file name of the feed output.
+     * @return The cached fragment, or null if no fragment was cached or the
+     *         cached fragment is stale.
+     */
+    String getFragment(final String baseName, final String outputFileName) {
+        String filePath = createFilePath(baseName, outputFileName);
+        if (!FileSystemServices.fileExists(filePath)) {
+            return null;
+        }
+        String content = FileSystemServices.readFileVerbatim(filePath);
+        if (content == null) {
+            return null;
+        }
+        int separatorIndex = content.indexOf(HEADER_SEPARATOR);
+        if (separatorIndex < 0 || !isValid(content.substring(0, separatorIndex), baseName)) {
+            return null;
+        }
+        return content.substring(separatorIndex + HEADER_SEPARATOR.length());
+    }
+
+    /**
+     * Checks whether the header of a cached fragment still matches the country
+     * properties and the input files of the poll.
+     *
+     * @param header   The header of the cached fragment.
+     * @param baseName The base name of the poll.
+     * @return True if the cached fragment is still valid, false otherwise.
+     */
+    private boolean isValid(final String header, final String baseName) {
+        List<String> inputFileNames = FileSystemPoll.getInputFileNames(baseName);
+        String stateSummaryFileName = FileSystemStateSummary.getFileName(baseName);
+        List<String> checkedInputFileNames = new ArrayList<String>();
+        boolean countryPropertiesMatch = false;
+        for (String line : header.split("\n")) {
+            String[] elements = line.split("\\|");
+            String key = elements[0].trim();
+            if (key.equals(COUNTRY_PROPERTIES_KEY) && elements.length == 2) {
+                countryPropertiesMatch = elements[1].trim().equals(countryPropertiesTimestamp);
+            } else if (key.equals(INPUT_KEY) && elements.length == NUMBER_OF_INPUT_COLUMNS) {
+                String inputFileName = elements[1].trim();
+                FileFingerprint fingerprint = new FileFingerprint(Long.parseLong(elements[2].trim()),
+                        Long.parseLong(elements[LAST_MODIFIED_COLUMN].trim()), elements[HASH_COLUMN].trim());
+                if (!inputFileNames.contains(inputFileName)) {
+                    return false;
+                }
+                FileFingerprint currentFingerprint = fingerprint.refresh(directory + File.separator + inputFileName);
+                if (currentFingerprint == null
+                        || currentFingerprint != fingerprint && inputFileName.equals(stateSummaryFileName)) {
+                    return false;
+                }
+                checkedInputFileNames.add(inputFileName);
+            } else {
+                return false;
+            }
+        }
+        return countryPropertiesMatch && checkedInputFileNames.size() == inputFileNames.size()
+                && checkedInputFileNames.containsAll(inputFileNames);
+    }
+
+    /**
+     * Stores the fragment with the items for a poll in a feed output, together
+     * with the current fingerprints of the input files of the poll. Returns
+     * <code>true</code> if no problem occurred.
+     *
+     * @param baseName       The base name of the poll.
+     * @param outputFileName The file name of the feed output.
+     * @param fragment       The fragment with the items.
+     * @return True if no problem occurred, false otherwise.
+     */
+    boolean putFragment(final String baseName, final String outputFileName, final String fragment) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(COUNTRY_PROPERTIES_KEY).append(" | ").append(countryPropertiesTimestamp).append("\n");
+        for (String inputFileName : FileSystemPoll.getInputFileNames(baseName)) {
+            FileFingerprint fingerprint = FileFingerprint
+                    .readFromFileSystem(directory + File.separator + inputFileName);
+            sb.append(INPUT_KEY).append(" | ").append(inputFileName).append(" | ");
+            sb.append(fingerprint.getSize()).append(" | ").append(fingerprint.getLastModified()).append(" | ");
+            sb.append(fingerprint.getHash()).append("\n");
+        }
+        sb.append("\n").append(fragment);
+        return FileSystemServices.createDirectories(directory + File.separator + CACHE_DIRECTORY_NAME)
+                && FileSystemServices.writeStringToFile(sb.toString(), createFilePath(baseName, outputFileName));
+    }
+
+    /**
+     * Calculates the path to the file with the cached fragment for a poll in a
+     * feed output.
+     *
+     * @param baseName       The base name of the poll.
+     * @param outputFileName The file name of the feed output.
+     * @return The path to the file with the cached fragment.
+     */
+    private String createFilePath(final String baseName, final String outputFileName) {
+        return directory + File.separator + CACHE_DIRECTORY_NAME + File.separator + baseName + "." + outputFileName;
+    }
+}
@@ -0,0 +1,163 @@
+package net.filipvanlaenen.sapor2md;
+
+import net.filipvanlaenen.sapor2md.RSS20Feed.RSS20FeedMode;
+
+/**
+ * Class representing a page of a feed, following the archived feeds of RFC
+ * 5005. The current page holds the most recent polls, and links to the most
+ * recent archive page. The archive pages hold a fixed number of polls each,
+ * counted from the oldest poll, such that an archive page never changes once
+ * it has been written, and each one links to the archive page before it. If
+ * archiving is disabled, the current page holds all the polls.
+ */
+final class FeedPage {
+    /**
+     * The page number of the current page.
+     */
+    private static final int CURRENT_PAGE_NUMBER = 0;
+
+    /**
+     * The page number, zero for the current page and starting from one for the
+     * oldest archive page.
+     */
+    private final int pageNumber;
+    /**
+     * The page number of the archive page before this page, or zero if there is
+     * none.
+     */
+    private final int previousArchivePageNumber;
+    /**
+     * The number of polls per archive page, or zero if the feed isn't archived.
+     */
+    private final int archivePageSize;
+
+    /**
+     * Constructor taking the page number, the number of the previous archive page
+     * and the archive page size as its parameters.
+     *
+     * @param pageNumber                The page number.
+     * @param previousArchivePageNumber The page number of the previous archive
+     *                                  page, or zero if there is none.
+     * @param archivePageSize           The number of polls per archive page.
+     */
+    private FeedPage(final int pageNumber, final int previousArchivePageNumber, final int archivePageSize) {
+        this.pageNumber = pageNumber;
+        this.previousArchivePageNumber = previousArchivePageNumber;
+        this.archivePageSize = archivePageSize;
+    }
+
+    /**
+     * Creates the current page of a feed. If the feed is archived, the current
+     * page keeps at least one archive page worth of polls, such that it's never
+     * empty right after an archive page has been filled.
+     *
+     * @param numberOfPolls   The total number of polls.
+     * @param archivePageSize The number of polls per archive page, or zero if the
+     *                        feed shouldn't be archived.
+     * @return The current page of the feed.
+     */
+    static FeedPage createCurrentPage(final int numberOfPolls, final int archivePageSize) {
+        return new FeedPage(CURRENT_PAGE_NUMBER, getNumberOfArchivePages(numberOfPolls, archivePageSize),
+                archivePageSize);
+    }
+
+    /**
+     * Creates an archive page of a feed.
+     *
+     * @param pageNumber      The page number, starting from one for the oldest
+     *                        archive page.
+     * @param archivePageSize The number of polls per archive page.
+     * @return The archive page of the feed.
+     */
+    static FeedPage createArchivePage(final int pageNumber, final int archivePageSize) {
+        return new FeedPage(pageNumber, pageNumber - 1, archivePageSize);
+    }
+
+    /**
+     * Calculates the number of archive pages for a feed.
+     *
+     * @param numberOfPolls   The total number of polls.
+     * @param archivePageSize The number of polls per archive page, or zero if the
+     *                        feed shouldn't be archived.
+     * @return The number of archive pages.
+     */
+    static int getNumberOfArchivePages(final int numberOfPolls, final int archivePageSize) {
+        if (archivePageSize <= 0) {
+            return 0;
+        }
+        return Math.max(0, (numberOfPolls - archivePageSize) / archivePageSize);
+    }
+
+    /**
+     * Returns the index of the first poll on the page in the sorted polls.
+     *
+     * @param numberOfPolls The total number of polls.
+     * @return The index of the first poll on the page, inclusive.
+     */
+    int getFromIndex(final int numberOfPolls) {
+        return isArchive() ? numberOfPolls - pageNumber * archivePageSize : 0;
+    }
+
+    /**
+     * Returns the index after the last poll on the page in the sorted polls.
+     *
+     * @param numberOfPolls The total number of polls.
+     * @return The index after the last poll on the page, exclusive.
+     */
+    int getToIndex(final int numberOfPolls) {
+        if (isArchive()) {
+            return numberOfPolls - (pageNumber - 1) * archivePageSize;
+        }
+        return numberOfPolls - previousArchivePageNumber * archivePageSize;
+    }
+
+    /**
+     * Returns the name of the file for this page in a format and a mode.
+     *
+     * @param format The feed format.
+     * @param mode   The feed mode.
+     * @return The file name for this page.
+     */
+    String getFileName(final FeedFormat format, final RSS20FeedMode mode) {
+        return isArchive() ? format.getArchiveFileName(mode, pageNumber) : format.getFileName(mode);
+    }
+
+    /**
+     * Returns the name of the file for the previous archive page in a format and
+     * a mode.
+     *
+     * @param format The feed format.
+     * @param mode   The feed mode.
+     * @return The file name for the previous archive page.
+     */
+    String getPreviousArchiveFileName(final FeedFormat format, final RSS20FeedMode mode) {
+        return format.getArchiveFileName(mode, previousArchivePageNumber);
+    }
+
+    /**
+     * Returns whether the page has links to other pages of the feed.
+     *
+     * @return True if the page has links to other pages of the feed.
+     */
+    boolean hasHistoryLinks() {
+        return isArchive() || hasPreviousArchivePage();
+    }
+
+    /**
+     * Returns whether this page is an archive page.
+     *
+     * @return True if this page is an archive page.
+     */
+    boolean isArchive() {
+        return pageNumber != CURRENT_PAGE_NUMBER;
+    }
+
+    /**
+     * Returns whether there is an archive page before this page.
+     *
+     * @return True if there is an archive page before this page.
+     */
+    boolean hasPreviousArchivePage() {
+        return previousArchivePageNumber > 0;
+    }
+}
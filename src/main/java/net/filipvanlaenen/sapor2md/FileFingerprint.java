@@ -0,0 +1,156 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.util.function.Supplier;
+
+/**
+ * A value object class representing the fingerprint of a file, consisting of
+ * its size, its last modified time and the hash of its content. A file that
+ * doesn't exist has a fingerprint too, with a negative size.
+ */
+public final class FileFingerprint {
+    /**
+     * The string used as the hash for a file that doesn't exist.
+     */
+    static final String ABSENT_HASH = "-";
+    /**
+     * The fingerprint of a file that doesn't exist.
+     */
+    static final FileFingerprint ABSENT = new FileFingerprint(-1L, -1L, ABSENT_HASH);
+
+    /**
+     * The size of the file.
+     */
+    private final long size;
+    /**
+     * The last modified time of the file, in milliseconds since the epoch.
+     */
+    private final long lastModified;
+    /**
+     * The hash of the content of the file.
+     */
+    private final String hash;
+
+    /**
+     * Constructor taking the size, the last modified time and the hash of a file
+     * as its parameters.
+     *
+     * @param size         The size of the file.
+     * @param lastModified The last modified time of the file.
+     * @param hash         The hash of the content of the file.
+     */
+    FileFingerprint(final long size, final long lastModified, final String hash) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.hash = hash;
+    }
+
+    /**
+     * Reads the fingerprint of a file from the file system.
+     *
+     * @param filePath The path to the file.
+     * @return The fingerprint of the file.
+     */
+    static FileFingerprint readFromFileSystem(final String filePath) {
+        if (!FileSystemServices.fileExists(filePath)) {
+            return ABSENT;
+        }
+        String hash = FileSystemServices.calculateHash(filePath);
+        return new FileFingerprint(FileSystemServices.getFileSize(filePath),
+                FileSystemServices.getLastModifiedMillis(filePath), hash == null ? ABSENT_HASH : hash);
+    }
+
+    /**
+     * Returns the size of the file.
+     *
+     * @return The size of the file.
+     */
+    long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the last modified time of the file.
+     *
+     * @return The last modified time of the file.
+     */
+    long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Returns the hash of the content of the file.
+     *
+     * @return The hash of the content of the file.
+     */
+    String getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns whether the file on the file system still matches this fingerprint.
+     * The hash is only calculated if the size is the same but the last modified
+     * time has changed.
+     *
+     * @param filePath The path to the file.
+     * @return True if the file still matches the fingerprint, false otherwise.
+     */
+    boolean isUnchanged(final String filePath) {
+        return refresh(filePath) != null;
+    }
+
+    /**
+     * Returns whether a file with the given size, last modified time and hash
+     * still matches this fingerprint. The hash is only requested from the supplier
+     * if the size is the same but the last modified time has changed.
+     *
+     * @param currentSize         The current size of the file.
+     * @param currentLastModified The current last modified time of the file.
+     * @param currentHash         A supplier for the current hash of the file.
+     * @return True if the file still matches the fingerprint, false otherwise.
+     */
+    boolean isUnchanged(final long currentSize, final long currentLastModified, final Supplier<String> currentHash) {
+        return refresh(currentSize, currentLastModified, currentHash) != null;
+    }
+
+    /**
+     * Returns the fingerprint of the file on the file system if it still matches
+     * this fingerprint, or null if it changed. If only the last modified time of
+     * the file changed, the returned fingerprint carries the new last modified
+     * time, such that the hash doesn't have to be calculated again the next time.
+     *
+     * @param filePath The path to the file.
+     * @return The refreshed fingerprint, or null if the file changed.
+     */
+    FileFingerprint refresh(final String filePath) {
+        if (!FileSystemServices.fileExists(filePath)) {
+            return size < 0 ? this : null;
+        }
+        return refresh(FileSystemServices.getFileSize(filePath), FileSystemServices.getLastModifiedMillis(filePath),
+                () -> FileSystemServices.calculateHash(filePath));
+    }
+
+    /**
+     * Returns the fingerprint of a file with the given size, last modified time
+     * and hash if it still matches this fingerprint, or null if it changed. The
+     * hash is only requested from the supplier if the size is the same but the
+     * last modified time has changed, and in that case, the returned fingerprint
+     * carries the new last modified time.
+     *
+     * @param currentSize         The current size of the file.
+     * @param currentLastModified The current last modified time of the file.
+     * @param currentHash         A supplier for the current hash of the file.
+     * @return The refreshed fingerprint, or null if the file changed.
+     */
+    FileFingerprint refresh(final long currentSize, final long currentLastModified,
+            final Supplier<String> currentHash) {
+        if (currentSize != size) {
+            return null;
+        } else if (currentLastModified == lastModified) {
+            return this;
+        } else if (hash.equals(currentHash.get())) {
+            return new FileFingerprint(size, currentLastModified, hash);
+        } else {
+            return null;
+        }
+    }
+}
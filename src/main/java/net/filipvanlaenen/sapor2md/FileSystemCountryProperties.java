@@ -12,7 +12,7 @@ public final class FileSystemCountryProperties extends CountryProperties {
     /**
      * The file name for the country properties.
      */
-    private static final String COUNTRY_PROPERTIES_FILE_NAME = "country.properties";
+    static final String COUNTRY_PROPERTIES_FILE_NAME = "country.properties";
 
     /**
      * Constructor taking the path to the Sapor directory as the argument.
@@ -19,21 +19,160 @@ public final class FileSystemPoll extends Poll {
      * @param pollFileName The name of the poll file.
      */
     FileSystemPoll(final String directory, final String pollFileName) {
-        super(extractBaseNameFromFileName(pollFileName), readFileIntoDoubleMap(directory, pollFileName).get(0));
-        setStateSummary(FileSystemStateSummary.readFromFileSystem(directory, getBaseName()));
-        String votingIntentionsFilePath = directory + File.separator + getBaseName() + "-dichotomies-probabilities.psv";
-        String votingIntentionsFileContent = FileSystemServices.readFileIntoString(votingIntentionsFilePath);
-        setVotingIntentions(VotingIntentions.parseFromString(votingIntentionsFileContent));
-        setVotingIntentionsChartFileSize(
-                FileSystemServices.getFileSize(directory + File.separator + getBaseName() + ".png"));
-        String seatProjectionFilePath = directory + File.separator + getBaseName()
-                + "-polychotomy-seats-probabilities.psv";
-        String seatProjectionFileContent = FileSystemServices.readFileIntoString(seatProjectionFilePath);
-        setSeatProjection(SeatProjection.parseFromString(seatProjectionFileContent));
-        setSeatingPlanProjectionChartFileSize(
-                FileSystemServices.getFileSize(directory + File.separator + getBaseName() + "-seating-plan.png"));
-        setSeatProjectionsChartFileSize(
-                FileSystemServices.getFileSize(directory + File.separator + getBaseName() + "-seats.png"));
+        this(directory, pollFileName, new SymbolTable(), new SymbolTable());
+    }
+
+    /**
+     * Constructor taking the directory in which the poll resides, the file name of
+     * the poll and the symbol tables in which the names should be interned as its
+     * parameters.
+     *
+     * @param directory        The directory in which the poll resides.
+     * @param pollFileName     The name of the poll file.
+     * @param symbolTable      The symbol table for the names of the polling firm
+     *                         and the commissioners.
+     * @param groupSymbolTable The symbol table for the names of the parliamentary
+     *                         groups.
+     */
+    FileSystemPoll(final String directory, final String pollFileName, final SymbolTable symbolTable,
+            final SymbolTable groupSymbolTable) {
+        super(readFromFileSystem(directory, pollFileName, symbolTable, groupSymbolTable));
+    }
+
+    /**
+     * Reads a poll completely from the file system into a builder.
+     *
+     * @param directory        The directory in which the poll resides.
+     * @param pollFileName     The name of the poll file.
+     * @param symbolTable      The symbol table for the names of the polling firm
+     *                         and the commissioners.
+     * @param groupSymbolTable The symbol table for the names of the parliamentary
+     *                         groups.
+     * @return A builder holding all the data of the poll.
+     */
+    private static Poll.Builder readFromFileSystem(final String directory, final String pollFileName,
+            final SymbolTable symbolTable, final SymbolTable groupSymbolTable) {
+        Poll.Builder builder = readMetadataFromFileSystem(directory, pollFileName, symbolTable, groupSymbolTable);
+        String baseName = builder.getBaseName();
+        return builder.setVotingIntentions(readVotingIntentions(directory, baseName, groupSymbolTable))
+                .setSeatProjection(readSeatProjection(directory, baseName, groupSymbolTable));
+    }
+
+    /**
+     * Reads the properties, the state summary and the sizes of the chart files of
+     * a poll from the file system into a builder, i.e. the data on a poll that
+     * doesn't include the probability mass functions.
+     *
+     * @param directory        The directory in which the poll resides.
+     * @param pollFileName     The name of the poll file.
+     * @param symbolTable      The symbol table for the names of the polling firm
+     *                         and the commissioners.
+     * @param groupSymbolTable The symbol table for the names of the parliamentary
+     *                         groups.
+     * @return A builder holding the metadata of the poll.
+     */
+    static Poll.Builder readMetadataFromFileSystem(final String directory, final String pollFileName,
+            final SymbolTable symbolTable, final SymbolTable groupSymbolTable) {
+        String baseName = extractBaseNameFromFileName(pollFileName);
+        return new Poll.Builder(baseName, readFileIntoDoubleMap(directory, pollFileName).get(0))
+                .setSymbolTable(symbolTable).setGroupSymbolTable(groupSymbolTable)
+                .setStateSummary(FileSystemStateSummary.readFromFileSystem(directory, baseName))
+                .setVotingIntentionsChartFileSize(
+                        FileSystemServices.getFileSize(directory + File.separator + baseName + ".png"))
+                .setSeatingPlanProjectionChartFileSize(
+                        FileSystemServices.getFileSize(directory + File.separator + baseName + "-seating-plan.png"))
+                .setSeatProjectionsChartFileSize(
+                        FileSystemServices.getFileSize(directory + File.separator + baseName + "-seats.png"));
+    }
+
+    /**
+     * Reads the voting intentions of a poll from the file system.
+     *
+     * @param directory   The directory in which the poll resides.
+     * @param baseName    The base name of the poll.
+     * @param symbolTable The symbol table for the names of the parliamentary
+     *                    groups.
+     * @return The voting intentions of the poll.
+     */
+    static VotingIntentions readVotingIntentions(final String directory, final String baseName,
+            final SymbolTable symbolTable) {
+        String filePath = directory + File.separator + getVotingIntentionsFileName(baseName);
+        return VotingIntentions.parseFromString(FileSystemServices.readFileIntoString(filePath), symbolTable);
+    }
+
+    /**
+     * Reads the seat projection of a poll from the file system.
+     *
+     * @param directory   The directory in which the poll resides.
+     * @param baseName    The base name of the poll.
+     * @param symbolTable The symbol table for the names of the parliamentary
+     *                    groups.
+     * @return The seat projection of the poll.
+     */
+    static SeatProjection readSeatProjection(final String directory, final String baseName,
+            final SymbolTable symbolTable) {
+        return readSeatProjection(directory, baseName, symbolTable, null);
+    }
+
+    /**
+     * Reads the seat projection of a poll from the file system, sharing the
+     * statistics derived from it.
+     *
+     * @param directory   The directory in which the poll resides.
+     * @param baseName    The base name of the poll.
+     * @param symbolTable The symbol table for the names of the parliamentary
+     *                    groups.
+     * @param statistics  The statistics derived from the seat projection, or null
+     *                    if the seat projection should hold its own.
+     * @return The seat projection of the poll.
+     */
+    static SeatProjection readSeatProjection(final String directory, final String baseName,
+            final SymbolTable symbolTable, final SeatProjectionStatistics statistics) {
+        String filePath = directory + File.separator + getSeatProjectionFileName(baseName);
+        return SeatProjection.parseFromString(FileSystemServices.readFileIntoString(filePath), symbolTable,
+                statistics);
+    }
+
+    /**
+     * Returns the names of all the files that are read in to construct a poll.
+     *
+     * @param baseName The base name of the poll.
+     * @return A list with the names of all the files read in for the poll.
+     */
+    static List<String> getInputFileNames(final String baseName) {
+        return List.of(getPollFileName(baseName), FileSystemStateSummary.getFileName(baseName),
+                getVotingIntentionsFileName(baseName), baseName + ".png", getSeatProjectionFileName(baseName),
+                baseName + "-seating-plan.png", baseName + "-seats.png");
+    }
+
+    /**
+     * Returns the name of the poll file for a poll.
+     *
+     * @param baseName The base name of the poll.
+     * @return The name of the poll file.
+     */
+    static String getPollFileName(final String baseName) {
+        return baseName + ".poll";
+    }
+
+    /**
+     * Returns the name of the file with the seat projection for a poll.
+     *
+     * @param baseName The base name of the poll.
+     * @return The name of the file with the seat projection.
+     */
+    static String getSeatProjectionFileName(final String baseName) {
+        return baseName + "-polychotomy-seats-probabilities.psv";
+    }
+
+    /**
+     * Returns the name of the file with the voting intentions for a poll.
+     *
+     * @param baseName The base name of the poll.
+     * @return The name of the file with the voting intentions.
+     */
+    static String getVotingIntentionsFileName(final String baseName) {
+        return baseName + "-dichotomies-probabilities.psv";
     }
 
     /**
@@ -54,7 +193,7 @@ public final class FileSystemPoll extends Poll {
      * @return A list containing two maps, representing the content of the poll
      *         file.
      */
-    private static List<Map<String, String>> readFileIntoDoubleMap(final String directory, final String pollFileName) {
+    static List<Map<String, String>> readFileIntoDoubleMap(final String directory, final String pollFileName) {
         String filePath = directory + File.separator + pollFileName;
         String content = FileSystemServices.readFileIntoString(filePath);
         return parseDoubleMapFromString(content);
@@ -1,5 +1,6 @@
 package net.filipvanlaenen.sapor2md;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -8,15 +9,106 @@ import java.util.List;
  */
 public final class FileSystemSaporDirectory extends SaporDirectory {
     /**
-     * Constructor using the path to the Sapor directory as the parameter.
+     * Constructor using the path to the Sapor directory as the parameter. All the
+     * polls are read in completely and kept in memory.
      *
      * @param directory The path to the Sapor directory.
      */
     FileSystemSaporDirectory(final String directory) {
-        super(new FileSystemCountryProperties(directory));
-        List<String> pollFileNames = FileSystemServices.getPollFilesList(directory);
-        for (String pollFileName : pollFileNames) {
-            addPoll(new FileSystemPoll(directory, pollFileName));
+        this(directory, new SymbolTable(), new SymbolTable());
+    }
+
+    /**
+     * Constructor using the path to the Sapor directory and the symbol tables to
+     * be shared by the polls as the parameters. All the polls are read in
+     * completely and kept in memory.
+     *
+     * @param directory        The path to the Sapor directory.
+     * @param symbolTable      The symbol table for the names of the polling firms
+     *                         and commissioners.
+     * @param groupSymbolTable The symbol table for the names of the parliamentary
+     *                         groups.
+     */
+    private FileSystemSaporDirectory(final String directory, final SymbolTable symbolTable,
+            final SymbolTable groupSymbolTable) {
+        super(new FileSystemCountryProperties(directory), symbolTable, groupSymbolTable,
+                readPolls(directory, symbolTable, groupSymbolTable));
+    }
+
+    /**
+     * Constructor using the path to the Sapor directory, its country properties
+     * and the symbol tables to be shared by the polls as the parameters. The
+     * metadata of all the polls is kept in memory, but the voting intentions and
+     * the seat projections are only kept in memory up to the capacity of the
+     * cache set in the country properties, and read in again from the file system
+     * when needed.
+     *
+     * @param directory         The path to the Sapor directory.
+     * @param countryProperties The country properties of the Sapor directory.
+     * @param symbolTable       The symbol table for the names of the polling firms
+     *                          and commissioners.
+     * @param groupSymbolTable  The symbol table for the names of the
+     *                          parliamentary groups.
+     */
+    private FileSystemSaporDirectory(final String directory, final CountryProperties countryProperties,
+            final SymbolTable symbolTable, final SymbolTable groupSymbolTable) {
+        super(countryProperties, symbolTable, groupSymbolTable,
+                readCachedPolls(directory, countryProperties.getCacheCapacity(), symbolTable, groupSymbolTable));
+    }
+
+    /**
+     * Reads a Sapor directory keeping the metadata of all the polls in memory, but
+     * the voting intentions and the seat projections only up to the capacity of
+     * the cache set in the country properties.
+     *
+     * @param directory The path to the Sapor directory.
+     * @return The Sapor directory.
+     */
+    static FileSystemSaporDirectory readWithCachedPolls(final String directory) {
+        return new FileSystemSaporDirectory(directory, new FileSystemCountryProperties(directory), new SymbolTable(),
+                new SymbolTable());
+    }
+
+    /**
+     * Reads in all the polls of a Sapor directory completely.
+     *
+     * @param directory        The path to the Sapor directory.
+     * @param symbolTable      The symbol table for the names of the polling firms
+     *                         and commissioners.
+     * @param groupSymbolTable The symbol table for the names of the parliamentary
+     *                         groups.
+     * @return A list with the polls.
+     */
+    private static List<Poll> readPolls(final String directory, final SymbolTable symbolTable,
+            final SymbolTable groupSymbolTable) {
+        List<Poll> polls = new ArrayList<Poll>();
+        for (String pollFileName : FileSystemServices.getPollFilesList(directory)) {
+            polls.add(new FileSystemPoll(directory, pollFileName, symbolTable, groupSymbolTable));
+        }
+        return polls;
+    }
+
+    /**
+     * Reads in the metadata of all the polls of a Sapor directory, sharing a cache
+     * for the probability mass functions.
+     *
+     * @param directory        The path to the Sapor directory.
+     * @param cacheCapacity    The maximum total number of values over all the
+     *                         probability mass functions to be held in memory.
+     * @param symbolTable      The symbol table for the names of the polling firms
+     *                         and commissioners.
+     * @param groupSymbolTable The symbol table for the names of the parliamentary
+     *                         groups.
+     * @return A list with the polls.
+     */
+    private static List<Poll> readCachedPolls(final String directory, final long cacheCapacity,
+            final SymbolTable symbolTable, final SymbolTable groupSymbolTable) {
+        BoundedCache<String, ProbabilityMassFunctionCombination<?>> cache = new BoundedCache<>(cacheCapacity,
+                ProbabilityMassFunctionCombination::getNumberOfValues);
+        List<Poll> polls = new ArrayList<Poll>();
+        for (String pollFileName : FileSystemServices.getPollFilesList(directory)) {
+            polls.add(new CachedFileSystemPoll(directory, pollFileName, symbolTable, groupSymbolTable, cache));
         }
+        return polls;
     }
 }
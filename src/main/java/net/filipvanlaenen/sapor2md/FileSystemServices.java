@@ -1,14 +1,19 @@
 package net.filipvanlaenen.sapor2md;
 
 import java.io.IOException;
-import java.nio.channels.FileChannel;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,6 +24,19 @@ import java.util.stream.Stream;
  * A utility class providing file system services.
  */
 public final class FileSystemServices {
+    /**
+     * The size of the buffer used to calculate hashes of files.
+     */
+    private static final int HASH_BUFFER_SIZE = 8192;
+    /**
+     * The algorithm used to calculate hashes of files.
+     */
+    static final String HASH_ALGORITHM = "SHA-256";
+    /**
+     * The value returned as the number of bytes written if writing to a file
+     * failed.
+     */
+    static final long WRITE_FAILED = -1L;
 
     /**
      * Private constructor to prevent instantiation of this utility class.
@@ -42,6 +60,22 @@ public final class FileSystemServices {
         return contentBuilder.toString();
     }
 
+    /**
+     * Reads a file from the file system and returns its content exactly as it was
+     * written, i.e. without normalizing the line endings.
+     *
+     * @param filePath The path to the file to be read.
+     * @return The content of the file, or null if the file couldn't be read.
+     */
+    static String readFileVerbatim(final String filePath) {
+        try {
+            return new String(Files.readAllBytes(Paths.get(filePath)), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
     /**
      * Reads a file from the file system and returns the result as a map, using
      * <code>=</code> as the separator between the keys and the values.
@@ -72,22 +106,98 @@ public final class FileSystemServices {
     }
 
     /**
-     * Writes a string to a file on the file system. Returns <code>false</code> if
-     * an <code>IOException</code> was thrown, and <code>true</code> otherwise.
+     * Writes a string to a file on the file system, but only if the file doesn't
+     * have the same content already. Returns <code>false</code> if an
+     * <code>IOException</code> was thrown, and <code>true</code> otherwise.
      *
      * @param content  The content to be written to the file.
      * @param filePath The path to the file.
-     * @return True if the string was written to the file, or false if an
-     *         IOException was thrown in the process.
+     * @return True if the file has the content, or false if an IOException was
+     *         thrown in the process.
      */
     static boolean writeStringToFile(final String content, final String filePath) {
+        return writeToFileIfChanged(out -> out.append(content), filePath) != WRITE_FAILED;
+    }
+
+    /**
+     * Writes content to a file on the file system through an atomic file writer.
+     * The content is streamed to a temporary file while it's being produced, and
+     * only moved into place if it differs from the content of the file. Returns
+     * the number of bytes written to the file, zero if the file already had the
+     * same content, or <code>WRITE_FAILED</code> if an <code>IOException</code>
+     * was thrown.
+     *
+     * @param content  The producer of the content to be written to the file.
+     * @param filePath The path to the file.
+     * @return The number of bytes written to the file, or WRITE_FAILED if an
+     *         IOException was thrown in the process.
+     */
+    static long writeToFileIfChanged(final ContentProducer content, final String filePath) {
+        return writeToFilesIfChanged(outs -> content.writeTo(outs.get(0)), List.of(filePath))[0];
+    }
+
+    /**
+     * Writes binary content to a file on the file system through an atomic file
+     * writer. The file is only replaced if its content changed. Returns the number
+     * of bytes written to the file, zero if the file already had the same content,
+     * or <code>WRITE_FAILED</code> if an <code>IOException</code> was thrown.
+     *
+     * @param content  The producer of the binary content to be written to the
+     *                 file.
+     * @param filePath The path to the file.
+     * @return The number of bytes written to the file, or WRITE_FAILED if an
+     *         IOException was thrown in the process.
+     */
+    static long writeBinaryToFileIfChanged(final BinaryContentProducer content, final String filePath) {
+        long bytesWritten = WRITE_FAILED;
+        AtomicFileWriter writer = null;
         try {
-            Files.writeString(Paths.get(filePath), content, StandardCharsets.UTF_8);
+            writer = new AtomicFileWriter(Paths.get(filePath));
+            content.writeTo(writer.getOutputStream());
+            bytesWritten = writer.commit();
         } catch (IOException e) {
             e.printStackTrace();
-            return false;
+        } finally {
+            if (writer != null) {
+                writer.discard();
+            }
         }
-        return true;
+        return bytesWritten;
+    }
+
+    /**
+     * Writes content to a number of files on the file system at the same time,
+     * through one atomic file writer per file, such that a producer that generates
+     * multiple outputs can do so in a single pass. Each file is only replaced if
+     * its content changed. Returns for each file the number of bytes written to
+     * it, zero if the file already had the same content, or
+     * <code>WRITE_FAILED</code> if an <code>IOException</code> was thrown.
+     *
+     * @param content   The producer of the content to be written to the files.
+     * @param filePaths The paths to the files.
+     * @return An array with the number of bytes written to each of the files, or
+     *         WRITE_FAILED for the files for which an IOException was thrown.
+     */
+    static long[] writeToFilesIfChanged(final MultiContentProducer content, final List<String> filePaths) {
+        long[] bytesWritten = new long[filePaths.size()];
+        Arrays.fill(bytesWritten, WRITE_FAILED);
+        List<AtomicFileWriter> writers = new ArrayList<AtomicFileWriter>();
+        try {
+            for (String filePath : filePaths) {
+                writers.add(new AtomicFileWriter(Paths.get(filePath)));
+            }
+            content.writeTo(writers);
+            for (int i = 0; i < writers.size(); i++) {
+                bytesWritten[i] = writers.get(i).commit();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            for (AtomicFileWriter writer : writers) {
+                writer.discard();
+            }
+        }
+        return bytesWritten;
     }
 
     /**
@@ -132,10 +242,134 @@ public final class FileSystemServices {
      */
     static long getFileSize(final String filePath) {
         try {
-            return FileChannel.open(Paths.get(filePath)).size();
+            return Files.size(Paths.get(filePath));
         } catch (IOException e) {
             e.printStackTrace();
             return 0;
         }
     }
+
+    /**
+     * Creates a directory, including any missing parent directories, unless it
+     * already exists. Returns <code>false</code> if an <code>IOException</code>
+     * was thrown, and <code>true</code> otherwise.
+     *
+     * @param directoryPath The path to the directory.
+     * @return True if the directory exists or was created, or false if an
+     *         IOException was thrown in the process.
+     */
+    static boolean createDirectories(final String directoryPath) {
+        try {
+            Files.createDirectories(Paths.get(directoryPath));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether a file exists.
+     *
+     * @param filePath The path to the file.
+     * @return True if the file exists, false otherwise.
+     */
+    static boolean fileExists(final String filePath) {
+        return Files.exists(Paths.get(filePath));
+    }
+
+    /**
+     * Returns the last modified time of a file in milliseconds since the epoch.
+     *
+     * @param filePath The path to the file.
+     * @return The last modified time of the file, or -1 if it can't be read.
+     */
+    static long getLastModifiedMillis(final String filePath) {
+        try {
+            return Files.getLastModifiedTime(Paths.get(filePath)).toMillis();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * Calculates the SHA-256 hash of the content of a file, formatted as a
+     * hexadecimal string.
+     *
+     * @param filePath The path to the file.
+     * @return The hash of the content of the file, or null if it can't be read.
+     */
+    static String calculateHash(final String filePath) {
+        try (InputStream in = Files.newInputStream(Paths.get(filePath))) {
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            byte[] buffer = new byte[HASH_BUFFER_SIZE];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+            }
+            return formatHexadecimal(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Formats an array of bytes as a hexadecimal string.
+     *
+     * @param bytes The bytes to format.
+     * @return A string with the bytes in hexadecimal form.
+     */
+    static String formatHexadecimal(final byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Interface for producers of content that can be written to an appendable.
+     */
+    @FunctionalInterface
+    interface ContentProducer {
+        /**
+         * Writes the content to an appendable.
+         *
+         * @param out The appendable to write the content to.
+         * @throws IOException Thrown if writing to the appendable fails.
+         */
+        void writeTo(Appendable out) throws IOException;
+    }
+
+    /**
+     * Interface for producers of binary content that can be written to an output
+     * stream.
+     */
+    @FunctionalInterface
+    interface BinaryContentProducer {
+        /**
+         * Writes the content to an output stream.
+         *
+         * @param out The output stream to write the content to.
+         * @throws IOException Thrown if writing to the output stream fails.
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Interface for producers of content that is written to a number of
+     * appendables at the same time.
+     */
+    @FunctionalInterface
+    interface MultiContentProducer {
+        /**
+         * Writes the content to a list of appendables.
+         *
+         * @param outs The appendables to write the content to.
+         * @throws IOException Thrown if writing to one of the appendables fails.
+         */
+        void writeTo(List<? extends Appendable> outs) throws IOException;
+    }
 }
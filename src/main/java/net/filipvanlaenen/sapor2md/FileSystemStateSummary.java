@@ -3,6 +3,7 @@ package net.filipvanlaenen.sapor2md;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.OffsetDateTime;
 import java.util.Map;
 
 /**
@@ -22,9 +23,18 @@ public final class FileSystemStateSummary extends StateSummary {
      * @param filePath The path to where the state summary is stored.
      */
     private FileSystemStateSummary(final String filePath) {
-        Map<String, String> map = FileSystemServices.readFileIntoMap(filePath);
-        setNumberOfSimulations(Long.parseLong(map.get(NUMBER_OF_SIMULATIONS_KEY)));
-        setTimestamp(FileSystemServices.getTimestamp(filePath));
+        this(FileSystemServices.readFileIntoMap(filePath), FileSystemServices.getTimestamp(filePath));
+    }
+
+    /**
+     * Constructor taking the content of the state summary file as a map and the
+     * timestamp of the file as its parameters.
+     *
+     * @param map       The content of the state summary file.
+     * @param timestamp The timestamp of the state summary file.
+     */
+    private FileSystemStateSummary(final Map<String, String> map, final OffsetDateTime timestamp) {
+        super(Long.parseLong(map.get(NUMBER_OF_SIMULATIONS_KEY)), timestamp);
     }
 
     /**
@@ -37,11 +47,21 @@ public final class FileSystemStateSummary extends StateSummary {
      *         system, or <code>null</code> if the state summary file doesn't exist.
      */
     static FileSystemStateSummary readFromFileSystem(final String directory, final String baseName) {
-        String filePath = directory + File.separator + baseName + "_state_summary.txt";
+        String filePath = directory + File.separator + getFileName(baseName);
         if (Files.exists(Paths.get(filePath))) {
             return new FileSystemStateSummary(filePath);
         } else {
             return null;
         }
     }
+
+    /**
+     * Returns the name of the state summary file for a poll.
+     *
+     * @param baseName The base name for the poll.
+     * @return The name of the state summary file.
+     */
+    static String getFileName(final String baseName) {
+        return baseName + "_state_summary.txt";
+    }
 }
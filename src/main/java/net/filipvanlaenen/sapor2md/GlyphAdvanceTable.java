@@ -0,0 +1,214 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Class holding the advances of the glyphs of a font, such that the widths of
+ * the labels in a chart can be calculated without rendering them. The advances
+ * are expressed in em, i.e. relative to the font size, and read from a static
+ * table bundled on the classpath, such that the layout of the charts doesn't
+ * depend on the fonts installed on the machine producing them. The advances for
+ * the most common code points are held in an array, the others are looked up
+ * once when they're first needed. The widths of the strings are cached too,
+ * because the same labels are measured over and over again. Kerning isn't taken
+ * into account.
+ */
+final class GlyphAdvanceTable {
+    /**
+     * The number of code points for which the advances are held in an array, i.e.
+     * the Latin script up to and including Latin Extended-B.
+     */
+    private static final int TABULATED_CODE_POINTS = 0x0250;
+    /**
+     * The radix of the code points in the bundled tables.
+     */
+    private static final int HEXADECIMAL = 16;
+    /**
+     * The first code point of the General Punctuation block, which is included in
+     * the generated tables next to the tabulated code points.
+     */
+    private static final int GENERAL_PUNCTUATION_START = 0x2000;
+    /**
+     * The last code point of the General Punctuation block.
+     */
+    private static final int GENERAL_PUNCTUATION_END = 0x206F;
+    /**
+     * The font size at which the advances are measured when a table is generated.
+     */
+    private static final float MEASUREMENT_FONT_SIZE = 1000F;
+    /**
+     * The maximum number of string widths held in the cache.
+     */
+    private static final long CACHE_CAPACITY = 4096L;
+    /**
+     * The glyph advance tables read from the bundled tables, by font family and
+     * weight.
+     */
+    private static final Memoizer<List<Object>, GlyphAdvanceTable> FONT_TABLES =
+            new Memoizer<List<Object>, GlyphAdvanceTable>(
+                    key -> readBundledTable((String) key.get(0), (Boolean) key.get(1)));
+
+    /**
+     * The advances for the code points below <code>TABULATED_CODE_POINTS</code>.
+     */
+    private final double[] advances;
+    /**
+     * The advances for the other code points, calculated when first needed.
+     */
+    private final Memoizer<Integer, Double> otherAdvances;
+    /**
+     * The cache with the widths of the strings, in em.
+     */
+    private final BoundedCache<String, Double> widths = new BoundedCache<String, Double>(CACHE_CAPACITY, w -> 1L);
+
+    /**
+     * Constructor taking a function calculating the advance for a code point as
+     * its parameter.
+     *
+     * @param advanceFunction The function calculating the advance for a code
+     *                        point, in em.
+     */
+    private GlyphAdvanceTable(final IntToDoubleFunction advanceFunction) {
+        advances = new double[TABULATED_CODE_POINTS];
+        for (int codePoint = 0; codePoint < TABULATED_CODE_POINTS; codePoint++) {
+            advances[codePoint] = advanceFunction.applyAsDouble(codePoint);
+        }
+        otherAdvances = new Memoizer<Integer, Double>(codePoint -> advanceFunction.applyAsDouble(codePoint));
+    }
+
+    /**
+     * Creates a glyph advance table approximating all glyphs with the same
+     * advance.
+     *
+     * @param advance The advance for all glyphs, in em.
+     * @return A glyph advance table with the same advance for all glyphs.
+     */
+    static GlyphAdvanceTable createApproximation(final double advance) {
+        return new GlyphAdvanceTable(codePoint -> advance);
+    }
+
+    /**
+     * Returns the glyph advance table for a font. If no table is bundled for the
+     * font, all glyphs are approximated with the width of the letter M.
+     *
+     * @param fontFamily The font family.
+     * @param bold       True if the glyphs are bold.
+     * @return The glyph advance table for the font.
+     */
+    static GlyphAdvanceTable forFont(final String fontFamily, final boolean bold) {
+        return FONT_TABLES.get(List.of(fontFamily, bold));
+    }
+
+    /**
+     * Returns the name of the resource with the bundled table for a font, i.e.
+     * the font family without spaces, followed by the weight, e.g.
+     * <code>glyph-advances/Lato-Bold.psv</code>.
+     *
+     * @param fontFamily The font family.
+     * @param bold       True if the glyphs are bold.
+     * @return The name of the resource with the bundled table.
+     */
+    static String getResourceName(final String fontFamily, final boolean bold) {
+        return "glyph-advances/" + fontFamily.replace(" ", "") + (bold ? "-Bold" : "-Regular") + ".psv";
+    }
+
+    /**
+     * Generates the content of a bundled table from a font, typically created
+     * from a font file. The advances are measured with fractional metrics for the
+     * tabulated code points and the General Punctuation block, skipping the code
+     * points the font can't display.
+     *
+     * @param font The font.
+     * @return The content of the bundled table for the font.
+     */
+    static String generateBundledTable(final Font font) {
+        Font measurementFont = font.deriveFont(MEASUREMENT_FONT_SIZE);
+        FontRenderContext frc = new FontRenderContext(null, true, true);
+        StringBuilder sb = new StringBuilder();
+        for (int codePoint = 0; codePoint <= GENERAL_PUNCTUATION_END; codePoint++) {
+            if ((codePoint < TABULATED_CODE_POINTS || codePoint >= GENERAL_PUNCTUATION_START)
+                    && !Character.isISOControl(codePoint) && measurementFont.canDisplay(codePoint)) {
+                double advance = measurementFont.createGlyphVector(frc, new String(Character.toChars(codePoint)))
+                        .getGlyphMetrics(0).getAdvance() / MEASUREMENT_FONT_SIZE;
+                sb.append(String.format(Locale.ROOT, "%04X | %.4f\n", codePoint, advance));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads the bundled table for a font from the classpath. Each line of the
+     * table contains a code point in hexadecimal and its advance in em, separated
+     * by a pipe symbol. Code points missing from the table are approximated with
+     * the width of the letter M, and so is the whole font if no table is bundled
+     * for it.
+     *
+     * @param fontFamily The font family.
+     * @param bold       True if the glyphs are bold.
+     * @return The glyph advance table for the font.
+     */
+    private static GlyphAdvanceTable readBundledTable(final String fontFamily, final boolean bold) {
+        InputStream in = GlyphAdvanceTable.class.getResourceAsStream(getResourceName(fontFamily, bold));
+        if (in == null) {
+            return createApproximation(Chart.M_WIDTH);
+        }
+        Map<Integer, Double> bundledAdvances = new HashMap<Integer, Double>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] elements = line.split("\\|");
+                if (elements.length == 2) {
+                    bundledAdvances.put(Integer.parseInt(elements[0].trim(), HEXADECIMAL),
+                            Double.parseDouble(elements[1].trim()));
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return createApproximation(Chart.M_WIDTH);
+        }
+        return new GlyphAdvanceTable(codePoint -> bundledAdvances.getOrDefault(codePoint, Chart.M_WIDTH));
+    }
+
+    /**
+     * Returns the advance for a code point, in em.
+     *
+     * @param codePoint The code point.
+     * @return The advance for the code point.
+     */
+    double getAdvance(final int codePoint) {
+        return codePoint < TABULATED_CODE_POINTS ? advances[codePoint] : otherAdvances.get(codePoint);
+    }
+
+    /**
+     * Returns the width of a string at a font size.
+     *
+     * @param s        The string.
+     * @param fontSize The font size.
+     * @return The width of the string.
+     */
+    double getWidth(final String s, final double fontSize) {
+        return fontSize * widths.get(s, this::calculateWidth);
+    }
+
+    /**
+     * Calculates the width of a string as the sum of the advances of its glyphs,
+     * in em.
+     *
+     * @param s The string.
+     * @return The width of the string, in em.
+     */
+    private double calculateWidth(final String s) {
+        return s.codePoints().mapToDouble(this::getAdvance).sum();
+    }
+}
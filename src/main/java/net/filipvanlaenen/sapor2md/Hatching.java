@@ -0,0 +1,73 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.util.Objects;
+
+/**
+ * Class representing the hatching with which a shape in a chart is filled.
+ * Hatchings only differ by their color and angle, so two hatchings with the
+ * same color and angle are equal.
+ */
+final class Hatching {
+    /**
+     * The size of the tile of a hatching, i.e. the distance between two lines.
+     */
+    static final int TILE_SIZE = 10;
+    /**
+     * The width of the stroke of the line in the tile of a hatching. The line
+     * runs along the edge of the tile, so only half of the stroke is visible.
+     */
+    static final double STROKE_WIDTH = 20D / 3;
+
+    /**
+     * The color of the hatching.
+     */
+    private final int color;
+    /**
+     * The angle of the hatching, in degrees.
+     */
+    private final int angle;
+
+    /**
+     * Constructor taking the color and the angle of the hatching as its
+     * parameters.
+     *
+     * @param color The color of the hatching.
+     * @param angle The angle of the hatching, in degrees.
+     */
+    Hatching(final int color, final int angle) {
+        this.color = color;
+        this.angle = angle;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (!(other instanceof Hatching)) {
+            return false;
+        }
+        Hatching otherHatching = (Hatching) other;
+        return color == otherHatching.color && angle == otherHatching.angle;
+    }
+
+    /**
+     * Returns the angle of the hatching.
+     *
+     * @return The angle of the hatching, in degrees.
+     */
+    int getAngle() {
+        return angle;
+    }
+
+    /**
+     * Returns the color of the hatching.
+     *
+     * @return The color of the hatching.
+     */
+    int getColor() {
+        return color;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(color, angle);
+    }
+}
@@ -0,0 +1,62 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.filipvanlaenen.tsvgj.Line;
+import net.filipvanlaenen.tsvgj.Pattern;
+import net.filipvanlaenen.tsvgj.PatternUnitsValue;
+import net.filipvanlaenen.tsvgj.Transform;
+
+/**
+ * Class registering the hatching patterns of an SVG document. Hatchings only
+ * differ by their color and angle, so the registry creates only one pattern for
+ * each combination of color and angle, and all elements with the same hatching
+ * refer to it. As a result, each pattern is defined only once in the SVG
+ * document, however many elements use it.
+ */
+final class HatchingPatternRegistry {
+    /**
+     * The patterns, by color and angle, in the order in which they were
+     * registered.
+     */
+    private final Map<Hatching, Pattern> patterns = new LinkedHashMap<Hatching, Pattern>();
+
+    /**
+     * Returns the pattern for a hatching, creating and registering it if it's the
+     * first time it's requested.
+     *
+     * @param hatching The hatching.
+     * @return The pattern for the hatching.
+     */
+    Pattern get(final Hatching hatching) {
+        return patterns.computeIfAbsent(hatching, HatchingPatternRegistry::createHatchingPattern);
+    }
+
+    /**
+     * Returns the registered patterns, in the order in which they were registered.
+     *
+     * @return A list with the registered patterns.
+     */
+    List<Pattern> getPatterns() {
+        return new ArrayList<Pattern>(patterns.values());
+    }
+
+    /**
+     * Creates the pattern for a hatching.
+     *
+     * @param hatching The hatching.
+     * @return The pattern for the hatching.
+     */
+    private static Pattern createHatchingPattern(final Hatching hatching) {
+        Pattern pattern = new Pattern().height(Hatching.TILE_SIZE).width(Hatching.TILE_SIZE);
+        pattern.patternUnits(PatternUnitsValue.USER_SPACE_ON_USE);
+        pattern.patternTransform(Transform.rotate(hatching.getAngle(), 0, 0));
+        Line line = new Line().x1(0).y1(0).x2(0).y2(Hatching.TILE_SIZE).stroke(hatching.getColor())
+                .strokeWidth(Hatching.STROKE_WIDTH);
+        pattern.addElement(line);
+        return pattern;
+    }
+}
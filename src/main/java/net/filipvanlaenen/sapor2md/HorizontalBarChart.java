@@ -30,11 +30,31 @@ public abstract class HorizontalBarChart extends Chart {
         super(directory, poll);
     }
 
+    /**
+     * Constructor taking the path to the Sapor directory, a Sapor directory and a
+     * poll as its parameters.
+     *
+     * @param directoryPath The path to the Sapor directory in which the poll
+     *                      resides.
+     * @param directory     The Sapor directory.
+     * @param poll          The poll.
+     */
+    HorizontalBarChart(final String directoryPath, final SaporDirectory directory, final Poll poll) {
+        super(directoryPath, directory, poll);
+    }
+
     @Override
     protected double calculateContentHeight() {
         return 2 * TICKS_HEIGHT + getNumberOfGroups() * CHOICE_HEIGHT
                 + (getNumberOfGroups() - 1) * SPACE_BETWEEN_CHOICES;
     }
 
-    abstract int getNumberOfGroups();
+    /**
+     * Returns the number of groups in the chart.
+     *
+     * @return The number of groups.
+     */
+    int getNumberOfGroups() {
+        return getLayout().getNumberOfGroups();
+    }
 }
@@ -0,0 +1,71 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.IOException;
+
+/**
+ * A utility class providing services to encode text for inclusion in JSON
+ * documents.
+ */
+public final class JsonServices {
+    /**
+     * The first character that doesn't have to be escaped as a control character.
+     */
+    private static final char FIRST_NON_CONTROL_CHARACTER = 0x20;
+    /**
+     * The format for control characters without a short escape sequence.
+     */
+    private static final String UNICODE_ESCAPE_FORMAT = "\\u%04x";
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private JsonServices() {
+    }
+
+    /**
+     * Writes a text string as a quoted JSON string to an appendable. The quotation
+     * mark, the backslash and the control characters are escaped.
+     *
+     * @param out  The appendable to write the JSON string to.
+     * @param text The text string to be written.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    static void appendString(final Appendable out, final String text) throws IOException {
+        out.append('"');
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            String escape = getEscapeSequence(text.charAt(i));
+            if (escape != null) {
+                out.append(text, start, i);
+                out.append(escape);
+                start = i + 1;
+            }
+        }
+        out.append(text, start, text.length());
+        out.append('"');
+    }
+
+    /**
+     * Returns the escape sequence for a character that needs to be escaped.
+     *
+     * @param c The character.
+     * @return The escape sequence for the character, or null if the character
+     *         doesn't need to be escaped.
+     */
+    private static String getEscapeSequence(final char c) {
+        switch (c) {
+        case '"':
+            return "\\\"";
+        case '\\':
+            return "\\\\";
+        case '\n':
+            return "\\n";
+        case '\r':
+            return "\\r";
+        case '\t':
+            return "\\t";
+        default:
+            return c < FIRST_NON_CONTROL_CHARACTER ? String.format(UNICODE_ESCAPE_FORMAT, (int) c) : null;
+        }
+    }
+}
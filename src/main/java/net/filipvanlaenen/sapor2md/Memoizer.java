@@ -0,0 +1,93 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+
+/**
+ * A cache computing the value for each key at most once, even when the value is
+ * requested by several threads at the same time. The first thread requesting a
+ * value computes it, and the other threads wait for that result instead of
+ * computing it again. The computation runs outside of the map's locks, such that
+ * computing values for different keys doesn't block.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+final class Memoizer<K, V> {
+    /**
+     * The map holding the (possibly not yet finished) computations per key.
+     */
+    private final ConcurrentMap<K, FutureTask<V>> cache = new ConcurrentHashMap<K, FutureTask<V>>();
+    /**
+     * The function computing the value for a key.
+     */
+    private final Function<K, V> function;
+
+    /**
+     * Constructor taking the function computing the value for a key as its
+     * parameter.
+     *
+     * @param function The function computing the value for a key.
+     */
+    Memoizer(final Function<K, V> function) {
+        this.function = function;
+    }
+
+    /**
+     * Returns the value for a key, computing it if it hasn't been computed yet, or
+     * waiting for it if another thread is computing it. If the computation fails,
+     * the key is removed again, such that a later request retries it.
+     *
+     * @param key The key.
+     * @return The value for the key.
+     */
+    V get(final K key) {
+        FutureTask<V> future = cache.get(key);
+        if (future == null) {
+            FutureTask<V> newFuture = new FutureTask<V>(() -> function.apply(key));
+            future = cache.putIfAbsent(key, newFuture);
+            if (future == null) {
+                future = newFuture;
+                newFuture.run();
+            }
+        }
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    cache.remove(key, future);
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    } else {
+                        throw new IllegalStateException(cause);
+                    }
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Returns whether the value for a key has been computed or is being computed.
+     *
+     * @param key The key.
+     * @return True if the value for the key has been computed or is being
+     *         computed, false otherwise.
+     */
+    boolean contains(final K key) {
+        return cache.containsKey(key);
+    }
+}
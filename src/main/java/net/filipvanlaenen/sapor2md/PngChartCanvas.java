@@ -0,0 +1,210 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import net.filipvanlaenen.tsvgj.FontWeightValue;
+import net.filipvanlaenen.tsvgj.TextAnchorValue;
+
+/**
+ * Class implementing a chart canvas rendering the chart with Java2D to an
+ * image, which can be encoded as a PNG file. The canvas only draws on an
+ * off-screen image, such that it works in headless mode, which the ChartImages
+ * command switches on. It applies the same defaults as an SVG renderer to
+ * properties that haven't been set.
+ */
+final class PngChartCanvas extends ChartCanvas {
+    /**
+     * The name of the PNG format for the image writers.
+     */
+    private static final String PNG_FORMAT_NAME = "png";
+    /**
+     * The default color to fill shapes and texts with.
+     */
+    private static final int DEFAULT_FILL_COLOR = 0x000000;
+    /**
+     * The default font family.
+     */
+    private static final String DEFAULT_FONT_FAMILY = Font.SANS_SERIF;
+    /**
+     * The default font size.
+     */
+    private static final double DEFAULT_FONT_SIZE = 16D;
+    /**
+     * The default width of strokes.
+     */
+    private static final double DEFAULT_STROKE_WIDTH = 1D;
+
+    /**
+     * The image the chart is rendered to.
+     */
+    private BufferedImage image;
+    /**
+     * The graphics context for the image.
+     */
+    private Graphics2D graphics;
+
+    @Override
+    void startDocument(final double width, final double height) {
+        image = new BufferedImage((int) Math.ceil(width), (int) Math.ceil(height), BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        graphics.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+    }
+
+    @Override
+    void endDocument() {
+        graphics.dispose();
+    }
+
+    @Override
+    void startGroup() {
+    }
+
+    @Override
+    void endGroup() {
+    }
+
+    @Override
+    void defineHatchings(final List<Hatching> hatchings) {
+    }
+
+    /**
+     * Draws a rectangle. Rectangles without a width or a height aren't drawn, and
+     * rectangles without a stroke color don't get a stroke.
+     *
+     * @param rectangle The rectangle.
+     */
+    @Override
+    void drawRectangle(final ChartRectangle rectangle) {
+        if (rectangle.getWidth() == null || rectangle.getHeight() == null || rectangle.getWidth() <= 0D
+                || rectangle.getHeight() <= 0D) {
+            return;
+        }
+        Shape shape = new Rectangle2D.Double(valueOrZero(rectangle.getX()), valueOrZero(rectangle.getY()),
+                rectangle.getWidth(), rectangle.getHeight());
+        if (rectangle.getFillHatching() == null) {
+            graphics.setColor(createColor(rectangle.getFillColor()));
+            graphics.fill(shape);
+        } else {
+            fillWithHatching(shape, rectangle.getFillHatching());
+        }
+        if (rectangle.getStrokeColor() != null) {
+            graphics.setColor(new Color(rectangle.getStrokeColor()));
+            double strokeWidth = rectangle.getStrokeWidth() == null ? DEFAULT_STROKE_WIDTH
+                    : rectangle.getStrokeWidth();
+            graphics.setStroke(new BasicStroke((float) strokeWidth));
+            graphics.draw(shape);
+        }
+    }
+
+    /**
+     * Fills a shape with a hatching. The hatching is drawn in the same way as the
+     * pattern for the hatching in an SVG document: the tiles are rotated around
+     * the origin, and only the half of the line's stroke inside the tile is
+     * visible.
+     *
+     * @param shape    The shape to fill.
+     * @param hatching The hatching.
+     */
+    private void fillWithHatching(final Shape shape, final Hatching hatching) {
+        Graphics2D hatchingGraphics = (Graphics2D) graphics.create();
+        hatchingGraphics.clip(shape);
+        double angle = Math.toRadians(hatching.getAngle());
+        hatchingGraphics.rotate(angle);
+        Rectangle2D bounds = AffineTransform.getRotateInstance(-angle).createTransformedShape(shape).getBounds2D();
+        hatchingGraphics.setColor(new Color(hatching.getColor()));
+        long firstTile = (long) Math.floor(bounds.getMinX() / Hatching.TILE_SIZE);
+        long lastTile = (long) Math.ceil(bounds.getMaxX() / Hatching.TILE_SIZE);
+        for (long tile = firstTile; tile <= lastTile; tile++) {
+            hatchingGraphics.fill(new Rectangle2D.Double(tile * Hatching.TILE_SIZE, bounds.getMinY(),
+                    Hatching.STROKE_WIDTH / 2D, bounds.getHeight()));
+        }
+        hatchingGraphics.dispose();
+    }
+
+    /**
+     * Draws a text. Empty texts aren't drawn.
+     *
+     * @param text The text.
+     */
+    @Override
+    void drawText(final ChartText text) {
+        if (text.getText() == null || text.getText().isEmpty()) {
+            return;
+        }
+        String fontFamily = text.getFontFamily() == null ? DEFAULT_FONT_FAMILY : text.getFontFamily();
+        int fontStyle = text.getFontWeight() == FontWeightValue.BOLD ? Font.BOLD : Font.PLAIN;
+        double fontSize = text.getFontSize() == null ? DEFAULT_FONT_SIZE : text.getFontSize();
+        Font font = new Font(fontFamily, fontStyle, 1).deriveFont((float) fontSize);
+        Graphics2D textGraphics = (Graphics2D) graphics.create();
+        if (text.getRotation() != null) {
+            textGraphics.rotate(Math.toRadians(text.getRotation()));
+        }
+        textGraphics.setFont(font);
+        textGraphics.setColor(createColor(text.getFill()));
+        double x = valueOrZero(text.getX());
+        if (text.getTextAnchor() == TextAnchorValue.MIDDLE || text.getTextAnchor() == TextAnchorValue.END) {
+            double width = font.getStringBounds(text.getText(), textGraphics.getFontRenderContext()).getWidth();
+            x -= text.getTextAnchor() == TextAnchorValue.MIDDLE ? width / 2D : width;
+        }
+        textGraphics.drawString(text.getText(), (float) x, (float) valueOrZero(text.getY()));
+        textGraphics.dispose();
+    }
+
+    /**
+     * Returns the image the chart has been rendered to.
+     *
+     * @return The image.
+     */
+    BufferedImage getImage() {
+        return image;
+    }
+
+    /**
+     * Encodes the image as a PNG file to an output stream.
+     *
+     * @param out The output stream to write the PNG file to.
+     * @throws IOException Thrown if the image can't be encoded or written.
+     */
+    void writePngTo(final OutputStream out) throws IOException {
+        if (!ImageIO.write(image, PNG_FORMAT_NAME, out)) {
+            throw new IOException("No image writer found for the PNG format.");
+        }
+    }
+
+    /**
+     * Creates a color, falling back to the default fill color if no color is
+     * given.
+     *
+     * @param color The color, or null.
+     * @return The color.
+     */
+    private static Color createColor(final Integer color) {
+        return new Color(color == null ? DEFAULT_FILL_COLOR : color);
+    }
+
+    /**
+     * Returns a coordinate, or zero if it hasn't been set.
+     *
+     * @param value The coordinate, or null.
+     * @return The coordinate, or zero.
+     */
+    private static double valueOrZero(final Double value) {
+        return value == null ? 0D : value;
+    }
+}
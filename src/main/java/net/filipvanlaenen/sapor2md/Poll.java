@@ -6,7 +6,7 @@ import java.util.Map;
 
 /**
  * An abstract class defining the behavior of a poll and implementing common
- * functionality.
+ * functionality. A poll is immutable once it has been constructed.
  */
 public abstract class Poll {
     /**
@@ -32,9 +32,10 @@ public abstract class Poll {
      */
     private final String baseName;
     /**
-     * The commissioners of the poll.
+     * The ID of the commissioners of the poll in the symbol table, or
+     * <code>SymbolTable.NO_ID</code> if the poll has no commissioners.
      */
-    private final String commissioners;
+    private final int commissionersId;
     /**
      * The end of the fieldwork period.
      */
@@ -44,50 +45,102 @@ public abstract class Poll {
      */
     private final LocalDate fieldworkStart;
     /**
-     * The polling firm that conducted the poll.
+     * The ID of the polling firm that conducted the poll in the symbol table, or
+     * <code>SymbolTable.NO_ID</code> if the polling firm is absent.
      */
-    private final String pollingFirm;
+    private final int pollingFirmId;
+    /**
+     * The symbol table holding the names of the polling firms and commissioners.
+     */
+    private final SymbolTable symbolTable;
+    /**
+     * The symbol table holding the names of the parliamentary groups.
+     */
+    private final SymbolTable groupSymbolTable;
     /**
      * The size of the file containing the chart with the seating plan projection
      * for the poll.
      */
-    private long seatingPlanProjectionChartFileSize;
+    private final long seatingPlanProjectionChartFileSize;
     /**
      * The seat projection for the poll.
      */
-    private SeatProjection seatProjection;
+    private final SeatProjection seatProjection;
     /**
      * The size of the file containing the chart with the seat projections per party
      * for the poll.
      */
-    private long seatProjectionsChartFileSize;
+    private final long seatProjectionsChartFileSize;
     /**
      * The state summary for the poll.
      */
-    private StateSummary stateSummary;
+    private final StateSummary stateSummary;
     /**
      * The voting intentions for the poll.
      */
-    private VotingIntentions votingIntentions;
+    private final VotingIntentions votingIntentions;
     /**
      * The size of the file containing the chart with the voting intentions for the
      * poll.
      */
-    private long votingIntentionsChartFileSize;
+    private final long votingIntentionsChartFileSize;
 
     /**
      * Constructor taking the base name and a map with the properties as the
-     * argument.
+     * argument, for a poll without state summary, voting intentions, seat
+     * projection or charts.
      *
      * @param baseName   The base name of the poll.
      * @param properties The map containing the country properties.
      */
     Poll(final String baseName, final Map<String, String> properties) {
-        this.baseName = baseName;
-        commissioners = properties.get(COMMISSIONERS_KEY);
-        pollingFirm = properties.get(POLLING_FIRM_KEY);
-        fieldworkEnd = LocalDate.parse(properties.get(FIELDWORK_END_KEY), DateTimeFormatter.ISO_LOCAL_DATE);
-        fieldworkStart = LocalDate.parse(properties.get(FIELDWORK_START_KEY), DateTimeFormatter.ISO_LOCAL_DATE);
+        this(new Builder(baseName, properties));
+    }
+
+    /**
+     * Constructor taking a builder as the argument. All the data of the poll is
+     * copied from the builder, such that the poll can't change anymore once it
+     * has been constructed, and can be shared between threads.
+     *
+     * @param builder The builder holding the data of the poll.
+     */
+    Poll(final Builder builder) {
+        this.baseName = builder.baseName;
+        this.symbolTable = builder.symbolTable;
+        this.groupSymbolTable = builder.groupSymbolTable;
+        commissionersId = internOptional(symbolTable, builder.properties.get(COMMISSIONERS_KEY));
+        pollingFirmId = internOptional(symbolTable, builder.properties.get(POLLING_FIRM_KEY));
+        fieldworkEnd = LocalDate.parse(builder.properties.get(FIELDWORK_END_KEY), DateTimeFormatter.ISO_LOCAL_DATE);
+        fieldworkStart = LocalDate.parse(builder.properties.get(FIELDWORK_START_KEY),
+                DateTimeFormatter.ISO_LOCAL_DATE);
+        stateSummary = builder.stateSummary;
+        votingIntentions = builder.votingIntentions;
+        seatProjection = builder.seatProjection;
+        votingIntentionsChartFileSize = builder.votingIntentionsChartFileSize;
+        seatingPlanProjectionChartFileSize = builder.seatingPlanProjectionChartFileSize;
+        seatProjectionsChartFileSize = builder.seatProjectionsChartFileSize;
+    }
+
+    /**
+     * Interns a symbol that may be absent in a symbol table.
+     *
+     * @param symbolTable The symbol table.
+     * @param symbol      The symbol, or null if it's absent.
+     * @return The ID of the symbol, or <code>SymbolTable.NO_ID</code> if it's
+     *         absent.
+     */
+    private static int internOptional(final SymbolTable symbolTable, final String symbol) {
+        return symbol == null ? SymbolTable.NO_ID : symbolTable.intern(symbol);
+    }
+
+    /**
+     * Returns the symbol for an ID that may be absent.
+     *
+     * @param id The ID, or <code>SymbolTable.NO_ID</code>.
+     * @return The symbol, or null if the ID is <code>SymbolTable.NO_ID</code>.
+     */
+    private String getOptionalSymbol(final int id) {
+        return id == SymbolTable.NO_ID ? null : symbolTable.getSymbol(id);
     }
 
     /**
@@ -105,7 +158,7 @@ public abstract class Poll {
      * @return The commissioners for the poll.
      */
     String getComissioners() {
-        return commissioners;
+        return getOptionalSymbol(commissionersId);
     }
 
     /**
@@ -132,63 +185,65 @@ public abstract class Poll {
      * @return The polling firm that conducted the poll.
      */
     String getPollingFirm() {
-        return pollingFirm;
+        return getOptionalSymbol(pollingFirmId);
     }
 
     /**
-     * Returns the size of the file with the seating plan projection chart.
+     * Returns the ID of the polling firm that conducted the poll in the symbol
+     * table.
      *
-     * @return The size of the file with the seating plan projection chart.
+     * @return The ID of the polling firm that conducted the poll, or
+     *         <code>SymbolTable.NO_ID</code> if it's absent.
      */
-    long getSeatingPlanProjectionChartFileSize() {
-        return seatingPlanProjectionChartFileSize;
+    int getPollingFirmId() {
+        return pollingFirmId;
     }
 
     /**
-     * Sets the size of the file containing the seating plan projection chart.
+     * Returns the symbol table holding the names of the polling firms and
+     * commissioners.
      *
-     * @param seatingPlanProjectionChartFileSize The size of the file containing the
-     *                                           seating plan projection chart.
+     * @return The symbol table holding the names of the polling firms and
+     *         commissioners.
      */
-    void setSeatingPlanProjectionChartFileSize(final long seatingPlanProjectionChartFileSize) {
-        this.seatingPlanProjectionChartFileSize = seatingPlanProjectionChartFileSize;
+    SymbolTable getSymbolTable() {
+        return symbolTable;
     }
 
     /**
-     * Returns the seat projection for the poll.
+     * Returns the symbol table holding the names of the parliamentary groups.
      *
-     * @return The seat projection for the poll.
+     * @return The symbol table holding the names of the parliamentary groups.
      */
-    SeatProjection getSeatProjection() {
-        return seatProjection;
+    SymbolTable getGroupSymbolTable() {
+        return groupSymbolTable;
     }
 
     /**
-     * Sets the seat projection for the poll.
+     * Returns the size of the file with the seating plan projection chart.
      *
-     * @param seatProjection The seat projection for the poll.
+     * @return The size of the file with the seating plan projection chart.
      */
-    void setSeatProjection(final SeatProjection seatProjection) {
-        this.seatProjection = seatProjection;
+    long getSeatingPlanProjectionChartFileSize() {
+        return seatingPlanProjectionChartFileSize;
     }
 
     /**
-     * Returns the size of the file with the seat projections per party chart.
+     * Returns the seat projection for the poll.
      *
-     * @return The size of the file with the seat projections per party chart.
+     * @return The seat projection for the poll.
      */
-    long getSeatProjectionsChartFileSize() {
-        return seatProjectionsChartFileSize;
+    SeatProjection getSeatProjection() {
+        return seatProjection;
     }
 
     /**
-     * Sets the size of the file containing the seat projections per party chart.
+     * Returns the size of the file with the seat projections per party chart.
      *
-     * @param seatProjectionsChartFileSize The size of the file containing the seat
-     *                                     projections per party chart.
+     * @return The size of the file with the seat projections per party chart.
      */
-    void setSeatProjectionsChartFileSize(final long seatProjectionsChartFileSize) {
-        this.seatProjectionsChartFileSize = seatProjectionsChartFileSize;
+    long getSeatProjectionsChartFileSize() {
+        return seatProjectionsChartFileSize;
     }
 
     /**
@@ -209,15 +264,6 @@ public abstract class Poll {
         return stateSummary != null;
     }
 
-    /**
-     * Sets the state summary for the poll.
-     *
-     * @param stateSummary The state summary for the poll.
-     */
-    void setStateSummary(final StateSummary stateSummary) {
-        this.stateSummary = stateSummary;
-    }
-
     /**
      * Returns the voting intentions for the poll.
      *
@@ -227,15 +273,6 @@ public abstract class Poll {
         return votingIntentions;
     }
 
-    /**
-     * Sets the voting intentions for the poll.
-     *
-     * @param votingIntentions The voting intentions for the poll.
-     */
-    void setVotingIntentions(final VotingIntentions votingIntentions) {
-        this.votingIntentions = votingIntentions;
-    }
-
     /**
      * Returns the size of the file with the voting intentions chart.
      *
@@ -246,12 +283,169 @@ public abstract class Poll {
     }
 
     /**
-     * Sets the size of the file containing the voting intentions chart.
-     *
-     * @param votingIntentionsChartFileSize The size of the file containing the
-     *                                      voting intentions chart.
-     */
-    void setVotingIntentionsChartFileSize(final long votingIntentionsChartFileSize) {
-        this.votingIntentionsChartFileSize = votingIntentionsChartFileSize;
+     * Builder collecting the data of a poll before it's constructed.
+     */
+    static final class Builder {
+        /**
+         * The base name for the poll.
+         */
+        private final String baseName;
+        /**
+         * The map containing the properties of the poll.
+         */
+        private final Map<String, String> properties;
+        /**
+         * The symbol table for the names of the polling firm and the commissioners.
+         */
+        private SymbolTable symbolTable = new SymbolTable();
+        /**
+         * The symbol table for the names of the parliamentary groups.
+         */
+        private SymbolTable groupSymbolTable = new SymbolTable();
+        /**
+         * The size of the file containing the chart with the seating plan
+         * projection for the poll.
+         */
+        private long seatingPlanProjectionChartFileSize;
+        /**
+         * The seat projection for the poll.
+         */
+        private SeatProjection seatProjection;
+        /**
+         * The size of the file containing the chart with the seat projections per
+         * party for the poll.
+         */
+        private long seatProjectionsChartFileSize;
+        /**
+         * The state summary for the poll.
+         */
+        private StateSummary stateSummary;
+        /**
+         * The voting intentions for the poll.
+         */
+        private VotingIntentions votingIntentions;
+        /**
+         * The size of the file containing the chart with the voting intentions for
+         * the poll.
+         */
+        private long votingIntentionsChartFileSize;
+
+        /**
+         * Constructor taking the base name and a map with the properties as the
+         * argument.
+         *
+         * @param baseName   The base name of the poll.
+         * @param properties The map containing the properties of the poll.
+         */
+        Builder(final String baseName, final Map<String, String> properties) {
+            this.baseName = baseName;
+            this.properties = properties;
+        }
+
+        /**
+         * Returns the base name of the poll.
+         *
+         * @return The base name of the poll.
+         */
+        String getBaseName() {
+            return baseName;
+        }
+
+        /**
+         * Sets the symbol table in which the names of the polling firm and the
+         * commissioners should be interned.
+         *
+         * @param symbolTable The symbol table.
+         * @return This builder.
+         */
+        Builder setSymbolTable(final SymbolTable symbolTable) {
+            this.symbolTable = symbolTable;
+            return this;
+        }
+
+        /**
+         * Sets the symbol table in which the names of the parliamentary groups
+         * should be interned. The names of the parliamentary groups are kept apart
+         * from the names of the polling firms and the commissioners, such that
+         * the arrays indexed by group ID stay as small as the number of groups.
+         *
+         * @param groupSymbolTable The symbol table.
+         * @return This builder.
+         */
+        Builder setGroupSymbolTable(final SymbolTable groupSymbolTable) {
+            this.groupSymbolTable = groupSymbolTable;
+            return this;
+        }
+
+        /**
+         * Sets the size of the file containing the seating plan projection chart.
+         *
+         * @param seatingPlanProjectionChartFileSize The size of the file containing
+         *                                           the seating plan projection
+         *                                           chart.
+         * @return This builder.
+         */
+        Builder setSeatingPlanProjectionChartFileSize(final long seatingPlanProjectionChartFileSize) {
+            this.seatingPlanProjectionChartFileSize = seatingPlanProjectionChartFileSize;
+            return this;
+        }
+
+        /**
+         * Sets the seat projection for the poll.
+         *
+         * @param seatProjection The seat projection for the poll.
+         * @return This builder.
+         */
+        Builder setSeatProjection(final SeatProjection seatProjection) {
+            this.seatProjection = seatProjection;
+            return this;
+        }
+
+        /**
+         * Sets the size of the file containing the seat projections per party
+         * chart.
+         *
+         * @param seatProjectionsChartFileSize The size of the file containing the
+         *                                     seat projections per party chart.
+         * @return This builder.
+         */
+        Builder setSeatProjectionsChartFileSize(final long seatProjectionsChartFileSize) {
+            this.seatProjectionsChartFileSize = seatProjectionsChartFileSize;
+            return this;
+        }
+
+        /**
+         * Sets the state summary for the poll.
+         *
+         * @param stateSummary The state summary for the poll.
+         * @return This builder.
+         */
+        Builder setStateSummary(final StateSummary stateSummary) {
+            this.stateSummary = stateSummary;
+            return this;
+        }
+
+        /**
+         * Sets the voting intentions for the poll.
+         *
+         * @param votingIntentions The voting intentions for the poll.
+         * @return This builder.
+         */
+        Builder setVotingIntentions(final VotingIntentions votingIntentions) {
+            this.votingIntentions = votingIntentions;
+            return this;
+        }
+
+        /**
+         * Sets the size of the file containing the voting intentions chart.
+         *
+         * @param votingIntentionsChartFileSize The size of the file containing the
+         *                                      voting intentions chart.
+         * @return This builder.
+         */
+        Builder setVotingIntentionsChartFileSize(final long votingIntentionsChartFileSize) {
+            this.votingIntentionsChartFileSize = votingIntentionsChartFileSize;
+            return this;
+        }
     }
 }
@@ -0,0 +1,347 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class modeling the feed items for a poll. The model is computed once per
+ * poll, including the sorted groups, the 95 percent confidence intervals and
+ * the adjusted medians, and can then be serialized in any number of feed modes
+ * without touching the probability mass functions again.
+ */
+final class PollFeedModel {
+    /**
+     * Magic number 0.95, or 95 percent.
+     */
+    private static final double NINETY_FIVE_PERCENT = 0.95D;
+    /**
+     * Magic number one million (1,048,576), the threshold for when to include seat
+     * projections in a feed.
+     */
+    private static final long ONE_MILLION = 1048576;
+
+    /**
+     * The base name of the poll.
+     */
+    private final String baseName;
+    /**
+     * The polling firm that conducted the poll.
+     */
+    private final String pollingFirm;
+    /**
+     * The commissioners of the poll, or null if the poll has no commissioners.
+     */
+    private final String commissioners;
+    /**
+     * The end of the fieldwork period.
+     */
+    private final LocalDate fieldworkEnd;
+    /**
+     * The fieldwork period, formatted in a human-readable form.
+     */
+    private final String fieldworkPeriod;
+    /**
+     * The timestamp of the state summary, or null if the poll has no state
+     * summary.
+     */
+    private final OffsetDateTime timestamp;
+    /**
+     * Whether the items with the seat projections should be included.
+     */
+    private final boolean hasSeatProjectionItems;
+    /**
+     * Whether the item with the voting intentions should be included.
+     */
+    private final boolean hasVotingIntentionsItem;
+    /**
+     * The size of the file containing the seating plan projection chart.
+     */
+    private final long seatingPlanProjectionChartFileSize;
+    /**
+     * The size of the file containing the seat projections per party chart.
+     */
+    private final long seatProjectionsChartFileSize;
+    /**
+     * The size of the file containing the voting intentions chart.
+     */
+    private final long votingIntentionsChartFileSize;
+    /**
+     * The lines with the voting intentions, sorted.
+     */
+    private final List<Line> votingIntentionsLines;
+    /**
+     * The lines with the seat projections per party, sorted.
+     */
+    private final List<Line> seatProjectionsLines;
+    /**
+     * The lines with the seating plan projection, sorted by adjusted median.
+     */
+    private final List<Line> seatingPlanProjectionLines;
+
+    /**
+     * Constructor taking the poll, the number of seats in the parliament and
+     * whether the statistics on the probability mass functions are needed as its
+     * parameters.
+     *
+     * @param poll            The poll.
+     * @param numberOfSeats   The number of seats in the parliament.
+     * @param withStatistics  Whether the lines with the statistics should be
+     *                        computed.
+     */
+    PollFeedModel(final Poll poll, final int numberOfSeats, final boolean withStatistics) {
+        baseName = poll.getBaseName();
+        pollingFirm = poll.getPollingFirm();
+        commissioners = poll.getComissioners();
+        fieldworkEnd = poll.getFieldworkEnd();
+        fieldworkPeriod = TimeServices.formatPeriod(poll.getFieldworkStart(), poll.getFieldworkEnd());
+        long numberOfSimulations = poll.hasStateSummary() ? poll.getStateSummary().getNumberOfSimulations() : 0L;
+        timestamp = poll.hasStateSummary() ? poll.getStateSummary().getTimestamp() : null;
+        hasSeatProjectionItems = numberOfSimulations >= ONE_MILLION;
+        hasVotingIntentionsItem = numberOfSimulations >= 1;
+        seatingPlanProjectionChartFileSize = poll.getSeatingPlanProjectionChartFileSize();
+        seatProjectionsChartFileSize = poll.getSeatProjectionsChartFileSize();
+        votingIntentionsChartFileSize = poll.getVotingIntentionsChartFileSize();
+        if (withStatistics && hasVotingIntentionsItem) {
+            votingIntentionsLines = createVotingIntentionsLines(poll.getVotingIntentions());
+        } else {
+            votingIntentionsLines = Collections.emptyList();
+        }
+        if (withStatistics && hasSeatProjectionItems) {
+            SeatProjection seatProjection = poll.getSeatProjection();
+            seatProjectionsLines = createSeatProjectionsLines(seatProjection);
+            seatingPlanProjectionLines = createSeatingPlanProjectionLines(seatProjection, numberOfSeats);
+        } else {
+            seatProjectionsLines = Collections.emptyList();
+            seatingPlanProjectionLines = Collections.emptyList();
+        }
+    }
+
+    /**
+     * Creates the lines with the voting intentions.
+     *
+     * @param votingIntentions The voting intentions.
+     * @return A list with the lines with the voting intentions, sorted.
+     */
+    private static List<Line> createVotingIntentionsLines(final VotingIntentions votingIntentions) {
+        List<Line> lines = new ArrayList<Line>();
+        for (String group : votingIntentions.getSortedGroups()) {
+            ConfidenceInterval<ProbabilityRange> ci = votingIntentions.getConfidenceInterval(group,
+                    NINETY_FIVE_PERCENT);
+            lines.add(new Line(group, ProbabilityRange.formatConfidenceInterval("%.1f", ci)));
+        }
+        return Collections.unmodifiableList(lines);
+    }
+
+    /**
+     * Creates the lines with the seat projections per party.
+     *
+     * @param seatProjection The seat projection.
+     * @return A list with the lines with the seat projections per party, sorted.
+     */
+    private static List<Line> createSeatProjectionsLines(final SeatProjection seatProjection) {
+        List<Line> lines = new ArrayList<Line>();
+        for (String group : seatProjection.getSortedGroups()) {
+            ConfidenceInterval<Integer> ci = seatProjection.getConfidenceInterval(group, NINETY_FIVE_PERCENT);
+            lines.add(new Line(group, RSS20Feed.formatSeatsConfidenceInterval(ci)));
+        }
+        return Collections.unmodifiableList(lines);
+    }
+
+    /**
+     * Creates the lines with the seating plan projection.
+     *
+     * @param seatProjection The seat projection.
+     * @param numberOfSeats  The number of seats in the parliament.
+     * @return A list with the lines with the seating plan projection, sorted by
+     *         adjusted median.
+     */
+    private static List<Line> createSeatingPlanProjectionLines(final SeatProjection seatProjection,
+            final int numberOfSeats) {
+        List<Line> lines = new ArrayList<Line>();
+        for (String group : seatProjection.getGroupsSortedByAdjustedMedian(numberOfSeats)) {
+            int adjustedMedian = seatProjection.getAdjustedMedian(group, numberOfSeats);
+            lines.add(new Line(group, adjustedMedian + (adjustedMedian == 1 ? " seat" : " seats")));
+        }
+        return Collections.unmodifiableList(lines);
+    }
+
+    /**
+     * Returns the base name of the poll.
+     *
+     * @return The base name of the poll.
+     */
+    String getBaseName() {
+        return baseName;
+    }
+
+    /**
+     * Returns the polling firm that conducted the poll.
+     *
+     * @return The polling firm that conducted the poll.
+     */
+    String getPollingFirm() {
+        return pollingFirm;
+    }
+
+    /**
+     * Returns the commissioners of the poll.
+     *
+     * @return The commissioners of the poll, or null if the poll has no
+     *         commissioners.
+     */
+    String getCommissioners() {
+        return commissioners;
+    }
+
+    /**
+     * Returns the end of the fieldwork period.
+     *
+     * @return The end of the fieldwork period.
+     */
+    LocalDate getFieldworkEnd() {
+        return fieldworkEnd;
+    }
+
+    /**
+     * Returns the fieldwork period, formatted in a human-readable form.
+     *
+     * @return The fieldwork period, formatted in a human-readable form.
+     */
+    String getFieldworkPeriod() {
+        return fieldworkPeriod;
+    }
+
+    /**
+     * Returns the timestamp of the state summary.
+     *
+     * @return The timestamp of the state summary, or null if the poll has no state
+     *         summary.
+     */
+    OffsetDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns whether the items with the seat projections should be included.
+     *
+     * @return True if the items with the seat projections should be included.
+     */
+    boolean hasSeatProjectionItems() {
+        return hasSeatProjectionItems;
+    }
+
+    /**
+     * Returns whether the item with the voting intentions should be included.
+     *
+     * @return True if the item with the voting intentions should be included.
+     */
+    boolean hasVotingIntentionsItem() {
+        return hasVotingIntentionsItem;
+    }
+
+    /**
+     * Returns the size of the file containing the seating plan projection chart.
+     *
+     * @return The size of the file containing the seating plan projection chart.
+     */
+    long getSeatingPlanProjectionChartFileSize() {
+        return seatingPlanProjectionChartFileSize;
+    }
+
+    /**
+     * Returns the size of the file containing the seat projections per party
+     * chart.
+     *
+     * @return The size of the file containing the seat projections per party
+     *         chart.
+     */
+    long getSeatProjectionsChartFileSize() {
+        return seatProjectionsChartFileSize;
+    }
+
+    /**
+     * Returns the size of the file containing the voting intentions chart.
+     *
+     * @return The size of the file containing the voting intentions chart.
+     */
+    long getVotingIntentionsChartFileSize() {
+        return votingIntentionsChartFileSize;
+    }
+
+    /**
+     * Returns the lines with the voting intentions, sorted.
+     *
+     * @return The lines with the voting intentions, sorted.
+     */
+    List<Line> getVotingIntentionsLines() {
+        return votingIntentionsLines;
+    }
+
+    /**
+     * Returns the lines with the seat projections per party, sorted.
+     *
+     * @return The lines with the seat projections per party, sorted.
+     */
+    List<Line> getSeatProjectionsLines() {
+        return seatProjectionsLines;
+    }
+
+    /**
+     * Returns the lines with the seating plan projection, sorted by adjusted
+     * median.
+     *
+     * @return The lines with the seating plan projection, sorted by adjusted
+     *         median.
+     */
+    List<Line> getSeatingPlanProjectionLines() {
+        return seatingPlanProjectionLines;
+    }
+
+    /**
+     * Class representing a line in the description of an item, consisting of the
+     * name of a group and a formatted value.
+     */
+    static final class Line {
+        /**
+         * The name of the group.
+         */
+        private final String group;
+        /**
+         * The formatted value.
+         */
+        private final String value;
+
+        /**
+         * Constructor taking the name of the group and the formatted value as its
+         * parameters.
+         *
+         * @param group The name of the group.
+         * @param value The formatted value.
+         */
+        Line(final String group, final String value) {
+            this.group = group;
+            this.value = value;
+        }
+
+        /**
+         * Returns the name of the group.
+         *
+         * @return The name of the group.
+         */
+        String getGroup() {
+            return group;
+        }
+
+        /**
+         * Returns the formatted value.
+         *
+         * @return The formatted value.
+         */
+        String getValue() {
+            return value;
+        }
+    }
+}
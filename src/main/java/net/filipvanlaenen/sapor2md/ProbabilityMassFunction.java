@@ -22,14 +22,16 @@ public class ProbabilityMassFunction<T extends Comparable<T>> {
      */
     private final Map<T, Double> map = new HashMap<T, Double>();
     /**
-     * The median for the probability mass function.
+     * The median for the probability mass function, calculated at construction
+     * such that it can be read safely from any thread.
      */
-    private T median;
+    private final T median;
 
     /**
-     * A map holding the confidence intervals.
+     * The confidence intervals, computed at most once per level of confidence.
      */
-    private final Map<Double, ConfidenceInterval<T>> confidenceIntervals = new HashMap<Double, ConfidenceInterval<T>>();
+    private final Memoizer<Double, ConfidenceInterval<T>> confidenceIntervals =
+            new Memoizer<Double, ConfidenceInterval<T>>(this::calculateConfidenceInterval);
 
     /**
      * Constructs a probability mass function from an array of objects. The array
@@ -53,6 +55,7 @@ public class ProbabilityMassFunction<T extends Comparable<T>> {
                         "The even arguments to construct a probability mass function should be numbers.");
             }
         }
+        median = calculateMedian();
     }
 
     /**
@@ -90,9 +93,6 @@ public class ProbabilityMassFunction<T extends Comparable<T>> {
      * @return The median for the probability mass function.
      */
     T getMedian() {
-        if (median == null) {
-            median = calculateMedian();
-        }
         return median;
     }
 
@@ -102,7 +102,7 @@ public class ProbabilityMassFunction<T extends Comparable<T>> {
      * @return The keys of the probability mass function.
      */
     Set<T> keySet() {
-        return map.keySet();
+        return Collections.unmodifiableSet(map.keySet());
     }
 
     /**
@@ -112,9 +112,6 @@ public class ProbabilityMassFunction<T extends Comparable<T>> {
      * @return The confidence interval.
      */
     ConfidenceInterval<T> getConfidenceInterval(final double confidence) {
-        if (!confidenceIntervals.containsKey(confidence)) {
-            confidenceIntervals.put(confidence, calculateConfidenceInterval(confidence));
-        }
         return confidenceIntervals.get(confidence);
     }
 
@@ -1,10 +1,9 @@
 package net.filipvanlaenen.sapor2md;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * A class representing a probability mass function combination. Such a
@@ -21,17 +20,147 @@ public abstract class ProbabilityMassFunctionCombination<T extends Comparable<T>
      */
     protected static final double NINETY_FIVE_PERCENT = 0.95D;
     /**
-     * A map holding the probability mass functions per group.
+     * The symbol table holding the names of the groups.
      */
-    private final Map<String, ProbabilityMassFunction<T>> map = new HashMap<>();
+    private final SymbolTable symbolTable;
+    /**
+     * The probability mass functions, indexed by the ID of their group in the
+     * symbol table.
+     */
+    private ProbabilityMassFunction<T>[] probabilityMassFunctions = createArray(0);
+    /**
+     * The IDs of the groups, in the order in which they were added.
+     */
+    private int[] groupIds = new int[0];
+
+    /**
+     * Constructor taking the symbol table for the names of the groups as its
+     * parameter.
+     *
+     * @param symbolTable The symbol table for the names of the groups.
+     */
+    ProbabilityMassFunctionCombination(final SymbolTable symbolTable) {
+        this.symbolTable = symbolTable;
+    }
 
     /**
-     * Returns the map holding the probability mass functions per group.
+     * Creates an array for probability mass functions.
      *
-     * @return The map holding the probability mass functions per group.
+     * @param <T>    The type of the keys for the probability mass functions.
+     * @param length The length of the array.
+     * @return An array for probability mass functions.
      */
-    Map<String, ProbabilityMassFunction<T>> getMap() {
-        return map;
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> ProbabilityMassFunction<T>[] createArray(final int length) {
+        return (ProbabilityMassFunction<T>[]) new ProbabilityMassFunction<?>[length];
+    }
+
+    /**
+     * Adds the probability mass function for a group.
+     *
+     * @param group The name of the group.
+     * @param pmf   The probability mass function for the group.
+     */
+    protected void addProbabilityMassFunction(final String group, final ProbabilityMassFunction<T> pmf) {
+        int id = symbolTable.intern(group);
+        if (id >= probabilityMassFunctions.length) {
+            probabilityMassFunctions = Arrays.copyOf(probabilityMassFunctions, id + 1);
+        }
+        if (probabilityMassFunctions[id] == null) {
+            groupIds = Arrays.copyOf(groupIds, groupIds.length + 1);
+            groupIds[groupIds.length - 1] = id;
+        }
+        probabilityMassFunctions[id] = pmf;
+    }
+
+    /**
+     * Returns the symbol table holding the names of the groups.
+     *
+     * @return The symbol table holding the names of the groups.
+     */
+    SymbolTable getSymbolTable() {
+        return symbolTable;
+    }
+
+    /**
+     * Returns the IDs of the groups, in the order in which they were added.
+     *
+     * @return An array with the IDs of the groups.
+     */
+    int[] getGroupIds() {
+        return groupIds.clone();
+    }
+
+    /**
+     * Returns the number of groups.
+     *
+     * @return The number of groups.
+     */
+    int getNumberOfGroups() {
+        return groupIds.length;
+    }
+
+    /**
+     * Returns the names of the groups, in the order in which they were added.
+     *
+     * @return A list with the names of the groups.
+     */
+    List<String> getGroups() {
+        List<String> groups = new ArrayList<String>(groupIds.length);
+        for (int id : groupIds) {
+            groups.add(symbolTable.getSymbol(id));
+        }
+        return groups;
+    }
+
+    /**
+     * Returns the name of a group.
+     *
+     * @param groupId The ID of the group.
+     * @return The name of the group.
+     */
+    String getGroupName(final int groupId) {
+        return symbolTable.getSymbol(groupId);
+    }
+
+    /**
+     * Returns the probability mass function for a group.
+     *
+     * @param groupId The ID of the group.
+     * @return The probability mass function for the group, or null if the group
+     *         isn't part of the combination.
+     */
+    ProbabilityMassFunction<T> getProbabilityMassFunction(final int groupId) {
+        if (groupId < 0 || groupId >= probabilityMassFunctions.length) {
+            return null;
+        }
+        return probabilityMassFunctions[groupId];
+    }
+
+    /**
+     * Returns the probability mass function for a group.
+     *
+     * @param group The name of the group.
+     * @return The probability mass function for the group, or null if the group
+     *         isn't part of the combination.
+     */
+    ProbabilityMassFunction<T> getProbabilityMassFunction(final String group) {
+        return getProbabilityMassFunction(symbolTable.getId(group));
+    }
+
+    /**
+     * Returns the total number of values over all the probability mass functions,
+     * as a measure for the memory the probability mass function combination
+     * occupies.
+     *
+     * @return The total number of values over all the probability mass functions.
+     */
+    long getNumberOfValues() {
+        long numberOfValues = 0L;
+        for (int id : groupIds) {
+            numberOfValues += probabilityMassFunctions[id].keySet().size();
+        }
+        return numberOfValues;
     }
 
     /**
@@ -44,7 +173,7 @@ public abstract class ProbabilityMassFunctionCombination<T extends Comparable<T>
      * @return A set containing all the groups, sorted.
      */
     List<String> getSortedGroups() {
-        List<String> sortedGroups = new ArrayList<String>(map.keySet());
+        List<String> sortedGroups = getGroups();
         sortedGroups.sort(new Comparator<String>() {
             @Override
             public int compare(final String group1, final String group2) {
@@ -95,7 +224,7 @@ public abstract class ProbabilityMassFunctionCombination<T extends Comparable<T>
      * @return The probability of the parliamentary group to obtain the value.
      */
     double getProbability(final String group, final T value) {
-        return map.get(group).getProbability(value);
+        return getProbabilityMassFunction(group).getProbability(value);
     }
 
     /**
@@ -105,7 +234,7 @@ public abstract class ProbabilityMassFunctionCombination<T extends Comparable<T>
      * @return The median for the parliamentary group.
      */
     T getMedian(final String group) {
-        return map.get(group).getMedian();
+        return getProbabilityMassFunction(group).getMedian();
     }
 
     /**
@@ -116,19 +245,6 @@ public abstract class ProbabilityMassFunctionCombination<T extends Comparable<T>
      * @return The confidence interval for the given confidence for a group.
      */
     ConfidenceInterval<T> getConfidenceInterval(final String group, final double confidence) {
-        return map.get(group).getConfidenceInterval(confidence);
-    }
-
-    /**
-     * Calculates the medians.
-     *
-     * @return The medians.
-     */
-    protected Map<String, T> calculateMedians() {
-        Map<String, T> medians = new HashMap<String, T>();
-        for (String g : map.keySet()) {
-            medians.put(g, map.get(g).getMedian());
-        }
-        return medians;
+        return getProbabilityMassFunction(group).getConfidenceInterval(confidence);
     }
 }
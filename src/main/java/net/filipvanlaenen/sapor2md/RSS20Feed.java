@@ -1,20 +1,30 @@
 package net.filipvanlaenen.sapor2md;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 /**
- * Class producing an RSS 2.0 feed for a Sapor directory.
+ * Class producing feeds for a Sapor directory. A single instance can produce
+ * the feed in multiple modes and multiple formats at the same time, such that
+ * the Sapor directory only has to be loaded once and the model for the items of
+ * each poll only has to be computed once. By default, the feed is produced in
+ * the RSS 2.0 format.
  */
 public final class RSS20Feed {
-    /**
-     * Magic number 0.95, or 95 percent.
-     */
-    private static final double NINETY_FIVE_PERCENT = 0.95D;
     /**
      * Magic number ten.
      */
@@ -24,33 +34,73 @@ public final class RSS20Feed {
      */
     private static final int THIRTY = 30;
     /**
-     * Magic number one million (1,048,576), the threshold for when to include seat
-     * projections in an RSS 2.0 feed.
+     * The number of polls for which the items are rendered concurrently before
+     * they're written out, bounding the number of rendered items held in memory.
      */
-    private static final long ONE_MILLION = 1048576;
+    private static final int RENDERING_BATCH_SIZE = 64;
 
     /**
-     * The Sapor directory for the RSS 2.0 feed.
+     * The Sapor directory for the feed.
      */
     private final SaporDirectory saporDirectory;
     /**
-     * The mode for the RSS 2.0 feed.
+     * The outputs for the feed, i.e. the combinations of modes and formats.
      */
-    private final RSS20FeedMode feedMode;
+    private final List<Output> outputs;
     /**
-     * The file system directory for the RSS 2.0 feed.
+     * The file system directory for the feed.
      */
     private String directory;
+    /**
+     * Whether the items of the polls should be rendered concurrently.
+     */
+    private boolean parallelRendering = true;
+    /**
+     * The build graph with the fingerprints the input files had when the feeds on
+     * the file system were written, or null if the feeds shouldn't be updated
+     * incrementally.
+     */
+    private BuildGraph buildGraph;
 
     /**
      * Constructor taking the file system path for the Sapor directory as an
-     * argument.
+     * argument. The probability mass functions of the polls are only kept in
+     * memory up to the default capacity of the cache, such that feeds can be
+     * produced for Sapor directories with long histories.
      *
      * @param directory The file system path to the Sapor directory.
-     * @param feedMode  The mode of the feed.
+     * @param feedModes The modes of the feed.
+     */
+    RSS20Feed(final String directory, final RSS20FeedMode... feedModes) {
+        this(directory, List.of(FeedFormat.RSS20), feedModes);
+    }
+
+    /**
+     * Constructor taking the file system path for the Sapor directory, the formats
+     * and the modes of the feed as its arguments.
+     *
+     * @param directory   The file system path to the Sapor directory.
+     * @param feedFormats The formats of the feed.
+     * @param feedModes   The modes of the feed.
      */
-    RSS20Feed(final String directory, final RSS20FeedMode feedMode) {
-        this(new FileSystemSaporDirectory(directory), feedMode);
+    RSS20Feed(final String directory, final List<FeedFormat> feedFormats, final RSS20FeedMode... feedModes) {
+        this(directory, FileSystemSaporDirectory.readWithCachedPolls(directory),
+                feedFormats, feedModes);
+    }
+
+    /**
+     * Constructor taking the file system path for the Sapor directory, the Sapor
+     * directory, the formats and the modes of the feed as its arguments, such that
+     * several feeds can share a Sapor directory that has been loaded once.
+     *
+     * @param directory      The file system path to the Sapor directory.
+     * @param saporDirectory The Sapor directory.
+     * @param feedFormats    The formats of the feed.
+     * @param feedModes      The modes of the feed.
+     */
+    RSS20Feed(final String directory, final SaporDirectory saporDirectory, final List<FeedFormat> feedFormats,
+            final RSS20FeedMode... feedModes) {
+        this(saporDirectory, feedFormats, feedModes);
         this.directory = directory;
     }
 
@@ -58,34 +108,192 @@ public final class RSS20Feed {
      * Constructor taking a <code>SaporDirectory</code> object as an argument.
      *
      * @param saporDirectory A Sapor directory.
-     * @param feedMode       The mode of the feed.
+     * @param feedModes      The modes of the feed.
      */
-    RSS20Feed(final SaporDirectory saporDirectory, final RSS20FeedMode feedMode) {
+    RSS20Feed(final SaporDirectory saporDirectory, final RSS20FeedMode... feedModes) {
+        this(saporDirectory, List.of(FeedFormat.RSS20), feedModes);
+    }
+
+    /**
+     * Constructor taking a <code>SaporDirectory</code> object, the formats and the
+     * modes of the feed as its arguments. The feed is produced for each
+     * combination of a mode and a format.
+     *
+     * @param saporDirectory A Sapor directory.
+     * @param feedFormats    The formats of the feed.
+     * @param feedModes      The modes of the feed.
+     */
+    RSS20Feed(final SaporDirectory saporDirectory, final List<FeedFormat> feedFormats,
+            final RSS20FeedMode... feedModes) {
+        if (feedModes.length == 0 || feedFormats.isEmpty()) {
+            throw new IllegalArgumentException("At least one feed mode and one feed format are needed.");
+        }
         this.saporDirectory = saporDirectory;
-        this.feedMode = feedMode;
+        List<Output> outputList = new ArrayList<Output>();
+        for (RSS20FeedMode feedMode : feedModes) {
+            for (FeedFormat feedFormat : feedFormats) {
+                outputList.add(new Output(feedMode, feedFormat));
+            }
+        }
+        this.outputs = Collections.unmodifiableList(outputList);
     }
 
     /**
-     * Exports the RSS 2.0 feed as a multiline string.
+     * Sets whether the items of the polls should be rendered concurrently. The
+     * output is the same either way.
+     *
+     * @param parallelRendering True if the items should be rendered concurrently.
+     */
+    void setParallelRendering(final boolean parallelRendering) {
+        this.parallelRendering = parallelRendering;
+    }
+
+    /**
+     * Sets the build graph with the fingerprints the input files had when the
+     * feeds on the file system were written, such that the feeds are updated
+     * incrementally. In incremental mode, the existing RSS 2.0 feeds are parsed,
+     * and the items for the polls whose input files still match the fingerprints
+     * recorded for a feed are spliced into the updated feed without rendering
+     * them again. The output is the same either way.
+     *
+     * @param buildGraph The build graph for the Sapor directory.
+     */
+    void setBuildGraph(final BuildGraph buildGraph) {
+        this.buildGraph = buildGraph;
+    }
+
+    /**
+     * Exports the feed in its first mode and format as a multiline string.
      */
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
-        sb.append("<rss version=\"2.0\" xmlns:dc=\"http://purl.org/dc/elements/1.1/\">\n");
-        sb.append("  <channel>\n");
-        sb.append("    <title>All Registered Polls for the ");
-        sb.append(xmlEncode(saporDirectory.getCountryProperties().getParliamentName()));
-        sb.append("</title>\n");
-        sb.append("    <link>" + saporDirectory.getCountryProperties().getGitHubDirectoryURL() + "</link>\n");
-        sb.append("    <description>All Registered Polls for the ");
-        sb.append(xmlEncode(saporDirectory.getCountryProperties().getParliamentName()));
-        sb.append("</description>\n");
-        sb.append("    <pubDate>" + getPubDate().format(DateTimeFormatter.RFC_1123_DATE_TIME) + "</pubDate>\n");
-        Iterator<Poll> pollIterator = saporDirectory.getSortedPolls();
+        try {
+            writeTo(sb);
+        } catch (IOException e) {
+            // A StringBuilder doesn't throw IOExceptions.
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the feed in its first mode and format to an appendable, item by item
+     * while iterating over the polls, such that the feed never has to be held in
+     * memory as a whole.
+     *
+     * @param out The appendable to write the feed to.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    void writeTo(final Appendable out) throws IOException {
+        writeTo(outputs.subList(0, 1), Collections.singletonList(out));
+    }
+
+    /**
+     * Writes the feed in all its modes and formats to a list of appendables, one
+     * for each combination of a mode and a format, in a single pass over the
+     * polls. The combinations are ordered by mode first, and by format second.
+     *
+     * @param outs The appendables to write the feeds to.
+     * @throws IOException Thrown if writing to one of the appendables fails.
+     */
+    void writeTo(final List<? extends Appendable> outs) throws IOException {
+        writeTo(outputs, outs);
+    }
+
+    /**
+     * Writes the current page of the feed for a number of outputs to a list of
+     * appendables in a single pass over the polls, rendering all the items.
+     *
+     * @param selectedOutputs The outputs that should be written.
+     * @param outs            The appendables to write the feeds to, in the order
+     *                        of the outputs.
+     * @throws IOException Thrown if writing to one of the appendables fails.
+     */
+    private void writeTo(final List<Output> selectedOutputs, final List<? extends Appendable> outs)
+            throws IOException {
+        writeTo(selectedOutputs, outs, Collections.nCopies(selectedOutputs.size(), null));
+    }
+
+    /**
+     * Writes the current page of the feed for a number of outputs to a list of
+     * appendables in a single pass over the polls. If the country properties
+     * specify an archive page size, the current page of the outputs in an
+     * archivable mode only holds the polls that haven't been archived yet.
+     *
+     * @param selectedOutputs   The outputs that should be written.
+     * @param outs              The appendables to write the feeds to, in the
+     *                          order of the outputs.
+     * @param reusableFragments For each output, the fragments that can be reused
+     *                          by base name of the poll, or null if all fragments
+     *                          should be rendered.
+     * @throws IOException Thrown if writing to one of the appendables fails.
+     */
+    private void writeTo(final List<Output> selectedOutputs, final List<? extends Appendable> outs,
+            final List<Map<String, String>> reusableFragments) throws IOException {
+        List<FeedPage> pages = new ArrayList<FeedPage>();
+        for (Output output : selectedOutputs) {
+            pages.add(getCurrentPage(output));
+        }
+        writeTo(selectedOutputs, pages, outs, saporDirectory.getSortedPolls(), reusableFragments);
+    }
+
+    /**
+     * Returns the current page for an output of the feed.
+     *
+     * @param output The output.
+     * @return The current page for the output.
+     */
+    private FeedPage getCurrentPage(final Output output) {
+        int archivePageSize = saporDirectory.getCountryProperties().getFeedArchivePageSize();
+        return FeedPage.createCurrentPage(saporDirectory.getNumberOfPolls(),
+                output.getMode().isArchivable() ? archivePageSize : 0);
+    }
+
+    /**
+     * Writes a page of the feed for a number of outputs to a list of appendables
+     * in a single pass over the polls. The polls are processed in batches: the
+     * items of the polls in a batch are rendered concurrently on the common
+     * fork/join pool, and then assembled in the order of the sorted polls, such
+     * that the output is identical to rendering the items sequentially. The pass
+     * stops as soon as none of the outputs includes any more polls. If the feed
+     * was created for a directory on the file system, the feed item cache is used.
+     *
+     * @param selectedOutputs   The outputs that should be written.
+     * @param pages             The pages that should be written, in the order of
+     *                          the outputs.
+     * @param outs              The appendables to write the feeds to, in the
+     *                          order of the outputs.
+     * @param pollIterator      An iterator with the sorted polls, starting from
+     *                          the first poll on the pages.
+     * @param reusableFragments For each output, the fragments that can be reused
+     *                          by base name of the poll, or null if all fragments
+     *                          should be rendered.
+     * @throws IOException Thrown if writing to one of the appendables fails.
+     */
+    private void writeTo(final List<Output> selectedOutputs, final List<FeedPage> pages,
+            final List<? extends Appendable> outs, final Iterator<Poll> pollIterator,
+            final List<Map<String, String>> reusableFragments) throws IOException {
+        if (selectedOutputs.size() != outs.size()) {
+            throw new IllegalArgumentException("The number of appendables doesn't match the number of outputs.");
+        }
+        CountryProperties countryProperties = saporDirectory.getCountryProperties();
+        FeedItemCache feedItemCache = directory == null ? null
+                : new FeedItemCache(directory, countryProperties.getTimestamp());
+        int numberOfPolls = saporDirectory.getNumberOfPolls();
+        int[] pageSizes = new int[selectedOutputs.size()];
+        for (int i = 0; i < selectedOutputs.size(); i++) {
+            Output output = selectedOutputs.get(i);
+            FeedPage page = pages.get(i);
+            output.getFormat().appendHeader(outs.get(i), countryProperties, output.getMode(), page);
+            pageSizes[i] = page.getToIndex(numberOfPolls) - page.getFromIndex(numberOfPolls);
+        }
+        boolean[] hasItems = new boolean[selectedOutputs.size()];
         int noOfPollsIncluded = 0;
         LocalDate cutOffDate = null;
         boolean withinThirtyDays = true;
+        List<Poll> batch = new ArrayList<Poll>(RENDERING_BATCH_SIZE);
+        List<boolean[]> batchInclusions = new ArrayList<boolean[]>(RENDERING_BATCH_SIZE);
         while (pollIterator.hasNext()) {
             Poll poll = pollIterator.next();
             LocalDate fieldworkEnd = poll.getFieldworkEnd();
@@ -94,20 +302,158 @@ public final class RSS20Feed {
             } else {
                 withinThirtyDays = fieldworkEnd.isAfter(cutOffDate);
             }
-            if (feedMode != RSS20FeedMode.IftttFeed || noOfPollsIncluded < TEN || withinThirtyDays) {
-                if (poll.hasStateSummary() && poll.getStateSummary().getNumberOfSimulations() >= ONE_MILLION) {
-                    sb.append(createSeatingPlanProjectionItem(poll));
-                    sb.append(createSeatProjectionsItem(poll));
+            boolean[] inclusions = new boolean[selectedOutputs.size()];
+            boolean includedAnywhere = false;
+            for (int i = 0; i < selectedOutputs.size(); i++) {
+                inclusions[i] = noOfPollsIncluded < pageSizes[i]
+                        && (selectedOutputs.get(i).getMode() != RSS20FeedMode.IftttFeed || noOfPollsIncluded < TEN
+                                || withinThirtyDays);
+                includedAnywhere |= inclusions[i];
+            }
+            if (!includedAnywhere) {
+                break;
+            }
+            batch.add(poll);
+            batchInclusions.add(inclusions);
+            if (batch.size() == RENDERING_BATCH_SIZE) {
+                appendBatch(outs, selectedOutputs, hasItems, batch, batchInclusions, feedItemCache,
+                        reusableFragments);
+                batch.clear();
+                batchInclusions.clear();
+            }
+            noOfPollsIncluded++;
+        }
+        appendBatch(outs, selectedOutputs, hasItems, batch, batchInclusions, feedItemCache, reusableFragments);
+        for (int i = 0; i < selectedOutputs.size(); i++) {
+            selectedOutputs.get(i).getFormat().appendFooter(outs.get(i));
+        }
+    }
+
+    /**
+     * Renders the fragments with the items for a batch of polls, concurrently if
+     * parallel rendering is enabled, and writes them to the appendables in the
+     * order of the polls in the batch.
+     *
+     * @param outs              The appendables to write the feeds to, in the
+     *                          order of the outputs.
+     * @param selectedOutputs   The outputs that should be written.
+     * @param hasItems          For each output, whether items have been written to
+     *                          it already. Updated as fragments are written.
+     * @param batch             The polls in the batch, sorted.
+     * @param batchInclusions   For each poll in the batch, whether it should be
+     *                          included in each of the outputs.
+     * @param feedItemCache     The feed item cache, or null if no cache should be
+     *                          used.
+     * @param reusableFragments For each output, the fragments that can be reused
+     *                          by base name of the poll, or null.
+     * @throws IOException Thrown if writing to one of the appendables fails.
+     */
+    private void appendBatch(final List<? extends Appendable> outs, final List<Output> selectedOutputs,
+            final boolean[] hasItems, final List<Poll> batch, final List<boolean[]> batchInclusions,
+            final FeedItemCache feedItemCache, final List<Map<String, String>> reusableFragments)
+            throws IOException {
+        IntStream indices = IntStream.range(0, batch.size());
+        if (parallelRendering) {
+            indices = indices.parallel();
+        }
+        String[][] fragments = indices
+                .mapToObj(j -> renderFragments(batch.get(j), batchInclusions.get(j), selectedOutputs, feedItemCache,
+                        reusableFragments))
+                .toArray(String[][]::new);
+        for (String[] pollFragments : fragments) {
+            for (int i = 0; i < selectedOutputs.size(); i++) {
+                if (!pollFragments[i].isEmpty()) {
+                    if (hasItems[i]) {
+                        outs.get(i).append(selectedOutputs.get(i).getFormat().getItemSeparator());
+                    }
+                    outs.get(i).append(pollFragments[i]);
+                    hasItems[i] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Renders the fragments with the items for a poll for each of the outputs.
+     * The fragments are taken from the existing feed if they can be reused, or
+     * else from the feed item cache as long as they're still valid. For the other
+     * outputs that include the poll, the model for the items is computed at most
+     * once, serialized, and stored in the cache.
+     *
+     * @param poll              The poll.
+     * @param inclusions        Whether the poll should be included in each of
+     *                          the outputs.
+     * @param selectedOutputs   The outputs that should be written.
+     * @param feedItemCache     The feed item cache, or null if no cache should be
+     *                          used.
+     * @param reusableFragments For each output, the fragments that can be reused
+     *                          by base name of the poll, or null.
+     * @return An array with the fragments for the poll, in the order of the
+     *         outputs.
+     */
+    private String[] renderFragments(final Poll poll, final boolean[] inclusions, final List<Output> selectedOutputs,
+            final FeedItemCache feedItemCache, final List<Map<String, String>> reusableFragments) {
+        CountryProperties countryProperties = saporDirectory.getCountryProperties();
+        String[] fragments = new String[selectedOutputs.size()];
+        boolean withStatistics = false;
+        boolean needsModel = false;
+        for (int i = 0; i < selectedOutputs.size(); i++) {
+            if (!inclusions[i]) {
+                fragments[i] = "";
+            } else if (reusableFragments.get(i) != null && reusableFragments.get(i).containsKey(poll.getBaseName())) {
+                fragments[i] = reusableFragments.get(i).get(poll.getBaseName());
+            } else if (feedItemCache != null) {
+                fragments[i] = feedItemCache.getFragment(poll.getBaseName(), selectedOutputs.get(i).getFileName());
+            }
+            if (fragments[i] == null) {
+                needsModel = true;
+                withStatistics |= selectedOutputs.get(i).getMode().usesStatistics();
+            }
+        }
+        PollFeedModel model = needsModel
+                ? new PollFeedModel(poll, countryProperties.getNumberOfSeats(), withStatistics)
+                : null;
+        for (int i = 0; i < selectedOutputs.size(); i++) {
+            if (fragments[i] == null) {
+                Output output = selectedOutputs.get(i);
+                StringBuilder sb = new StringBuilder();
+                try {
+                    appendItems(sb, output, model, countryProperties);
+                } catch (IOException e) {
+                    // A StringBuilder doesn't throw IOExceptions.
+                    throw new UncheckedIOException(e);
                 }
-                if (poll.hasStateSummary() && poll.getStateSummary().getNumberOfSimulations() >= 1) {
-                    sb.append(createVotingIntentionsItem(poll));
+                fragments[i] = sb.toString();
+                if (feedItemCache != null) {
+                    feedItemCache.putFragment(poll.getBaseName(), output.getFileName(), fragments[i]);
                 }
             }
-            noOfPollsIncluded++;
         }
-        sb.append("  </channel>\n");
-        sb.append("</rss>");
-        return sb.toString();
+        return fragments;
+    }
+
+    /**
+     * Writes the items for a poll to an appendable for an output.
+     *
+     * @param out               The appendable to write the items to.
+     * @param output            The output for which the items should be written.
+     * @param model             The model of the feed items for the poll.
+     * @param countryProperties The country properties.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    private static void appendItems(final Appendable out, final Output output, final PollFeedModel model,
+            final CountryProperties countryProperties) throws IOException {
+        boolean first = true;
+        for (FeedItem.Type type : FeedItem.Type.values()) {
+            if (type.isIncluded(model)) {
+                if (!first) {
+                    out.append(output.getFormat().getItemSeparator());
+                }
+                FeedItem item = new FeedItem(model, type, countryProperties.getGitHubDirectoryURL());
+                output.getFormat().appendItem(out, item, output.getMode(), countryProperties);
+                first = false;
+            }
+        }
     }
 
     /**
@@ -117,138 +463,237 @@ public final class RSS20Feed {
      * @return The result of the encoding.
      */
     static String xmlEncode(final String text) {
-        return text.replaceAll("&", "&amp;").replaceAll("<", "&lt;").replaceAll(">", "&gt;");
+        return XmlServices.encode(text);
+    }
+
+    /**
+     * Writes the feed in all its modes and formats to the file system, using the
+     * default names for the feeds. The feeds are streamed to temporary files while
+     * they're being produced, and only replace the existing feeds if their content
+     * changed. Returns for each output the number of bytes written, zero if the
+     * feed didn't change, or <code>FileSystemServices.WRITE_FAILED</code> if a
+     * problem occurred. In incremental mode, the items for the polls that didn't
+     * change are spliced from the existing RSS 2.0 feeds into the updated feeds.
+     *
+     * @return An array with the number of bytes written for each of the outputs,
+     *         ordered by mode first, and by format second.
+     */
+    long[] writeToFileSystem() {
+        List<String> filePaths = new ArrayList<String>();
+        List<Map<String, String>> reusableFragments = new ArrayList<Map<String, String>>();
+        for (Output output : outputs) {
+            String filePath = directory + File.separator + output.getFileName();
+            filePaths.add(filePath);
+            reusableFragments.add(buildGraph == null ? null : readReusableFragments(output, filePath));
+        }
+        return FileSystemServices.writeToFilesIfChanged(outs -> writeTo(outputs, outs, reusableFragments),
+                filePaths);
     }
 
     /**
-     * Writes the feed to the file system, using the default name for the feed,
-     * returning <code>true</code> if no problem occurred.
+     * Reads the fragments that can be reused from an existing feed for an output.
+     * Only existing RSS 2.0 feeds are parsed. If the header of the existing feed
+     * differs from the header of the updated feed, e.g. because the country
+     * properties changed, none of the fragments can be reused, and the feed is
+     * rebuilt completely. Otherwise, the fragments for the polls for which none of
+     * the input files changed since the existing feed was written, according to
+     * the fingerprints recorded in the build graph, are reused. The modification
+     * time of the existing feed can't be used for this, because a feed that
+     * didn't change isn't written again, and keeps its old modification time. The
+     * state summary of a poll counts as changed if it was touched, because its
+     * last modified time is the timestamp of the poll's items.
      *
-     * @return True if no problem occurred, false otherwise.
+     * @param output   The output.
+     * @param filePath The path to the existing feed.
+     * @return A map with the fragments that can be reused by base name of the
+     *         poll, or null if no fragments can be reused.
      */
-    boolean writeToFileSystem() {
-        String filePath = directory + File.separator + feedMode.getFeedFileName();
-        return FileSystemServices.writeStringToFile(toString(), filePath);
+    private Map<String, String> readReusableFragments(final Output output, final String filePath) {
+        if (output.getFormat() != FeedFormat.RSS20) {
+            return null;
+        }
+        FeedFileIndex index = FeedFileIndex.readFromFileSystem(filePath);
+        if (index == null) {
+            return null;
+        }
+        StringBuilder header = new StringBuilder();
+        try {
+            output.getFormat().appendHeader(header, saporDirectory.getCountryProperties(), output.getMode(),
+                    getCurrentPage(output));
+        } catch (IOException e) {
+            // A StringBuilder doesn't throw IOExceptions.
+            throw new UncheckedIOException(e);
+        }
+        if (!header.toString().equals(index.getHeader())) {
+            return null;
+        }
+        Map<String, String> reusableFragments = new HashMap<String, String>();
+        for (Map.Entry<String, String> entry : index.getFragments().entrySet()) {
+            if (buildGraph.areUnchanged(directory, output.getFileName(),
+                    FileSystemPoll.getInputFileNames(entry.getKey()),
+                    List.of(FileSystemStateSummary.getFileName(entry.getKey())))) {
+                reusableFragments.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return reusableFragments;
     }
 
     /**
-     * Creates an item for the voting intentions for a poll.
+     * Writes the archive pages of the feed in its archivable modes to the file
+     * system, if the country properties specify an archive page size. Archive
+     * pages are immutable: only the archive pages that don't exist yet, or whose
+     * polls changed according to the build graph, are rendered and written, such
+     * that the cost of a rebuild is proportional to the number of recent polls
+     * only. A backdated poll shifts the boundaries of all the archive pages after
+     * it, and is therefore picked up through the changed input sets of those
+     * pages. The archive pages should be written before the current pages, such
+     * that the links in the current pages never point to missing archive pages.
      *
-     * @param poll The poll for which an item should be created with the voting
-     *             intentions.
-     * @return A string representing the item to be included in the feed.
+     * @return A map with the names of the archive pages that have been written,
+     *         and the number of bytes written for each of them, or
+     *         <code>FileSystemServices.WRITE_FAILED</code> if a problem occurred.
      */
-    private String createVotingIntentionsItem(final Poll poll) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("    <item>\n");
-        sb.append("      <title>Opinion Poll by ");
-        sb.append(xmlEncode(poll.getPollingFirm()));
-        if (poll.getComissioners() != null) {
-            sb.append(" for " + xmlEncode(poll.getComissioners()));
-        }
-        sb.append(", ");
-        sb.append(TimeServices.formatPeriod(poll.getFieldworkStart(), poll.getFieldworkEnd()));
-        sb.append(" – Voting Intentions</title>\n");
-        sb.append("      <link>");
-        sb.append(saporDirectory.getCountryProperties().getGitHubDirectoryURL());
-        sb.append("/");
-        sb.append(poll.getBaseName());
-        sb.append(".html</link>\n");
-        sb.append("      <description>");
-        sb.append(feedMode.createVotingIntentionsItemDescription(poll, saporDirectory));
-        sb.append("</description>\n");
-        sb.append("      <enclosure url=\"");
-        sb.append(saporDirectory.getCountryProperties().getGitHubDirectoryURL());
-        sb.append("/");
-        sb.append(poll.getBaseName());
-        sb.append(".png\" length=\"");
-        sb.append(poll.getVotingIntentionsChartFileSize());
-        sb.append("\" type=\"image/png\"/>\n");
-        OffsetDateTime timestamp = poll.getStateSummary().getTimestamp();
-        sb.append("      <pubDate>" + timestamp.format(DateTimeFormatter.RFC_1123_DATE_TIME) + "</pubDate>\n");
-        sb.append("      <dc:date>" + timestamp.format(DateTimeFormatter.ISO_DATE_TIME) + "</dc:date>\n");
-        sb.append("    </item>\n");
-        return sb.toString();
+    Map<String, Long> writeArchivesToFileSystem() {
+        BuildGraph buildGraph = BuildGraph.readFromFileSystem(directory);
+        Map<String, List<String>> archivePages = getArchivePages();
+        Set<String> timestampedInputFileNames = getTimestampedInputFileNames(directory);
+        List<String> outdatedFileNames = new ArrayList<String>();
+        for (Map.Entry<String, List<String>> archivePage : archivePages.entrySet()) {
+            if (!buildGraph.isUpToDate(directory, archivePage.getKey(), archivePage.getValue(),
+                    timestampedInputFileNames)) {
+                outdatedFileNames.add(archivePage.getKey());
+            }
+        }
+        if (outdatedFileNames.isEmpty()) {
+            return new LinkedHashMap<String, Long>();
+        }
+        Map<String, Long> bytesWritten = writeArchivesToFileSystem(outdatedFileNames);
+        for (Map.Entry<String, Long> entry : bytesWritten.entrySet()) {
+            if (entry.getValue() != FileSystemServices.WRITE_FAILED) {
+                buildGraph.record(directory, entry.getKey(), archivePages.get(entry.getKey()));
+            }
+        }
+        buildGraph.writeToFileSystem(directory);
+        return bytesWritten;
     }
 
     /**
-     * Creates an item for the seat projections per party for a poll.
+     * Writes a selection of the archive pages of the feed in its archivable modes
+     * to the file system, whether they exist already or not.
      *
-     * @param poll The poll for which an item should be created with the seat
-     *             projections per party.
-     * @return A string representing the item to be included in the feed.
+     * @param fileNames The names of the archive pages to be written.
+     * @return A map with the names of the archive pages that have been written,
+     *         and the number of bytes written for each of them, or
+     *         <code>FileSystemServices.WRITE_FAILED</code> if a problem occurred.
      */
-    private String createSeatProjectionsItem(final Poll poll) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("    <item>\n");
-        sb.append("      <title>Opinion Poll by ");
-        sb.append(xmlEncode(poll.getPollingFirm()));
-        if (poll.getComissioners() != null) {
-            sb.append(" for " + xmlEncode(poll.getComissioners()));
-        }
-        sb.append(", ");
-        sb.append(TimeServices.formatPeriod(poll.getFieldworkStart(), poll.getFieldworkEnd()));
-        sb.append(" – Seat Projections</title>\n");
-        sb.append("      <link>");
-        sb.append(saporDirectory.getCountryProperties().getGitHubDirectoryURL());
-        sb.append("/");
-        sb.append(poll.getBaseName());
-        sb.append(".html#seats</link>\n");
-        sb.append("      <description>");
-        sb.append(feedMode.createSeatProjectionsItemDescription(poll, saporDirectory));
-        sb.append("</description>\n");
-        sb.append("      <enclosure url=\"");
-        sb.append(saporDirectory.getCountryProperties().getGitHubDirectoryURL());
-        sb.append("/");
-        sb.append(poll.getBaseName());
-        sb.append("-seats.png\" length=\"");
-        sb.append(poll.getSeatProjectionsChartFileSize());
-        sb.append("\" type=\"image/png\"/>\n");
-        OffsetDateTime timestamp = poll.getStateSummary().getTimestamp();
-        sb.append("      <pubDate>" + timestamp.format(DateTimeFormatter.RFC_1123_DATE_TIME) + "</pubDate>\n");
-        sb.append("      <dc:date>" + timestamp.format(DateTimeFormatter.ISO_DATE_TIME) + "</dc:date>\n");
-        sb.append("    </item>\n");
-        return sb.toString();
+    Map<String, Long> writeArchivesToFileSystem(final Collection<String> fileNames) {
+        int numberOfPolls = saporDirectory.getNumberOfPolls();
+        int archivePageSize = saporDirectory.getCountryProperties().getFeedArchivePageSize();
+        int numberOfArchivePages = FeedPage.getNumberOfArchivePages(numberOfPolls, archivePageSize);
+        Map<String, Long> bytesWritten = new LinkedHashMap<String, Long>();
+        for (Output output : outputs) {
+            if (!output.getMode().isArchivable()) {
+                continue;
+            }
+            for (int pageNumber = 1; pageNumber <= numberOfArchivePages; pageNumber++) {
+                FeedPage page = FeedPage.createArchivePage(pageNumber, archivePageSize);
+                String fileName = page.getFileName(output.getFormat(), output.getMode());
+                if (fileNames.contains(fileName)) {
+                    Iterator<Poll> pagePolls = saporDirectory.getSortedPolls(page.getFromIndex(numberOfPolls),
+                            page.getToIndex(numberOfPolls));
+                    bytesWritten.put(fileName, FileSystemServices.writeToFileIfChanged(
+                            out -> writeTo(List.of(output), List.of(page), List.of(out), pagePolls,
+                                    Collections.singletonList(null)),
+                            directory + File.separator + fileName));
+                }
+            }
+        }
+        return bytesWritten;
     }
 
     /**
-     * Creates an item for the seating plan projection for a poll.
+     * Returns the archive pages of the feed in its archivable modes, together
+     * with the names of the input files each of them is produced from, i.e. the
+     * country properties file and all the files read in for each of the polls on
+     * the page.
      *
-     * @param poll The poll for which an item should be created with the seating
-     *             plan projection.
-     * @return A string representing the item to be included in the feed.
+     * @return A map with the names of the archive pages and the names of their
+     *         input files, ordered by mode and format first, and by page number
+     *         second.
      */
-    private String createSeatingPlanProjectionItem(final Poll poll) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("    <item>\n");
-        sb.append("      <title>Opinion Poll by ");
-        sb.append(xmlEncode(poll.getPollingFirm()));
-        if (poll.getComissioners() != null) {
-            sb.append(" for " + xmlEncode(poll.getComissioners()));
-        }
-        sb.append(", ");
-        sb.append(TimeServices.formatPeriod(poll.getFieldworkStart(), poll.getFieldworkEnd()));
-        sb.append(" – Seating Plan Projection</title>\n");
-        sb.append("      <link>");
-        sb.append(saporDirectory.getCountryProperties().getGitHubDirectoryURL());
-        sb.append("/");
-        sb.append(poll.getBaseName());
-        sb.append(".html#seating-plan</link>\n");
-        sb.append("      <description>");
-        sb.append(feedMode.createSeatingPlanProjectionItemDescription(poll, saporDirectory));
-        sb.append("</description>\n");
-        sb.append("      <enclosure url=\"");
-        sb.append(saporDirectory.getCountryProperties().getGitHubDirectoryURL());
-        sb.append("/");
-        sb.append(poll.getBaseName());
-        sb.append("-seating-plan.png\" length=\"");
-        sb.append(poll.getSeatingPlanProjectionChartFileSize());
-        sb.append("\" type=\"image/png\"/>\n");
-        OffsetDateTime timestamp = poll.getStateSummary().getTimestamp();
-        sb.append("      <pubDate>" + timestamp.format(DateTimeFormatter.RFC_1123_DATE_TIME) + "</pubDate>\n");
-        sb.append("      <dc:date>" + timestamp.format(DateTimeFormatter.ISO_DATE_TIME) + "</dc:date>\n");
-        sb.append("    </item>\n");
-        return sb.toString();
+    Map<String, List<String>> getArchivePages() {
+        int numberOfPolls = saporDirectory.getNumberOfPolls();
+        int archivePageSize = saporDirectory.getCountryProperties().getFeedArchivePageSize();
+        int numberOfArchivePages = FeedPage.getNumberOfArchivePages(numberOfPolls, archivePageSize);
+        Map<String, List<String>> archivePages = new LinkedHashMap<String, List<String>>();
+        for (Output output : outputs) {
+            if (!output.getMode().isArchivable()) {
+                continue;
+            }
+            for (int pageNumber = 1; pageNumber <= numberOfArchivePages; pageNumber++) {
+                FeedPage page = FeedPage.createArchivePage(pageNumber, archivePageSize);
+                List<String> inputFileNames = new ArrayList<String>();
+                inputFileNames.add(FileSystemCountryProperties.COUNTRY_PROPERTIES_FILE_NAME);
+                Iterator<Poll> pagePolls = saporDirectory.getSortedPolls(page.getFromIndex(numberOfPolls),
+                        page.getToIndex(numberOfPolls));
+                while (pagePolls.hasNext()) {
+                    inputFileNames.addAll(FileSystemPoll.getInputFileNames(pagePolls.next().getBaseName()));
+                }
+                archivePages.put(page.getFileName(output.getFormat(), output.getMode()), inputFileNames);
+            }
+        }
+        return archivePages;
+    }
+
+    /**
+     * Returns the names of the files the feed is written to, ordered by mode
+     * first, and by format second.
+     *
+     * @return A list with the names of the files the feed is written to.
+     */
+    List<String> getFileNames() {
+        List<String> fileNames = new ArrayList<String>();
+        for (Output output : outputs) {
+            fileNames.add(output.getFileName());
+        }
+        return fileNames;
+    }
+
+    /**
+     * Returns the names of the input files an RSS 2.0 feed for a Sapor directory is
+     * produced from, i.e. the country properties file and all the files read in for
+     * each of the polls.
+     *
+     * @param directory The file system path to the Sapor directory.
+     * @return A list with the names of the input files for the feed.
+     */
+    static List<String> getInputFileNames(final String directory) {
+        List<String> inputFileNames = new ArrayList<String>();
+        inputFileNames.add(FileSystemCountryProperties.COUNTRY_PROPERTIES_FILE_NAME);
+        for (String pollFileName : FileSystemServices.getPollFilesList(directory)) {
+            inputFileNames.addAll(
+                    FileSystemPoll.getInputFileNames(FileSystemPoll.extractBaseNameFromFileName(pollFileName)));
+        }
+        return inputFileNames;
+    }
+
+    /**
+     * Returns the names of the input files whose last modified time is used in the
+     * RSS 2.0 feeds for a Sapor directory, i.e. the country properties file, whose
+     * last modified time is the timestamp of the feeds, and the state summaries of
+     * the polls, whose last modified times are the timestamps of the items.
+     *
+     * @param directory The file system path to the Sapor directory.
+     * @return A set with the names of the timestamped input files for the feeds.
+     */
+    static Set<String> getTimestampedInputFileNames(final String directory) {
+        Set<String> inputFileNames = new HashSet<String>();
+        inputFileNames.add(FileSystemCountryProperties.COUNTRY_PROPERTIES_FILE_NAME);
+        for (String pollFileName : FileSystemServices.getPollFilesList(directory)) {
+            inputFileNames
+                    .add(FileSystemStateSummary.getFileName(FileSystemPoll.extractBaseNameFromFileName(pollFileName)));
+        }
+        return inputFileNames;
     }
 
     /**
@@ -273,244 +718,215 @@ public final class RSS20Feed {
     }
 
     /**
-     * Returns the date to be used as the publication date for the entire feed.
-     *
-     * @return The publication date for the feed.
+     * Class representing an output of the feed, i.e. the combination of a mode and
+     * a format.
      */
-    private OffsetDateTime getPubDate() {
-        return saporDirectory.getCountryProperties().getTimestamp();
+    private static final class Output {
+        /**
+         * The mode of the output.
+         */
+        private final RSS20FeedMode mode;
+        /**
+         * The format of the output.
+         */
+        private final FeedFormat format;
+
+        /**
+         * Constructor taking the mode and the format as its parameters.
+         *
+         * @param mode   The mode of the output.
+         * @param format The format of the output.
+         */
+        Output(final RSS20FeedMode mode, final FeedFormat format) {
+            this.mode = mode;
+            this.format = format;
+        }
+
+        /**
+         * Returns the mode of the output.
+         *
+         * @return The mode of the output.
+         */
+        RSS20FeedMode getMode() {
+            return mode;
+        }
+
+        /**
+         * Returns the format of the output.
+         *
+         * @return The format of the output.
+         */
+        FeedFormat getFormat() {
+            return format;
+        }
+
+        /**
+         * Returns the file name of the output.
+         *
+         * @return The file name of the output.
+         */
+        String getFileName() {
+            return format.getFileName(mode);
+        }
     }
 
     /**
-     * Enumeration with the modes that can be applied to an RSS 2.0 feed.
+     * Enumeration with the modes that can be applied to a feed. A mode determines
+     * which polls are included in the feed, and produces the content of the items
+     * as HTML, independently of the format of the feed.
      */
     enum RSS20FeedMode {
         /**
-         * Mode for the RSS 2.0 feed to be used as the official feed on the GitHub
-         * website.
+         * Mode for the feed to be used as the official feed on the GitHub website.
          */
         GitHubFeed {
             @Override
-            String getFeedFileName() {
-                return "rss.xml";
+            String getFileNameSuffix() {
+                return "";
             }
 
             @Override
-            String createVotingIntentionsItemDescription(final Poll poll, final SaporDirectory saporDir) {
-                StringBuilder sb = new StringBuilder();
-                sb.append("<ul>");
-                VotingIntentions votingIntentions = poll.getVotingIntentions();
-                ConfidenceInterval<ProbabilityRange> ci;
-                for (String group : votingIntentions.getSortedGroups()) {
-                    sb.append("<li>");
-                    sb.append(xmlEncode(group));
-                    sb.append(": ");
-                    ci = votingIntentions.getConfidenceInterval(group, NINETY_FIVE_PERCENT);
-                    sb.append(ProbabilityRange.formatConfidenceInterval("%.1f", ci));
-                    sb.append("</li>");
-                }
-                sb.append("</ul>");
-                return sb.toString();
+            boolean usesStatistics() {
+                return true;
             }
 
             @Override
-            String createSeatProjectionsItemDescription(final Poll poll, final SaporDirectory saporDir) {
-                StringBuilder sb = new StringBuilder();
-                sb.append("<ul>");
-                SeatProjection seatProjection = poll.getSeatProjection();
-                ConfidenceInterval<Integer> ci;
-                for (String group : seatProjection.getSortedGroups()) {
-                    sb.append("<li>");
-                    sb.append(xmlEncode(group));
-                    sb.append(": ");
-                    ci = seatProjection.getConfidenceInterval(group, NINETY_FIVE_PERCENT);
-                    sb.append(formatSeatsConfidenceInterval(ci));
-                    sb.append("</li>");
-                }
-                sb.append("</ul>");
-                return sb.toString();
+            boolean isContentInCData() {
+                return false;
             }
 
             @Override
-            String createSeatingPlanProjectionItemDescription(final Poll poll, final SaporDirectory saporDir) {
-                StringBuilder sb = new StringBuilder();
-                sb.append("<ul>");
-                SeatProjection seatProjection = poll.getSeatProjection();
-                int numberOfSeats = saporDir.getCountryProperties().getNumberOfSeats();
-                for (String group : seatProjection.getGroupsSortedByAdjustedMedian(numberOfSeats)) {
-                    sb.append("<li>");
-                    sb.append(xmlEncode(group));
-                    sb.append(": ");
-                    int adjustedMedian = seatProjection.getAdjustedMedian(group, numberOfSeats);
-                    sb.append(adjustedMedian);
-                    sb.append(" seat");
-                    if (adjustedMedian != 1) {
-                        sb.append("s");
-                    }
-                    sb.append("</li>");
+            boolean isArchivable() {
+                return true;
+            }
+
+            @Override
+            void appendContent(final Appendable out, final FeedItem item, final CountryProperties countryProperties)
+                    throws IOException {
+                out.append("<ul>");
+                for (PollFeedModel.Line line : item.getLines()) {
+                    out.append("<li>");
+                    XmlServices.appendEncoded(out, line.getGroup());
+                    out.append(": ");
+                    out.append(line.getValue());
+                    out.append("</li>");
                 }
-                sb.append("</ul>");
-                return sb.toString();
+                out.append("</ul>");
             }
         },
         /**
-         * Mode for the RSS 2.0 feed to be consumed by IFTTT to produce Twitter
-         * messages.
+         * Mode for the feed to be consumed by IFTTT to produce Twitter messages.
          */
         IftttFeed {
             @Override
-            String getFeedFileName() {
-                return "rss-ifttt.xml";
+            String getFileNameSuffix() {
+                return "-ifttt";
             }
 
             @Override
-            String createVotingIntentionsItemDescription(final Poll poll, final SaporDirectory saporDir) {
-                StringBuilder sb = new StringBuilder();
-                sb.append("<![CDATA[");
-                sb.append("Voting intentions for the ");
-                sb.append(xmlEncode(saporDir.getCountryProperties().getParliamentName()));
-                sb.append("<br/>");
-                sb.append("Opinion poll by ");
-                sb.append(poll.getPollingFirm());
-                if (poll.getComissioners() != null) {
-                    sb.append(" for " + xmlEncode(poll.getComissioners()));
-                }
-                sb.append(", ");
-                sb.append(TimeServices.formatPeriod(poll.getFieldworkStart(), poll.getFieldworkEnd()));
-                sb.append("<br/>");
-                sb.append("Details on ");
-                sb.append(saporDir.getCountryProperties().getGitHubDirectoryURL());
-                sb.append("/");
-                sb.append(poll.getBaseName());
-                sb.append(".html");
-                sb.append("<br/>");
-                if (saporDir.getCountryProperties().hasTwitterTags()) {
-                    String[] tags = saporDir.getCountryProperties().getTwitterTags();
-                    sb.append(String.join(" ", Arrays.stream(tags).map(t -> "#" + t).toArray(String[]::new)));
-                    sb.append("<br/>");
-                }
-                sb.append("<img src=\"");
-                sb.append(saporDir.getCountryProperties().getGitHubDirectoryURL());
-                sb.append("/");
-                sb.append(poll.getBaseName());
-                sb.append(".png\"/>");
-                sb.append("]]>");
-                return sb.toString();
+            boolean usesStatistics() {
+                return false;
             }
 
             @Override
-            String createSeatProjectionsItemDescription(final Poll poll, final SaporDirectory saporDir) {
-                StringBuilder sb = new StringBuilder();
-                sb.append("<![CDATA[");
-                sb.append("Seat projections for the ");
-                sb.append(xmlEncode(saporDir.getCountryProperties().getParliamentName()));
-                sb.append("<br/>");
-                sb.append(saporDir.getCountryProperties().getNumberOfSeatsForMajority());
-                sb.append(" seats needed for a majority<br/>");
-                sb.append("Opinion poll by ");
-                sb.append(poll.getPollingFirm());
-                if (poll.getComissioners() != null) {
-                    sb.append(" for " + xmlEncode(poll.getComissioners()));
-                }
-                sb.append(", ");
-                sb.append(TimeServices.formatPeriod(poll.getFieldworkStart(), poll.getFieldworkEnd()));
-                sb.append("<br/>");
-                sb.append("Details on ");
-                sb.append(saporDir.getCountryProperties().getGitHubDirectoryURL());
-                sb.append("/");
-                sb.append(poll.getBaseName());
-                sb.append(".html");
-                sb.append("<br/>");
-                if (saporDir.getCountryProperties().hasTwitterTags()) {
-                    String[] tags = saporDir.getCountryProperties().getTwitterTags();
-                    sb.append(String.join(" ", Arrays.stream(tags).map(t -> "#" + t).toArray(String[]::new)));
-                    sb.append("<br/>");
-                }
-                sb.append("<img src=\"");
-                sb.append(saporDir.getCountryProperties().getGitHubDirectoryURL());
-                sb.append("/");
-                sb.append(poll.getBaseName());
-                sb.append("-seats.png\"/>");
-                sb.append("]]>");
-                return sb.toString();
+            boolean isContentInCData() {
+                return true;
             }
 
             @Override
-            String createSeatingPlanProjectionItemDescription(final Poll poll, final SaporDirectory saporDir) {
-                StringBuilder sb = new StringBuilder();
-                sb.append("<![CDATA[");
-                sb.append("Seating plan projection for the ");
-                sb.append(xmlEncode(saporDir.getCountryProperties().getParliamentName()));
-                sb.append("<br/>");
-                sb.append(saporDir.getCountryProperties().getNumberOfSeatsForMajority());
-                sb.append(" seats needed for a majority<br/>");
-                sb.append("Opinion poll by ");
-                sb.append(poll.getPollingFirm());
-                if (poll.getComissioners() != null) {
-                    sb.append(" for " + xmlEncode(poll.getComissioners()));
+            boolean isArchivable() {
+                return false;
+            }
+
+            @Override
+            void appendContent(final Appendable out, final FeedItem item, final CountryProperties countryProperties)
+                    throws IOException {
+                PollFeedModel model = item.getPollFeedModel();
+                out.append(item.getType().getSentenceSubject());
+                out.append(" for the ");
+                XmlServices.appendEncoded(out, countryProperties.getParliamentName());
+                out.append("<br/>");
+                if (item.getType().isAboutSeats()) {
+                    out.append(Integer.toString(countryProperties.getNumberOfSeatsForMajority()));
+                    out.append(" seats needed for a majority<br/>");
+                }
+                out.append("Opinion poll by ");
+                out.append(model.getPollingFirm());
+                if (model.getCommissioners() != null) {
+                    out.append(" for ");
+                    XmlServices.appendEncoded(out, model.getCommissioners());
                 }
-                sb.append(", ");
-                sb.append(TimeServices.formatPeriod(poll.getFieldworkStart(), poll.getFieldworkEnd()));
-                sb.append("<br/>");
-                sb.append("Details on ");
-                sb.append(saporDir.getCountryProperties().getGitHubDirectoryURL());
-                sb.append("/");
-                sb.append(poll.getBaseName());
-                sb.append(".html");
-                sb.append("<br/>");
-                if (saporDir.getCountryProperties().hasTwitterTags()) {
-                    String[] tags = saporDir.getCountryProperties().getTwitterTags();
-                    sb.append(String.join(" ", Arrays.stream(tags).map(t -> "#" + t).toArray(String[]::new)));
-                    sb.append("<br/>");
+                out.append(", ");
+                out.append(model.getFieldworkPeriod());
+                out.append("<br/>");
+                out.append("Details on ");
+                out.append(countryProperties.getGitHubDirectoryURL());
+                out.append("/");
+                out.append(model.getBaseName());
+                out.append(".html");
+                out.append("<br/>");
+                if (countryProperties.hasTwitterTags()) {
+                    String[] tags = countryProperties.getTwitterTags();
+                    out.append(String.join(" ", Arrays.stream(tags).map(t -> "#" + t).toArray(String[]::new)));
+                    out.append("<br/>");
                 }
-                sb.append("<img src=\"");
-                sb.append(saporDir.getCountryProperties().getGitHubDirectoryURL());
-                sb.append("/");
-                sb.append(poll.getBaseName());
-                sb.append("-seating-plan.png\"/>");
-                sb.append("]]>");
-                return sb.toString();
+                out.append("<img src=\"");
+                out.append(item.getImageUrl());
+                out.append("\"/>");
             }
         };
 
         /**
-         * Creates the description field for an item about the voting intentions for a
-         * poll.
+         * Returns the file name for the feed in the RSS 2.0 format.
          *
-         * @param poll     The poll.
-         * @param saporDir The Sapor directory.
-         * @return A string with the content of the description field for an item about
-         *         the voting intentions for a poll.
+         * @return The file name for the feed.
          */
-        abstract String createVotingIntentionsItemDescription(Poll poll, SaporDirectory saporDir);
+        String getFeedFileName() {
+            return FeedFormat.RSS20.getFileName(this);
+        }
 
         /**
-         * Creates the description field for an item about the seat projections per
-         * party for a poll.
+         * Returns the suffix added to the file names of the feeds in this mode.
          *
-         * @param poll     The poll.
-         * @param saporDir The Sapor directory.
-         * @return A string with the content of the description field for an item about
-         *         the seat projections per party for a poll.
+         * @return The suffix added to the file names of the feeds.
          */
-        abstract String createSeatProjectionsItemDescription(Poll poll, SaporDirectory saporDir);
+        abstract String getFileNameSuffix();
 
         /**
-         * Creates the description field for an item about the seating plan projection
-         * for a poll.
+         * Returns whether the mode uses the statistics on the probability mass
+         * functions, i.e. the confidence intervals and the adjusted medians.
          *
-         * @param poll     The poll.
-         * @param saporDir The Sapor directory.
-         * @return A string with the content of the description field for an item about
-         *         the seating plan projection for a poll.
+         * @return True if the mode uses the statistics on the probability mass
+         *         functions.
          */
-        abstract String createSeatingPlanProjectionItemDescription(Poll poll, SaporDirectory saporDir);
+        abstract boolean usesStatistics();
 
         /**
-         * Returns the file name for the feed.
+         * Returns whether the content should be wrapped in a CDATA section in the
+         * RSS 2.0 format.
          *
-         * @return The file name for the feed.
+         * @return True if the content should be wrapped in a CDATA section.
+         */
+        abstract boolean isContentInCData();
+
+        /**
+         * Returns whether the feed in this mode can be split into a current page and
+         * archive pages. Feeds in modes that aren't archivable always hold all the
+         * polls they include.
+         *
+         * @return True if the feed can be archived in this mode.
+         */
+        abstract boolean isArchivable();
+
+        /**
+         * Writes the content of a feed item as HTML.
+         *
+         * @param out               The appendable to write the content to.
+         * @param item              The feed item.
+         * @param countryProperties The country properties.
+         * @throws IOException Thrown if writing to the appendable fails.
          */
-        abstract String getFeedFileName();
+        abstract void appendContent(Appendable out, FeedItem item, CountryProperties countryProperties)
+                throws IOException;
     }
 }
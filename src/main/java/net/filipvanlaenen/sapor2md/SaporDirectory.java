@@ -1,34 +1,63 @@
 package net.filipvanlaenen.sapor2md;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Abstract class defining the behavior for a Sapor directory and implementing
- * common functionality.
+ * common functionality. A Sapor directory is an immutable snapshot: its polls
+ * are passed in at construction and sorted once, such that it can be shared by
+ * any number of threads.
  */
 public abstract class SaporDirectory {
     /**
-     * The polls.
+     * The polls, sorted.
      */
-    private final Set<Poll> polls = new HashSet<Poll>();
+    private final List<Poll> sortedPolls;
     /**
      * The country properties.
      */
-    private CountryProperties countryProperties;
+    private final CountryProperties countryProperties;
+    /**
+     * The symbol table shared by all the polls in the directory, holding the names
+     * of the polling firms and commissioners.
+     */
+    private final SymbolTable symbolTable;
+    /**
+     * The symbol table shared by all the polls in the directory, holding the names
+     * of the parliamentary groups.
+     */
+    private final SymbolTable groupSymbolTable;
 
     /**
-     * Constructor taking an instance of <code>CountryProperties</code> as the
-     * argument.
+     * Constructor taking an instance of <code>CountryProperties</code>, the symbol
+     * tables shared by the polls and the polls as the arguments.
      *
      * @param countryProperties The country properties for the Sapor directory.
+     * @param symbolTable       The symbol table for the names of the polling firms
+     *                          and commissioners shared by the polls.
+     * @param groupSymbolTable  The symbol table for the names of the parliamentary
+     *                          groups shared by the polls.
+     * @param polls             The polls in the Sapor directory.
      */
-    SaporDirectory(final CountryProperties countryProperties) {
+    SaporDirectory(final CountryProperties countryProperties, final SymbolTable symbolTable,
+            final SymbolTable groupSymbolTable, final Collection<? extends Poll> polls) {
         this.countryProperties = countryProperties;
+        this.symbolTable = symbolTable;
+        this.groupSymbolTable = groupSymbolTable;
+        List<Poll> pollList = new ArrayList<Poll>(new HashSet<Poll>(polls));
+        pollList.sort(new Comparator<Poll>() {
+            @Override
+            public int compare(final Poll poll1, final Poll poll2) {
+                return comparePolls(poll1, poll2);
+            }
+        });
+        this.sortedPolls = Collections.unmodifiableList(pollList);
     }
 
     /**
@@ -41,12 +70,24 @@ public abstract class SaporDirectory {
     }
 
     /**
-     * Adds a poll.
+     * Returns the symbol table for the names of the polling firms and
+     * commissioners shared by all the polls in the directory.
      *
-     * @param poll A poll.
+     * @return The symbol table for the names of the polling firms and
+     *         commissioners.
      */
-    void addPoll(final Poll poll) {
-        polls.add(poll);
+    SymbolTable getSymbolTable() {
+        return symbolTable;
+    }
+
+    /**
+     * Returns the symbol table for the names of the parliamentary groups shared
+     * by all the polls in the directory.
+     *
+     * @return The symbol table for the names of the parliamentary groups.
+     */
+    SymbolTable getGroupSymbolTable() {
+        return groupSymbolTable;
     }
 
     /**
@@ -59,16 +100,29 @@ public abstract class SaporDirectory {
      * @return An iterator with the polls, sorted.
      */
     Iterator<Poll> getSortedPolls() {
-        List<Poll> sortedPolls = new ArrayList<Poll>(polls);
-        sortedPolls.sort(new Comparator<Poll>() {
-            @Override
-            public int compare(final Poll poll1, final Poll poll2) {
-                return comparePolls(poll1, poll2);
-            }
-        });
         return sortedPolls.iterator();
     }
 
+    /**
+     * Returns an iterator with a range of the polls in the directory, sorted.
+     *
+     * @param fromIndex The index of the first poll in the range, inclusive.
+     * @param toIndex   The index of the last poll in the range, exclusive.
+     * @return An iterator with the polls in the range, sorted.
+     */
+    Iterator<Poll> getSortedPolls(final int fromIndex, final int toIndex) {
+        return sortedPolls.subList(fromIndex, toIndex).iterator();
+    }
+
+    /**
+     * Returns the number of polls in the directory.
+     *
+     * @return The number of polls in the directory.
+     */
+    int getNumberOfPolls() {
+        return sortedPolls.size();
+    }
+
     /**
      * Compares two polls in order to sort them. Polls are sorted reversed
      * chronologically by the end date of the fieldwork period, and if the end dates
@@ -2,9 +2,7 @@ package net.filipvanlaenen.sapor2md;
 
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * A class representing a seat projection. A seat projection consists of a
@@ -13,10 +11,10 @@ import java.util.Map;
  */
 public class SeatProjection extends ProbabilityMassFunctionCombination<Integer> {
     /**
-     * A map holding the adjusted medians per parliamentary group per parliament
-     * size.
+     * The statistics derived from the seat projection, i.e. the adjusted medians
+     * and the confidence intervals, computed at most once.
      */
-    private final Map<Integer, Map<String, Integer>> adjustedMedians = new HashMap<>();
+    private final SeatProjectionStatistics statistics;
 
     /**
      * Parses a string into a seat projection object.
@@ -25,6 +23,37 @@ public class SeatProjection extends ProbabilityMassFunctionCombination<Integer>
      * @return A seat projection object.
      */
     static SeatProjection parseFromString(final String probabilityMassFunctions) {
+        return parseFromString(probabilityMassFunctions, new SymbolTable());
+    }
+
+    /**
+     * Parses a string into a seat projection object, interning the names of the
+     * parliamentary groups in a symbol table.
+     *
+     * @param probabilityMassFunctions A string representation of a seat projection.
+     * @param symbolTable              The symbol table for the names of the
+     *                                 parliamentary groups.
+     * @return A seat projection object.
+     */
+    static SeatProjection parseFromString(final String probabilityMassFunctions, final SymbolTable symbolTable) {
+        return parseFromString(probabilityMassFunctions, symbolTable, null);
+    }
+
+    /**
+     * Parses a string into a seat projection object, interning the names of the
+     * parliamentary groups in a symbol table and sharing the statistics derived
+     * from it, such that they survive the seat projection object.
+     *
+     * @param probabilityMassFunctions A string representation of a seat projection.
+     * @param symbolTable              The symbol table for the names of the
+     *                                 parliamentary groups.
+     * @param statistics               The statistics derived from the seat
+     *                                 projection, or null if the seat projection
+     *                                 should hold its own.
+     * @return A seat projection object.
+     */
+    static SeatProjection parseFromString(final String probabilityMassFunctions, final SymbolTable symbolTable,
+            final SeatProjectionStatistics statistics) {
         List<Object> arguments = new ArrayList<Object>();
         String[] lines = probabilityMassFunctions.split("\\R");
         for (String line : lines) {
@@ -40,7 +69,7 @@ public class SeatProjection extends ProbabilityMassFunctionCombination<Integer>
                 arguments.add(new ProbabilityMassFunction<Integer>(pmfArguments.toArray()));
             }
         }
-        return new SeatProjection(arguments.toArray());
+        return new SeatProjection(symbolTable, statistics, arguments.toArray());
     }
 
     /**
@@ -76,6 +105,40 @@ public class SeatProjection extends ProbabilityMassFunctionCombination<Integer>
      * @param objects An array defining a seat projection.
      */
     SeatProjection(final Object... objects) {
+        this(new SymbolTable(), objects);
+    }
+
+    /**
+     * Constructs a seat projection from an array of objects, interning the names
+     * of the parliamentary groups in a symbol table. The array has to have an even
+     * length, with each uneven element the name of a parliamentary group, and each
+     * even element a probability mass function.
+     *
+     * @param symbolTable The symbol table for the names of the parliamentary
+     *                    groups.
+     * @param objects     An array defining a seat projection.
+     */
+    SeatProjection(final SymbolTable symbolTable, final Object... objects) {
+        this(symbolTable, null, objects);
+    }
+
+    /**
+     * Constructs a seat projection from an array of objects, interning the names
+     * of the parliamentary groups in a symbol table and sharing the statistics
+     * derived from it. The array has to have an even length, with each uneven
+     * element the name of a parliamentary group, and each even element a
+     * probability mass function.
+     *
+     * @param symbolTable The symbol table for the names of the parliamentary
+     *                    groups.
+     * @param statistics  The statistics derived from the seat projection, or null
+     *                    if the seat projection should hold its own.
+     * @param objects     An array defining a seat projection.
+     */
+    private SeatProjection(final SymbolTable symbolTable, final SeatProjectionStatistics statistics,
+            final Object... objects) {
+        super(symbolTable);
+        this.statistics = statistics == null ? new SeatProjectionStatistics(() -> this) : statistics;
         if (objects.length % 2 == 1) {
             throw new IllegalArgumentException(
                     "The number of arguments to construct a seat projection should be even.");
@@ -90,7 +153,7 @@ public class SeatProjection extends ProbabilityMassFunctionCombination<Integer>
                 throw new IllegalArgumentException(
                         "The uneven arguments to construct a seat projection should be probability mass functions.");
             } else {
-                getMap().put((String) key, (ProbabilityMassFunction<Integer>) value);
+                addProbabilityMassFunction((String) key, (ProbabilityMassFunction<Integer>) value);
             }
         }
     }
@@ -99,25 +162,33 @@ public class SeatProjection extends ProbabilityMassFunctionCombination<Integer>
      * Calculates the adjusted medians for a given size for a parliament.
      *
      * @param size The size of the parliament.
-     * @return The adjusted medians for the given parliament size.
+     * @return The adjusted medians for the given parliament size, indexed by the
+     *         IDs of the parliamentary groups.
      */
-    private Map<String, Integer> calculateAdjustedMedians(final int size) {
+    int[] calculateAdjustedMedians(final int size) {
+        int[] groupIds = getGroupIds();
+        int[] medians = new int[groupIds.length];
         int sumOfMedians = 0;
-        for (String g : getMap().keySet()) {
-            sumOfMedians += getMap().get(g).getMedian();
+        for (int k = 0; k < groupIds.length; k++) {
+            medians[k] = getProbabilityMassFunction(groupIds[k]).getMedian();
+            sumOfMedians += medians[k];
         }
-        Map<String, Integer> medians = calculateMedians();
+        int[] result;
         if (sumOfMedians == size) {
-            return medians;
+            result = medians;
         } else {
             double selectionFactor = 1D;
-            Map<String, Integer> possibleResult = adjustMedians(medians, sumOfMedians, size, selectionFactor);
-            while (possibleResult.isEmpty()) {
+            result = adjustMedians(groupIds, medians, sumOfMedians, size, selectionFactor);
+            while (result == null) {
                 selectionFactor /= 2D;
-                possibleResult = adjustMedians(medians, sumOfMedians, size, selectionFactor);
+                result = adjustMedians(groupIds, medians, sumOfMedians, size, selectionFactor);
             }
-            return possibleResult;
         }
+        int[] resultById = new int[getSymbolTable().size()];
+        for (int k = 0; k < groupIds.length; k++) {
+            resultById[groupIds[k]] = result[k];
+        }
+        return resultById;
     }
 
     /**
@@ -128,38 +199,44 @@ public class SeatProjection extends ProbabilityMassFunctionCombination<Integer>
      * doesn't work, the factor should be gradually lowered, until a solution can be
      * found .
      *
-     * @param medians         The medians.
+     * @param groupIds        The IDs of the groups.
+     * @param medians         The medians, in the same order as the IDs of the
+     *                        groups.
      * @param sumOfMedians    The sum of the medians.
      * @param size            The requested size of the parliament.
      * @param selectionFactor The factor used to compare a candidate number of
      *                        seats' probability with the median's probability.
-     * @return A seat projection that fills up the parliament, based on the medians.
-     */
-    private Map<String, Integer> adjustMedians(final Map<String, Integer> medians, final int sumOfMedians,
-            final int size, final double selectionFactor) {
-        Map<String, Integer> possibleResult = new HashMap<String, Integer>();
-        Map<String, List<Integer>> candidateNosOfSeats = selectCandidateNosOfSeatsToBeAdjustedMedians(medians,
-                sumOfMedians, size, selectionFactor);
-        int noOfGroups = getMap().size();
-        String[] groups = new ArrayList<String>(getMap().keySet()).toArray(new String[noOfGroups]);
+     * @return A seat projection that fills up the parliament, based on the medians,
+     *         in the same order as the IDs of the groups, or null if none could be
+     *         found.
+     */
+    private int[] adjustMedians(final int[] groupIds, final int[] medians, final int sumOfMedians, final int size,
+            final double selectionFactor) {
+        int noOfGroups = groupIds.length;
+        int[][] candidateNosOfSeats = selectCandidateNosOfSeatsToBeAdjustedMedians(groupIds, medians, sumOfMedians,
+                size, selectionFactor);
+        ProbabilityMassFunction<Integer>[] pmfs = getProbabilityMassFunctions(groupIds);
+        int[] possibleResult = null;
         double highestProbability = 0D;
         int[] counter = new int[noOfGroups];
-        while (counter[noOfGroups - 1] < candidateNosOfSeats.get(groups[noOfGroups - 1]).size()) {
+        while (counter[noOfGroups - 1] < candidateNosOfSeats[noOfGroups - 1].length) {
             double p = 1D;
             int s = 0;
             for (int k = 0; k < noOfGroups; k++) {
-                p *= getMap().get(groups[k]).getProbability(candidateNosOfSeats.get(groups[k]).get(counter[k]));
-                s += candidateNosOfSeats.get(groups[k]).get(counter[k]);
+                int noOfSeats = candidateNosOfSeats[k][counter[k]];
+                p *= pmfs[k].getProbability(noOfSeats);
+                s += noOfSeats;
             }
             if (s == size && p > highestProbability) {
                 highestProbability = p;
+                possibleResult = new int[noOfGroups];
                 for (int k = 0; k < noOfGroups; k++) {
-                    possibleResult.put(groups[k], candidateNosOfSeats.get(groups[k]).get(counter[k]));
+                    possibleResult[k] = candidateNosOfSeats[k][counter[k]];
                 }
             }
             counter[0] += 1;
             int j = 0;
-            while (j < noOfGroups - 1 && counter[j] == candidateNosOfSeats.get(groups[j]).size()) {
+            while (j < noOfGroups - 1 && counter[j] == candidateNosOfSeats[j].length) {
                 counter[j] = 0;
                 counter[j + 1] += 1;
                 j += 1;
@@ -168,25 +245,44 @@ public class SeatProjection extends ProbabilityMassFunctionCombination<Integer>
         return possibleResult;
     }
 
+    /**
+     * Returns the probability mass functions for a number of groups.
+     *
+     * @param groupIds The IDs of the groups.
+     * @return The probability mass functions, in the same order as the IDs of the
+     *         groups.
+     */
+    @SuppressWarnings("unchecked")
+    private ProbabilityMassFunction<Integer>[] getProbabilityMassFunctions(final int[] groupIds) {
+        ProbabilityMassFunction<Integer>[] pmfs =
+                (ProbabilityMassFunction<Integer>[]) new ProbabilityMassFunction<?>[groupIds.length];
+        for (int k = 0; k < groupIds.length; k++) {
+            pmfs[k] = getProbabilityMassFunction(groupIds[k]);
+        }
+        return pmfs;
+    }
+
     /**
      * Selects the numbers of seats for all parties that are candidates to be
      * adjusted medians.
      *
-     * @param medians         The medians per group.
+     * @param groupIds        The IDs of the groups.
+     * @param medians         The medians, in the same order as the IDs of the
+     *                        groups.
      * @param sumOfMedians    The sum of the medians
      * @param size            The size of the parliament.
      * @param selectionFactor The factor used to compare a candidate number of
      *                        seats' probability with the median's probability.
-     * @return The numbers of seats that are candidates to be adjusted medians, per
-     *         group.
+     * @return The numbers of seats that are candidates to be adjusted medians, in
+     *         the same order as the IDs of the groups.
      */
-    private Map<String, List<Integer>> selectCandidateNosOfSeatsToBeAdjustedMedians(final Map<String, Integer> medians,
+    private int[][] selectCandidateNosOfSeatsToBeAdjustedMedians(final int[] groupIds, final int[] medians,
             final int sumOfMedians, final int size, final double selectionFactor) {
-        Map<String, List<Integer>> candidateNosOfSeats = new HashMap<String, List<Integer>>();
-        for (String g : getMap().keySet()) {
+        int[][] candidateNosOfSeats = new int[groupIds.length][];
+        for (int k = 0; k < groupIds.length; k++) {
             List<Integer> candidateNoOfSeats = new ArrayList<Integer>();
-            Integer median = medians.get(g);
-            ProbabilityMassFunction<Integer> pmf = getMap().get(g);
+            int median = medians[k];
+            ProbabilityMassFunction<Integer> pmf = getProbabilityMassFunction(groupIds[k]);
             double medianProbability = pmf.getProbability(median);
             for (Integer noOfSeats : pmf.keySet()) {
                 if (((size > sumOfMedians) && (noOfSeats >= median) || (size < sumOfMedians) && (noOfSeats <= median))
@@ -194,7 +290,7 @@ public class SeatProjection extends ProbabilityMassFunctionCombination<Integer>
                     candidateNoOfSeats.add(noOfSeats);
                 }
             }
-            candidateNosOfSeats.put(g, candidateNoOfSeats);
+            candidateNosOfSeats[k] = candidateNoOfSeats.stream().mapToInt(Integer::intValue).toArray();
         }
         return candidateNosOfSeats;
     }
@@ -205,13 +301,36 @@ public class SeatProjection extends ProbabilityMassFunctionCombination<Integer>
      *
      * @param group The name of the parliamentary group.
      * @param size  The size of the parliament.
-     * @return The adjusted median for the parliamentary group.
+     * @return The adjusted median for the parliamentary group, or null if the
+     *         group isn't part of the seat projection.
      */
     Integer getAdjustedMedian(final String group, final int size) {
-        if (!adjustedMedians.containsKey(size)) {
-            adjustedMedians.put(size, calculateAdjustedMedians(size));
+        int groupId = getSymbolTable().getId(group);
+        if (getProbabilityMassFunction(groupId) == null) {
+            return null;
+        }
+        return getAdjustedMedian(groupId, size);
+    }
+
+    /**
+     * Returns the adjusted median of a parliamentary group for a given size for a
+     * parliament.
+     *
+     * @param groupId The ID of the parliamentary group.
+     * @param size    The size of the parliament.
+     * @return The adjusted median for the parliamentary group.
+     */
+    int getAdjustedMedian(final int groupId, final int size) {
+        return statistics.getAdjustedMedian(groupId, size);
+    }
+
+    @Override
+    ConfidenceInterval<Integer> getConfidenceInterval(final String group, final double confidence) {
+        int groupId = getSymbolTable().getId(group);
+        if (getProbabilityMassFunction(groupId) == null) {
+            return super.getConfidenceInterval(group, confidence);
         }
-        return adjustedMedians.get(size).get(group);
+        return statistics.getConfidenceInterval(groupId, confidence);
     }
 
     /**
@@ -222,7 +341,7 @@ public class SeatProjection extends ProbabilityMassFunctionCombination<Integer>
      * @return A set containing all the groups, sorted by adjusted median.
      */
     List<String> getGroupsSortedByAdjustedMedian(final int size) {
-        List<String> sortedGroups = new ArrayList<String>(getMap().keySet());
+        List<String> sortedGroups = getGroups();
         sortedGroups.sort(new Comparator<String>() {
             @Override
             public int compare(final String group1, final String group2) {
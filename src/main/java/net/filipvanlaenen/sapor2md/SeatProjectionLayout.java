@@ -0,0 +1,267 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Class modeling the layout statistics of a seat projections chart. The
+ * statistics are computed once, in a single batch pass over the parliamentary
+ * groups: the probability mass function of each group is copied once into a
+ * dense array indexed by number of seats, which is turned into a cumulative
+ * distribution in place, and the bounds of the 95 percent confidence interval
+ * and the median are then read off that array in one scan. The results are held
+ * in primitive arrays, sorted in the same order as the groups in the feeds, such
+ * that drawing the chart doesn't need any map lookups on the probability mass
+ * functions.
+ */
+final class SeatProjectionLayout {
+    /**
+     * Magic number 0.95, or 95 percent.
+     */
+    private static final double NINETY_FIVE_PERCENT = 0.95D;
+    /**
+     * The magic number one half.
+     */
+    private static final double ONE_HALF = 0.5D;
+
+    /**
+     * The names of the groups, sorted.
+     */
+    private final String[] names;
+    /**
+     * The lower bounds of the 95 percent confidence intervals.
+     */
+    private final int[] lowerBounds;
+    /**
+     * The medians.
+     */
+    private final int[] medians;
+    /**
+     * The upper bounds of the 95 percent confidence intervals.
+     */
+    private final int[] upperBounds;
+    /**
+     * The adjusted medians.
+     */
+    private final int[] adjustedMedians;
+    /**
+     * The labels for the 95 percent confidence intervals.
+     */
+    private final String[] confidenceIntervalLabels;
+    /**
+     * The largest number of seats in the layout, i.e. the largest upper bound or
+     * adjusted median, but at least one.
+     */
+    private final int largestNumberOfSeats;
+    /**
+     * The width of the widest group name, in em.
+     */
+    private final double widestGroupNameWidth;
+    /**
+     * The width of the widest confidence interval label, in em.
+     */
+    private final double widestConfidenceIntervalLabelWidth;
+
+    /**
+     * Constructor taking the seat projection, the number of seats in the
+     * parliament and the glyph advance table for the labels as its parameters.
+     *
+     * @param seatProjection         The seat projection, or null if the poll has
+     *                               no seat projection.
+     * @param numberOfSeats          The number of seats in the parliament.
+     * @param labelGlyphAdvanceTable The glyph advance table to measure the labels
+     *                               with.
+     */
+    SeatProjectionLayout(final SeatProjection seatProjection, final int numberOfSeats,
+            final GlyphAdvanceTable labelGlyphAdvanceTable) {
+        int[] groupIds = seatProjection == null ? new int[0] : seatProjection.getGroupIds();
+        int n = groupIds.length;
+        String[] unsortedNames = new String[n];
+        int[] unsortedLowerBounds = new int[n];
+        int[] unsortedMedians = new int[n];
+        int[] unsortedUpperBounds = new int[n];
+        double lowerProbabilityBound = (1D - NINETY_FIVE_PERCENT) / 2D;
+        double upperProbabilityBound = 1D - lowerProbabilityBound;
+        for (int k = 0; k < n; k++) {
+            unsortedNames[k] = seatProjection.getGroupName(groupIds[k]);
+            double[] cdf = createCumulativeDistribution(seatProjection.getProbabilityMassFunction(groupIds[k]));
+            int lowerBound = -1;
+            int median = -1;
+            int upperBound = -1;
+            double previousAccumulatedProbability = 0D;
+            for (int s = 0; s < cdf.length; s++) {
+                if (lowerBound < 0 && cdf[s] > lowerProbabilityBound) {
+                    lowerBound = s;
+                }
+                if (median < 0 && cdf[s] >= ONE_HALF) {
+                    median = s;
+                }
+                if (previousAccumulatedProbability < upperProbabilityBound && cdf[s] >= upperProbabilityBound) {
+                    upperBound = s;
+                }
+                previousAccumulatedProbability = cdf[s];
+            }
+            unsortedLowerBounds[k] = lowerBound;
+            unsortedMedians[k] = median;
+            unsortedUpperBounds[k] = upperBound;
+        }
+        List<Integer> order = new ArrayList<Integer>(n);
+        for (int k = 0; k < n; k++) {
+            order.add(k);
+        }
+        order.sort(Comparator.<Integer>comparingInt(k -> -unsortedMedians[k])
+                .thenComparingInt(k -> -unsortedUpperBounds[k]).thenComparingInt(k -> -unsortedLowerBounds[k])
+                .thenComparing(k -> unsortedNames[k], String.CASE_INSENSITIVE_ORDER));
+        names = new String[n];
+        lowerBounds = new int[n];
+        medians = new int[n];
+        upperBounds = new int[n];
+        adjustedMedians = new int[n];
+        confidenceIntervalLabels = new String[n];
+        int largest = 1;
+        double widestName = 0D;
+        double widestLabel = 0D;
+        for (int i = 0; i < n; i++) {
+            int k = order.get(i);
+            names[i] = unsortedNames[k];
+            lowerBounds[i] = unsortedLowerBounds[k];
+            medians[i] = unsortedMedians[k];
+            upperBounds[i] = unsortedUpperBounds[k];
+            adjustedMedians[i] = seatProjection.getAdjustedMedian(groupIds[k], numberOfSeats);
+            confidenceIntervalLabels[i] = RSS20Feed
+                    .formatSeatsConfidenceInterval(new ConfidenceInterval<Integer>(lowerBounds[i], upperBounds[i]));
+            largest = Math.max(largest, Math.max(upperBounds[i], adjustedMedians[i]));
+            widestName = Math.max(widestName, labelGlyphAdvanceTable.getWidth(names[i], 1D));
+            widestLabel = Math.max(widestLabel, labelGlyphAdvanceTable.getWidth(confidenceIntervalLabels[i], 1D));
+        }
+        this.largestNumberOfSeats = largest;
+        this.widestGroupNameWidth = widestName;
+        this.widestConfidenceIntervalLabelWidth = widestLabel;
+    }
+
+    /**
+     * Creates the cumulative distribution for a probability mass function on
+     * numbers of seats, as a dense array indexed by number of seats. Numbers of
+     * seats missing from the probability mass function get a probability of
+     * zero, which doesn't change the bounds or the median read off the
+     * cumulative distribution.
+     *
+     * @param pmf The probability mass function.
+     * @return The cumulative distribution, indexed by number of seats.
+     */
+    private static double[] createCumulativeDistribution(final ProbabilityMassFunction<Integer> pmf) {
+        int largestKey = 0;
+        for (int key : pmf.keySet()) {
+            largestKey = Math.max(largestKey, key);
+        }
+        double[] cdf = new double[largestKey + 1];
+        for (int key : pmf.keySet()) {
+            cdf[key] = pmf.getProbability(key);
+        }
+        for (int s = 1; s < cdf.length; s++) {
+            cdf[s] += cdf[s - 1];
+        }
+        return cdf;
+    }
+
+    /**
+     * Returns the number of groups.
+     *
+     * @return The number of groups.
+     */
+    int getNumberOfGroups() {
+        return names.length;
+    }
+
+    /**
+     * Returns the name of a group.
+     *
+     * @param i The index of the group in the sorted groups.
+     * @return The name of the group.
+     */
+    String getName(final int i) {
+        return names[i];
+    }
+
+    /**
+     * Returns the lower bound of the 95 percent confidence interval of a group.
+     *
+     * @param i The index of the group in the sorted groups.
+     * @return The lower bound of the 95 percent confidence interval.
+     */
+    int getLowerBound(final int i) {
+        return lowerBounds[i];
+    }
+
+    /**
+     * Returns the median of a group.
+     *
+     * @param i The index of the group in the sorted groups.
+     * @return The median.
+     */
+    int getMedian(final int i) {
+        return medians[i];
+    }
+
+    /**
+     * Returns the upper bound of the 95 percent confidence interval of a group.
+     *
+     * @param i The index of the group in the sorted groups.
+     * @return The upper bound of the 95 percent confidence interval.
+     */
+    int getUpperBound(final int i) {
+        return upperBounds[i];
+    }
+
+    /**
+     * Returns the adjusted median of a group.
+     *
+     * @param i The index of the group in the sorted groups.
+     * @return The adjusted median.
+     */
+    int getAdjustedMedian(final int i) {
+        return adjustedMedians[i];
+    }
+
+    /**
+     * Returns the label for the 95 percent confidence interval of a group.
+     *
+     * @param i The index of the group in the sorted groups.
+     * @return The label for the 95 percent confidence interval.
+     */
+    String getConfidenceIntervalLabel(final int i) {
+        return confidenceIntervalLabels[i];
+    }
+
+    /**
+     * Returns the largest number of seats in the layout, i.e. the largest upper
+     * bound or adjusted median, but at least one, such that it can be used to
+     * scale the bars.
+     *
+     * @return The largest number of seats.
+     */
+    int getLargestNumberOfSeats() {
+        return largestNumberOfSeats;
+    }
+
+    /**
+     * Returns the width of the widest confidence interval label at a font size.
+     *
+     * @param fontSize The font size.
+     * @return The width of the widest confidence interval label.
+     */
+    double getWidestConfidenceIntervalLabelWidth(final double fontSize) {
+        return fontSize * widestConfidenceIntervalLabelWidth;
+    }
+
+    /**
+     * Returns the width of the widest group name at a font size.
+     *
+     * @param fontSize The font size.
+     * @return The width of the widest group name.
+     */
+    double getWidestGroupNameWidth(final double fontSize) {
+        return fontSize * widestGroupNameWidth;
+    }
+}
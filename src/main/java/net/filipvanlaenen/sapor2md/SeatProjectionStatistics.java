@@ -0,0 +1,80 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Class holding the statistics derived from a seat projection, i.e. the
+ * adjusted medians per parliament size and the confidence intervals per level
+ * of confidence. The statistics are kept apart from the seat projection, such
+ * that a poll can hold on to them while its seat projection is evicted from a
+ * cache and read in again later. The statistics are computed at most once,
+ * from the seat projection delivered by the supplier.
+ */
+final class SeatProjectionStatistics {
+    /**
+     * The adjusted medians per parliament size, indexed by the IDs of the
+     * parliamentary groups.
+     */
+    private final Memoizer<Integer, int[]> adjustedMedians;
+    /**
+     * The confidence intervals per level of confidence, indexed by the IDs of the
+     * parliamentary groups.
+     */
+    private final Memoizer<Double, List<ConfidenceInterval<Integer>>> confidenceIntervals;
+
+    /**
+     * Constructor taking the supplier of the seat projection from which the
+     * statistics should be computed as its parameter.
+     *
+     * @param seatProjection The supplier of the seat projection.
+     */
+    SeatProjectionStatistics(final Supplier<SeatProjection> seatProjection) {
+        adjustedMedians = new Memoizer<Integer, int[]>(size -> seatProjection.get().calculateAdjustedMedians(size));
+        confidenceIntervals = new Memoizer<Double, List<ConfidenceInterval<Integer>>>(
+                confidence -> calculateConfidenceIntervals(seatProjection.get(), confidence));
+    }
+
+    /**
+     * Calculates the confidence intervals for all the parliamentary groups of a
+     * seat projection for a level of confidence.
+     *
+     * @param seatProjection The seat projection.
+     * @param confidence     The level of confidence.
+     * @return A list with the confidence intervals, indexed by the IDs of the
+     *         parliamentary groups.
+     */
+    private static List<ConfidenceInterval<Integer>> calculateConfidenceIntervals(
+            final SeatProjection seatProjection, final double confidence) {
+        List<ConfidenceInterval<Integer>> result = new ArrayList<ConfidenceInterval<Integer>>();
+        for (int groupId = 0; groupId < seatProjection.getSymbolTable().size(); groupId++) {
+            ProbabilityMassFunction<Integer> pmf = seatProjection.getProbabilityMassFunction(groupId);
+            result.add(pmf == null ? null : pmf.getConfidenceInterval(confidence));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the adjusted median of a parliamentary group for a parliament size.
+     *
+     * @param groupId The ID of the parliamentary group.
+     * @param size    The size of the parliament.
+     * @return The adjusted median for the parliamentary group.
+     */
+    int getAdjustedMedian(final int groupId, final int size) {
+        return adjustedMedians.get(size)[groupId];
+    }
+
+    /**
+     * Returns the confidence interval of a parliamentary group for a level of
+     * confidence.
+     *
+     * @param groupId    The ID of the parliamentary group.
+     * @param confidence The level of confidence.
+     * @return The confidence interval for the parliamentary group.
+     */
+    ConfidenceInterval<Integer> getConfidenceInterval(final int groupId, final double confidence) {
+        return confidenceIntervals.get(confidence).get(groupId);
+    }
+}
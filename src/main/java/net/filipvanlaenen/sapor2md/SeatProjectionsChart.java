@@ -0,0 +1,281 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.IOException;
+import java.util.List;
+
+import net.filipvanlaenen.tsvgj.FontStyleValue;
+import net.filipvanlaenen.tsvgj.FontWeightValue;
+import net.filipvanlaenen.tsvgj.TextAlignValue;
+import net.filipvanlaenen.tsvgj.TextAnchorValue;
+
+/**
+ * Class producing a seat projections chart, i.e. a horizontal bar chart with
+ * the 95 percent confidence interval and the median of the number of seats for
+ * each parliamentary group, and a marker for the adjusted median. The
+ * statistics for all the parliamentary groups are computed at once by the seat
+ * projection layout. All the bars are drawn in the text color of the country,
+ * as the country properties don't define colors for the parliamentary groups.
+ */
+public class SeatProjectionsChart extends HorizontalBarChart {
+    /**
+     * The width of the bar for the largest number of seats.
+     */
+    static final int MAX_CHOICE_WIDTH = 1000;
+    /**
+     * The angle of the hatching of the bars up to the upper bounds, in degrees.
+     */
+    private static final int UPPER_BOUND_HATCHING_ANGLE = 45;
+    /**
+     * The angle of the hatching of the bars up to the medians, in degrees.
+     */
+    private static final int MEDIAN_HATCHING_ANGLE = 135;
+
+    /**
+     * The layout statistics for the seat projection.
+     */
+    private SeatProjectionLayout seatProjectionLayout;
+
+    /**
+     * Constructor taking the path to the Sapor directory and the name of the poll
+     * file as its parameters.
+     *
+     * @param directoryPath The path to the Sapor directory in which the poll
+     *                      resides.
+     * @param pollFileName  The name of the poll file.
+     */
+    public SeatProjectionsChart(final String directoryPath, final String pollFileName) {
+        super(directoryPath, pollFileName);
+    }
+
+    /**
+     * Constructor taking a Sapor directory and a poll as its parameters.
+     *
+     * @param directory The Sapor directory.
+     * @param poll      The poll.
+     */
+    public SeatProjectionsChart(final SaporDirectory directory, final Poll poll) {
+        super(directory, poll);
+    }
+
+    /**
+     * Constructor taking the path to the Sapor directory, a Sapor directory and a
+     * poll as its parameters.
+     *
+     * @param directoryPath The path to the Sapor directory in which the poll
+     *                      resides.
+     * @param directory     The Sapor directory.
+     * @param poll          The poll.
+     */
+    SeatProjectionsChart(final String directoryPath, final SaporDirectory directory, final Poll poll) {
+        super(directoryPath, directory, poll);
+    }
+
+    /**
+     * Returns the suffix for the file name for the chart.
+     *
+     * @return The suffix for the file name for the chart.
+     */
+    @Override
+    public String getFileNameSuffix() {
+        return "-seats";
+    }
+
+    /**
+     * Returns the names of the input files the chart is produced from, i.e. the
+     * country properties file, the poll file and the file with the seat
+     * projection.
+     *
+     * @return A list with the names of the input files for the chart.
+     */
+    @Override
+    List<String> getInputFileNames() {
+        return List.of(FileSystemCountryProperties.COUNTRY_PROPERTIES_FILE_NAME,
+                FileSystemPoll.getPollFileName(getPoll().getBaseName()),
+                FileSystemPoll.getSeatProjectionFileName(getPoll().getBaseName()));
+    }
+
+    /**
+     * Returns the layout statistics for the seat projection, computing them the
+     * first time they're needed.
+     *
+     * @return The layout statistics for the seat projection.
+     */
+    SeatProjectionLayout getSeatProjectionLayout() {
+        if (seatProjectionLayout == null) {
+            seatProjectionLayout = new SeatProjectionLayout(getPoll().getSeatProjection(),
+                    getSaporDirectory().getCountryProperties().getNumberOfSeats(), getLabelGlyphAdvanceTable());
+        }
+        return seatProjectionLayout;
+    }
+
+    @Override
+    int getNumberOfGroups() {
+        return getSeatProjectionLayout().getNumberOfGroups();
+    }
+
+    @Override
+    protected double calculateContentWidth() {
+        return getWidestChoiceWidth() + 2 * SPACE_BETWEEN_ELEMENTS + MAX_CHOICE_WIDTH + getWidestLabelWidth();
+    }
+
+    private double getWidestChoiceWidth() {
+        return getSeatProjectionLayout().getWidestGroupNameWidth(CHOICE_LABEL_FONT_SIZE);
+    }
+
+    private double getWidestLabelWidth() {
+        return getSeatProjectionLayout().getWidestConfidenceIntervalLabelWidth(CHOICE_LABEL_FONT_SIZE);
+    }
+
+    /**
+     * Calculates the width of a bar for a number of seats.
+     *
+     * @param numberOfSeats The number of seats.
+     * @return The width of the bar.
+     */
+    private double calculateBarWidth(final int numberOfSeats) {
+        return (double) MAX_CHOICE_WIDTH * numberOfSeats / getSeatProjectionLayout().getLargestNumberOfSeats();
+    }
+
+    @Override
+    List<Hatching> createChartContentHatchings() {
+        return List.of(getUpperBoundHatching(), getMedianHatching());
+    }
+
+    /**
+     * Returns the hatching for the bars up to the upper bounds.
+     *
+     * @return The hatching for the bars up to the upper bounds.
+     */
+    private Hatching getUpperBoundHatching() {
+        return new Hatching(getTextColor(), UPPER_BOUND_HATCHING_ANGLE);
+    }
+
+    /**
+     * Returns the hatching for the bars up to the medians.
+     *
+     * @return The hatching for the bars up to the medians.
+     */
+    private Hatching getMedianHatching() {
+        return new Hatching(getTextColor(), MEDIAN_HATCHING_ANGLE);
+    }
+
+    @Override
+    void drawChartContent(final ChartCanvas canvas) throws IOException {
+        canvas.startGroup();
+        for (int i = 0; i < getNumberOfGroups(); i++) {
+            drawGroupDataElements(canvas, i);
+        }
+        canvas.endGroup();
+    }
+
+    private void drawGroupDataElements(final ChartCanvas canvas, final int i) throws IOException {
+        canvas.startGroup();
+        canvas.drawText(createGroupLabel(i));
+        canvas.drawRectangle(createRectangleToUpperBound(i));
+        canvas.drawRectangle(createRectangleToMedian(i));
+        canvas.drawRectangle(createRectangleToLowerBound(i));
+        canvas.drawRectangle(createAdjustedMedianMarker(i));
+        canvas.drawText(createResultLabel(i));
+        canvas.endGroup();
+    }
+
+    private double calculateBarXProperty() {
+        return MARGIN + getWidestChoiceWidth() + SPACE_BETWEEN_ELEMENTS;
+    }
+
+    private double calculateBarYProperty(final int i) {
+        return MARGIN + TITLE_FONT_SIZE + SPACE_BETWEEN_ELEMENTS + SUBTITLE_FONT_SIZE + SPACE_BETWEEN_ELEMENTS
+                + TICKS_HEIGHT + i * (CHOICE_HEIGHT + SPACE_BETWEEN_CHOICES);
+    }
+
+    private ChartRectangle createRectangleToUpperBound(final int i) {
+        ChartRectangle rect = new ChartRectangle();
+        rect.x(calculateBarXProperty());
+        rect.y(calculateBarYProperty(i));
+        rect.height(POLL_RESULT_HEIGHT);
+        rect.width(calculateBarWidth(getSeatProjectionLayout().getUpperBound(i)));
+        rect.fill(getUpperBoundHatching());
+        rect.stroke(getTextColor()).strokeWidth(BAR_STROKE);
+        return rect;
+    }
+
+    private ChartRectangle createRectangleToMedian(final int i) {
+        ChartRectangle rect = new ChartRectangle();
+        rect.x(calculateBarXProperty());
+        rect.y(calculateBarYProperty(i));
+        rect.height(POLL_RESULT_HEIGHT);
+        rect.width(calculateBarWidth(getSeatProjectionLayout().getMedian(i)));
+        rect.fill(getMedianHatching());
+        rect.stroke(getTextColor()).strokeWidth(BAR_STROKE);
+        return rect;
+    }
+
+    private ChartRectangle createRectangleToLowerBound(final int i) {
+        ChartRectangle rect = new ChartRectangle();
+        rect.x(calculateBarXProperty());
+        rect.y(calculateBarYProperty(i));
+        rect.height(POLL_RESULT_HEIGHT);
+        rect.width(calculateBarWidth(getSeatProjectionLayout().getLowerBound(i)));
+        rect.fill(getTextColor());
+        return rect;
+    }
+
+    /**
+     * Creates the marker for the adjusted median of a parliamentary group, a
+     * vertical line across the bar at the adjusted median.
+     *
+     * @param i The index of the parliamentary group in the sorted groups.
+     * @return The marker for the adjusted median.
+     */
+    private ChartRectangle createAdjustedMedianMarker(final int i) {
+        ChartRectangle rect = new ChartRectangle();
+        rect.x(calculateBarXProperty() + calculateBarWidth(getSeatProjectionLayout().getAdjustedMedian(i))
+                - BAR_STROKE / 2D);
+        rect.y(calculateBarYProperty(i) - TICKS_HEIGHT);
+        rect.height(POLL_RESULT_HEIGHT + 2 * TICKS_HEIGHT).width(BAR_STROKE);
+        rect.fill(getTextColor()).noStroke();
+        return rect;
+    }
+
+    private ChartText createGroupLabel(final int i) {
+        ChartText text = new ChartText(getSeatProjectionLayout().getName(i));
+        text.x(MARGIN + getWidestChoiceWidth());
+        text.y(calculateBarYProperty(i) + CHOICE_HEIGHT * 2D / 3D);
+        text.fontFamily(FONT_FAMILIY).fontStyle(FontStyleValue.NORMAL).fontWeight(FontWeightValue.BOLD);
+        text.fontSize(CHOICE_LABEL_FONT_SIZE);
+        text.textAlign(TextAlignValue.CENTER).textAnchor(TextAnchorValue.END);
+        text.fill(getTextColor());
+        return text;
+    }
+
+    private ChartText createResultLabel(final int i) {
+        SeatProjectionLayout layout = getSeatProjectionLayout();
+        ChartText text = new ChartText(layout.getConfidenceIntervalLabel(i));
+        double barEnd = calculateBarWidth(Math.max(layout.getUpperBound(i), layout.getAdjustedMedian(i)));
+        text.x(calculateBarXProperty() + barEnd + SPACE_BETWEEN_ELEMENTS);
+        text.y(calculateBarYProperty(i) + POLL_RESULT_HEIGHT * 2D / 3D);
+        text.fontFamily(FONT_FAMILIY).fontStyle(FontStyleValue.NORMAL).fontWeight(FontWeightValue.BOLD);
+        text.fontSize(CHOICE_LABEL_FONT_SIZE);
+        text.textAlign(TextAlignValue.CENTER).textAnchor(TextAnchorValue.START);
+        text.fill(getTextColor());
+        return text;
+    }
+
+    @Override
+    protected String getTitleText() {
+        return "Seat Projections for the " + getSaporDirectory().getCountryProperties().getParliamentName();
+    }
+
+    @Override
+    protected String getSubtitleText() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Based on an Opinion Poll by ");
+        sb.append(getPoll().getPollingFirm());
+        if (getPoll().getComissioners() != null) {
+            sb.append(" for " + getPoll().getComissioners());
+        }
+        sb.append(", ");
+        sb.append(TimeServices.formatPeriod(getPoll().getFieldworkStart(), getPoll().getFieldworkEnd()));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,304 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.filipvanlaenen.tsvgj.FontStyleValue;
+import net.filipvanlaenen.tsvgj.FontWeightValue;
+import net.filipvanlaenen.tsvgj.TextAlignValue;
+import net.filipvanlaenen.tsvgj.TextAnchorValue;
+
+/**
+ * Class producing a seating plan projection chart, i.e. a hemicycle with the
+ * seats assigned to the parliamentary groups according to their adjusted
+ * medians. The positions of the seats are taken from the seating plan layout
+ * for the size of the parliament, such that only the assignment of the seats
+ * to the parliamentary groups is calculated for each poll.
+ */
+public class SeatingPlanChart extends Chart {
+    /**
+     * The radius of the hemicycle.
+     */
+    static final int HEMICYCLE_RADIUS = 500;
+    /**
+     * The font size for the labels in the legend.
+     */
+    private static final int LEGEND_FONT_SIZE = 28;
+    /**
+     * The height of a line in the legend.
+     */
+    private static final int LEGEND_LINE_HEIGHT = 40;
+    /**
+     * The size of the squares in the legend.
+     */
+    private static final int LEGEND_SQUARE_SIZE = 28;
+    /**
+     * The stroke width for the seats that are drawn as outlines.
+     */
+    private static final int SEAT_STROKE = 2;
+
+    /**
+     * The parliamentary groups, sorted by adjusted median, or null if they
+     * haven't been calculated yet.
+     */
+    private List<String> sortedGroups;
+    /**
+     * The adjusted medians of the parliamentary groups, in the same order as the
+     * sorted groups.
+     */
+    private int[] adjustedMedians;
+    /**
+     * The labels for the legend, in the same order as the sorted groups.
+     */
+    private List<String> legendLabels;
+    /**
+     * The width of the widest label in the legend.
+     */
+    private double widestLegendLabelWidth;
+
+    /**
+     * Constructor taking the path to the Sapor directory and the name of the poll
+     * file as its parameters.
+     *
+     * @param directoryPath The path to the Sapor directory in which the poll
+     *                      resides.
+     * @param pollFileName  The name of the poll file.
+     */
+    public SeatingPlanChart(final String directoryPath, final String pollFileName) {
+        super(directoryPath, pollFileName);
+    }
+
+    /**
+     * Constructor taking a Sapor directory and a poll as its parameters.
+     *
+     * @param directory The Sapor directory.
+     * @param poll      The poll.
+     */
+    public SeatingPlanChart(final SaporDirectory directory, final Poll poll) {
+        super(directory, poll);
+    }
+
+    /**
+     * Constructor taking the path to the Sapor directory, a Sapor directory and a
+     * poll as its parameters.
+     *
+     * @param directoryPath The path to the Sapor directory in which the poll
+     *                      resides.
+     * @param directory     The Sapor directory.
+     * @param poll          The poll.
+     */
+    SeatingPlanChart(final String directoryPath, final SaporDirectory directory, final Poll poll) {
+        super(directoryPath, directory, poll);
+    }
+
+    /**
+     * Returns the suffix for the file name for the chart.
+     *
+     * @return The suffix for the file name for the chart.
+     */
+    @Override
+    public String getFileNameSuffix() {
+        return "-seating-plan";
+    }
+
+    /**
+     * Returns the names of the input files the chart is produced from, i.e. the
+     * country properties file, the poll file and the file with the seat
+     * projection.
+     *
+     * @return A list with the names of the input files for the chart.
+     */
+    @Override
+    List<String> getInputFileNames() {
+        return List.of(FileSystemCountryProperties.COUNTRY_PROPERTIES_FILE_NAME,
+                FileSystemPoll.getPollFileName(getPoll().getBaseName()),
+                FileSystemPoll.getSeatProjectionFileName(getPoll().getBaseName()));
+    }
+
+    /**
+     * Returns the number of seats in the parliament.
+     *
+     * @return The number of seats in the parliament.
+     */
+    private int getNumberOfSeats() {
+        return getSaporDirectory().getCountryProperties().getNumberOfSeats();
+    }
+
+    /**
+     * Returns the seating plan layout for the size of the parliament.
+     *
+     * @return The seating plan layout.
+     */
+    private SeatingPlanLayout getSeatingPlanLayout() {
+        return SeatingPlanLayout.forNumberOfSeats(getNumberOfSeats());
+    }
+
+    /**
+     * Calculates the parliamentary groups sorted by adjusted median, their
+     * adjusted medians, the labels for the legend and the width of the widest
+     * label the first time they're needed, such that the groups aren't sorted
+     * and the labels aren't measured again each time the width or the height of
+     * the chart is requested.
+     */
+    private void calculateGroupStatistics() {
+        if (sortedGroups != null) {
+            return;
+        }
+        SeatProjection seatProjection = getPoll().getSeatProjection();
+        List<String> groups = seatProjection == null || seatProjection.getGroups().isEmpty()
+                ? Collections.emptyList()
+                : seatProjection.getGroupsSortedByAdjustedMedian(getNumberOfSeats());
+        adjustedMedians = new int[groups.size()];
+        List<String> labels = new ArrayList<String>();
+        double widestWidth = 0D;
+        for (int i = 0; i < groups.size(); i++) {
+            adjustedMedians[i] = seatProjection.getAdjustedMedian(groups.get(i), getNumberOfSeats());
+            String label = groups.get(i) + " (" + adjustedMedians[i] + ")";
+            labels.add(label);
+            widestWidth = Math.max(widestWidth, getLabelWidth(label, LEGEND_FONT_SIZE));
+        }
+        legendLabels = Collections.unmodifiableList(labels);
+        widestLegendLabelWidth = widestWidth;
+        sortedGroups = groups;
+    }
+
+    /**
+     * Returns the parliamentary groups, sorted by adjusted median.
+     *
+     * @return A list with the parliamentary groups, sorted by adjusted median.
+     */
+    List<String> getGroupsSortedByAdjustedMedian() {
+        calculateGroupStatistics();
+        return sortedGroups;
+    }
+
+    @Override
+    protected double calculateContentHeight() {
+        double hemicycleHeight = HEMICYCLE_RADIUS * (1D + getSeatingPlanLayout().getSeatSize() / 2D);
+        return Math.max(hemicycleHeight, getGroupsSortedByAdjustedMedian().size() * LEGEND_LINE_HEIGHT);
+    }
+
+    @Override
+    protected double calculateContentWidth() {
+        calculateGroupStatistics();
+        return 2 * HEMICYCLE_RADIUS + SPACE_BETWEEN_ELEMENTS + LEGEND_SQUARE_SIZE + SPACE_BETWEEN_ELEMENTS / 2D
+                + widestLegendLabelWidth;
+    }
+
+    @Override
+    List<Hatching> createChartContentHatchings() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    void drawChartContent(final ChartCanvas canvas) throws IOException {
+        canvas.startGroup();
+        drawSeats(canvas);
+        drawLegend(canvas);
+        canvas.endGroup();
+    }
+
+    /**
+     * Calculates the y coordinate of the top of the chart's content.
+     *
+     * @return The y coordinate of the top of the chart's content.
+     */
+    private double calculateContentTop() {
+        return MARGIN + TITLE_FONT_SIZE + SPACE_BETWEEN_ELEMENTS + SUBTITLE_FONT_SIZE + SPACE_BETWEEN_ELEMENTS;
+    }
+
+    /**
+     * Draws the seats, assigning consecutive ranges of seats from left to right
+     * to the parliamentary groups, sorted by adjusted median.
+     *
+     * @param canvas The canvas to draw the seats on.
+     * @throws IOException Thrown if the canvas fails to render the seats.
+     */
+    private void drawSeats(final ChartCanvas canvas) throws IOException {
+        SeatingPlanLayout layout = getSeatingPlanLayout();
+        double centerX = MARGIN + HEMICYCLE_RADIUS;
+        double centerY = calculateContentTop() + HEMICYCLE_RADIUS;
+        double seatSize = HEMICYCLE_RADIUS * layout.getSeatSize();
+        canvas.startGroup();
+        calculateGroupStatistics();
+        int k = 0;
+        for (int groupIndex = 0; groupIndex < adjustedMedians.length; groupIndex++) {
+            for (int s = 0; s < adjustedMedians[groupIndex] && k < layout.getNumberOfSeats(); s++) {
+                ChartRectangle rect = new ChartRectangle();
+                rect.x(centerX + HEMICYCLE_RADIUS * layout.getX(k) - seatSize / 2D);
+                rect.y(centerY - HEMICYCLE_RADIUS * layout.getY(k) - seatSize / 2D);
+                rect.width(seatSize).height(seatSize);
+                styleForGroup(rect, groupIndex);
+                canvas.drawRectangle(rect);
+                k++;
+            }
+        }
+        canvas.endGroup();
+    }
+
+    /**
+     * Draws the legend, with a square in the style of the seats and a label for
+     * each parliamentary group.
+     *
+     * @param canvas The canvas to draw the legend on.
+     * @throws IOException Thrown if the canvas fails to render the legend.
+     */
+    private void drawLegend(final ChartCanvas canvas) throws IOException {
+        canvas.startGroup();
+        double squareX = MARGIN + 2 * HEMICYCLE_RADIUS + SPACE_BETWEEN_ELEMENTS;
+        int i = 0;
+        calculateGroupStatistics();
+        for (String label : legendLabels) {
+            double y = calculateContentTop() + i * LEGEND_LINE_HEIGHT;
+            ChartRectangle rect = new ChartRectangle().x(squareX).y(y);
+            rect.width(LEGEND_SQUARE_SIZE).height(LEGEND_SQUARE_SIZE);
+            styleForGroup(rect, i);
+            canvas.drawRectangle(rect);
+            ChartText text = new ChartText(label);
+            text.x(squareX + LEGEND_SQUARE_SIZE + SPACE_BETWEEN_ELEMENTS / 2D).y(y + LEGEND_SQUARE_SIZE);
+            text.fontFamily(FONT_FAMILIY).fontStyle(FontStyleValue.NORMAL).fontWeight(FontWeightValue.BOLD);
+            text.fontSize(LEGEND_FONT_SIZE);
+            text.textAlign(TextAlignValue.CENTER).textAnchor(TextAnchorValue.START);
+            text.fill(getTextColor());
+            canvas.drawText(text);
+            i++;
+        }
+        canvas.endGroup();
+    }
+
+    /**
+     * Styles a seat or a square in the legend for a parliamentary group. The
+     * parliamentary groups alternate between filled and outlined squares.
+     *
+     * @param rect       The rectangle to style.
+     * @param groupIndex The index of the parliamentary group, sorted by adjusted
+     *                   median.
+     */
+    private void styleForGroup(final ChartRectangle rect, final int groupIndex) {
+        if (groupIndex % 2 == 0) {
+            rect.fill(getTextColor()).noStroke();
+        } else {
+            rect.fill(getBackgroundColor()).stroke(getTextColor()).strokeWidth(SEAT_STROKE);
+        }
+    }
+
+    @Override
+    protected String getTitleText() {
+        return "Seating Plan Projection for the " + getSaporDirectory().getCountryProperties().getParliamentName();
+    }
+
+    @Override
+    protected String getSubtitleText() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Based on an Opinion Poll by ");
+        sb.append(getPoll().getPollingFirm());
+        if (getPoll().getComissioners() != null) {
+            sb.append(" for " + getPoll().getComissioners());
+        }
+        sb.append(", ");
+        sb.append(TimeServices.formatPeriod(getPoll().getFieldworkStart(), getPoll().getFieldworkEnd()));
+        return sb.toString();
+    }
+}
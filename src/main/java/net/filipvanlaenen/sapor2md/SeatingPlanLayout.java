@@ -0,0 +1,207 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Class holding the positions of the seats in a hemicycle for a number of
+ * seats. The seats are placed in concentric rows, with the number of seats per
+ * row proportional to the radius of the row, and ordered from left to right,
+ * such that the seats for the parliamentary groups can be assigned as
+ * consecutive ranges. The positions depend on the number of seats only, and are
+ * therefore calculated only once for each number of seats, and shared by all
+ * the seating plans. The coordinates are relative to a hemicycle with radius 1
+ * and its center at the origin, with the y axis pointing upwards.
+ */
+final class SeatingPlanLayout {
+    /**
+     * The radius of the empty space in the middle of the hemicycle.
+     */
+    private static final double INNER_RADIUS = 0.4D;
+    /**
+     * The size of a seat relative to the distance between the rows.
+     */
+    private static final double SEAT_SIZE_RATIO = 0.7D;
+    /**
+     * The layouts calculated so far, by number of seats.
+     */
+    private static final Memoizer<Integer, SeatingPlanLayout> LAYOUTS = new Memoizer<Integer, SeatingPlanLayout>(
+            SeatingPlanLayout::new);
+
+    /**
+     * The x coordinates of the centers of the seats, ordered from left to right.
+     */
+    private final double[] xs;
+    /**
+     * The y coordinates of the centers of the seats, ordered from left to right.
+     */
+    private final double[] ys;
+    /**
+     * The size of the seats.
+     */
+    private final double seatSize;
+
+    /**
+     * Private constructor calculating the positions of the seats for a number of
+     * seats.
+     *
+     * @param numberOfSeats The number of seats.
+     */
+    private SeatingPlanLayout(final int numberOfSeats) {
+        int numberOfRows = 1;
+        while (calculateCapacity(numberOfRows) < numberOfSeats) {
+            numberOfRows++;
+        }
+        double rowDistance = calculateRowDistance(numberOfRows);
+        seatSize = SEAT_SIZE_RATIO * rowDistance;
+        int[] seatsPerRow = distributeSeatsOverRows(numberOfSeats, numberOfRows);
+        List<double[]> seats = new ArrayList<double[]>();
+        for (int i = 0; i < numberOfRows; i++) {
+            double radius = calculateRowRadius(i, rowDistance);
+            for (int j = 0; j < seatsPerRow[i]; j++) {
+                double angle = seatsPerRow[i] == 1 ? Math.PI / 2D : Math.PI * (1D - (double) j / (seatsPerRow[i] - 1));
+                seats.add(new double[] {angle, radius});
+            }
+        }
+        seats.sort(Comparator.<double[]>comparingDouble(seat -> -seat[0]).thenComparingDouble(seat -> -seat[1]));
+        xs = new double[numberOfSeats];
+        ys = new double[numberOfSeats];
+        for (int k = 0; k < numberOfSeats; k++) {
+            double[] seat = seats.get(k);
+            xs[k] = seat[1] * Math.cos(seat[0]);
+            ys[k] = seat[1] * Math.sin(seat[0]);
+        }
+    }
+
+    /**
+     * Returns the layout for a number of seats, calculating it if it hasn't been
+     * calculated before.
+     *
+     * @param numberOfSeats The number of seats.
+     * @return The layout for the number of seats.
+     */
+    static SeatingPlanLayout forNumberOfSeats(final int numberOfSeats) {
+        return LAYOUTS.get(numberOfSeats);
+    }
+
+    /**
+     * Calculates the distance between the rows for a number of rows, such that
+     * the seats in the outer row touch the outer edge of the hemicycle, and the
+     * seats in the inner row are centered on the edge of the empty space in the
+     * middle.
+     *
+     * @param numberOfRows The number of rows.
+     * @return The distance between the rows.
+     */
+    private static double calculateRowDistance(final int numberOfRows) {
+        return (1D - INNER_RADIUS) / (numberOfRows - 1 + SEAT_SIZE_RATIO / 2D);
+    }
+
+    /**
+     * Calculates the radius of a row.
+     *
+     * @param i           The index of the row, starting with the outer row.
+     * @param rowDistance The distance between the rows.
+     * @return The radius of the row.
+     */
+    private static double calculateRowRadius(final int i, final double rowDistance) {
+        return 1D - SEAT_SIZE_RATIO * rowDistance / 2D - i * rowDistance;
+    }
+
+    /**
+     * Calculates the maximum number of seats in a row, such that the distance
+     * between the seats in the row isn't smaller than the distance between the
+     * rows.
+     *
+     * @param radius      The radius of the row.
+     * @param rowDistance The distance between the rows.
+     * @return The maximum number of seats in the row.
+     */
+    private static int calculateRowCapacity(final double radius, final double rowDistance) {
+        return (int) Math.floor(Math.PI * radius / rowDistance) + 1;
+    }
+
+    /**
+     * Calculates the maximum number of seats in a hemicycle with a number of
+     * rows.
+     *
+     * @param numberOfRows The number of rows.
+     * @return The maximum number of seats.
+     */
+    private static int calculateCapacity(final int numberOfRows) {
+        double rowDistance = calculateRowDistance(numberOfRows);
+        int capacity = 0;
+        for (int i = 0; i < numberOfRows; i++) {
+            capacity += calculateRowCapacity(calculateRowRadius(i, rowDistance), rowDistance);
+        }
+        return capacity;
+    }
+
+    /**
+     * Distributes the seats over the rows proportionally to the radius of the
+     * rows, using the highest averages method, without exceeding the capacity of
+     * the rows.
+     *
+     * @param numberOfSeats The number of seats.
+     * @param numberOfRows  The number of rows.
+     * @return The number of seats per row, starting with the outer row.
+     */
+    private static int[] distributeSeatsOverRows(final int numberOfSeats, final int numberOfRows) {
+        double rowDistance = calculateRowDistance(numberOfRows);
+        int[] seatsPerRow = new int[numberOfRows];
+        for (int k = 0; k < numberOfSeats; k++) {
+            int selectedRow = -1;
+            double highestQuotient = 0D;
+            for (int i = 0; i < numberOfRows; i++) {
+                double radius = calculateRowRadius(i, rowDistance);
+                double quotient = radius / (seatsPerRow[i] + 1);
+                if (seatsPerRow[i] < calculateRowCapacity(radius, rowDistance) && quotient > highestQuotient) {
+                    selectedRow = i;
+                    highestQuotient = quotient;
+                }
+            }
+            seatsPerRow[selectedRow]++;
+        }
+        return seatsPerRow;
+    }
+
+    /**
+     * Returns the number of seats.
+     *
+     * @return The number of seats.
+     */
+    int getNumberOfSeats() {
+        return xs.length;
+    }
+
+    /**
+     * Returns the size of the seats, i.e. the length of the sides of the squares
+     * representing the seats.
+     *
+     * @return The size of the seats.
+     */
+    double getSeatSize() {
+        return seatSize;
+    }
+
+    /**
+     * Returns the x coordinate of the center of a seat.
+     *
+     * @param k The index of the seat, counting from left to right.
+     * @return The x coordinate of the center of the seat.
+     */
+    double getX(final int k) {
+        return xs[k];
+    }
+
+    /**
+     * Returns the y coordinate of the center of a seat.
+     *
+     * @param k The index of the seat, counting from left to right.
+     * @return The y coordinate of the center of the seat.
+     */
+    double getY(final int k) {
+        return ys[k];
+    }
+}
@@ -4,34 +4,38 @@ import java.time.OffsetDateTime;
 
 /**
  * Abstract class defining the behavior of the state summary for a poll and
- * implementing common functionality.
+ * implementing common functionality. A state summary is immutable once it has
+ * been constructed.
  */
 public abstract class StateSummary {
     /**
      * Number of simulations run on the poll.
      */
-    private long numberOfSimulations;
+    private final long numberOfSimulations;
     /**
      * The timestamp for the state summary file.
      */
-    private OffsetDateTime timestamp;
+    private final OffsetDateTime timestamp;
 
     /**
-     * Returns the number of simulations run on the poll.
+     * Constructor taking the number of simulations and the timestamp as its
+     * parameters.
      *
-     * @return The number of simulations run on the poll.
+     * @param numberOfSimulations The number of simulations run on the poll.
+     * @param timestamp           The timestamp for the state summary file.
      */
-    long getNumberOfSimulations() {
-        return numberOfSimulations;
+    StateSummary(final long numberOfSimulations, final OffsetDateTime timestamp) {
+        this.numberOfSimulations = numberOfSimulations;
+        this.timestamp = timestamp;
     }
 
     /**
-     * Sets the number of simulations run on the poll.
+     * Returns the number of simulations run on the poll.
      *
-     * @param numberOfSimulations The number of simulations run on the poll.
+     * @return The number of simulations run on the poll.
      */
-    void setNumberOfSimulations(final long numberOfSimulations) {
-        this.numberOfSimulations = numberOfSimulations;
+    long getNumberOfSimulations() {
+        return numberOfSimulations;
     }
 
     /**
@@ -42,14 +46,4 @@ public abstract class StateSummary {
     OffsetDateTime getTimestamp() {
         return timestamp;
     }
-
-    /**
-     * Sets the timestamp for the state summary file.
-     *
-     * @param timestamp The timestamp for the state summary file.
-     */
-    void setTimestamp(final OffsetDateTime timestamp) {
-        this.timestamp = timestamp;
-    }
-
 }
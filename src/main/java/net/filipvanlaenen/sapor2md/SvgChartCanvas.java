@@ -0,0 +1,159 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.IOException;
+import java.util.List;
+
+import net.filipvanlaenen.tsvgj.NoneValue;
+import net.filipvanlaenen.tsvgj.Rect;
+import net.filipvanlaenen.tsvgj.Text;
+import net.filipvanlaenen.tsvgj.Transform;
+
+/**
+ * Class implementing a chart canvas rendering the chart to an SVG document,
+ * which is streamed to an appendable while the elements are being drawn.
+ */
+final class SvgChartCanvas extends ChartCanvas {
+    /**
+     * The SVG writer the document is written to.
+     */
+    private final SvgWriter writer;
+    /**
+     * The registry with the patterns for the hatchings.
+     */
+    private final HatchingPatternRegistry patternRegistry = new HatchingPatternRegistry();
+
+    /**
+     * Constructor taking the appendable to write the SVG document to as its
+     * parameter.
+     *
+     * @param out The appendable to write the SVG document to.
+     */
+    SvgChartCanvas(final Appendable out) {
+        this(new SvgWriter(out));
+    }
+
+    /**
+     * Constructor taking the SVG writer to write the SVG document to as its
+     * parameter.
+     *
+     * @param writer The SVG writer to write the SVG document to.
+     */
+    SvgChartCanvas(final SvgWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    void startDocument(final double width, final double height) throws IOException {
+        writer.startDocument(width, height);
+    }
+
+    @Override
+    void endDocument() throws IOException {
+        writer.endDocument();
+    }
+
+    @Override
+    void startGroup() throws IOException {
+        writer.startGroup();
+    }
+
+    @Override
+    void endGroup() throws IOException {
+        writer.endGroup();
+    }
+
+    /**
+     * Defines the hatchings as patterns in the definitions of the SVG document.
+     * Hatchings can only be referred to once they're defined, because the
+     * patterns get their identifiers assigned when they're defined.
+     *
+     * @param hatchings The hatchings.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    @Override
+    void defineHatchings(final List<Hatching> hatchings) throws IOException {
+        for (Hatching hatching : hatchings) {
+            patternRegistry.get(hatching);
+        }
+        writer.writeDefinitions(patternRegistry.getPatterns());
+    }
+
+    /**
+     * Splices the SVG rendering of a fragment into the SVG document, rendering it
+     * only if it hasn't been rendered for the current indentation before.
+     *
+     * @param fragment The fragment.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    @Override
+    void drawFragment(final ChartFragment fragment) throws IOException {
+        writer.writeMarkup(fragment::getSvgRendering);
+    }
+
+    @Override
+    void drawRectangle(final ChartRectangle rectangle) throws IOException {
+        Rect rect = new Rect();
+        if (rectangle.getX() != null) {
+            rect.x(rectangle.getX());
+        }
+        if (rectangle.getY() != null) {
+            rect.y(rectangle.getY());
+        }
+        if (rectangle.getWidth() != null) {
+            rect.width(rectangle.getWidth());
+        }
+        if (rectangle.getHeight() != null) {
+            rect.height(rectangle.getHeight());
+        }
+        if (rectangle.getFillColor() != null) {
+            rect.fill(rectangle.getFillColor());
+        } else if (rectangle.getFillHatching() != null) {
+            rect.fill(patternRegistry.get(rectangle.getFillHatching()));
+        }
+        if (rectangle.hasNoStroke()) {
+            rect.stroke(NoneValue.NONE);
+        } else if (rectangle.getStrokeColor() != null) {
+            rect.stroke(rectangle.getStrokeColor());
+        }
+        if (rectangle.getStrokeWidth() != null) {
+            rect.strokeWidth(rectangle.getStrokeWidth());
+        }
+        writer.writeElement(rect);
+    }
+
+    @Override
+    void drawText(final ChartText text) throws IOException {
+        Text svgText = new Text(text.getText());
+        if (text.getX() != null) {
+            svgText.x(text.getX());
+        }
+        if (text.getY() != null) {
+            svgText.y(text.getY());
+        }
+        if (text.getFontFamily() != null) {
+            svgText.fontFamily(text.getFontFamily());
+        }
+        if (text.getFontSize() != null) {
+            svgText.fontSize(text.getFontSize());
+        }
+        if (text.getFontStyle() != null) {
+            svgText.fontStyle(text.getFontStyle());
+        }
+        if (text.getFontWeight() != null) {
+            svgText.fontWeight(text.getFontWeight());
+        }
+        if (text.getTextAlign() != null) {
+            svgText.textAlign(text.getTextAlign());
+        }
+        if (text.getTextAnchor() != null) {
+            svgText.textAnchor(text.getTextAnchor());
+        }
+        if (text.getFill() != null) {
+            svgText.fill(text.getFill());
+        }
+        if (text.getRotation() != null) {
+            svgText.transform(Transform.rotate(text.getRotation()));
+        }
+        writer.writeElement(svgText);
+    }
+}
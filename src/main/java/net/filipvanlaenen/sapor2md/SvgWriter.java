@@ -0,0 +1,215 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.function.Function;
+
+import net.filipvanlaenen.tsvgj.Element;
+import net.filipvanlaenen.tsvgj.Pattern;
+import net.filipvanlaenen.tsvgj.Svg;
+
+/**
+ * Class writing an SVG document to an appendable while its elements are being
+ * produced, such that the markup for a chart never has to be held in memory as
+ * a whole. The structure of the document, i.e. the root element, the groups and
+ * the definitions, is written by the writer itself, whereas the leaf elements
+ * are serialized one by one by tsvgj. The markup is the same as the markup tsvgj
+ * would produce for the same element tree.
+ */
+final class SvgWriter {
+    /**
+     * The indentation for one level in the element tree.
+     */
+    private static final String INDENTATION = "  ";
+    /**
+     * The maximum number of decimals for numbers in attributes.
+     */
+    private static final int MAXIMUM_NUMBER_OF_DECIMALS = 6;
+    /**
+     * The SVG namespace.
+     */
+    private static final String SVG_NAMESPACE = "http://www.w3.org/2000/svg";
+
+    /**
+     * The appendable the document is written to.
+     */
+    private final Appendable out;
+    /**
+     * The SVG element with which the patterns are registered, such that they get
+     * their identifiers assigned.
+     */
+    private final Svg patternRegistry = new Svg();
+    /**
+     * The current indentation.
+     */
+    private String indentation = "";
+    /**
+     * Whether the start tag of the most recently started group still has to be
+     * written, because it isn't known yet whether the group will have children.
+     */
+    private boolean groupStartPending;
+
+    /**
+     * Constructor taking the appendable to write the document to as its
+     * parameter.
+     *
+     * @param out The appendable to write the document to.
+     */
+    SvgWriter(final Appendable out) {
+        this.out = out;
+    }
+
+    /**
+     * Constructor taking the appendable to write to and the indentation to start
+     * with as its parameters, such that a fragment of a document can be written
+     * for the place in the element tree where it will be spliced in.
+     *
+     * @param out         The appendable to write the fragment to.
+     * @param indentation The indentation to start with.
+     */
+    SvgWriter(final Appendable out, final String indentation) {
+        this.out = out;
+        this.indentation = indentation;
+    }
+
+    /**
+     * Formats a number the way tsvgj formats numbers in attributes, i.e. rounded
+     * to at most six decimals, and without trailing zeros.
+     *
+     * @param number The number to format.
+     * @return The formatted number.
+     */
+    static String formatNumber(final double number) {
+        return formatNumber(number, MAXIMUM_NUMBER_OF_DECIMALS);
+    }
+
+    /**
+     * Formats a number rounded to at most a number of decimals, and without
+     * trailing zeros.
+     *
+     * @param number   The number to format.
+     * @param decimals The maximum number of decimals.
+     * @return The formatted number.
+     */
+    static String formatNumber(final double number, final int decimals) {
+        BigDecimal rounded = new BigDecimal(number).setScale(decimals, RoundingMode.HALF_UP).stripTrailingZeros();
+        return rounded.scale() < 0 ? rounded.setScale(0).toPlainString() : rounded.toPlainString();
+    }
+
+    /**
+     * Writes the start tag of the document.
+     *
+     * @param width  The width of the document.
+     * @param height The height of the document.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    void startDocument(final double width, final double height) throws IOException {
+        String formattedWidth = formatNumber(width);
+        String formattedHeight = formatNumber(height);
+        out.append("<svg height=\"").append(formattedHeight).append("\" viewBox=\"0 0 ").append(formattedWidth)
+                .append(" ").append(formattedHeight).append("\" width=\"").append(formattedWidth)
+                .append("\" xmlns=\"").append(SVG_NAMESPACE).append("\">\n");
+        indentation = INDENTATION;
+    }
+
+    /**
+     * Writes the end tag of the document.
+     *
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    void endDocument() throws IOException {
+        indentation = "";
+        out.append("</svg>");
+    }
+
+    /**
+     * Starts a group. The start tag is only written when the first child of the
+     * group is written, such that a group without children is written as an
+     * empty element.
+     *
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    void startGroup() throws IOException {
+        writePendingGroupStart();
+        groupStartPending = true;
+    }
+
+    /**
+     * Ends the most recently started group.
+     *
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    void endGroup() throws IOException {
+        if (groupStartPending) {
+            groupStartPending = false;
+            out.append(indentation).append("<g/>\n");
+        } else {
+            indentation = indentation.substring(INDENTATION.length());
+            out.append(indentation).append("</g>\n");
+        }
+    }
+
+    /**
+     * Writes a leaf element, i.e. an element without children.
+     *
+     * @param element The element to write.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    void writeElement(final Element element) throws IOException {
+        writePendingGroupStart();
+        out.append(indentation).append(element.asString()).append("\n");
+    }
+
+    /**
+     * Writes markup that has been rendered before, e.g. a fragment shared by
+     * several documents. The markup is produced for the current indentation by
+     * the function passed as the parameter.
+     *
+     * @param markupForIndentation The function producing the markup for an
+     *                             indentation.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    void writeMarkup(final Function<String, String> markupForIndentation) throws IOException {
+        writePendingGroupStart();
+        out.append(markupForIndentation.apply(indentation));
+    }
+
+    /**
+     * Registers the patterns referred to by the elements of the document, and
+     * writes their definitions. Nothing is written if there are no patterns.
+     *
+     * @param patterns The patterns to register and write.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    void writeDefinitions(final List<Pattern> patterns) throws IOException {
+        if (patterns.isEmpty()) {
+            return;
+        }
+        writePendingGroupStart();
+        out.append(indentation).append("<defs>\n");
+        String patternIndentation = indentation + INDENTATION;
+        for (Pattern pattern : patterns) {
+            patternRegistry.registerElementForReference(pattern);
+            // Patterns hold only shapes without text, so all line breaks are between elements.
+            out.append(patternIndentation).append(pattern.asString().replace("\n", "\n" + patternIndentation))
+                    .append("\n");
+        }
+        out.append(indentation).append("</defs>\n");
+    }
+
+    /**
+     * Writes the start tag of the most recently started group if it hasn't been
+     * written yet.
+     *
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    private void writePendingGroupStart() throws IOException {
+        if (groupStartPending) {
+            groupStartPending = false;
+            out.append(indentation).append("<g>\n");
+            indentation += INDENTATION;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A table interning strings, like the names of parliamentary groups and polling
+ * firms, to small integer IDs. The IDs are assigned consecutively starting at
+ * zero, such that they can be used as indexes into arrays. Names of different
+ * kinds, like parliamentary groups on the one hand and polling firms on the
+ * other hand, should be interned in separate tables, such that arrays indexed
+ * by the IDs of one kind aren't sized by the number of symbols of the other
+ * kinds. Looking up IDs and symbols doesn't lock, such that the table can be
+ * shared between threads.
+ */
+final class SymbolTable {
+    /**
+     * The ID returned for a symbol that isn't in the table.
+     */
+    static final int NO_ID = -1;
+    /**
+     * The map holding the IDs per symbol.
+     */
+    private final Map<String, Integer> ids = new ConcurrentHashMap<String, Integer>();
+    /**
+     * The symbols, indexed by their ID.
+     */
+    private volatile String[] symbols = new String[0];
+
+    /**
+     * Returns the ID for a symbol, adding the symbol to the table if it isn't in
+     * the table yet.
+     *
+     * @param symbol The symbol.
+     * @return The ID for the symbol.
+     */
+    int intern(final String symbol) {
+        Integer id = ids.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(symbol);
+            if (id == null) {
+                String[] newSymbols = Arrays.copyOf(symbols, symbols.length + 1);
+                id = symbols.length;
+                newSymbols[id] = symbol;
+                symbols = newSymbols;
+                ids.put(symbol, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Returns the ID for a symbol, or <code>NO_ID</code> if the symbol isn't in
+     * the table.
+     *
+     * @param symbol The symbol.
+     * @return The ID for the symbol, or <code>NO_ID</code> if the symbol isn't in
+     *         the table.
+     */
+    int getId(final String symbol) {
+        return ids.getOrDefault(symbol, NO_ID);
+    }
+
+    /**
+     * Returns the symbol for an ID.
+     *
+     * @param id The ID.
+     * @return The symbol for the ID.
+     */
+    String getSymbol(final int id) {
+        return symbols[id];
+    }
+
+    /**
+     * Returns the number of symbols in the table.
+     *
+     * @return The number of symbols in the table.
+     */
+    int size() {
+        return symbols.length;
+    }
+}
@@ -1,10 +1,56 @@
 package net.filipvanlaenen.sapor2md;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Locale;
 
+/**
+ * A utility class providing services to format dates, periods and timestamps.
+ * The formatters are created once per locale and shared, and the formatted
+ * periods and timestamps are kept in small caches, because the same dates and
+ * timestamps are formatted over and over again for the items of the feeds and
+ * the charts.
+ */
 public class TimeServices {
+    /**
+     * The maximum number of formatted periods and timestamps held by each cache.
+     */
+    private static final long CACHE_CAPACITY = 4096L;
+    /**
+     * The default locale for formatting periods.
+     */
+    private static final Locale DEFAULT_LOCALE = Locale.ENGLISH;
+    /**
+     * The formatters for periods, by locale.
+     */
+    private static final Memoizer<Locale, PeriodFormatters> PERIOD_FORMATTERS =
+            new Memoizer<Locale, PeriodFormatters>(PeriodFormatters::new);
+    /**
+     * The cache with the formatted periods, keyed by the start date, the end date
+     * and the locale.
+     */
+    private static final BoundedCache<List<Object>, String> PERIODS =
+            new BoundedCache<List<Object>, String>(CACHE_CAPACITY, s -> 1L);
+    /**
+     * The cache with the timestamps formatted according to RFC 1123.
+     */
+    private static final BoundedCache<OffsetDateTime, String> RFC_1123_DATE_TIMES =
+            new BoundedCache<OffsetDateTime, String>(CACHE_CAPACITY, s -> 1L);
+    /**
+     * The cache with the timestamps formatted according to ISO 8601, including
+     * the zone if there is one.
+     */
+    private static final BoundedCache<OffsetDateTime, String> ISO_DATE_TIMES =
+            new BoundedCache<OffsetDateTime, String>(CACHE_CAPACITY, s -> 1L);
+    /**
+     * The cache with the timestamps formatted according to ISO 8601 with an
+     * offset.
+     */
+    private static final BoundedCache<OffsetDateTime, String> ISO_OFFSET_DATE_TIMES =
+            new BoundedCache<OffsetDateTime, String>(CACHE_CAPACITY, s -> 1L);
+
     private static LocalDate now;
 
     /**
@@ -18,18 +64,52 @@ public class TimeServices {
      * @return A string with the period formatted in a human-readable form.
      */
     static String formatPeriod(final LocalDate start, final LocalDate end) {
-        DateTimeFormatter dayMonthYear = DateTimeFormatter.ofPattern("d MMMM yyyy", Locale.ENGLISH);
-        DateTimeFormatter dayMonth = DateTimeFormatter.ofPattern("d MMMM", Locale.ENGLISH);
-        DateTimeFormatter day = DateTimeFormatter.ofPattern("d", Locale.ENGLISH);
-        if (start.getYear() != end.getYear()) {
-            return start.format(dayMonthYear) + "–" + end.format(dayMonthYear);
-        } else if (start.getMonth() != end.getMonth()) {
-            return start.format(dayMonth) + "–" + end.format(dayMonthYear);
-        } else if (start.getDayOfMonth() != end.getDayOfMonth()) {
-            return start.format(day) + "–" + end.format(dayMonthYear);
-        } else {
-            return start.format(dayMonthYear);
-        }
+        return formatPeriod(start, end, DEFAULT_LOCALE);
+    }
+
+    /**
+     * Formats a period, consisting of two dates, to a human-readable form in a
+     * locale. Common elements in the dates are joined as for the default locale.
+     *
+     * @param start  The start of the period.
+     * @param end    The end of the period.
+     * @param locale The locale.
+     * @return A string with the period formatted in a human-readable form.
+     */
+    static String formatPeriod(final LocalDate start, final LocalDate end, final Locale locale) {
+        return PERIODS.get(List.of(start, end, locale), k -> PERIOD_FORMATTERS.get(locale).format(start, end));
+    }
+
+    /**
+     * Formats a timestamp according to RFC 1123, as used in RSS 2.0 feeds.
+     *
+     * @param timestamp The timestamp.
+     * @return The formatted timestamp.
+     */
+    static String formatRfc1123DateTime(final OffsetDateTime timestamp) {
+        return RFC_1123_DATE_TIMES.get(timestamp, t -> t.format(DateTimeFormatter.RFC_1123_DATE_TIME));
+    }
+
+    /**
+     * Formats a timestamp according to ISO 8601, including the zone if there is
+     * one.
+     *
+     * @param timestamp The timestamp.
+     * @return The formatted timestamp.
+     */
+    static String formatIsoDateTime(final OffsetDateTime timestamp) {
+        return ISO_DATE_TIMES.get(timestamp, t -> t.format(DateTimeFormatter.ISO_DATE_TIME));
+    }
+
+    /**
+     * Formats a timestamp according to ISO 8601 with an offset, as used in Atom
+     * and JSON feeds.
+     *
+     * @param timestamp The timestamp.
+     * @return The formatted timestamp.
+     */
+    static String formatIsoOffsetDateTime(final OffsetDateTime timestamp) {
+        return ISO_OFFSET_DATE_TIMES.get(timestamp, t -> t.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
     }
 
     static void setClock(final LocalDate newNow) {
@@ -43,4 +123,52 @@ public class TimeServices {
             return now.getYear();
         }
     }
+
+    /**
+     * Class holding the formatters needed to format periods in a locale.
+     */
+    private static final class PeriodFormatters {
+        /**
+         * The formatter for the day of month, the month and the year.
+         */
+        private final DateTimeFormatter dayMonthYear;
+        /**
+         * The formatter for the day of month and the month.
+         */
+        private final DateTimeFormatter dayMonth;
+        /**
+         * The formatter for the day of month.
+         */
+        private final DateTimeFormatter day;
+
+        /**
+         * Constructor taking the locale as its parameter.
+         *
+         * @param locale The locale.
+         */
+        PeriodFormatters(final Locale locale) {
+            dayMonthYear = DateTimeFormatter.ofPattern("d MMMM yyyy", locale);
+            dayMonth = DateTimeFormatter.ofPattern("d MMMM", locale);
+            day = DateTimeFormatter.ofPattern("d", locale);
+        }
+
+        /**
+         * Formats a period, joining the common elements in the dates.
+         *
+         * @param start The start of the period.
+         * @param end   The end of the period.
+         * @return A string with the period formatted in a human-readable form.
+         */
+        String format(final LocalDate start, final LocalDate end) {
+            if (start.getYear() != end.getYear()) {
+                return start.format(dayMonthYear) + "–" + end.format(dayMonthYear);
+            } else if (start.getMonth() != end.getMonth()) {
+                return start.format(dayMonth) + "–" + end.format(dayMonthYear);
+            } else if (start.getDayOfMonth() != end.getDayOfMonth()) {
+                return start.format(day) + "–" + end.format(dayMonthYear);
+            } else {
+                return start.format(dayMonthYear);
+            }
+        }
+    }
 }
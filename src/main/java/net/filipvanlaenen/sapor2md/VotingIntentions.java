@@ -22,6 +22,21 @@ public class VotingIntentions extends ProbabilityMassFunctionCombination<Probabi
      * @param objects An array defining voting intentions.
      */
     VotingIntentions(final Object... objects) {
+        this(new SymbolTable(), objects);
+    }
+
+    /**
+     * Constructs voting intentions from an array of objects, interning the names
+     * of the parliamentary groups in a symbol table. The array has to have an even
+     * length, with each uneven element the name of a parliamentary group, and each
+     * even element a probability mass function.
+     *
+     * @param symbolTable The symbol table for the names of the parliamentary
+     *                    groups.
+     * @param objects     An array defining voting intentions.
+     */
+    VotingIntentions(final SymbolTable symbolTable, final Object... objects) {
+        super(symbolTable);
         if (objects.length % 2 == 1) {
             throw new IllegalArgumentException(
                     "The number of arguments to construct voting intentions should be even.");
@@ -36,7 +51,7 @@ public class VotingIntentions extends ProbabilityMassFunctionCombination<Probabi
                 throw new IllegalArgumentException(
                         "The uneven arguments to construct voting intentions should be probability mass functions.");
             } else {
-                getMap().put((String) key, (ProbabilityMassFunction<ProbabilityRange>) value);
+                addProbabilityMassFunction((String) key, (ProbabilityMassFunction<ProbabilityRange>) value);
             }
         }
     }
@@ -48,6 +63,19 @@ public class VotingIntentions extends ProbabilityMassFunctionCombination<Probabi
      * @return A voting intentions object.
      */
     static VotingIntentions parseFromString(final String probabilityMassFunctions) {
+        return parseFromString(probabilityMassFunctions, new SymbolTable());
+    }
+
+    /**
+     * Parses a string into a voting intentions object, interning the names of the
+     * parliamentary groups in a symbol table.
+     *
+     * @param probabilityMassFunctions A string representation of voting intentions.
+     * @param symbolTable              The symbol table for the names of the
+     *                                 parliamentary groups.
+     * @return A voting intentions object.
+     */
+    static VotingIntentions parseFromString(final String probabilityMassFunctions, final SymbolTable symbolTable) {
         List<Object> arguments = new ArrayList<Object>();
         String[] lines = probabilityMassFunctions.split("\\R");
         for (String line : lines) {
@@ -64,6 +92,6 @@ public class VotingIntentions extends ProbabilityMassFunctionCombination<Probabi
                 arguments.add(new ProbabilityMassFunction<ProbabilityRange>(pmfArguments.toArray()));
             }
         }
-        return new VotingIntentions(arguments.toArray());
+        return new VotingIntentions(symbolTable, arguments.toArray());
     }
 }
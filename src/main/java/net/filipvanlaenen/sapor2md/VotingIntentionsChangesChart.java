@@ -1,19 +1,13 @@
 package net.filipvanlaenen.sapor2md;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-
-import net.filipvanlaenen.tsvgj.G;
-import net.filipvanlaenen.tsvgj.Pattern;
-import net.filipvanlaenen.tsvgj.StructuralElement;
 
 /**
  * Class producing a voting intentions changes chart.
  */
 public class VotingIntentionsChangesChart extends HorizontalBarChart {
-    private Integer numberOfGroups;
-    private Map<String, ProbabilityMassFunction<ProbabilityRange>> votingIntentionsMap;
-
     /**
      * Constructor taking the path to the Sapor directory and the name of the poll
      * file as its parameters.
@@ -36,6 +30,19 @@ public class VotingIntentionsChangesChart extends HorizontalBarChart {
         super(directory, poll);
     }
 
+    /**
+     * Constructor taking the path to the Sapor directory, a Sapor directory and a
+     * poll as its parameters.
+     *
+     * @param directoryPath The path to the Sapor directory in which the poll
+     *                      resides.
+     * @param directory     The Sapor directory.
+     * @param poll          The poll.
+     */
+    VotingIntentionsChangesChart(final String directoryPath, final SaporDirectory directory, final Poll poll) {
+        super(directoryPath, directory, poll);
+    }
+
     /**
      * Returns the suffix for the file name for the chart.
      *
@@ -52,23 +59,15 @@ public class VotingIntentionsChangesChart extends HorizontalBarChart {
     }
 
     @Override
-    int getNumberOfGroups() {
-        if (numberOfGroups == null) {
-            numberOfGroups = getVotingIntentionsMap().size();
-        }
-        return numberOfGroups;
-    }
-
-    private Map<String, ProbabilityMassFunction<ProbabilityRange>> getVotingIntentionsMap() {
-        if (votingIntentionsMap == null) {
-            votingIntentionsMap = getPoll().getVotingIntentions().getMap();
-        }
-        return votingIntentionsMap;
+    List<Hatching> createChartContentHatchings() {
+        return Collections.emptyList(); // TODO
     }
 
     @Override
-    protected StructuralElement createChartContent(List<Pattern> chartContentPatterns) {
-        return new G(); // TODO
+    void drawChartContent(final ChartCanvas canvas) throws IOException {
+        canvas.startGroup();
+        // TODO
+        canvas.endGroup();
     }
 
     @Override
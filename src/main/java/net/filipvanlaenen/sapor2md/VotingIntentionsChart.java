@@ -1,32 +1,21 @@
 package net.filipvanlaenen.sapor2md;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 import net.filipvanlaenen.tsvgj.FontStyleValue;
 import net.filipvanlaenen.tsvgj.FontWeightValue;
-import net.filipvanlaenen.tsvgj.G;
-import net.filipvanlaenen.tsvgj.Line;
-import net.filipvanlaenen.tsvgj.Pattern;
-import net.filipvanlaenen.tsvgj.PatternUnitsValue;
-import net.filipvanlaenen.tsvgj.Rect;
-import net.filipvanlaenen.tsvgj.StructuralElement;
-import net.filipvanlaenen.tsvgj.Text;
 import net.filipvanlaenen.tsvgj.TextAlignValue;
 import net.filipvanlaenen.tsvgj.TextAnchorValue;
-import net.filipvanlaenen.tsvgj.Transform;
 
 /**
  * Class producing a voting intentions chart.
  */
 public class VotingIntentionsChart extends HorizontalBarChart {
     static final int MAX_CHOICE_WIDTH = 1000;
-    private Integer numberOfGroups;
-    private Double widestChoiceWidth;
-    private Double widestLabelWidth;
-    private Double largestValue;
-    private Map<String, ProbabilityMassFunction<ProbabilityRange>> votingIntentionsMap;
-    private List<String> sortedGroups;
 
     /**
      * Constructor taking the path to the Sapor directory and the name of the poll
@@ -50,6 +39,19 @@ public class VotingIntentionsChart extends HorizontalBarChart {
         super(directory, poll);
     }
 
+    /**
+     * Constructor taking the path to the Sapor directory, a Sapor directory and a
+     * poll as its parameters.
+     *
+     * @param directoryPath The path to the Sapor directory in which the poll
+     *                      resides.
+     * @param directory     The Sapor directory.
+     * @param poll          The poll.
+     */
+    VotingIntentionsChart(final String directoryPath, final SaporDirectory directory, final Poll poll) {
+        super(directoryPath, directory, poll);
+    }
+
     /**
      * Returns the suffix for the file name for the chart.
      *
@@ -68,76 +70,49 @@ public class VotingIntentionsChart extends HorizontalBarChart {
     }
 
     private double getWidestChoiceWidth() {
-        if (widestChoiceWidth == null) {
-            widestChoiceWidth = 0d;
-            for (String name : getVotingIntentionsMap().keySet()) {
-                double width = getLabelWidth(name, CHOICE_LABEL_FONT_SIZE);
-                if (width > widestChoiceWidth) {
-                    widestChoiceWidth = width;
-                }
-            }
-        }
-        return widestChoiceWidth;
+        return getLayout().getWidestGroupNameWidth(CHOICE_LABEL_FONT_SIZE);
     }
 
     private double getWidestLabelWidth() {
-        if (widestLabelWidth == null) {
-            widestLabelWidth = 0d;
-            for (ProbabilityMassFunction<ProbabilityRange> pmf : getVotingIntentionsMap().values()) {
-                ConfidenceInterval<ProbabilityRange> ci = pmf.getConfidenceInterval(0.95D);
-                String label = ProbabilityRange.formatConfidenceInterval("%.0f", ci);
-                double width = getLabelWidth(label, CHOICE_LABEL_FONT_SIZE);
-                if (width > widestLabelWidth) {
-                    widestLabelWidth = width;
-                }
-            }
-        }
-        return widestLabelWidth;
+        return getLayout().getWidestConfidenceIntervalLabelWidth(CHOICE_LABEL_FONT_SIZE);
     }
 
     private double getLargestValue() {
-        if (largestValue == null) {
-            largestValue = 0d;
-            for (ProbabilityMassFunction<ProbabilityRange> pmf : getVotingIntentionsMap().values()) {
-                ConfidenceInterval<ProbabilityRange> ci = pmf.getConfidenceInterval(0.95D);
-                double value = ci.getUpperBound().getUpperBound();
-                if (value > largestValue) {
-                    largestValue = value;
-                }
-            }
-            // TODO: Also go through the last results
-        }
-        return largestValue;
+        // TODO: Also go through the last results
+        return getLayout().getLargestUpperBound();
     }
 
     @Override
-    int getNumberOfGroups() {
-        if (numberOfGroups == null) {
-            numberOfGroups = getVotingIntentionsMap().size();
+    List<Hatching> createChartContentHatchings() {
+        Set<Hatching> hatchings = new LinkedHashSet<Hatching>();
+        for (int i = 0; i < getNumberOfGroups(); i++) {
+            hatchings.add(getUpperBoundHatching(i));
+            hatchings.add(getMedianHatching(i));
         }
-        return numberOfGroups;
+        return new ArrayList<Hatching>(hatchings);
     }
 
-    private Map<String, ProbabilityMassFunction<ProbabilityRange>> getVotingIntentionsMap() {
-        if (votingIntentionsMap == null) {
-            votingIntentionsMap = getPoll().getVotingIntentions().getMap();
-        }
-        return votingIntentionsMap;
+    private Hatching getUpperBoundHatching(final int i) {
+        return new Hatching(0, 45); // TODO: choice_color[choice]
+    }
+
+    private Hatching getMedianHatching(final int i) {
+        return new Hatching(0, 135); // TODO: choice_color[choice]
     }
 
     @Override
-    protected StructuralElement createChartContent(List<Pattern> chartContentPatterns) {
-        G g = new G();
-        g.addElement(createLegend(chartContentPatterns));
-        g.addElement(createGridLines());
-        g.addElement(createDataElements(chartContentPatterns));
+    void drawChartContent(final ChartCanvas canvas) throws IOException {
+        canvas.startGroup();
+        drawLegend(canvas);
+        drawGridLines(canvas);
+        drawDataElements(canvas);
         if (needsMajorityLine()) {
-            g.addElement(createMajorityLine());
+            drawMajorityLine(canvas);
         }
         if (hasThreshold()) {
-            g.addElement(createThresholdLine());
+            drawThresholdLine(canvas);
         }
-        return g;
+        canvas.endGroup();
     }
 
     private boolean hasThreshold() {
@@ -148,23 +123,24 @@ public class VotingIntentionsChart extends HorizontalBarChart {
         return false; // TODO
     }
 
-    private StructuralElement createLegend(List<Pattern> chartContentPatterns) {
-        G g = new G();
-        g.addElement(createLastResultRectangleForLegend());
-        g.addElement(createRectangleToLowerBoundForLegend());
-        g.addElement(createRectangleToMedianForLegend(chartContentPatterns));
-        g.addElement(createRectangleToUpperBoundForLegend(chartContentPatterns));
-        g.addElement(createResultLabelForLegend());
-        g.addElement(createLastResultLabelForLegend());
-        return g;
+    private void drawLegend(final ChartCanvas canvas) throws IOException {
+        canvas.startGroup();
+        canvas.drawFragment(getFragment("legend", this::createLegendElements));
+        canvas.endGroup();
+    }
+
+    private List<ChartElement> createLegendElements() {
+        return List.of(createLastResultRectangleForLegend(), createRectangleToLowerBoundForLegend(),
+                createRectangleToMedianForLegend(), createRectangleToUpperBoundForLegend(),
+                createResultLabelForLegend(), createLastResultLabelForLegend());
     }
 
-    private Rect createLastResultRectangleForLegend() {
-        return new Rect(); // TODO
+    private ChartRectangle createLastResultRectangleForLegend() {
+        return new ChartRectangle(); // TODO
     }
 
-    private Rect createRectangleToLowerBoundForLegend() {
-        Rect rect = new Rect();
+    private ChartRectangle createRectangleToLowerBoundForLegend() {
+        ChartRectangle rect = new ChartRectangle();
         rect.x(getWidth() - 13 * MARGIN);
         rect.y(getHeight() - MARGIN - SUBTITLE_FONT_SIZE * 4D / 3D - SPACE_BETWEEN_ELEMENTS - POLL_RESULT_HEIGHT / 2D);
         rect.height(POLL_RESULT_HEIGHT / 2D).width(6 * MARGIN);
@@ -172,47 +148,48 @@ public class VotingIntentionsChart extends HorizontalBarChart {
         return rect;
     }
 
-    private Rect createRectangleToMedianForLegend(List<Pattern> chartContentPatterns) {
-        return new Rect(); // TODO
+    private ChartRectangle createRectangleToMedianForLegend() {
+        return new ChartRectangle(); // TODO
     }
 
-    private Rect createRectangleToUpperBoundForLegend(List<Pattern> chartContentPatterns) {
-        return new Rect(); // TODO
+    private ChartRectangle createRectangleToUpperBoundForLegend() {
+        return new ChartRectangle(); // TODO
     }
 
-    private Text createResultLabelForLegend() {
-        return new Text(""); // TODO
+    private ChartText createResultLabelForLegend() {
+        return new ChartText(""); // TODO
     }
 
-    private Text createLastResultLabelForLegend() {
-        return new Text(""); // TODO
+    private ChartText createLastResultLabelForLegend() {
+        return new ChartText(""); // TODO
     }
 
-    private StructuralElement createGridLines() {
-        return new G();// TODO
+    private void drawGridLines(final ChartCanvas canvas) throws IOException {
+        canvas.startGroup();
+        // TODO
+        canvas.endGroup();
     }
 
-    private StructuralElement createDataElements(List<Pattern> chartContentPatterns) {
-        G g = new G();
-        int i = 0;
-        for (String group : getSortedGroups()) {
-            g.addElement(createGroupDataElements(group, i, chartContentPatterns));
-            i += 1;
+    private void drawDataElements(final ChartCanvas canvas) throws IOException {
+        canvas.startGroup();
+        for (int i = 0; i < getNumberOfGroups(); i++) {
+            drawGroupDataElements(canvas, getLayout().getGroup(i), i);
         }
-        return g;
+        canvas.endGroup();
     }
 
-    private StructuralElement createGroupDataElements(final String group, final int i,
-            List<Pattern> chartContentPatterns) {
-        G g = new G();
-        g.addElement(createGroupLabel(group, i));
-        g.addElement(createLastResultRectangle(group, i));
-        g.addElement(createLastResultLabel(group, i));
-        g.addElement(createRectangleToUpperBound(group, i, chartContentPatterns));
-        g.addElement(createRectangleToMedian(group, i, chartContentPatterns));
-        g.addElement(createRectangleToLowerBound(group, i));
-        g.addElement(createResultLabel(group, i));
-        return g;
+    private void drawGroupDataElements(final ChartCanvas canvas, final ChartLayout.Group group,
+            final int i)
+            throws IOException {
+        canvas.startGroup();
+        canvas.drawText(createGroupLabel(group, i));
+        canvas.drawRectangle(createLastResultRectangle(group, i));
+        canvas.drawText(createLastResultLabel(group, i));
+        canvas.drawRectangle(createRectangleToUpperBound(group, i));
+        canvas.drawRectangle(createRectangleToMedian(group, i));
+        canvas.drawRectangle(createRectangleToLowerBound(group, i));
+        canvas.drawText(createResultLabel(group, i));
+        canvas.endGroup();
     }
 
     private double calculateBarXProperty() {
@@ -224,60 +201,44 @@ public class VotingIntentionsChart extends HorizontalBarChart {
                 + TICKS_HEIGHT + i * (CHOICE_HEIGHT + SPACE_BETWEEN_CHOICES);
     }
 
-    private Rect createLastResultRectangle(String group, final int i) {
-        return new Rect(); // TODO
+    private ChartRectangle createLastResultRectangle(final ChartLayout.Group group, final int i) {
+        return new ChartRectangle(); // TODO
     }
 
-    private Pattern createHatchingPattern(int color, int angle) {
-        Pattern pattern = new Pattern().height(10).width(10);
-        pattern.patternUnits(PatternUnitsValue.USER_SPACE_ON_USE);
-        pattern.patternTransform(Transform.rotate(angle, 0, 0));
-        Line line = new Line().x1(0).y1(0).x2(0).y2(10).stroke(color).strokeWidth(20D / 3);
-        pattern.addElement(line);
-        return pattern;
-    }
-
-    private Rect createRectangleToUpperBound(String group, final int i, List<Pattern> chartContentPatterns) {
-        Rect rect = new Rect();
+    private ChartRectangle createRectangleToUpperBound(final ChartLayout.Group group, final int i) {
+        ChartRectangle rect = new ChartRectangle();
         rect.x(calculateBarXProperty());
         rect.y(calculateBarYProperty(i));
         rect.height(POLL_RESULT_HEIGHT);
-        double value = votingIntentionsMap.get(group).getConfidenceInterval(0.95D).getUpperBound().getUpperBound();
-        rect.width(MAX_CHOICE_WIDTH * value / getLargestValue());
-        Pattern pattern = createHatchingPattern(0, 45);// TODO: choice_color[choice]
-        chartContentPatterns.add(pattern);
-        rect.fill(pattern);
+        rect.width(MAX_CHOICE_WIDTH * group.getUpperBound() / getLargestValue());
+        rect.fill(getUpperBoundHatching(i));
         rect.stroke(0).strokeWidth(BAR_STROKE); // TODO: choice_color[choice]
         return rect;
     }
 
-    private Rect createRectangleToMedian(String group, final int i, List<Pattern> chartContentPatterns) {
-        Rect rect = new Rect();
+    private ChartRectangle createRectangleToMedian(final ChartLayout.Group group, final int i) {
+        ChartRectangle rect = new ChartRectangle();
         rect.x(calculateBarXProperty());
         rect.y(calculateBarYProperty(i));
         rect.height(POLL_RESULT_HEIGHT);
-        double value = votingIntentionsMap.get(group).getMedian().getUpperBound();
-        rect.width(MAX_CHOICE_WIDTH * value / getLargestValue());
-        Pattern pattern = createHatchingPattern(0, 135);// TODO: choice_color[choice]
-        chartContentPatterns.add(pattern);
-        rect.fill(pattern);
+        rect.width(MAX_CHOICE_WIDTH * group.getMedian() / getLargestValue());
+        rect.fill(getMedianHatching(i));
         rect.stroke(0).strokeWidth(BAR_STROKE); // TODO: choice_color[choice]
         return rect;
     }
 
-    private Rect createRectangleToLowerBound(String group, final int i) {
-        Rect rect = new Rect();
+    private ChartRectangle createRectangleToLowerBound(final ChartLayout.Group group, final int i) {
+        ChartRectangle rect = new ChartRectangle();
         rect.x(calculateBarXProperty());
         rect.y(calculateBarYProperty(i));
         rect.height(POLL_RESULT_HEIGHT);
-        double value = votingIntentionsMap.get(group).getConfidenceInterval(0.95D).getLowerBound().getUpperBound();
-        rect.width(MAX_CHOICE_WIDTH * value / getLargestValue());
+        rect.width(MAX_CHOICE_WIDTH * group.getLowerBound() / getLargestValue());
         rect.fill(0); // TODO: choice_color[choice]
         return rect;
     }
 
-    private Text createGroupLabel(String group, final int i) {
-        Text text = new Text(group);
+    private ChartText createGroupLabel(final ChartLayout.Group group, final int i) {
+        ChartText text = new ChartText(group.getName());
         text.x(MARGIN + getWidestChoiceWidth());
         double y = MARGIN + TITLE_FONT_SIZE + SPACE_BETWEEN_ELEMENTS + SUBTITLE_FONT_SIZE + SPACE_BETWEEN_ELEMENTS
                 + TICKS_HEIGHT + i * (CHOICE_HEIGHT + SPACE_BETWEEN_CHOICES) + CHOICE_HEIGHT * 2D / 3D;
@@ -289,16 +250,14 @@ public class VotingIntentionsChart extends HorizontalBarChart {
         return text;
     }
 
-    private Text createLastResultLabel(String group, final int i) {
-        return new Text(""); // TODO
+    private ChartText createLastResultLabel(final ChartLayout.Group group, final int i) {
+        return new ChartText(""); // TODO
     }
 
-    private Text createResultLabel(String group, final int i) {
-        ConfidenceInterval<ProbabilityRange> ci = votingIntentionsMap.get(group).getConfidenceInterval(0.95D);
-        String label = ProbabilityRange.formatConfidenceInterval("%.0f", ci);
-        Text text = new Text(label);
-        double value = ci.getUpperBound().getUpperBound();
-        text.x(calculateBarXProperty() + MAX_CHOICE_WIDTH * value / getLargestValue() + SPACE_BETWEEN_ELEMENTS);
+    private ChartText createResultLabel(final ChartLayout.Group group, final int i) {
+        ChartText text = new ChartText(group.getConfidenceIntervalLabel());
+        text.x(calculateBarXProperty() + MAX_CHOICE_WIDTH * group.getUpperBound() / getLargestValue()
+                + SPACE_BETWEEN_ELEMENTS);
         text.y(calculateBarYProperty(i) + POLL_RESULT_HEIGHT * 2D / 3D);
         text.fontFamily(FONT_FAMILIY).fontStyle(FontStyleValue.NORMAL).fontWeight(FontWeightValue.BOLD);
         text.fontSize(CHOICE_LABEL_FONT_SIZE); // TODO Should be in px
@@ -307,19 +266,16 @@ public class VotingIntentionsChart extends HorizontalBarChart {
         return text;
     }
 
-    private List<String> getSortedGroups() {
-        if (sortedGroups == null) {
-            sortedGroups = getPoll().getVotingIntentions().getSortedGroups();
-        }
-        return sortedGroups;
-    }
-
-    private StructuralElement createMajorityLine() {
-        return new G();// TODO
+    private void drawMajorityLine(final ChartCanvas canvas) throws IOException {
+        canvas.startGroup();
+        // TODO
+        canvas.endGroup();
     }
 
-    private StructuralElement createThresholdLine() {
-        return new G();// TODO
+    private void drawThresholdLine(final ChartCanvas canvas) throws IOException {
+        canvas.startGroup();
+        // TODO
+        canvas.endGroup();
     }
 
     @Override
@@ -0,0 +1,152 @@
+package net.filipvanlaenen.sapor2md;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A utility class providing services to encode text for inclusion in XML
+ * documents.
+ */
+public final class XmlServices {
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private XmlServices() {
+    }
+
+    /**
+     * Encodes a text string such that it can be included in an XML document as
+     * element content. The ampersand and the less-than and greater-than signs are
+     * replaced by entities. If the text doesn't contain any of these characters,
+     * the text itself is returned.
+     *
+     * @param text The text string to be encoded.
+     * @return The result of the encoding.
+     */
+    static String encode(final String text) {
+        int firstIndex = indexOfCharacterToEncode(text, 0, false);
+        if (firstIndex < 0) {
+            return text;
+        }
+        StringBuilder sb = new StringBuilder(text.length() + text.length() / 2);
+        try {
+            appendEncoded(sb, text, firstIndex, false);
+        } catch (IOException e) {
+            // A StringBuilder doesn't throw IOExceptions.
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Encodes a text string such that it can be included in an XML document as
+     * element content, and writes the result directly to an appendable. The text
+     * is scanned only once, and the parts that don't need to be encoded are
+     * appended without being copied first.
+     *
+     * @param out  The appendable to write the encoded text to.
+     * @param text The text string to be encoded.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    static void appendEncoded(final Appendable out, final String text) throws IOException {
+        appendEncoded(out, text, false);
+    }
+
+    /**
+     * Encodes a text string such that it can be included in an XML document as an
+     * attribute value between double quotes, and writes the result directly to an
+     * appendable. Besides the characters encoded in element content, the double
+     * quote is replaced by an entity too.
+     *
+     * @param out  The appendable to write the encoded text to.
+     * @param text The text string to be encoded.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    static void appendEncodedAttribute(final Appendable out, final String text) throws IOException {
+        appendEncoded(out, text, true);
+    }
+
+    /**
+     * Encodes a text string and writes the result directly to an appendable.
+     *
+     * @param out       The appendable to write the encoded text to.
+     * @param text      The text string to be encoded.
+     * @param attribute Whether the text is an attribute value.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    private static void appendEncoded(final Appendable out, final String text, final boolean attribute)
+            throws IOException {
+        int firstIndex = indexOfCharacterToEncode(text, 0, attribute);
+        if (firstIndex < 0) {
+            out.append(text);
+        } else {
+            appendEncoded(out, text, firstIndex, attribute);
+        }
+    }
+
+    /**
+     * Writes a text string encoded to an appendable, given the index of the first
+     * character that needs to be encoded.
+     *
+     * @param out        The appendable to write the encoded text to.
+     * @param text       The text string to be encoded.
+     * @param firstIndex The index of the first character that needs to be encoded.
+     * @param attribute  Whether the text is an attribute value.
+     * @throws IOException Thrown if writing to the appendable fails.
+     */
+    private static void appendEncoded(final Appendable out, final String text, final int firstIndex,
+            final boolean attribute) throws IOException {
+        int start = 0;
+        int index = firstIndex;
+        while (index >= 0) {
+            out.append(text, start, index);
+            out.append(getEntity(text.charAt(index), attribute));
+            start = index + 1;
+            index = indexOfCharacterToEncode(text, start, attribute);
+        }
+        out.append(text, start, text.length());
+    }
+
+    /**
+     * Returns the index of the first character that needs to be encoded, starting
+     * from a given index.
+     *
+     * @param text      The text string to be searched.
+     * @param fromIndex The index to start searching from.
+     * @param attribute Whether the text is an attribute value.
+     * @return The index of the first character that needs to be encoded, or -1 if
+     *         there is none.
+     */
+    private static int indexOfCharacterToEncode(final String text, final int fromIndex, final boolean attribute) {
+        for (int i = fromIndex; i < text.length(); i++) {
+            if (getEntity(text.charAt(i), attribute) != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the entity for a character that needs to be encoded.
+     *
+     * @param c         The character.
+     * @param attribute Whether the character is part of an attribute value, in
+     *                  which case the double quote needs to be encoded too.
+     * @return The entity for the character, or null if the character doesn't need
+     *         to be encoded.
+     */
+    private static String getEntity(final char c, final boolean attribute) {
+        switch (c) {
+        case '&':
+            return "&amp;";
+        case '<':
+            return "&lt;";
+        case '>':
+            return "&gt;";
+        case '"':
+            return attribute ? "&quot;" : null;
+        default:
+            return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>BoundedCache</code> class.
+ */
+public class BoundedCacheTest {
+    /**
+     * Magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * Magic number four.
+     */
+    private static final int FOUR = 4;
+    /**
+     * The cache to run the tests on, with the length of the strings as their
+     * weight.
+     */
+    private BoundedCache<Integer, String> cache;
+    /**
+     * The number of times a value has been loaded.
+     */
+    private AtomicInteger numberOfLoads;
+
+    /**
+     * Creates a cache with capacity five.
+     */
+    @BeforeEach
+    void createCache() {
+        cache = new BoundedCache<Integer, String>(THREE + 2, String::length);
+        numberOfLoads = new AtomicInteger();
+    }
+
+    /**
+     * Loads a value for a key, consisting of as many x's as the key.
+     *
+     * @param key The key.
+     * @return The value loaded for the key.
+     */
+    private String load(final Integer key) {
+        numberOfLoads.incrementAndGet();
+        return "x".repeat(key);
+    }
+
+    /**
+     * Verifying that a value is loaded on the first request.
+     */
+    @Test
+    void valueIsLoadedOnFirstRequest() {
+        assertEquals("xx", cache.get(2, this::load));
+    }
+
+    /**
+     * Verifying that a value is loaded only once if it fits in the cache.
+     */
+    @Test
+    void valueIsLoadedOnlyOnceIfItFits() {
+        cache.get(2, this::load);
+        cache.get(2, this::load);
+        assertEquals(1, numberOfLoads.get());
+    }
+
+    /**
+     * Verifying that the least recently used value is evicted when the capacity is
+     * exceeded.
+     */
+    @Test
+    void leastRecentlyUsedValueIsEvicted() {
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        cache.get(1, this::load);
+        cache.get(THREE, this::load);
+        assertFalse(cache.contains(2));
+    }
+
+    /**
+     * Verifying that the most recently used value is kept when the capacity is
+     * exceeded.
+     */
+    @Test
+    void mostRecentlyUsedValueIsKept() {
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        cache.get(1, this::load);
+        cache.get(THREE, this::load);
+        assertTrue(cache.contains(1));
+    }
+
+    /**
+     * Verifying that the total weight doesn't exceed the capacity after an
+     * eviction.
+     */
+    @Test
+    void totalWeightDoesNotExceedCapacity() {
+        cache.get(2, this::load);
+        cache.get(THREE, this::load);
+        cache.get(FOUR, this::load);
+        assertEquals(FOUR, cache.getTotalWeight());
+    }
+
+    /**
+     * Verifying that a value heavier than the capacity is still returned.
+     */
+    @Test
+    void valueHeavierThanCapacityIsReturned() {
+        assertEquals("xxxxxx", cache.get(THREE + THREE, this::load));
+    }
+}
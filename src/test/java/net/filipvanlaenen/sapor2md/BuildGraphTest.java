@@ -0,0 +1,221 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests on the <code>BuildGraph</code> class.
+ */
+public class BuildGraphTest {
+    /**
+     * A last modified time for the input file, in milliseconds since the epoch.
+     */
+    private static final long LAST_MODIFIED = 1577836800000L;
+    /**
+     * A later last modified time for the input file, in milliseconds since the
+     * epoch.
+     */
+    private static final long LATER_LAST_MODIFIED = 1577923200000L;
+    /**
+     * The name of the input file.
+     */
+    private static final String INPUT_FILE_NAME = "foo.poll";
+    /**
+     * The name of the output.
+     */
+    private static final String OUTPUT_FILE_NAME = "foo.svg";
+    /**
+     * The list with the input file for the output.
+     */
+    private static final List<String> INPUT_FILE_NAMES = List.of(INPUT_FILE_NAME);
+
+    /**
+     * The temporary directory with the input file and the output.
+     */
+    @TempDir
+    Path directoryPath;
+    /**
+     * The path to the temporary directory as a string.
+     */
+    private String directory;
+    /**
+     * The build graph to run the tests on, with the output recorded.
+     */
+    private BuildGraph buildGraph;
+
+    /**
+     * Creates an input file and an output in the temporary directory, and
+     * records the output in the build graph.
+     */
+    @BeforeEach
+    void createBuildGraph() {
+        directory = directoryPath.toString();
+        FileSystemServices.writeStringToFile("Foo", getInputFilePath());
+        new File(getInputFilePath()).setLastModified(LAST_MODIFIED);
+        FileSystemServices.writeStringToFile("<svg/>", directory + File.separator + OUTPUT_FILE_NAME);
+        buildGraph = new BuildGraph();
+        buildGraph.record(directory, OUTPUT_FILE_NAME, INPUT_FILE_NAMES);
+    }
+
+    /**
+     * Returns the path to the input file.
+     *
+     * @return The path to the input file.
+     */
+    private String getInputFilePath() {
+        return directory + File.separator + INPUT_FILE_NAME;
+    }
+
+    /**
+     * Verifies that a build graph is exported with one line per input file,
+     * sorted.
+     */
+    @Test
+    void buildGraphIsExportedCorrectly() {
+        BuildGraph parsed = BuildGraph.parseFromString("rss.xml | country.properties | 42 | 1577836800000 | abc123\n"
+                + "rss.xml | 2020-01-03-Baz.poll | 7 | 1577836800001 | def456\n");
+        assertEquals("rss.xml | 2020-01-03-Baz.poll | 7 | 1577836800001 | def456\n"
+                + "rss.xml | country.properties | 42 | 1577836800000 | abc123\n", parsed.toString());
+    }
+
+    /**
+     * Verifies that an exported build graph can be parsed again.
+     */
+    @Test
+    void exportedBuildGraphCanBeParsedAgain() {
+        assertEquals(buildGraph.toString(), BuildGraph.parseFromString(buildGraph.toString()).toString());
+    }
+
+    /**
+     * Verifies that an output is up to date if its input file didn't change.
+     */
+    @Test
+    void outputIsUpToDateIfInputFileIsUnchanged() {
+        assertTrue(buildGraph.isUpToDate(directory, OUTPUT_FILE_NAME, INPUT_FILE_NAMES));
+    }
+
+    /**
+     * Verifies that an output is up to date if its input file was only touched.
+     */
+    @Test
+    void outputIsUpToDateIfInputFileWasOnlyTouched() {
+        new File(getInputFilePath()).setLastModified(LATER_LAST_MODIFIED);
+        assertTrue(buildGraph.isUpToDate(directory, OUTPUT_FILE_NAME, INPUT_FILE_NAMES));
+    }
+
+    /**
+     * Verifies that the recorded last modified time of an input file that was
+     * only touched is updated.
+     */
+    @Test
+    void lastModifiedTimeOfTouchedInputFileIsUpdated() {
+        new File(getInputFilePath()).setLastModified(LATER_LAST_MODIFIED);
+        buildGraph.isUpToDate(directory, OUTPUT_FILE_NAME, INPUT_FILE_NAMES);
+        assertTrue(buildGraph.toString().contains(" | " + LATER_LAST_MODIFIED + " | "));
+    }
+
+    /**
+     * Verifies that an output isn't up to date if the size of its input file
+     * changed.
+     */
+    @Test
+    void outputIsNotUpToDateIfSizeOfInputFileChanged() {
+        FileSystemServices.writeStringToFile("Foobar", getInputFilePath());
+        assertFalse(buildGraph.isUpToDate(directory, OUTPUT_FILE_NAME, INPUT_FILE_NAMES));
+    }
+
+    /**
+     * Verifies that an output isn't up to date if the content of its input file
+     * changed, but not its size.
+     */
+    @Test
+    void outputIsNotUpToDateIfContentOfInputFileChanged() {
+        FileSystemServices.writeStringToFile("Bar", getInputFilePath());
+        new File(getInputFilePath()).setLastModified(LATER_LAST_MODIFIED);
+        assertFalse(buildGraph.isUpToDate(directory, OUTPUT_FILE_NAME, INPUT_FILE_NAMES));
+    }
+
+    /**
+     * Verifies that an output isn't up to date if its input file is missing.
+     */
+    @Test
+    void outputIsNotUpToDateIfInputFileIsMissing() {
+        new File(getInputFilePath()).delete();
+        assertFalse(buildGraph.isUpToDate(directory, OUTPUT_FILE_NAME, INPUT_FILE_NAMES));
+    }
+
+    /**
+     * Verifies that an output isn't up to date if it is missing.
+     */
+    @Test
+    void outputIsNotUpToDateIfOutputIsMissing() {
+        new File(directory + File.separator + OUTPUT_FILE_NAME).delete();
+        assertFalse(buildGraph.isUpToDate(directory, OUTPUT_FILE_NAME, INPUT_FILE_NAMES));
+    }
+
+    /**
+     * Verifies that an output isn't up to date if its set of input files
+     * changed.
+     */
+    @Test
+    void outputIsNotUpToDateIfSetOfInputFilesChanged() {
+        assertFalse(buildGraph.isUpToDate(directory, OUTPUT_FILE_NAME, List.of(INPUT_FILE_NAME, "foo.csv")));
+    }
+
+    /**
+     * Verifies that an output that isn't in the build graph isn't up to date.
+     */
+    @Test
+    void outputNotInBuildGraphIsNotUpToDate() {
+        FileSystemServices.writeStringToFile("<svg/>", directory + File.separator + "bar.svg");
+        assertFalse(buildGraph.isUpToDate(directory, "bar.svg", INPUT_FILE_NAMES));
+    }
+
+    /**
+     * Verifies that an input file recorded for an output that didn't change is
+     * reported as unchanged.
+     */
+    @Test
+    void recordedInputFileIsUnchanged() {
+        assertTrue(buildGraph.areUnchanged(directory, OUTPUT_FILE_NAME, INPUT_FILE_NAMES));
+    }
+
+    /**
+     * Verifies that an input file that wasn't recorded for an output isn't
+     * reported as unchanged.
+     */
+    @Test
+    void inputFileNotRecordedForOutputIsNotUnchanged() {
+        FileSystemServices.writeStringToFile("Bar", directory + File.separator + "bar.poll");
+        assertFalse(buildGraph.areUnchanged(directory, OUTPUT_FILE_NAME, List.of("bar.poll")));
+    }
+
+    /**
+     * Verifies that a timestamped input file that was only touched isn't reported
+     * as unchanged.
+     */
+    @Test
+    void touchedTimestampedInputFileIsNotUnchanged() {
+        new File(getInputFilePath()).setLastModified(LATER_LAST_MODIFIED);
+        assertFalse(buildGraph.areUnchanged(directory, OUTPUT_FILE_NAME, INPUT_FILE_NAMES, INPUT_FILE_NAMES));
+    }
+
+    /**
+     * Verifies that an output isn't up to date if a timestamped input file was
+     * only touched.
+     */
+    @Test
+    void outputIsNotUpToDateIfTimestampedInputFileWasTouched() {
+        new File(getInputFilePath()).setLastModified(LATER_LAST_MODIFIED);
+        assertFalse(buildGraph.isUpToDate(directory, OUTPUT_FILE_NAME, INPUT_FILE_NAMES, INPUT_FILE_NAMES));
+    }
+}
@@ -0,0 +1,268 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests on the <code>ChartBatch</code> class.
+ */
+public class ChartBatchTest {
+    /**
+     * Magic number six.
+     */
+    private static final int SIX = 6;
+    /**
+     * Magic number 2020, used as a year number.
+     */
+    private static final int TWO_THOUSAND_AND_TWENTY = 2020;
+    /**
+     * A background color.
+     */
+    private static final String BACKGROUND_COLOR = "#DDEEFF";
+    /**
+     * A text color.
+     */
+    private static final String TEXT_COLOR = "#112233";
+    /**
+     * Lower bound for the 95 percent confidence interval for the red party.
+     */
+    private static final double RED_PARTY_CONFIDENCE_INTERVAL_LOWER_BOUND = 0.149D;
+    /**
+     * Upper bound for the 95 percent confidence interval for the red party.
+     */
+    private static final double RED_PARTY_CONFIDENCE_INTERVAL_UPPER_BOUND = 0.195D;
+    /**
+     * Lower bound for the 95 percent confidence interval for the green party.
+     */
+    private static final double GREEN_PARTY_CONFIDENCE_INTERVAL_LOWER_BOUND = 0.100D;
+    /**
+     * Upper bound for the 95 percent confidence interval for the green party.
+     */
+    private static final double GREEN_PARTY_CONFIDENCE_INTERVAL_UPPER_BOUND = 0.140D;
+
+    /**
+     * The temporary directory the charts are written to.
+     */
+    @TempDir
+    Path directoryPath;
+    /**
+     * The Sapor directory for the tests.
+     */
+    private SaporDirectory directory;
+
+    /**
+     * Creates a Sapor directory with two polls.
+     */
+    @BeforeEach
+    void createSaporDirectory() {
+        Map<String, String> map = new HashMap<String, String>();
+        map.put(CountryProperties.NUMBER_OF_SEATS_KEY, Integer.toString(SIX));
+        map.put(CountryProperties.PARLIAMENT_NAME_KEY, "Foo Parliament");
+        map.put(CountryProperties.BACKGROUND_COLOR_KEY, BACKGROUND_COLOR);
+        map.put(CountryProperties.TEXT_COLOR_KEY, TEXT_COLOR);
+        LocalDateTime localDateTime = LocalDateTime.of(TWO_THOUSAND_AND_TWENTY, Month.JANUARY, 1, 0, 0);
+        OffsetDateTime timestamp = OffsetDateTime.of(localDateTime, ZoneOffset.of("+01:00"));
+        directory = new InMemorySaporDirectory(new InMemoryCountryProperties(map, timestamp),
+                createPoll("2020-01-02", "2020-01-03"), createPoll("2020-01-04", "2020-01-05"));
+    }
+
+    /**
+     * Creates a poll with voting intentions.
+     *
+     * @param fieldworkStart The start of the fieldwork period.
+     * @param fieldworkEnd   The end of the fieldwork period.
+     * @return A poll with voting intentions.
+     */
+    private Poll createPoll(final String fieldworkStart, final String fieldworkEnd) {
+        Map<String, String> properties = new HashMap<String, String>();
+        properties.put(Poll.POLLING_FIRM_KEY, "Baz");
+        properties.put(Poll.FIELDWORK_START_KEY, fieldworkStart);
+        properties.put(Poll.FIELDWORK_END_KEY, fieldworkEnd);
+        VotingIntentions votingIntentions = new VotingIntentions("Red Party",
+                VotingIntentionsTestServices.createProbabilityMassFunctionForConfidenceInterval(
+                        RED_PARTY_CONFIDENCE_INTERVAL_LOWER_BOUND, RED_PARTY_CONFIDENCE_INTERVAL_UPPER_BOUND),
+                "Green Party", VotingIntentionsTestServices.createProbabilityMassFunctionForConfidenceInterval(
+                        GREEN_PARTY_CONFIDENCE_INTERVAL_LOWER_BOUND, GREEN_PARTY_CONFIDENCE_INTERVAL_UPPER_BOUND));
+        return new InMemoryPoll(
+                new Poll.Builder(fieldworkEnd + "-Baz", properties).setVotingIntentions(votingIntentions));
+    }
+
+    /**
+     * Verifying that the charts are listed by poll first, and by chart type
+     * second.
+     */
+    @Test
+    void fileNamesAreListedByPollAndChartType() {
+        ChartBatch batch = new ChartBatch(directoryPath.toString(), directory, List.of(ChartType.values()),
+                List.of());
+        assertEquals(List.of("2020-01-05-Baz-seating-plan.svg", "2020-01-05-Baz-seats.svg",
+                "2020-01-05-Baz-changes.svg", "2020-01-05-Baz.svg", "2020-01-03-Baz-seating-plan.svg",
+                "2020-01-03-Baz-seats.svg", "2020-01-03-Baz-changes.svg", "2020-01-03-Baz.svg"),
+                batch.getFileNames());
+    }
+
+    /**
+     * Verifying that only the charts for the requested polls are produced.
+     */
+    @Test
+    void onlyChartsForRequestedPollsAreProduced() {
+        ChartBatch batch = new ChartBatch(directoryPath.toString(), directory, List.of(ChartType.VotingIntentionsChart),
+                List.of("2020-01-03-Baz.poll"));
+        assertEquals(List.of("2020-01-03-Baz.svg"), batch.getFileNames());
+    }
+
+    /**
+     * Verifying that requesting a poll that isn't in the Sapor directory throws
+     * an exception.
+     */
+    @Test
+    void requestingUnknownPollThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ChartBatch(directoryPath.toString(), directory,
+                List.of(ChartType.VotingIntentionsChart), List.of("2020-01-07-Baz.poll")));
+    }
+
+    /**
+     * Verifying that writing the charts concurrently writes the same charts as
+     * exporting them one by one.
+     */
+    @Test
+    void writeToFileSystemWritesSameChartsAsToString() {
+        ChartBatch batch = new ChartBatch(directoryPath.toString(), directory, List.of(ChartType.VotingIntentionsChart),
+                List.of());
+        batch.writeToFileSystem();
+        Chart chart = batch.getCharts().get(1);
+        assertEquals(chart.toString(),
+                FileSystemServices.readFileVerbatim(directoryPath.toString() + File.separator + chart.getFileName()));
+    }
+
+    /**
+     * Verifying that the charts for the same poll share their layout.
+     */
+    @Test
+    void chartsForSamePollShareLayout() {
+        ChartBatch batch = new ChartBatch(directoryPath.toString(), directory, List.of(ChartType.values()),
+                List.of("2020-01-03-Baz.poll"));
+        assertSame(batch.getCharts().get(0).getLayout(), batch.getCharts().get(1).getLayout());
+    }
+
+    /**
+     * Verifying that the charts of the same type and size for different polls
+     * share their fragments.
+     */
+    @Test
+    void chartsOfSameTypeAndSizeShareFragments() {
+        ChartBatch batch = new ChartBatch(directoryPath.toString(), directory, List.of(ChartType.VotingIntentionsChart),
+                List.of());
+        assertSame(batch.getCharts().get(0).getFragment("header", List::of),
+                batch.getCharts().get(1).getFragment("header", List::of));
+    }
+
+    /**
+     * Verifying that the file names of the charts as PNG images have the PNG
+     * extension.
+     */
+    @Test
+    void pngFileNamesHavePngExtension() {
+        ChartBatch batch = new ChartBatch(directoryPath.toString(), directory, List.of(ChartType.VotingIntentionsChart),
+                List.of("2020-01-03-Baz.poll"));
+        assertEquals(List.of("2020-01-03-Baz.png"), batch.getFileNames(ChartFormat.PNG));
+    }
+
+    /**
+     * Verifying that the file names of the charts as compact SVG documents
+     * contain the number of decimals, such that they differ from the file names
+     * of the charts as SVG documents.
+     */
+    @Test
+    void compactSvgFileNamesContainPrecision() {
+        ChartBatch batch = new ChartBatch(directoryPath.toString(), directory, List.of(ChartType.VotingIntentionsChart),
+                List.of("2020-01-03-Baz.poll"));
+        batch.setCompactSvgPrecision(2);
+        assertEquals(List.of("2020-01-03-Baz.min2.svg"), batch.getFileNames(ChartFormat.COMPACT_SVG));
+    }
+
+    /**
+     * Verifying that the charts are written as PNG images.
+     */
+    @Test
+    void writeToFileSystemWritesPngImages() {
+        ChartBatch batch = new ChartBatch(directoryPath.toString(), directory, List.of(ChartType.VotingIntentionsChart),
+                List.of("2020-01-03-Baz.poll"));
+        batch.writeToFileSystem(ChartFormat.PNG);
+        assertTrue(FileSystemServices.fileExists(directoryPath.toString() + File.separator + "2020-01-03-Baz.png"));
+    }
+
+    /**
+     * Verifying that a chart that has been written isn't written again as long
+     * as its input files don't change.
+     */
+    @Test
+    void writtenChartIsUpToDateOnNextRun() {
+        ChartBatch batch = new ChartBatch(directoryPath.toString(), directory, List.of(ChartType.VotingIntentionsChart),
+                List.of("2020-01-03-Baz.poll"));
+        BuildGraph buildGraph = new BuildGraph();
+        batch.writeToFileSystem(ChartFormat.SVG, buildGraph);
+        assertEquals(ChartBatch.UP_TO_DATE, batch.writeToFileSystem(ChartFormat.SVG, buildGraph)[0]);
+    }
+
+    /**
+     * Verifying that a chart is written if it isn't in the build graph yet.
+     */
+    @Test
+    void chartNotInBuildGraphIsWritten() {
+        ChartBatch batch = new ChartBatch(directoryPath.toString(), directory, List.of(ChartType.VotingIntentionsChart),
+                List.of("2020-01-03-Baz.poll"));
+        assertTrue(batch.writeToFileSystem(ChartFormat.SVG, new BuildGraph())[0] > 0L);
+    }
+
+    /**
+     * Verifying that a chart that isn't in the build graph is reported as
+     * outdated.
+     */
+    @Test
+    void chartNotInBuildGraphIsOutdated() {
+        ChartBatch batch = new ChartBatch(directoryPath.toString(), directory, List.of(ChartType.VotingIntentionsChart),
+                List.of("2020-01-03-Baz.poll"));
+        assertEquals(List.of("2020-01-03-Baz.svg"), batch.getOutdatedFileNames(ChartFormat.SVG, new BuildGraph()));
+    }
+
+    /**
+     * Verifying that listing the outdated charts doesn't write them.
+     */
+    @Test
+    void listingOutdatedChartsDoesNotWriteThem() {
+        ChartBatch batch = new ChartBatch(directoryPath.toString(), directory, List.of(ChartType.VotingIntentionsChart),
+                List.of("2020-01-03-Baz.poll"));
+        batch.getOutdatedFileNames(ChartFormat.SVG, new BuildGraph());
+        assertFalse(FileSystemServices.fileExists(directoryPath.toString() + File.separator + "2020-01-03-Baz.svg"));
+    }
+
+    /**
+     * Verifying that a chart that has been written isn't reported as outdated.
+     */
+    @Test
+    void writtenChartIsNotOutdated() {
+        ChartBatch batch = new ChartBatch(directoryPath.toString(), directory, List.of(ChartType.VotingIntentionsChart),
+                List.of("2020-01-03-Baz.poll"));
+        BuildGraph buildGraph = new BuildGraph();
+        batch.writeToFileSystem(ChartFormat.SVG, buildGraph);
+        assertTrue(batch.getOutdatedFileNames(ChartFormat.SVG, buildGraph).isEmpty());
+    }
+}
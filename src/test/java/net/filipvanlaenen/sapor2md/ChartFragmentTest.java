@@ -0,0 +1,96 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>ChartFragment</code> class.
+ */
+public class ChartFragmentTest {
+    /**
+     * Magic number ten.
+     */
+    private static final double TEN = 10D;
+    /**
+     * The indentation for the elements at the top level of a document.
+     */
+    private static final String INDENTATION = "  ";
+
+    /**
+     * Verifying that the SVG rendering of a fragment is the same as the elements
+     * drawn one by one.
+     */
+    @Test
+    void svgRenderingIsSameAsElementsDrawnOneByOne() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        SvgChartCanvas canvas = new SvgChartCanvas(new SvgWriter(sb, INDENTATION));
+        canvas.drawRectangle(createRectangle());
+        canvas.drawText(createText());
+        assertEquals(sb.toString(), createFragment().getSvgRendering(INDENTATION));
+    }
+
+    /**
+     * Verifying that the SVG rendering of a fragment is reused.
+     */
+    @Test
+    void svgRenderingIsReused() {
+        ChartFragment fragment = createFragment();
+        assertSame(fragment.getSvgRendering(INDENTATION), fragment.getSvgRendering(INDENTATION));
+    }
+
+    /**
+     * Verifying that an SVG canvas splices the rendering of a fragment into the
+     * document at the current indentation.
+     */
+    @Test
+    void svgCanvasSplicesFragmentAtCurrentIndentation() throws IOException {
+        StringBuilder expected = new StringBuilder();
+        SvgChartCanvas expectedCanvas = new SvgChartCanvas(expected);
+        expectedCanvas.startDocument(TEN, TEN);
+        expectedCanvas.startGroup();
+        expectedCanvas.drawRectangle(createRectangle());
+        expectedCanvas.drawText(createText());
+        expectedCanvas.endGroup();
+        expectedCanvas.endDocument();
+        StringBuilder actual = new StringBuilder();
+        SvgChartCanvas canvas = new SvgChartCanvas(actual);
+        canvas.startDocument(TEN, TEN);
+        canvas.startGroup();
+        canvas.drawFragment(createFragment());
+        canvas.endGroup();
+        canvas.endDocument();
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    /**
+     * Creates a fragment with a rectangle and a text.
+     *
+     * @return A fragment.
+     */
+    private ChartFragment createFragment() {
+        return new ChartFragment(List.of(createRectangle(), createText()));
+    }
+
+    /**
+     * Creates a rectangle.
+     *
+     * @return A rectangle.
+     */
+    private ChartRectangle createRectangle() {
+        return new ChartRectangle().x(1).y(2).width(TEN).height(TEN).fill(0);
+    }
+
+    /**
+     * Creates a text.
+     *
+     * @return A text.
+     */
+    private ChartText createText() {
+        return new ChartText("Foo & Bar").x(1).y(TEN);
+    }
+}
@@ -0,0 +1,109 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>ChartLayout</code> class.
+ */
+public class ChartLayoutTest {
+    /**
+     * A font size.
+     */
+    private static final double FONT_SIZE = 36D;
+    /**
+     * Lower bound for the 95 percent confidence interval for the red party.
+     */
+    private static final double RED_PARTY_CONFIDENCE_INTERVAL_LOWER_BOUND = 0.149D;
+    /**
+     * Upper bound for the 95 percent confidence interval for the red party.
+     */
+    private static final double RED_PARTY_CONFIDENCE_INTERVAL_UPPER_BOUND = 0.195D;
+    /**
+     * Lower bound for the 95 percent confidence interval for the green party.
+     */
+    private static final double GREEN_PARTY_CONFIDENCE_INTERVAL_LOWER_BOUND = 0.100D;
+    /**
+     * Upper bound for the 95 percent confidence interval for the green party.
+     */
+    private static final double GREEN_PARTY_CONFIDENCE_INTERVAL_UPPER_BOUND = 0.140D;
+    /**
+     * The delta for comparing doubles.
+     */
+    private static final double DELTA = 0.001D;
+
+    /**
+     * The layout to run the tests on.
+     */
+    private static ChartLayout layout;
+
+    /**
+     * Creates the layout for voting intentions for two parties, with the widths
+     * of the labels approximated with the width of the letter M.
+     */
+    @BeforeAll
+    static void createLayout() {
+        VotingIntentions votingIntentions = new VotingIntentions("Red Party",
+                VotingIntentionsTestServices.createProbabilityMassFunctionForConfidenceInterval(
+                        RED_PARTY_CONFIDENCE_INTERVAL_LOWER_BOUND, RED_PARTY_CONFIDENCE_INTERVAL_UPPER_BOUND),
+                "Green Party", VotingIntentionsTestServices.createProbabilityMassFunctionForConfidenceInterval(
+                        GREEN_PARTY_CONFIDENCE_INTERVAL_LOWER_BOUND, GREEN_PARTY_CONFIDENCE_INTERVAL_UPPER_BOUND));
+        layout = new ChartLayout(votingIntentions, GlyphAdvanceTable.createApproximation(Chart.M_WIDTH));
+    }
+
+    /**
+     * Verifying that the layout has a group for each party.
+     */
+    @Test
+    void numberOfGroupsIsNumberOfParties() {
+        assertEquals(2, layout.getNumberOfGroups());
+    }
+
+    /**
+     * Verifying that the groups are sorted.
+     */
+    @Test
+    void groupsAreSorted() {
+        assertEquals("Red Party", layout.getGroup(0).getName());
+    }
+
+    /**
+     * Verifying that the label for the confidence interval is formatted without
+     * decimals.
+     */
+    @Test
+    void confidenceIntervalLabelIsFormattedWithoutDecimals() {
+        assertEquals("10–14%", layout.getGroup(1).getConfidenceIntervalLabel());
+    }
+
+    /**
+     * Verifying that the largest upper bound is the upper bound of the confidence
+     * interval of the largest party.
+     */
+    @Test
+    void largestUpperBoundIsUpperBoundOfLargestParty() {
+        assertEquals(layout.getGroup(0).getUpperBound(), layout.getLargestUpperBound());
+    }
+
+    /**
+     * Verifying that the width of the widest group name is the width of the
+     * longest party name.
+     */
+    @Test
+    void widestGroupNameWidthIsWidthOfLongestPartyName() {
+        assertEquals(FONT_SIZE * Chart.M_WIDTH * "Green Party".length(), layout.getWidestGroupNameWidth(FONT_SIZE),
+                DELTA);
+    }
+
+    /**
+     * Verifying that the width of the widest confidence interval label is the
+     * width of the longest label.
+     */
+    @Test
+    void widestConfidenceIntervalLabelWidthIsWidthOfLongestLabel() {
+        assertEquals(FONT_SIZE * Chart.M_WIDTH * "15–20%".length(),
+                layout.getWidestConfidenceIntervalLabelWidth(FONT_SIZE), DELTA);
+    }
+}
@@ -10,9 +10,6 @@ import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
-import net.filipvanlaenen.tsvgj.Pattern;
-import net.filipvanlaenen.tsvgj.StructuralElement;
-
 /**
  * Unit tests on the <code>Chart</code> class.
  */
@@ -79,10 +76,14 @@ public class ChartTest {
             }
 
             @Override
-            protected StructuralElement createChartContent(List<Pattern> chartContentPatterns) {
+            List<Hatching> createChartContentHatchings() {
                 return null;
             }
 
+            @Override
+            void drawChartContent(final ChartCanvas canvas) {
+            }
+
             @Override
             protected double calculateContentHeight() {
                 return 0;
@@ -0,0 +1,178 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.filipvanlaenen.tsvgj.FontStyleValue;
+import net.filipvanlaenen.tsvgj.FontWeightValue;
+import net.filipvanlaenen.tsvgj.TextAlignValue;
+import net.filipvanlaenen.tsvgj.TextAnchorValue;
+
+/**
+ * Unit tests on the <code>CompactSvgChartCanvas</code> class.
+ */
+public class CompactSvgChartCanvasTest {
+    /**
+     * The width of the documents.
+     */
+    private static final double WIDTH = 100.54D;
+    /**
+     * The height of the documents.
+     */
+    private static final double HEIGHT = 50D;
+    /**
+     * A font size.
+     */
+    private static final int FONT_SIZE = 36;
+    /**
+     * A text color.
+     */
+    private static final int TEXT_COLOR = 0x112233;
+    /**
+     * Magic number ten.
+     */
+    private static final double TEN = 10D;
+    /**
+     * The start of the documents.
+     */
+    private static final String START = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100.5\" height=\"50\""
+            + " viewBox=\"0 0 100.5 50\">";
+
+    /**
+     * Verifying that a color is written in the short notation if possible.
+     */
+    @Test
+    void colorIsWrittenInShortNotationIfPossible() {
+        assertEquals("#123", CompactSvgChartCanvas.formatColor(TEXT_COLOR));
+    }
+
+    /**
+     * Verifying that a color is written in the long notation if the short
+     * notation isn't possible.
+     */
+    @Test
+    void colorIsWrittenInLongNotationIfNeeded() {
+        assertEquals("#112234", CompactSvgChartCanvas.formatColor(TEXT_COLOR + 1));
+    }
+
+    /**
+     * Verifying that the numbers are rounded to the precision of the canvas.
+     */
+    @Test
+    void numbersAreRoundedToPrecision() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        CompactSvgChartCanvas canvas = new CompactSvgChartCanvas(sb, 1);
+        canvas.startDocument(WIDTH, HEIGHT);
+        canvas.drawRectangle(new ChartRectangle().x(2D / 3D).y(1D / 3D).width(TEN).height(TEN));
+        canvas.endDocument();
+        assertEquals(START + "<rect x=\"0.7\" y=\"0.3\" width=\"10\" height=\"10\"/></svg>", sb.toString());
+    }
+
+    /**
+     * Verifying that coordinates at zero and the absence of a stroke aren't
+     * written, because they're the default values.
+     */
+    @Test
+    void defaultCoordinatesAndStrokeAreLeftOut() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        CompactSvgChartCanvas canvas = new CompactSvgChartCanvas(sb, 1);
+        canvas.startDocument(WIDTH, HEIGHT);
+        ChartRectangle rectangle = new ChartRectangle().x(0).y(0).width(WIDTH).height(HEIGHT);
+        rectangle.fill(0).noStroke();
+        canvas.drawRectangle(rectangle);
+        canvas.endDocument();
+        assertEquals(START + "<rect width=\"100.5\" height=\"50\" fill=\"#000\"/></svg>", sb.toString());
+    }
+
+    /**
+     * Verifying that empty groups, rectangles without an area and empty texts are
+     * left out.
+     */
+    @Test
+    void elementsRenderingNothingAreLeftOut() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        CompactSvgChartCanvas canvas = new CompactSvgChartCanvas(sb, 1);
+        canvas.startDocument(WIDTH, HEIGHT);
+        canvas.startGroup();
+        canvas.startGroup();
+        canvas.drawRectangle(new ChartRectangle());
+        canvas.drawText(new ChartText(""));
+        canvas.endGroup();
+        canvas.endGroup();
+        canvas.endDocument();
+        assertEquals(START + "</svg>", sb.toString());
+    }
+
+    /**
+     * Verifying that the start tags of nested groups are written when the first
+     * element in them is written.
+     */
+    @Test
+    void nestedGroupsAreWrittenWithTheirFirstElement() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        CompactSvgChartCanvas canvas = new CompactSvgChartCanvas(sb, 1);
+        canvas.startDocument(WIDTH, HEIGHT);
+        canvas.startGroup();
+        canvas.startGroup();
+        canvas.endGroup();
+        canvas.startGroup();
+        canvas.drawRectangle(new ChartRectangle().width(TEN).height(TEN));
+        canvas.endGroup();
+        canvas.endGroup();
+        canvas.endDocument();
+        assertEquals(START + "<g><g><rect width=\"10\" height=\"10\"/></g></g></svg>", sb.toString());
+    }
+
+    /**
+     * Verifying that texts with the same styling share a CSS class, and that the
+     * CSS classes are written at the end of the document.
+     */
+    @Test
+    void textsWithSameStylingShareCssClass() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        CompactSvgChartCanvas canvas = new CompactSvgChartCanvas(sb, 1);
+        canvas.startDocument(WIDTH, HEIGHT);
+        canvas.drawText(createText("Foo").x(TEN));
+        canvas.drawText(createText("Bar & Baz").y(TEN));
+        canvas.endDocument();
+        assertEquals(START + "<text class=\"t0\" x=\"10\">Foo</text><text class=\"t0\" y=\"10\">Bar &amp; Baz</text>"
+                + "<style>.t0{font-family:Lato;font-size:36px;font-weight:bold;text-anchor:end;fill:#123}</style>"
+                + "</svg>", sb.toString());
+    }
+
+    /**
+     * Verifying that a hatching is defined once, and that rectangles refer to it.
+     */
+    @Test
+    void hatchingsAreDefinedOnce() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        CompactSvgChartCanvas canvas = new CompactSvgChartCanvas(sb, 1);
+        canvas.startDocument(WIDTH, HEIGHT);
+        Hatching hatching = new Hatching(0, 45);
+        canvas.defineHatchings(List.of(hatching));
+        canvas.defineHatchings(List.of(hatching));
+        canvas.drawRectangle(new ChartRectangle().width(TEN).height(TEN).fill(hatching));
+        canvas.endDocument();
+        assertEquals(START + "<defs><pattern id=\"p1\" width=\"10\" height=\"10\" patternUnits=\"userSpaceOnUse\""
+                + " patternTransform=\"rotate(45)\"><line y2=\"10\" stroke=\"#000\" stroke-width=\"6.7\"/></pattern>"
+                + "</defs><rect width=\"10\" height=\"10\" fill=\"url(#p1)\"/></svg>", sb.toString());
+    }
+
+    /**
+     * Creates a text with the styling of the group labels, including the
+     * attributes that should be left out.
+     *
+     * @param content The content of the text.
+     * @return A text.
+     */
+    private ChartText createText(final String content) {
+        ChartText text = new ChartText(content);
+        text.fontFamily("Lato").fontSize(FONT_SIZE).fontStyle(FontStyleValue.NORMAL).fontWeight(FontWeightValue.BOLD);
+        text.textAlign(TextAlignValue.CENTER).textAnchor(TextAnchorValue.END).fill(TEXT_COLOR);
+        return text;
+    }
+}
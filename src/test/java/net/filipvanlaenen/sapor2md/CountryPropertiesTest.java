@@ -154,4 +154,49 @@ public class CountryPropertiesTest {
     void constructorWiresBackgroundColorCorrectly() {
         assertEquals(BACKGROUND_COLOR_AS_INT, countryProperties.getBackgroundColor());
     }
+
+    /**
+     * Verifying that the feed isn't archived if no archive page size is given.
+     */
+    @Test
+    void feedArchivePageSizeIsZeroByDefault() {
+        assertEquals(0, countryProperties.getFeedArchivePageSize());
+    }
+
+    /**
+     * Verifying that the feed archive page size is wired correctly from the map.
+     */
+    @Test
+    void constructorWiresFeedArchivePageSizeCorrectly() {
+        Map<String, String> map = new HashMap<String, String>();
+        map.put(CountryProperties.NUMBER_OF_SEATS_KEY, Integer.toString(SIX));
+        map.put(CountryProperties.BACKGROUND_COLOR_KEY, BACKGROUND_COLOR);
+        map.put(CountryProperties.TEXT_COLOR_KEY, TEXT_COLOR);
+        map.put(CountryProperties.FEED_ARCHIVE_PAGE_SIZE_KEY, Integer.toString(SEVEN));
+        CountryProperties otherCountryProperties = new InMemoryCountryProperties(map, null);
+        assertEquals(SEVEN, otherCountryProperties.getFeedArchivePageSize());
+    }
+
+    /**
+     * Verifying that the cache capacity is the default cache capacity if none is
+     * given.
+     */
+    @Test
+    void cacheCapacityIsDefaultCacheCapacityByDefault() {
+        assertEquals(CountryProperties.DEFAULT_CACHE_CAPACITY, countryProperties.getCacheCapacity());
+    }
+
+    /**
+     * Verifying that the cache capacity is wired correctly from the map.
+     */
+    @Test
+    void constructorWiresCacheCapacityCorrectly() {
+        Map<String, String> map = new HashMap<String, String>();
+        map.put(CountryProperties.NUMBER_OF_SEATS_KEY, Integer.toString(SIX));
+        map.put(CountryProperties.BACKGROUND_COLOR_KEY, BACKGROUND_COLOR);
+        map.put(CountryProperties.TEXT_COLOR_KEY, TEXT_COLOR);
+        map.put(CountryProperties.CACHE_CAPACITY_KEY, Integer.toString(SEVEN));
+        CountryProperties otherCountryProperties = new InMemoryCountryProperties(map, null);
+        assertEquals(SEVEN, otherCountryProperties.getCacheCapacity());
+    }
 }
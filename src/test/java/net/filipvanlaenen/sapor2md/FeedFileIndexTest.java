@@ -0,0 +1,96 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>FeedFileIndex</code> class.
+ */
+public class FeedFileIndexTest {
+    /**
+     * The header of the feed.
+     */
+    private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<rss version=\"2.0\" xmlns:dc=\"http://purl.org/dc/elements/1.1/\">\n" + "  <channel>\n"
+            + "    <title>All Registered Polls for the Foo Parliament</title>\n";
+    /**
+     * The footer of the feed.
+     */
+    private static final String FOOTER = "  </channel>\n</rss>";
+    /**
+     * The first item for the most recent poll.
+     */
+    private static final String FIRST_ITEM_BAZ = "    <item>\n      <title>Baz</title>\n"
+            + "      <link>https://bar.github.io/foo_polls/2020-01-03-Baz.html#seats</link>\n    </item>\n";
+    /**
+     * The second item for the most recent poll.
+     */
+    private static final String SECOND_ITEM_BAZ = "    <item>\n      <title>Baz</title>\n"
+            + "      <link>https://bar.github.io/foo_polls/2020-01-03-Baz.html#voting-intentions</link>\n"
+            + "    </item>\n";
+    /**
+     * The item for the older poll.
+     */
+    private static final String ITEM_QUX = "    <item>\n      <title>Qux</title>\n"
+            + "      <link>https://bar.github.io/foo_polls/2020-01-02-Qux.html#voting-intentions</link>\n"
+            + "    </item>\n";
+    /**
+     * A feed with three items for two polls.
+     */
+    private static final String FEED = HEADER + FIRST_ITEM_BAZ + SECOND_ITEM_BAZ + ITEM_QUX + FOOTER;
+
+    /**
+     * Verifying that the header is everything up to the first item.
+     */
+    @Test
+    void headerIsEverythingUpToFirstItem() {
+        assertEquals(HEADER, new FeedFileIndex(FEED).getHeader());
+    }
+
+    /**
+     * Verifying that the header of a feed without items is everything up to the
+     * end of the channel.
+     */
+    @Test
+    void headerOfEmptyFeedIsEverythingUpToEndOfChannel() {
+        assertEquals(HEADER, new FeedFileIndex(HEADER + FOOTER).getHeader());
+    }
+
+    /**
+     * Verifying that consecutive items for the same poll are grouped into a single
+     * fragment.
+     */
+    @Test
+    void consecutiveItemsForSamePollAreGroupedIntoOneFragment() {
+        assertEquals(FIRST_ITEM_BAZ + SECOND_ITEM_BAZ, new FeedFileIndex(FEED).getFragments().get("2020-01-03-Baz"));
+    }
+
+    /**
+     * Verifying that the fragments are returned in the order of the feed.
+     */
+    @Test
+    void fragmentsAreInOrderOfFeed() {
+        assertEquals(List.of("2020-01-03-Baz", "2020-01-02-Qux"),
+                List.copyOf(new FeedFileIndex(FEED).getFragments().keySet()));
+    }
+
+    /**
+     * Verifying that a feed with an item without a link to a poll isn't parsed.
+     */
+    @Test
+    void feedWithItemWithoutLinkIsNotParsed() {
+        assertFalse(new FeedFileIndex(HEADER + "    <item>\n    </item>\n" + FOOTER).isParsed());
+    }
+
+    /**
+     * Verifying that a truncated feed isn't parsed.
+     */
+    @Test
+    void truncatedFeedIsNotParsed() {
+        assertFalse(new FeedFileIndex(HEADER + FIRST_ITEM_BAZ).isParsed());
+    }
+}
@@ -0,0 +1,164 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests on the <code>FeedItemCache</code> class.
+ */
+public class FeedItemCacheTest {
+    /**
+     * The base name of the poll used in the tests.
+     */
+    private static final String BASE_NAME = "2020-01-03-Baz";
+    /**
+     * The file name of the GitHub feed.
+     */
+    private static final String GITHUB_FEED = "rss.xml";
+    /**
+     * The file name of the IFTTT feed.
+     */
+    private static final String IFTTT_FEED = "rss-ifttt.xml";
+    /**
+     * A fragment with an item.
+     */
+    private static final String FRAGMENT = "    <item>\n      <title>Foo</title>\n    </item>\n";
+    /**
+     * The file name of the JSON feed.
+     */
+    private static final String JSON_FEED = "feed.json";
+    /**
+     * A fragment with an item in the JSON feed format, which doesn't end with a
+     * newline.
+     */
+    private static final String JSON_FRAGMENT = "    {\n      \"title\": \"Foo\"\n    }";
+    /**
+     * The timestamp of the country properties.
+     */
+    private static final OffsetDateTime TIMESTAMP = OffsetDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    /**
+     * The temporary Sapor directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Writes the poll file into the temporary Sapor directory.
+     */
+    @BeforeEach
+    void createPollFile() {
+        FileSystemServices.writeStringToFile("PollingFirm=Baz\n", getPollFilePath());
+    }
+
+    /**
+     * Returns the path to the poll file in the temporary Sapor directory.
+     *
+     * @return The path to the poll file.
+     */
+    private String getPollFilePath() {
+        return directory.toString() + File.separator + FileSystemPoll.getPollFileName(BASE_NAME);
+    }
+
+    /**
+     * Verifying that a stored fragment can be retrieved.
+     */
+    @Test
+    void storedFragmentCanBeRetrieved() {
+        FeedItemCache cache = new FeedItemCache(directory.toString(), TIMESTAMP);
+        cache.putFragment(BASE_NAME, GITHUB_FEED, FRAGMENT);
+        assertEquals(FRAGMENT, cache.getFragment(BASE_NAME, GITHUB_FEED));
+    }
+
+    /**
+     * Verifying that a fragment that doesn't end with a newline is retrieved
+     * exactly as it was stored.
+     */
+    @Test
+    void fragmentWithoutTrailingNewlineCanBeRetrieved() {
+        FeedItemCache cache = new FeedItemCache(directory.toString(), TIMESTAMP);
+        cache.putFragment(BASE_NAME, JSON_FEED, JSON_FRAGMENT);
+        assertEquals(JSON_FRAGMENT, cache.getFragment(BASE_NAME, JSON_FEED));
+    }
+
+    /**
+     * Verifying that an empty fragment can be stored and retrieved.
+     */
+    @Test
+    void emptyFragmentCanBeRetrieved() {
+        FeedItemCache cache = new FeedItemCache(directory.toString(), TIMESTAMP);
+        cache.putFragment(BASE_NAME, GITHUB_FEED, "");
+        assertEquals("", cache.getFragment(BASE_NAME, GITHUB_FEED));
+    }
+
+    /**
+     * Verifying that no fragment is returned for a feed output for which no
+     * fragment was stored.
+     */
+    @Test
+    void noFragmentForOtherFeedOutput() {
+        FeedItemCache cache = new FeedItemCache(directory.toString(), TIMESTAMP);
+        cache.putFragment(BASE_NAME, GITHUB_FEED, FRAGMENT);
+        assertNull(cache.getFragment(BASE_NAME, IFTTT_FEED));
+    }
+
+    /**
+     * Verifying that a fragment is stale when the country properties have been
+     * updated.
+     */
+    @Test
+    void fragmentIsStaleAfterCountryPropertiesUpdate() {
+        new FeedItemCache(directory.toString(), TIMESTAMP).putFragment(BASE_NAME, GITHUB_FEED, FRAGMENT);
+        FeedItemCache cache = new FeedItemCache(directory.toString(), TIMESTAMP.plusDays(1));
+        assertNull(cache.getFragment(BASE_NAME, GITHUB_FEED));
+    }
+
+    /**
+     * Verifying that a fragment is stale when one of the input files of the poll
+     * has changed.
+     */
+    @Test
+    void fragmentIsStaleAfterInputFileChange() {
+        FeedItemCache cache = new FeedItemCache(directory.toString(), TIMESTAMP);
+        cache.putFragment(BASE_NAME, GITHUB_FEED, FRAGMENT);
+        FileSystemServices.writeStringToFile("PollingFirm=Qux Polling\n", getPollFilePath());
+        assertNull(cache.getFragment(BASE_NAME, GITHUB_FEED));
+    }
+
+    /**
+     * Verifying that a fragment is stale when the state summary of the poll was
+     * touched, because its last modified time is the timestamp of the items.
+     */
+    @Test
+    void fragmentIsStaleAfterStateSummaryWasTouched() {
+        String stateSummaryFilePath = directory.toString() + File.separator
+                + FileSystemStateSummary.getFileName(BASE_NAME);
+        FileSystemServices.writeStringToFile("Foo=Bar\n", stateSummaryFilePath);
+        new File(stateSummaryFilePath).setLastModified(TIMESTAMP.toInstant().toEpochMilli());
+        FeedItemCache cache = new FeedItemCache(directory.toString(), TIMESTAMP);
+        cache.putFragment(BASE_NAME, GITHUB_FEED, FRAGMENT);
+        new File(stateSummaryFilePath).setLastModified(TIMESTAMP.plusDays(1).toInstant().toEpochMilli());
+        assertNull(cache.getFragment(BASE_NAME, GITHUB_FEED));
+    }
+
+    /**
+     * Verifying that a fragment is still valid when the poll file was only
+     * touched.
+     */
+    @Test
+    void fragmentIsValidAfterPollFileWasTouched() {
+        FeedItemCache cache = new FeedItemCache(directory.toString(), TIMESTAMP);
+        cache.putFragment(BASE_NAME, GITHUB_FEED, FRAGMENT);
+        new File(getPollFilePath()).setLastModified(TIMESTAMP.toInstant().toEpochMilli());
+        assertEquals(FRAGMENT, cache.getFragment(BASE_NAME, GITHUB_FEED));
+    }
+}
@@ -0,0 +1,100 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import net.filipvanlaenen.sapor2md.RSS20Feed.RSS20FeedMode;
+
+/**
+ * Unit tests on the <code>FeedPage</code> class.
+ */
+public class FeedPageTest {
+    /**
+     * Magic number ten.
+     */
+    private static final int TEN = 10;
+    /**
+     * Magic number twenty-five.
+     */
+    private static final int TWENTY_FIVE = 25;
+    /**
+     * Magic number thirty-five.
+     */
+    private static final int THIRTY_FIVE = 35;
+
+    /**
+     * Verifying that a feed isn't archived if the archive page size is zero.
+     */
+    @Test
+    void noArchivePagesIfArchivePageSizeIsZero() {
+        assertEquals(0, FeedPage.getNumberOfArchivePages(THIRTY_FIVE, 0));
+    }
+
+    /**
+     * Verifying that the current page keeps at least one archive page worth of
+     * polls, i.e. that thirty-five polls with an archive page size of ten produce
+     * two archive pages.
+     */
+    @Test
+    void currentPageKeepsAtLeastOneArchivePageWorthOfPolls() {
+        assertEquals(2, FeedPage.getNumberOfArchivePages(THIRTY_FIVE, TEN));
+    }
+
+    /**
+     * Verifying that the current page ends where the most recent archive page
+     * starts.
+     */
+    @Test
+    void currentPageEndsWhereMostRecentArchivePageStarts() {
+        assertEquals(FeedPage.createArchivePage(2, TEN).getFromIndex(THIRTY_FIVE),
+                FeedPage.createCurrentPage(THIRTY_FIVE, TEN).getToIndex(THIRTY_FIVE));
+    }
+
+    /**
+     * Verifying that the oldest archive page starts at the oldest polls.
+     */
+    @Test
+    void oldestArchivePageHoldsOldestPolls() {
+        assertEquals(TWENTY_FIVE, FeedPage.createArchivePage(1, TEN).getToIndex(TWENTY_FIVE));
+    }
+
+    /**
+     * Verifying that an archive page holds a full archive page worth of polls.
+     */
+    @Test
+    void archivePageHoldsArchivePageSizePolls() {
+        FeedPage page = FeedPage.createArchivePage(2, TEN);
+        assertEquals(TEN, page.getToIndex(THIRTY_FIVE) - page.getFromIndex(THIRTY_FIVE));
+    }
+
+    /**
+     * Verifying that the current page of a feed that isn't archived has no
+     * history links.
+     */
+    @Test
+    void currentPageOfUnarchivedFeedHasNoHistoryLinks() {
+        assertFalse(FeedPage.createCurrentPage(THIRTY_FIVE, 0).hasHistoryLinks());
+    }
+
+    /**
+     * Verifying that the oldest archive page has history links, even though
+     * there's no archive page before it.
+     */
+    @Test
+    void oldestArchivePageHasHistoryLinks() {
+        assertTrue(FeedPage.createArchivePage(1, TEN).hasHistoryLinks());
+    }
+
+    /**
+     * Verifying that the file name of an archive page has the page number
+     * inserted before the extension.
+     */
+    @Test
+    void archivePageFileNameHasPageNumberBeforeExtension() {
+        assertEquals("rss-archive-2.xml",
+                FeedPage.createArchivePage(2, TEN).getFileName(FeedFormat.RSS20, RSS20FeedMode.GitHubFeed));
+    }
+}
@@ -0,0 +1,75 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>FileFingerprint</code> class.
+ */
+public class FileFingerprintTest {
+    /**
+     * A file size.
+     */
+    private static final long SIZE = 42L;
+    /**
+     * A last modified time.
+     */
+    private static final long LAST_MODIFIED = 1577836800000L;
+    /**
+     * A hash.
+     */
+    private static final String HASH = "abc123";
+    /**
+     * The fingerprint to run the tests on.
+     */
+    private final FileFingerprint fingerprint = new FileFingerprint(SIZE, LAST_MODIFIED, HASH);
+
+    /**
+     * Verifying that a file with the same size and last modified time is
+     * unchanged, without calculating its hash.
+     */
+    @Test
+    void fileWithSameSizeAndLastModifiedTimeIsUnchanged() {
+        assertTrue(fingerprint.isUnchanged(SIZE, LAST_MODIFIED, () -> {
+            throw new IllegalStateException("The hash shouldn't be calculated.");
+        }));
+    }
+
+    /**
+     * Verifying that a file with another size has changed.
+     */
+    @Test
+    void fileWithOtherSizeHasChanged() {
+        assertFalse(fingerprint.isUnchanged(SIZE + 1, LAST_MODIFIED, () -> HASH));
+    }
+
+    /**
+     * Verifying that a file with another last modified time but the same hash is
+     * unchanged.
+     */
+    @Test
+    void fileWithOtherLastModifiedTimeButSameHashIsUnchanged() {
+        assertTrue(fingerprint.isUnchanged(SIZE, LAST_MODIFIED + 1, () -> HASH));
+    }
+
+    /**
+     * Verifying that a file with another last modified time and another hash has
+     * changed.
+     */
+    @Test
+    void fileWithOtherLastModifiedTimeAndOtherHashHasChanged() {
+        assertFalse(fingerprint.isUnchanged(SIZE, LAST_MODIFIED + 1, () -> "def456"));
+    }
+
+    /**
+     * Verifying that the refreshed fingerprint of a file with another last
+     * modified time but the same hash carries the new last modified time.
+     */
+    @Test
+    void refreshedFingerprintCarriesNewLastModifiedTime() {
+        assertEquals(LAST_MODIFIED + 1, fingerprint.refresh(SIZE, LAST_MODIFIED + 1, () -> HASH).getLastModified());
+    }
+}
@@ -2,10 +2,18 @@ package net.filipvanlaenen.sapor2md;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Unit tests on the <code>FileSystemServices</code> class.
@@ -16,6 +24,12 @@ public class FileSystemServicesTest {
      */
     private static Map<String, String> map;
 
+    /**
+     * A temporary directory to write files to.
+     */
+    @TempDir
+    Path directory;
+
     /**
      * Creates the double mpa to run tests on.
      */
@@ -39,4 +53,110 @@ public class FileSystemServicesTest {
     void mapContainsTheProperty() {
         assertEquals("1", map.get("A"));
     }
+
+    /**
+     * Returns the path to a file in the temporary directory.
+     *
+     * @return The path to a file in the temporary directory.
+     */
+    private String getFilePath() {
+        return directory.toString() + File.separator + "foo.txt";
+    }
+
+    /**
+     * Verifies that the number of bytes written to a new file is returned.
+     */
+    @Test
+    void writingNewFileReturnsNumberOfBytesWritten() {
+        assertEquals(3L, FileSystemServices.writeToFileIfChanged(out -> out.append("Foo"), getFilePath()));
+    }
+
+    /**
+     * Verifies that writing the same content again to a file returns zero bytes
+     * written.
+     */
+    @Test
+    void writingSameContentAgainReturnsZero() {
+        FileSystemServices.writeToFileIfChanged(out -> out.append("Foo"), getFilePath());
+        assertEquals(0L, FileSystemServices.writeToFileIfChanged(out -> out.append("Foo"), getFilePath()));
+    }
+
+    /**
+     * Verifies that writing the same content again to a file doesn't change its
+     * last modified time.
+     */
+    @Test
+    void writingSameContentAgainDoesNotTouchTheFile() {
+        FileSystemServices.writeToFileIfChanged(out -> out.append("Foo"), getFilePath());
+        long lastModified = FileSystemServices.getLastModifiedMillis(getFilePath());
+        FileSystemServices.writeToFileIfChanged(out -> out.append("Foo"), getFilePath());
+        assertEquals(lastModified, FileSystemServices.getLastModifiedMillis(getFilePath()));
+    }
+
+    /**
+     * Verifies that writing other content to a file replaces its content.
+     */
+    @Test
+    void writingOtherContentReplacesTheFile() {
+        FileSystemServices.writeToFileIfChanged(out -> out.append("Foo"), getFilePath());
+        FileSystemServices.writeToFileIfChanged(out -> out.append("Bar Baz"), getFilePath());
+        assertEquals("Bar Baz\n", FileSystemServices.readFileIntoString(getFilePath()));
+    }
+
+    /**
+     * Verifies that no temporary files are left behind after writing a file.
+     */
+    @Test
+    void noTemporaryFilesAreLeftBehind() {
+        FileSystemServices.writeToFileIfChanged(out -> out.append("Foo"), getFilePath());
+        FileSystemServices.writeToFileIfChanged(out -> out.append("Foo"), getFilePath());
+        assertEquals(1, directory.toFile().list().length);
+    }
+
+    /**
+     * Verifies that writing binary content to a new file returns the number of
+     * bytes written.
+     */
+    @Test
+    void writingNewBinaryFileReturnsNumberOfBytesWritten() {
+        assertEquals(2L, FileSystemServices.writeBinaryToFileIfChanged(out -> out.write(new byte[] {0, 1}),
+                getFilePath()));
+    }
+
+    /**
+     * Verifies that writing the same binary content again returns zero.
+     */
+    @Test
+    void writingSameBinaryContentAgainReturnsZero() {
+        FileSystemServices.writeBinaryToFileIfChanged(out -> out.write(new byte[] {0, 1}), getFilePath());
+        assertEquals(0L, FileSystemServices.writeBinaryToFileIfChanged(out -> out.write(new byte[] {0, 1}),
+                getFilePath()));
+    }
+
+    /**
+     * Verifies that a file replaced with other content keeps its permissions.
+     *
+     * @throws IOException Thrown if the permissions can't be read or set.
+     */
+    @Test
+    void writingOtherContentKeepsPermissions() throws IOException {
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+        FileSystemServices.writeStringToFile("Foo", getFilePath());
+        Files.setPosixFilePermissions(Path.of(getFilePath()), permissions);
+        FileSystemServices.writeStringToFile("Bar", getFilePath());
+        assertEquals(permissions, Files.getPosixFilePermissions(Path.of(getFilePath())));
+    }
+
+    /**
+     * Verifies that a new file gets the same permissions as any other new file in
+     * the directory.
+     *
+     * @throws IOException Thrown if the permissions can't be read.
+     */
+    @Test
+    void writingNewFileGivesDefaultPermissions() throws IOException {
+        Path otherFile = Files.createFile(directory.resolve("bar.txt"));
+        FileSystemServices.writeStringToFile("Foo", getFilePath());
+        assertEquals(Files.getPosixFilePermissions(otherFile), Files.getPosixFilePermissions(Path.of(getFilePath())));
+    }
 }
@@ -0,0 +1,133 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Font;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>GlyphAdvanceTable</code> class.
+ */
+public class GlyphAdvanceTableTest {
+    /**
+     * The font size for the tests.
+     */
+    private static final double FONT_SIZE = 10D;
+    /**
+     * The precision for the comparison of widths.
+     */
+    private static final double DELTA = 0.000001D;
+    /**
+     * The font family with a bundled table in the test resources.
+     */
+    private static final String TEST_FONT_FAMILY = "Test Sans";
+    /**
+     * The advance of the letter W in the bundled table for the tests.
+     */
+    private static final double WIDE_ADVANCE = 0.9D;
+    /**
+     * The advance of the letter i in the bundled table for the tests.
+     */
+    private static final double NARROW_ADVANCE = 0.25D;
+    /**
+     * The advance of the en dash in the bundled table for the tests.
+     */
+    private static final double EN_DASH_ADVANCE = 0.5D;
+
+    /**
+     * Verifying that the width of a string in an approximation is the number of
+     * characters times the advance times the font size.
+     */
+    @Test
+    void widthInApproximationIsProportionalToLength() {
+        GlyphAdvanceTable table = GlyphAdvanceTable.createApproximation(Chart.M_WIDTH);
+        assertEquals(FONT_SIZE * Chart.M_WIDTH * "15–20%".length(), table.getWidth("15–20%", FONT_SIZE), DELTA);
+    }
+
+    /**
+     * Verifying that a font family that isn't available falls back to the
+     * approximation with the width of the letter M.
+     */
+    @Test
+    void unavailableFontFamilyFallsBackToApproximation() {
+        GlyphAdvanceTable table = GlyphAdvanceTable.forFont("No Such Font Family", true);
+        assertEquals(FONT_SIZE * Chart.M_WIDTH * "Red Party".length(), table.getWidth("Red Party", FONT_SIZE), DELTA);
+    }
+
+    /**
+     * Verifying that the glyph advance table for a font is derived only once.
+     */
+    @Test
+    void glyphAdvanceTableForFontIsDerivedOnce() {
+        assertSame(GlyphAdvanceTable.forFont("No Such Font Family", false),
+                GlyphAdvanceTable.forFont("No Such Font Family", false));
+    }
+
+    /**
+     * Verifying that a font without a bundled table is approximated with the
+     * width of the letter M, even if the font is installed.
+     */
+    @Test
+    void installedFontWithoutBundledTableIsApproximated() {
+        assertEquals(Chart.M_WIDTH, GlyphAdvanceTable.forFont("SansSerif", true).getAdvance('i'), DELTA);
+    }
+
+    /**
+     * Verifying that the advance of a glyph is read from the bundled table.
+     */
+    @Test
+    void advanceIsReadFromBundledTable() {
+        assertEquals(WIDE_ADVANCE, GlyphAdvanceTable.forFont(TEST_FONT_FAMILY, true).getAdvance('W'), DELTA);
+    }
+
+    /**
+     * Verifying that the advance of a code point outside the array is read from
+     * the bundled table.
+     */
+    @Test
+    void advanceOfCodePointOutsideArrayIsReadFromBundledTable() {
+        assertEquals(EN_DASH_ADVANCE, GlyphAdvanceTable.forFont(TEST_FONT_FAMILY, true).getAdvance('–'), DELTA);
+    }
+
+    /**
+     * Verifying that a code point missing from the bundled table is approximated
+     * with the width of the letter M.
+     */
+    @Test
+    void codePointMissingFromBundledTableIsApproximated() {
+        assertEquals(Chart.M_WIDTH, GlyphAdvanceTable.forFont(TEST_FONT_FAMILY, true).getAdvance('x'), DELTA);
+    }
+
+    /**
+     * Verifying that the width of a string is the sum of the advances in the
+     * bundled table times the font size.
+     */
+    @Test
+    void widthIsSumOfBundledAdvances() {
+        assertEquals(FONT_SIZE * (WIDE_ADVANCE + NARROW_ADVANCE),
+                GlyphAdvanceTable.forFont(TEST_FONT_FAMILY, true).getWidth("Wi", FONT_SIZE), DELTA);
+    }
+
+    /**
+     * Verifying that the name of the resource with the bundled table is derived
+     * from the font family without spaces and the weight.
+     */
+    @Test
+    void resourceNameIsDerivedFromFontFamilyAndWeight() {
+        assertEquals("glyph-advances/TestSans-Bold.psv", GlyphAdvanceTable.getResourceName(TEST_FONT_FAMILY, true));
+    }
+
+    /**
+     * Verifying that a generated table has a line with the code point in
+     * hexadecimal and the advance in em for the letter W, in the format read by
+     * the bundled tables.
+     */
+    @Test
+    void generatedTableHasLineInBundledTableFormat() {
+        String table = GlyphAdvanceTable.generateBundledTable(new Font(Font.SANS_SERIF, Font.BOLD, 1));
+        assertTrue(table.matches("(?s).*\\n0057 \\| \\d\\.\\d{4}\\n.*"));
+    }
+}
@@ -0,0 +1,68 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>HatchingPatternRegistry</code> class.
+ */
+public class HatchingPatternRegistryTest {
+    /**
+     * A color for the hatching.
+     */
+    private static final int COLOR = 0x112233;
+    /**
+     * An angle for the hatching.
+     */
+    private static final int ANGLE = 45;
+    /**
+     * Another angle for the hatching.
+     */
+    private static final int OTHER_ANGLE = 135;
+
+    /**
+     * Verifying that the same pattern is returned for the same color and angle.
+     */
+    @Test
+    void samePatternIsReturnedForSameColorAndAngle() {
+        HatchingPatternRegistry registry = new HatchingPatternRegistry();
+        assertSame(registry.get(new Hatching(COLOR, ANGLE)), registry.get(new Hatching(COLOR, ANGLE)));
+    }
+
+    /**
+     * Verifying that different patterns are returned for different angles.
+     */
+    @Test
+    void differentPatternsAreReturnedForDifferentAngles() {
+        HatchingPatternRegistry registry = new HatchingPatternRegistry();
+        assertNotSame(registry.get(new Hatching(COLOR, ANGLE)), registry.get(new Hatching(COLOR, OTHER_ANGLE)));
+    }
+
+    /**
+     * Verifying that different patterns are returned for different colors.
+     */
+    @Test
+    void differentPatternsAreReturnedForDifferentColors() {
+        HatchingPatternRegistry registry = new HatchingPatternRegistry();
+        assertNotSame(registry.get(new Hatching(COLOR, ANGLE)), registry.get(new Hatching(0, ANGLE)));
+    }
+
+    /**
+     * Verifying that each pattern is listed only once, in the order of
+     * registration.
+     */
+    @Test
+    void eachPatternIsListedOnceInOrderOfRegistration() {
+        HatchingPatternRegistry registry = new HatchingPatternRegistry();
+        registry.get(new Hatching(COLOR, OTHER_ANGLE));
+        registry.get(new Hatching(COLOR, ANGLE));
+        registry.get(new Hatching(COLOR, OTHER_ANGLE));
+        assertEquals(List.of(registry.get(new Hatching(COLOR, OTHER_ANGLE)), registry.get(new Hatching(COLOR, ANGLE))),
+                registry.getPatterns());
+    }
+}
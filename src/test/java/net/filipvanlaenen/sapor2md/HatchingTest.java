@@ -0,0 +1,49 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>Hatching</code> class.
+ */
+public class HatchingTest {
+    /**
+     * A color for the hatchings.
+     */
+    private static final int COLOR = 0x112233;
+    /**
+     * An angle for the hatchings.
+     */
+    private static final int ANGLE = 45;
+    /**
+     * Another angle for the hatchings.
+     */
+    private static final int OTHER_ANGLE = 135;
+
+    /**
+     * Verifying that hatchings with the same color and angle are equal.
+     */
+    @Test
+    void hatchingsWithSameColorAndAngleAreEqual() {
+        assertEquals(new Hatching(COLOR, ANGLE), new Hatching(COLOR, ANGLE));
+    }
+
+    /**
+     * Verifying that hatchings with the same color and angle have the same hash
+     * code.
+     */
+    @Test
+    void hatchingsWithSameColorAndAngleHaveSameHashCode() {
+        assertEquals(new Hatching(COLOR, ANGLE).hashCode(), new Hatching(COLOR, ANGLE).hashCode());
+    }
+
+    /**
+     * Verifying that hatchings with different angles aren't equal.
+     */
+    @Test
+    void hatchingsWithDifferentAnglesAreNotEqual() {
+        assertNotEquals(new Hatching(COLOR, ANGLE), new Hatching(COLOR, OTHER_ANGLE));
+    }
+}
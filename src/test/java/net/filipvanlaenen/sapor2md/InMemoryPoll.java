@@ -17,4 +17,13 @@ public final class InMemoryPoll extends Poll {
     InMemoryPoll(final String baseName, final Map<String, String> properties) {
         super(baseName, properties);
     }
+
+    /**
+     * Constructor taking a builder as the argument.
+     *
+     * @param builder The builder holding the data of the poll.
+     */
+    InMemoryPoll(final Poll.Builder builder) {
+        super(builder);
+    }
 }
@@ -1,17 +1,20 @@
 package net.filipvanlaenen.sapor2md;
 
+import java.util.Arrays;
+
 /**
  * Class implementing the <code>SaporDirectory</code> interface in memory, to be
  * used for testing purposes.
  */
 public final class InMemorySaporDirectory extends SaporDirectory {
     /**
-     * Constructor taking an instance of <code>InMemoryCountryProperties</code> as
-     * the argument.
+     * Constructor taking an instance of <code>InMemoryCountryProperties</code> and
+     * the polls as the arguments.
      *
      * @param countryProperties The country properties for the Sapor directory.
+     * @param polls             The polls in the Sapor directory.
      */
-    InMemorySaporDirectory(final CountryProperties countryProperties) {
-        super(countryProperties);
+    InMemorySaporDirectory(final CountryProperties countryProperties, final Poll... polls) {
+        super(countryProperties, new SymbolTable(), new SymbolTable(), Arrays.asList(polls));
     }
 }
@@ -1,9 +1,20 @@
 package net.filipvanlaenen.sapor2md;
 
+import java.time.OffsetDateTime;
+
 /**
  * Class implementing the abstract <code>StateSummary</code> class, but
  * in-memory, such that it can be used for testing purposes.
  */
 public final class InMemoryStateSummary extends StateSummary {
-
+    /**
+     * Constructor taking the number of simulations and the timestamp as its
+     * parameters.
+     *
+     * @param numberOfSimulations The number of simulations run on the poll.
+     * @param timestamp           The timestamp for the state summary file.
+     */
+    InMemoryStateSummary(final long numberOfSimulations, final OffsetDateTime timestamp) {
+        super(numberOfSimulations, timestamp);
+    }
 }
@@ -0,0 +1,76 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>JsonServices</code> class.
+ */
+public class JsonServicesTest {
+    /**
+     * Writes a text as a JSON string to a string builder.
+     *
+     * @param text The text to be written.
+     * @return The JSON string.
+     * @throws IOException Thrown if appending fails.
+     */
+    private static String toJsonString(final String text) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        JsonServices.appendString(sb, text);
+        return sb.toString();
+    }
+
+    /**
+     * Verifying that a text without characters to escape is only quoted.
+     *
+     * @throws IOException Thrown if appending fails.
+     */
+    @Test
+    void appendStringQuotesText() throws IOException {
+        assertEquals("\"Foo Bar\"", toJsonString("Foo Bar"));
+    }
+
+    /**
+     * Verifying that the quotation mark is escaped.
+     *
+     * @throws IOException Thrown if appending fails.
+     */
+    @Test
+    void appendStringEscapesQuotationMark() throws IOException {
+        assertEquals("\"Foo \\\"Bar\\\"\"", toJsonString("Foo \"Bar\""));
+    }
+
+    /**
+     * Verifying that the backslash is escaped.
+     *
+     * @throws IOException Thrown if appending fails.
+     */
+    @Test
+    void appendStringEscapesBackslash() throws IOException {
+        assertEquals("\"Foo\\\\Bar\"", toJsonString("Foo\\Bar"));
+    }
+
+    /**
+     * Verifying that the newline is escaped.
+     *
+     * @throws IOException Thrown if appending fails.
+     */
+    @Test
+    void appendStringEscapesNewline() throws IOException {
+        assertEquals("\"Foo\\nBar\"", toJsonString("Foo\nBar"));
+    }
+
+    /**
+     * Verifying that a control character without a short escape sequence is
+     * escaped as a Unicode escape sequence.
+     *
+     * @throws IOException Thrown if appending fails.
+     */
+    @Test
+    void appendStringEscapesControlCharacter() throws IOException {
+        assertEquals("\"Foo\\u0001Bar\"", toJsonString("Foo\u0001Bar"));
+    }
+}
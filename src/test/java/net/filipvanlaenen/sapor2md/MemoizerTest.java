@@ -0,0 +1,127 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>Memoizer</code> class.
+ */
+public class MemoizerTest {
+    /**
+     * The number of threads requesting a value at the same time.
+     */
+    private static final int NUMBER_OF_THREADS = 8;
+    /**
+     * The memoizer to run the tests on, computing the square of a number.
+     */
+    private Memoizer<Integer, Integer> memoizer;
+    /**
+     * The number of times a value has been computed.
+     */
+    private AtomicInteger numberOfComputations;
+
+    /**
+     * Creates a memoizer computing squares.
+     */
+    @BeforeEach
+    void createMemoizer() {
+        numberOfComputations = new AtomicInteger();
+        memoizer = new Memoizer<Integer, Integer>(this::square);
+    }
+
+    /**
+     * Computes the square of a number, counting the number of computations.
+     *
+     * @param n The number.
+     * @return The square of the number.
+     */
+    private Integer square(final Integer n) {
+        numberOfComputations.incrementAndGet();
+        if (n < 0) {
+            throw new IllegalArgumentException("Negative number.");
+        }
+        return n * n;
+    }
+
+    /**
+     * Verifying that the value is computed by the function.
+     */
+    @Test
+    void getReturnsComputedValue() {
+        assertEquals(9, memoizer.get(3));
+    }
+
+    /**
+     * Verifying that a value is computed only once when requested twice.
+     */
+    @Test
+    void valueIsComputedOnlyOnce() {
+        memoizer.get(3);
+        memoizer.get(3);
+        assertEquals(1, numberOfComputations.get());
+    }
+
+    /**
+     * Verifying that a value is computed only once when requested by several
+     * threads at the same time.
+     *
+     * @throws Exception Thrown if one of the threads fails.
+     */
+    @Test
+    void valueIsComputedOnlyOnceByConcurrentThreads() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+        for (int i = 0; i < NUMBER_OF_THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return memoizer.get(3);
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertEquals(1, numberOfComputations.get());
+    }
+
+    /**
+     * Verifying that an exception thrown by the function is rethrown.
+     */
+    @Test
+    void exceptionThrownByFunctionIsRethrown() {
+        assertThrows(IllegalArgumentException.class, () -> memoizer.get(-1));
+    }
+
+    /**
+     * Verifying that a failed computation isn't kept in the memoizer.
+     */
+    @Test
+    void failedComputationIsNotKept() {
+        assertThrows(IllegalArgumentException.class, () -> memoizer.get(-1));
+        assertFalse(memoizer.contains(-1));
+    }
+
+    /**
+     * Verifying that a successful computation is kept in the memoizer.
+     */
+    @Test
+    void successfulComputationIsKept() {
+        memoizer.get(2);
+        assertTrue(memoizer.contains(2));
+    }
+}
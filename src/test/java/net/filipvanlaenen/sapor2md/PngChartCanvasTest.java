@@ -0,0 +1,141 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>PngChartCanvas</code> class.
+ */
+public class PngChartCanvasTest {
+    /**
+     * The width of the images.
+     */
+    private static final double WIDTH = 40.5D;
+    /**
+     * The height of the images.
+     */
+    private static final double HEIGHT = 20D;
+    /**
+     * A fill color.
+     */
+    private static final int FILL_COLOR = 0x112233;
+    /**
+     * A background color.
+     */
+    private static final int BACKGROUND_COLOR = 0xDDEEFF;
+    /**
+     * The mask for the RGB components of a pixel.
+     */
+    private static final int RGB_MASK = 0xFFFFFF;
+    /**
+     * An angle for a hatching.
+     */
+    private static final int ANGLE = 45;
+    /**
+     * A coordinate inside the rectangles drawn on the images.
+     */
+    private static final int INSIDE = 5;
+    /**
+     * A coordinate outside the rectangles drawn on the images.
+     */
+    private static final int OUTSIDE = 15;
+    /**
+     * The size of the rectangles drawn on the images.
+     */
+    private static final double RECTANGLE_SIZE = 10D;
+
+    /**
+     * Creates a canvas with a background and a rectangle.
+     *
+     * @param rectangle The rectangle to draw on the canvas.
+     * @return A canvas with a background and the rectangle.
+     */
+    private PngChartCanvas createCanvas(final ChartRectangle rectangle) {
+        PngChartCanvas canvas = new PngChartCanvas();
+        canvas.startDocument(WIDTH, HEIGHT);
+        canvas.defineHatchings(List.of());
+        canvas.drawRectangle(new ChartRectangle().x(0).y(0).width(WIDTH).height(HEIGHT).fill(BACKGROUND_COLOR));
+        canvas.drawRectangle(rectangle);
+        canvas.endDocument();
+        return canvas;
+    }
+
+    /**
+     * Verifying that the width of the image is rounded up to whole pixels.
+     */
+    @Test
+    void widthOfImageIsRoundedUp() {
+        assertEquals(41, createCanvas(new ChartRectangle()).getImage().getWidth());
+    }
+
+    /**
+     * Verifying that a rectangle is filled with its fill color.
+     */
+    @Test
+    void rectangleIsFilledWithFillColor() {
+        PngChartCanvas canvas = createCanvas(
+                new ChartRectangle().x(0).y(0).width(RECTANGLE_SIZE).height(RECTANGLE_SIZE).fill(FILL_COLOR));
+        assertEquals(FILL_COLOR, canvas.getImage().getRGB(INSIDE, INSIDE) & RGB_MASK);
+    }
+
+    /**
+     * Verifying that nothing is drawn outside a rectangle.
+     */
+    @Test
+    void nothingIsDrawnOutsideRectangle() {
+        PngChartCanvas canvas = createCanvas(
+                new ChartRectangle().x(0).y(0).width(RECTANGLE_SIZE).height(RECTANGLE_SIZE).fill(FILL_COLOR));
+        assertEquals(BACKGROUND_COLOR, canvas.getImage().getRGB(OUTSIDE, OUTSIDE) & RGB_MASK);
+    }
+
+    /**
+     * Verifying that a rectangle without a width isn't drawn.
+     */
+    @Test
+    void rectangleWithoutWidthIsNotDrawn() {
+        PngChartCanvas canvas = createCanvas(new ChartRectangle().x(0).y(0).height(RECTANGLE_SIZE).fill(FILL_COLOR));
+        assertEquals(BACKGROUND_COLOR, canvas.getImage().getRGB(0, 0) & RGB_MASK);
+    }
+
+    /**
+     * Verifying that a hatched rectangle isn't filled completely.
+     */
+    @Test
+    void hatchedRectangleIsNotFilledCompletely() {
+        PngChartCanvas canvas = createCanvas(new ChartRectangle().x(0).y(0).width(RECTANGLE_SIZE)
+                .height(RECTANGLE_SIZE).fill(new Hatching(FILL_COLOR, ANGLE)));
+        int hatchedPixels = 0;
+        for (int x = 0; x < RECTANGLE_SIZE; x++) {
+            for (int y = 0; y < RECTANGLE_SIZE; y++) {
+                if ((canvas.getImage().getRGB(x, y) & RGB_MASK) != BACKGROUND_COLOR) {
+                    hatchedPixels++;
+                }
+            }
+        }
+        assertTrue(hatchedPixels > 0 && hatchedPixels < RECTANGLE_SIZE * RECTANGLE_SIZE);
+    }
+
+    /**
+     * Verifying that the image is encoded as a PNG file that can be decoded to
+     * an image with the same size.
+     *
+     * @throws IOException Thrown if the image can't be encoded or decoded.
+     */
+    @Test
+    void imageIsEncodedAsPng() throws IOException {
+        PngChartCanvas canvas = createCanvas(new ChartRectangle());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        canvas.writePngTo(out);
+        assertEquals(canvas.getImage().getWidth(),
+                ImageIO.read(new ByteArrayInputStream(out.toByteArray())).getWidth());
+    }
+}
@@ -84,4 +84,52 @@ public class PollTest {
     void constructorWiresFieldworkEndCorrectly() {
         assertEquals(THIRD_OF_JANUARY_2020, poll.getFieldworkEnd());
     }
+
+    /**
+     * Verifying that the size of the voting intentions chart file is wired
+     * correctly from the builder.
+     */
+    @Test
+    void builderWiresVotingIntentionsChartFileSizeCorrectly() {
+        Map<String, String> properties = new HashMap<String, String>();
+        properties.put(Poll.FIELDWORK_START_KEY, "2020-01-02");
+        properties.put(Poll.FIELDWORK_END_KEY, "2020-01-03");
+        Poll builtPoll = new InMemoryPoll(new Poll.Builder("2020-01-03-Baz", properties)
+                .setVotingIntentionsChartFileSize(TWO_THOUSAND_AND_TWENTY));
+        assertEquals(TWO_THOUSAND_AND_TWENTY, builtPoll.getVotingIntentionsChartFileSize());
+    }
+
+    /**
+     * Verifying that polls built with the same symbol table share the ID of their
+     * polling firm.
+     */
+    @Test
+    void pollsSharingSymbolTableShareIdOfPollingFirm() {
+        SymbolTable symbolTable = new SymbolTable();
+        Map<String, String> properties = new HashMap<String, String>();
+        properties.put(Poll.POLLING_FIRM_KEY, POLLING_FIRM);
+        properties.put(Poll.FIELDWORK_START_KEY, "2020-01-02");
+        properties.put(Poll.FIELDWORK_END_KEY, "2020-01-03");
+        Poll poll1 = new InMemoryPoll(new Poll.Builder("2020-01-03-Baz", properties).setSymbolTable(symbolTable));
+        Poll poll2 = new InMemoryPoll(new Poll.Builder("2020-01-04-Baz", properties).setSymbolTable(symbolTable));
+        assertEquals(poll1.getPollingFirmId(), poll2.getPollingFirmId());
+    }
+
+    /**
+     * Verifying that the names of the parliamentary groups of a poll aren't
+     * interned in the symbol table of the polling firms and commissioners.
+     */
+    @Test
+    void groupNamesAreKeptOutOfPollingFirmSymbolTable() {
+        SymbolTable symbolTable = new SymbolTable();
+        SymbolTable groupSymbolTable = new SymbolTable();
+        Map<String, String> properties = new HashMap<String, String>();
+        properties.put(Poll.POLLING_FIRM_KEY, POLLING_FIRM);
+        properties.put(Poll.FIELDWORK_START_KEY, "2020-01-02");
+        properties.put(Poll.FIELDWORK_END_KEY, "2020-01-03");
+        new InMemoryPoll(new Poll.Builder("2020-01-03-Baz", properties).setSymbolTable(symbolTable)
+                .setGroupSymbolTable(groupSymbolTable).setSeatProjection(
+                        SeatProjection.parseFromString("Choice | 0 | 1\nRed Party | 0.4 | 0.6", groupSymbolTable)));
+        assertEquals(1, symbolTable.size());
+    }
 }
@@ -1,16 +1,25 @@
 package net.filipvanlaenen.sapor2md;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import net.filipvanlaenen.sapor2md.RSS20Feed.RSS20FeedMode;
 
@@ -50,6 +59,10 @@ public class RSS20FeedTest {
      * Magic number eleven.
      */
     private static final int ELEVEN = 11;
+    /**
+     * Magic number thirty.
+     */
+    private static final int THIRTY = 30;
     /**
      * The magic number a half.
      */
@@ -99,6 +112,11 @@ public class RSS20FeedTest {
      * A text color.
      */
     private static final String TEXT_COLOR = "#112233";
+    /**
+     * A temporary directory for the tests on the file system.
+     */
+    @TempDir
+    Path directoryPath;
 
     /**
      * Creates the default in-memory country properties for the test.
@@ -111,6 +129,20 @@ public class RSS20FeedTest {
      * Creates the default in-memory country properties for the test.
      */
     CountryProperties createCountryProperties(final boolean hasTwitterTags) {
+        return createCountryProperties(hasTwitterTags, 0);
+    }
+
+    /**
+     * Creates in-memory country properties for the test with an archive page size
+     * for the feed.
+     *
+     * @param hasTwitterTags      Whether the country properties should have tags or
+     *                            not.
+     * @param feedArchivePageSize The number of polls per archive page, or zero if
+     *                            the feed shouldn't be archived.
+     * @return In-memory country properties for the test.
+     */
+    CountryProperties createCountryProperties(final boolean hasTwitterTags, final int feedArchivePageSize) {
         Map<String, String> map = new HashMap<String, String>();
         map.put(CountryProperties.NUMBER_OF_SEATS_KEY, Integer.toString(SIX));
         map.put(CountryProperties.GITHUB_DIRECTORY_URL_KEY, "https://bar.github.io/foo_polls");
@@ -120,6 +152,9 @@ public class RSS20FeedTest {
         if (hasTwitterTags) {
             map.put(CountryProperties.TWITTER_TAGS_KEY, "opinionpoll | foo");
         }
+        if (feedArchivePageSize > 0) {
+            map.put(CountryProperties.FEED_ARCHIVE_PAGE_SIZE_KEY, Integer.toString(feedArchivePageSize));
+        }
         OffsetDateTime timestamp = createDateTime(TWO_THOUSAND_AND_TWENTY, Month.JANUARY, 1, 0, 0);
         return new InMemoryCountryProperties(map, timestamp);
     }
@@ -169,11 +204,11 @@ public class RSS20FeedTest {
      */
     @Test
     void produceEmptyFeedForDirectoryWithPollThatHasNotBeenCalculated() {
-        InMemorySaporDirectory directory = new InMemorySaporDirectory(createCountryProperties());
         Map<String, String> properties = new HashMap<String, String>();
         properties.put(Poll.FIELDWORK_START_KEY, "2020-01-02");
         properties.put(Poll.FIELDWORK_END_KEY, "2020-01-03");
-        directory.addPoll(new InMemoryPoll("2020-01-03-Baz", properties));
+        InMemorySaporDirectory directory = new InMemorySaporDirectory(createCountryProperties(),
+                new InMemoryPoll("2020-01-03-Baz", properties));
         String actual = new RSS20Feed(directory, RSS20FeedMode.GitHubFeed).toString();
         StringBuilder sb = new StringBuilder();
         sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
@@ -189,6 +224,234 @@ public class RSS20FeedTest {
         assertEquals(expected, actual);
     }
 
+    /**
+     * Verifying that writing the feed to a writer produces the same content as
+     * exporting it to a string.
+     *
+     * @throws IOException Thrown if writing to the writer fails.
+     */
+    @Test
+    void writeToProducesSameContentAsToString() throws IOException {
+        RSS20Feed feed = new RSS20Feed(createDirectoryWithPolls(2), RSS20FeedMode.GitHubFeed);
+        StringWriter writer = new StringWriter();
+        feed.writeTo(writer);
+        assertEquals(feed.toString(), writer.toString());
+    }
+
+    /**
+     * Verifying that rendering the items concurrently produces the same feed as
+     * rendering them sequentially.
+     */
+    @Test
+    void parallelRenderingProducesSameFeedAsSequentialRendering() {
+        SaporDirectory directory = createDirectoryWithPolls(THIRTY, createPoll(1, TWO_THOUSAND_AND_NINETEEN));
+        RSS20Feed sequentialFeed = new RSS20Feed(directory, RSS20FeedMode.GitHubFeed);
+        sequentialFeed.setParallelRendering(false);
+        assertEquals(sequentialFeed.toString(), new RSS20Feed(directory, RSS20FeedMode.GitHubFeed).toString());
+    }
+
+    /**
+     * Verifying that writing the feed in both modes in a single pass produces the
+     * same GitHub feed as writing it in the GitHub mode only.
+     *
+     * @throws IOException Thrown if writing to the writers fails.
+     */
+    @Test
+    void writeToInBothModesProducesSameGitHubFeedAsSingleMode() throws IOException {
+        SaporDirectory directory = createDirectoryWithPolls(TEN, createPoll(1, TWO_THOUSAND_AND_NINETEEN));
+        RSS20Feed feed = new RSS20Feed(directory, RSS20FeedMode.GitHubFeed, RSS20FeedMode.IftttFeed);
+        List<StringWriter> writers = Arrays.asList(new StringWriter(), new StringWriter());
+        feed.writeTo(writers);
+        assertEquals(new RSS20Feed(directory, RSS20FeedMode.GitHubFeed).toString(), writers.get(0).toString());
+    }
+
+    /**
+     * Verifying that writing the feed in both modes in a single pass produces the
+     * same IFTTT feed as writing it in the IFTTT mode only.
+     *
+     * @throws IOException Thrown if writing to the writers fails.
+     */
+    @Test
+    void writeToInBothModesProducesSameIftttFeedAsSingleMode() throws IOException {
+        SaporDirectory directory = createDirectoryWithPolls(TEN, createPoll(1, TWO_THOUSAND_AND_NINETEEN));
+        RSS20Feed feed = new RSS20Feed(directory, RSS20FeedMode.GitHubFeed, RSS20FeedMode.IftttFeed);
+        List<StringWriter> writers = Arrays.asList(new StringWriter(), new StringWriter());
+        feed.writeTo(writers);
+        assertEquals(new RSS20Feed(directory, RSS20FeedMode.IftttFeed).toString(), writers.get(1).toString());
+    }
+
+    /**
+     * Verifying that writing the feed in RSS 2.0 and Atom 1.0 in a single pass
+     * produces the same RSS 2.0 feed as writing it in RSS 2.0 only.
+     *
+     * @throws IOException Thrown if writing to the writers fails.
+     */
+    @Test
+    void writeToInTwoFormatsProducesSameRssFeedAsSingleFormat() throws IOException {
+        SaporDirectory directory = createDirectoryWithPolls(TEN, createPoll(1, TWO_THOUSAND_AND_NINETEEN));
+        RSS20Feed feed = new RSS20Feed(directory, List.of(FeedFormat.RSS20, FeedFormat.Atom10),
+                RSS20FeedMode.GitHubFeed);
+        List<StringWriter> writers = Arrays.asList(new StringWriter(), new StringWriter());
+        feed.writeTo(writers);
+        assertEquals(new RSS20Feed(directory, RSS20FeedMode.GitHubFeed).toString(), writers.get(0).toString());
+    }
+
+    /**
+     * Verifying that the file names of the feeds are listed mode by mode, and
+     * format by format within a mode.
+     */
+    @Test
+    void fileNamesAreListedByModeAndFormat() {
+        RSS20Feed feed = new RSS20Feed(createDirectoryWithPolls(1),
+                List.of(FeedFormat.RSS20, FeedFormat.Atom10, FeedFormat.JsonFeed11), RSS20FeedMode.values());
+        assertEquals(List.of("rss.xml", "atom.xml", "feed.json", "rss-ifttt.xml", "atom-ifttt.xml", "feed-ifttt.json"),
+                feed.getFileNames());
+    }
+
+    /**
+     * Verifying that an empty JSON feed is produced for a directory with no poll
+     * files.
+     */
+    @Test
+    void produceEmptyJsonFeedForDirectoryWithNoPolls() {
+        SaporDirectory directory = new InMemorySaporDirectory(createCountryProperties());
+        String actual = new RSS20Feed(directory, List.of(FeedFormat.JsonFeed11), RSS20FeedMode.GitHubFeed)
+                .toString();
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"version\": \"https://jsonfeed.org/version/1.1\",\n");
+        sb.append("  \"title\": \"All Registered Polls for the Foo Parliament\",\n");
+        sb.append("  \"description\": \"All Registered Polls for the Foo Parliament\",\n");
+        sb.append("  \"home_page_url\": \"https://bar.github.io/foo_polls\",\n");
+        sb.append("  \"feed_url\": \"https://bar.github.io/foo_polls/feed.json\",\n");
+        sb.append("  \"items\": [\n");
+        sb.append("\n  ]\n");
+        sb.append("}");
+        assertEquals(sb.toString(), actual);
+    }
+
+    /**
+     * Verifying that the items of a JSON feed are separated by commas, such that
+     * ten polls with a voting intentions item each produce nine separators.
+     */
+    @Test
+    void jsonFeedSeparatesItemsWithCommas() {
+        String actual = new RSS20Feed(createDirectoryWithPolls(TEN), List.of(FeedFormat.JsonFeed11),
+                RSS20FeedMode.GitHubFeed).toString();
+        assertEquals(TEN - 1, actual.split("    },\n    \\{", -1).length - 1);
+    }
+
+    /**
+     * Verifying that the current page of an archived feed only holds the polls
+     * that haven't been archived yet, i.e. for thirty polls and an archive page
+     * size of ten, the ten most recent polls.
+     */
+    @Test
+    void currentPageOfArchivedFeedHoldsRecentPollsOnly() {
+        String archived = new RSS20Feed(createArchivedDirectoryWithPolls(THIRTY, TEN), RSS20FeedMode.GitHubFeed)
+                .toString();
+        String unarchived = new RSS20Feed(createDirectoryWithPolls(TEN), RSS20FeedMode.GitHubFeed).toString();
+        assertEquals(unarchived.split("<item>", -1).length, archived.split("<item>", -1).length);
+    }
+
+    /**
+     * Verifying that the current page of an archived feed links to the most
+     * recent archive page.
+     */
+    @Test
+    void currentPageOfArchivedFeedLinksToMostRecentArchivePage() {
+        String archived = new RSS20Feed(createArchivedDirectoryWithPolls(THIRTY, TEN), RSS20FeedMode.GitHubFeed)
+                .toString();
+        assertTrue(archived.contains(
+                "    <atom:link rel=\"prev-archive\" href=\"https://bar.github.io/foo_polls/rss-archive-2.xml\"/>\n"));
+    }
+
+    /**
+     * Verifying that archive pages are only listed for the archivable modes.
+     */
+    @Test
+    void archivePagesAreListedForArchivableModesOnly() {
+        RSS20Feed feed = new RSS20Feed(createArchivedDirectoryWithPolls(THIRTY, TEN), RSS20FeedMode.GitHubFeed,
+                RSS20FeedMode.IftttFeed);
+        assertEquals(List.of("rss-archive-1.xml", "rss-archive-2.xml"),
+                new ArrayList<String>(feed.getArchivePages().keySet()));
+    }
+
+    /**
+     * Verifying that an archive page is produced from the country properties and
+     * the input files of the polls on the page only.
+     */
+    @Test
+    void archivePageIsProducedFromItsPollsOnly() {
+        RSS20Feed feed = new RSS20Feed(createArchivedDirectoryWithPolls(THIRTY, TEN), RSS20FeedMode.GitHubFeed);
+        assertEquals(1 + TEN * FileSystemPoll.getInputFileNames("2020-01-01-Baz").size(),
+                feed.getArchivePages().get("rss-archive-1.xml").size());
+    }
+
+    /**
+     * Writes a poll with its state summary and probabilities to the temporary
+     * directory.
+     *
+     * @param fieldworkEnd The end date of the fieldwork of the poll.
+     * @param pollingFirm  The name of the polling firm.
+     */
+    private void writePollToTemporaryDirectory(final String fieldworkEnd, final String pollingFirm) {
+        String basePath = directoryPath + File.separator + fieldworkEnd + "-" + pollingFirm;
+        FileSystemServices.writeStringToFile("PollingFirm=" + pollingFirm + "\nFieldworkStart=" + fieldworkEnd
+                + "\nFieldworkEnd=" + fieldworkEnd + "\n==\nRed=1\n", basePath + ".poll");
+        FileSystemServices.writeStringToFile("NumberOfSimulations=2000000\n", basePath + "_state_summary.txt");
+        FileSystemServices.writeStringToFile("Choice | 0 | 1\nRed | 0.5 | 0.5\n",
+                basePath + "-dichotomies-probabilities.psv");
+        FileSystemServices.writeStringToFile("Choice | 0 | 1 | 2\nRed | 0 | 0.5 | 0.5\nGreen | 0.5 | 0.5\n",
+                basePath + "-polychotomy-seats-probabilities.psv");
+        for (String chartSuffix : List.of(".png", "-seating-plan.png", "-seats.png")) {
+            FileSystemServices.writeStringToFile("", basePath + chartSuffix);
+        }
+    }
+
+    /**
+     * Verifying that an existing archive page is rewritten when a backdated poll
+     * shifts the polls on the archive pages.
+     */
+    @Test
+    void archivePageIsRewrittenWhenBackdatedPollIsInserted() {
+        String directory = directoryPath.toString();
+        FileSystemServices.writeStringToFile("NumberOfSeats=3\nGitHubDirectoryURL=https://bar.github.io/foo_polls\n"
+                + "ParliamentName=Foo\nBackgroundColor=" + BACKGROUND_COLOR + "\nTextColor=" + TEXT_COLOR
+                + "\nFeedArchivePageSize=1\n",
+                directory + File.separator + FileSystemCountryProperties.COUNTRY_PROPERTIES_FILE_NAME);
+        writePollToTemporaryDirectory("2020-01-05", "Qux");
+        writePollToTemporaryDirectory("2020-01-07", "Quux");
+        writePollToTemporaryDirectory("2020-01-09", "Corge");
+        new RSS20Feed(directory, RSS20FeedMode.GitHubFeed).writeArchivesToFileSystem();
+        writePollToTemporaryDirectory("2020-01-03", "Baz");
+        new RSS20Feed(directory, RSS20FeedMode.GitHubFeed).writeArchivesToFileSystem();
+        assertTrue(FileSystemServices.readFileIntoString(directory + File.separator + "rss-archive-1.xml")
+                .contains("Opinion Poll by Baz"));
+    }
+
+    /**
+     * Verifying that the IFTTT feed isn't archived.
+     */
+    @Test
+    void iftttFeedIsNotArchived() {
+        String actual = new RSS20Feed(createArchivedDirectoryWithPolls(THIRTY, TEN), RSS20FeedMode.IftttFeed)
+                .toString();
+        String expected = new RSS20Feed(createDirectoryWithPolls(THIRTY), RSS20FeedMode.IftttFeed).toString();
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Verifying that an Atom feed has an entry for each item of the RSS 2.0 feed.
+     */
+    @Test
+    void atomFeedHasAnEntryForEachRssItem() {
+        SaporDirectory directory = createDirectoryWithPolls(TEN);
+        String rss = new RSS20Feed(directory, RSS20FeedMode.GitHubFeed).toString();
+        String atom = new RSS20Feed(directory, List.of(FeedFormat.Atom10), RSS20FeedMode.GitHubFeed).toString();
+        assertEquals(rss.split("<item>", -1).length, atom.split("<entry>", -1).length);
+    }
+
     /**
      * Creates a Sapor directory with one poll.
      *
@@ -199,7 +462,6 @@ public class RSS20FeedTest {
      */
     private SaporDirectory createDirectoryWithPoll(final long numberOfSimulations, final boolean hasCommissioners,
             final boolean hasTwitterTags) {
-        InMemorySaporDirectory directory = new InMemorySaporDirectory(createCountryProperties(hasTwitterTags));
         Map<String, String> properties = new HashMap<String, String>();
         properties.put(Poll.POLLING_FIRM_KEY, "Baz");
         if (hasCommissioners) {
@@ -207,40 +469,54 @@ public class RSS20FeedTest {
         }
         properties.put(Poll.FIELDWORK_START_KEY, "2020-01-02");
         properties.put(Poll.FIELDWORK_END_KEY, "2020-01-03");
-        InMemoryPoll poll = new InMemoryPoll("2020-01-03-Baz", properties);
-        poll.setVotingIntentionsChartFileSize(FIVE);
-        poll.setSeatProjectionsChartFileSize(SIX);
-        poll.setSeatingPlanProjectionChartFileSize(SEVEN);
-        InMemoryStateSummary stateSummary = new InMemoryStateSummary();
-        stateSummary.setNumberOfSimulations(numberOfSimulations);
-        stateSummary.setTimestamp(createDateTime(TWO_THOUSAND_AND_TWENTY, Month.JANUARY, FOUR, 0, 0));
-        poll.setStateSummary(stateSummary);
+        InMemoryStateSummary stateSummary = new InMemoryStateSummary(numberOfSimulations,
+                createDateTime(TWO_THOUSAND_AND_TWENTY, Month.JANUARY, FOUR, 0, 0));
         VotingIntentions votingIntentions = new VotingIntentions("Red Party",
                 VotingIntentionsTestServices.createProbabilityMassFunctionForConfidenceInterval(
                         RED_PARTY_CONFIDENCE_INTERVAL_LOWER_BOUND, RED_PARTY_CONFIDENCE_INTERVAL_UPPER_BOUND),
                 "Green Party", VotingIntentionsTestServices.createProbabilityMassFunctionForConfidenceInterval(
                         GREEN_PARTY_CONFIDENCE_INTERVAL_LOWER_BOUND, GREEN_PARTY_CONFIDENCE_INTERVAL_UPPER_BOUND));
-        poll.setVotingIntentions(votingIntentions);
         SeatProjection seatProjection = new SeatProjection("Red Party",
                 new ProbabilityMassFunction<Integer>(0, 0D, 1, 0D, 2, 0D, THREE, 0D, FOUR, A_HALF, FIVE, A_HALF),
                 "Green Party", new ProbabilityMassFunction<Integer>(0, 0D, 1, A_HALF, 2, A_HALF));
-        poll.setSeatProjection(seatProjection);
-        directory.addPoll(poll);
-        return directory;
+        InMemoryPoll poll = new InMemoryPoll(new Poll.Builder("2020-01-03-Baz", properties)
+                .setVotingIntentionsChartFileSize(FIVE).setSeatProjectionsChartFileSize(SIX)
+                .setSeatingPlanProjectionChartFileSize(SEVEN).setStateSummary(stateSummary)
+                .setVotingIntentions(votingIntentions).setSeatProjection(seatProjection));
+        return new InMemorySaporDirectory(createCountryProperties(hasTwitterTags), poll);
     }
 
     /**
      * Creates a Sapor directory with a number of polls.
      *
-     * @param noOfPolls The number of polls requested.
+     * @param noOfPolls  The number of polls requested.
+     * @param extraPolls Extra polls to be added to the Sapor directory.
      * @return A Sapor directory with the requests number of polls.
      */
-    private SaporDirectory createDirectoryWithPolls(final int noOfPolls) {
-        InMemorySaporDirectory directory = new InMemorySaporDirectory(createCountryProperties());
+    private SaporDirectory createDirectoryWithPolls(final int noOfPolls, final Poll... extraPolls) {
+        List<Poll> polls = new ArrayList<Poll>();
         for (int i = noOfPolls; i >= 1; i--) {
-            directory.addPoll(createPoll(i, TWO_THOUSAND_AND_TWENTY));
+            polls.add(createPoll(i, TWO_THOUSAND_AND_TWENTY));
         }
-        return directory;
+        polls.addAll(Arrays.asList(extraPolls));
+        return new InMemorySaporDirectory(createCountryProperties(), polls.toArray(new Poll[0]));
+    }
+
+    /**
+     * Creates a Sapor directory with a number of polls, for which the feed should
+     * be archived.
+     *
+     * @param noOfPolls           The number of polls requested.
+     * @param feedArchivePageSize The number of polls per archive page.
+     * @return A Sapor directory with the requests number of polls.
+     */
+    private SaporDirectory createArchivedDirectoryWithPolls(final int noOfPolls, final int feedArchivePageSize) {
+        List<Poll> polls = new ArrayList<Poll>();
+        for (int i = noOfPolls; i >= 1; i--) {
+            polls.add(createPoll(i, TWO_THOUSAND_AND_TWENTY));
+        }
+        return new InMemorySaporDirectory(createCountryProperties(false, feedArchivePageSize),
+                polls.toArray(new Poll[0]));
     }
 
     /**
@@ -258,25 +534,20 @@ public class RSS20FeedTest {
         properties.put(Poll.FIELDWORK_START_KEY, year + "-01-" + String.format("%02d", i));
         String endDate = year + "-01-" + String.format("%02d", i + 1);
         properties.put(Poll.FIELDWORK_END_KEY, endDate);
-        InMemoryPoll poll = new InMemoryPoll(endDate + "-Baz", properties);
-        poll.setVotingIntentionsChartFileSize(FIVE);
-        poll.setSeatProjectionsChartFileSize(SIX);
-        poll.setSeatingPlanProjectionChartFileSize(SEVEN);
-        InMemoryStateSummary stateSummary = new InMemoryStateSummary();
-        stateSummary.setNumberOfSimulations(1);
-        stateSummary.setTimestamp(createDateTime(year, Month.JANUARY, i + 1, 0, 0));
-        poll.setStateSummary(stateSummary);
+        InMemoryStateSummary stateSummary = new InMemoryStateSummary(1,
+                createDateTime(year, Month.JANUARY, i + 1, 0, 0));
         VotingIntentions votingIntentions = new VotingIntentions("Red Party",
                 VotingIntentionsTestServices.createProbabilityMassFunctionForConfidenceInterval(
                         RED_PARTY_CONFIDENCE_INTERVAL_LOWER_BOUND, RED_PARTY_CONFIDENCE_INTERVAL_UPPER_BOUND),
                 "Green Party", VotingIntentionsTestServices.createProbabilityMassFunctionForConfidenceInterval(
                         GREEN_PARTY_CONFIDENCE_INTERVAL_LOWER_BOUND, GREEN_PARTY_CONFIDENCE_INTERVAL_UPPER_BOUND));
-        poll.setVotingIntentions(votingIntentions);
         SeatProjection seatProjection = new SeatProjection("Red Party",
                 new ProbabilityMassFunction<Integer>(0, 0D, 1, 0D, 2, 0D, THREE, 0D, FOUR, A_HALF, FIVE, A_HALF),
                 "Green Party", new ProbabilityMassFunction<Integer>(0, 0D, 1, A_HALF, 2, A_HALF));
-        poll.setSeatProjection(seatProjection);
-        return poll;
+        return new InMemoryPoll(new Poll.Builder(endDate + "-Baz", properties).setVotingIntentionsChartFileSize(FIVE)
+                .setSeatProjectionsChartFileSize(SIX).setSeatingPlanProjectionChartFileSize(SEVEN)
+                .setStateSummary(stateSummary).setVotingIntentions(votingIntentions)
+                .setSeatProjection(seatProjection));
     }
 
     /**
@@ -559,8 +830,7 @@ public class RSS20FeedTest {
      */
     @Test
     void iftttFeedDoesNotIncludeEleventhPollIfOlderThanThirtyDaysFromMostRecentPoll() {
-        SaporDirectory directory = createDirectoryWithPolls(NINE);
-        directory.addPoll(createPoll(1, TWO_THOUSAND_AND_TWENTY_ONE));
+        SaporDirectory directory = createDirectoryWithPolls(NINE, createPoll(1, TWO_THOUSAND_AND_TWENTY_ONE));
         String actual = new RSS20Feed(directory, RSS20FeedMode.IftttFeed).toString();
         StringBuilder sb = new StringBuilder();
         sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
@@ -628,8 +898,7 @@ public class RSS20FeedTest {
      */
     @Test
     void iftttFeedIncludesAtLeastTenPolls() {
-        SaporDirectory directory = createDirectoryWithPolls(TEN);
-        directory.addPoll(createPoll(1, TWO_THOUSAND_AND_NINETEEN));
+        SaporDirectory directory = createDirectoryWithPolls(TEN, createPoll(1, TWO_THOUSAND_AND_NINETEEN));
         String actual = new RSS20Feed(directory, RSS20FeedMode.IftttFeed).toString();
         StringBuilder sb = new StringBuilder();
         sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
@@ -685,8 +954,7 @@ public class RSS20FeedTest {
      */
     @Test
     void rssFeedIncludesAllPolls() {
-        SaporDirectory directory = createDirectoryWithPolls(TEN);
-        directory.addPoll(createPoll(1, TWO_THOUSAND_AND_NINETEEN));
+        SaporDirectory directory = createDirectoryWithPolls(TEN, createPoll(1, TWO_THOUSAND_AND_NINETEEN));
         String actual = new RSS20Feed(directory, RSS20FeedMode.GitHubFeed).toString();
         StringBuilder sb = new StringBuilder();
         sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
@@ -44,7 +44,6 @@ public class SaporDirectoryTest {
      */
     @Test
     void getPollsSortsPolls() {
-        InMemorySaporDirectory directory = new InMemorySaporDirectory(countryProperties);
         Map<String, String> properties1 = new HashMap<String, String>();
         properties1.put(Poll.FIELDWORK_START_KEY, "2020-01-01");
         properties1.put(Poll.FIELDWORK_END_KEY, "2020-01-01");
@@ -53,8 +52,7 @@ public class SaporDirectoryTest {
         properties2.put(Poll.FIELDWORK_START_KEY, "2020-01-02");
         properties2.put(Poll.FIELDWORK_END_KEY, "2020-01-02");
         InMemoryPoll poll2 = new InMemoryPoll("2020-01-02-Baz", properties2);
-        directory.addPoll(poll1);
-        directory.addPoll(poll2);
+        InMemorySaporDirectory directory = new InMemorySaporDirectory(countryProperties, poll1, poll2);
         assertEquals(poll2, directory.getSortedPolls().next());
     }
 
@@ -64,7 +62,6 @@ public class SaporDirectoryTest {
      */
     @Test
     void comparePollsSortsPollsChronologicallyReversedByFieldworkEndDate() {
-        InMemorySaporDirectory directory = new InMemorySaporDirectory(countryProperties);
         Map<String, String> properties1 = new HashMap<String, String>();
         properties1.put(Poll.FIELDWORK_START_KEY, "2020-01-01");
         properties1.put(Poll.FIELDWORK_END_KEY, "2020-01-01");
@@ -73,8 +70,7 @@ public class SaporDirectoryTest {
         properties2.put(Poll.FIELDWORK_START_KEY, "2020-01-02");
         properties2.put(Poll.FIELDWORK_END_KEY, "2020-01-02");
         InMemoryPoll poll2 = new InMemoryPoll("2020-01-02-Baz", properties2);
-        directory.addPoll(poll1);
-        directory.addPoll(poll2);
+        InMemorySaporDirectory directory = new InMemorySaporDirectory(countryProperties, poll1, poll2);
         assertTrue(directory.comparePolls(poll1, poll2) > 0);
     }
 
@@ -85,7 +81,6 @@ public class SaporDirectoryTest {
      */
     @Test
     void comparePollsSortsPollsChronologicallyReversedByFieldworkEndAndStartDate() {
-        InMemorySaporDirectory directory = new InMemorySaporDirectory(countryProperties);
         Map<String, String> properties1 = new HashMap<String, String>();
         properties1.put(Poll.FIELDWORK_START_KEY, "2020-01-01");
         properties1.put(Poll.FIELDWORK_END_KEY, "2020-01-02");
@@ -94,8 +89,7 @@ public class SaporDirectoryTest {
         properties2.put(Poll.FIELDWORK_START_KEY, "2020-01-02");
         properties2.put(Poll.FIELDWORK_END_KEY, "2020-01-02");
         InMemoryPoll poll2 = new InMemoryPoll("2020-01-02-Qux", properties2);
-        directory.addPoll(poll1);
-        directory.addPoll(poll2);
+        InMemorySaporDirectory directory = new InMemorySaporDirectory(countryProperties, poll1, poll2);
         assertTrue(directory.comparePolls(poll1, poll2) > 0);
     }
 
@@ -106,7 +100,6 @@ public class SaporDirectoryTest {
      */
     @Test
     void comparePollsSortsPollsAlphabeticallyIfFieldworkPeriodsAreEqual() {
-        InMemorySaporDirectory directory = new InMemorySaporDirectory(countryProperties);
         Map<String, String> properties1 = new HashMap<String, String>();
         properties1.put(Poll.FIELDWORK_START_KEY, "2020-01-01");
         properties1.put(Poll.FIELDWORK_END_KEY, "2020-01-01");
@@ -117,8 +110,25 @@ public class SaporDirectoryTest {
         properties2.put(Poll.FIELDWORK_END_KEY, "2020-01-01");
         properties2.put(Poll.POLLING_FIRM_KEY, "Baz");
         InMemoryPoll poll2 = new InMemoryPoll("2020-01-02-Baz", properties2);
-        directory.addPoll(poll1);
-        directory.addPoll(poll2);
+        InMemorySaporDirectory directory = new InMemorySaporDirectory(countryProperties, poll1, poll2);
         assertTrue(directory.comparePolls(poll1, poll2) > 0);
     }
+
+    /**
+     * Verifying that a range of the polls starts at the requested index in the
+     * sorted polls.
+     */
+    @Test
+    void getSortedPollsReturnsRangeOfSortedPolls() {
+        Map<String, String> properties1 = new HashMap<String, String>();
+        properties1.put(Poll.FIELDWORK_START_KEY, "2020-01-01");
+        properties1.put(Poll.FIELDWORK_END_KEY, "2020-01-01");
+        InMemoryPoll poll1 = new InMemoryPoll("2020-01-01-Baz", properties1);
+        Map<String, String> properties2 = new HashMap<String, String>();
+        properties2.put(Poll.FIELDWORK_START_KEY, "2020-01-02");
+        properties2.put(Poll.FIELDWORK_END_KEY, "2020-01-02");
+        InMemoryPoll poll2 = new InMemoryPoll("2020-01-02-Baz", properties2);
+        InMemorySaporDirectory directory = new InMemorySaporDirectory(countryProperties, poll1, poll2);
+        assertEquals(poll1, directory.getSortedPolls(1, 2).next());
+    }
 }
@@ -0,0 +1,155 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>SeatProjectionLayout</code> class.
+ */
+public class SeatProjectionLayoutTest {
+    /**
+     * Magic number four.
+     */
+    private static final int FOUR = 4;
+    /**
+     * Magic number six.
+     */
+    private static final int SIX = 6;
+    /**
+     * The magic number one fifth.
+     */
+    private static final double ONE_FIFTH = 0.2D;
+    /**
+     * The magic number three tenths.
+     */
+    private static final double THREE_TENTHS = 0.3D;
+    /**
+     * The magic number seven tenths.
+     */
+    private static final double SEVEN_TENTHS = 0.7D;
+    /**
+     * The magic number four fifths.
+     */
+    private static final double FOUR_FIFTHS = 0.8D;
+    /**
+     * Magic number 0.95, or 95 percent.
+     */
+    private static final double NINETY_FIVE_PERCENT = 0.95D;
+    /**
+     * A seat projection with dense probability mass functions.
+     */
+    private static final String DENSE_SEAT_PROJECTION =
+            "Choice | 0 | 1 | 2 | 3 | 4\nBlue Party | 0.01 | 0.02 | 0.47 | 0.45 | 0.05";
+
+    /**
+     * The layout to run the tests on.
+     */
+    private static SeatProjectionLayout layout;
+
+    /**
+     * Creates the layout for a seat projection for two parties in a parliament
+     * with six seats, with the widths of the labels approximated with the width
+     * of the letter M.
+     */
+    @BeforeAll
+    static void createLayout() {
+        SeatProjection seatProjection = new SeatProjection("Green Party",
+                new ProbabilityMassFunction<Integer>(1, THREE_TENTHS, 2, SEVEN_TENTHS), "Red Party",
+                new ProbabilityMassFunction<Integer>(3, ONE_FIFTH, 4, FOUR_FIFTHS));
+        layout = new SeatProjectionLayout(seatProjection, SIX, GlyphAdvanceTable.createApproximation(Chart.M_WIDTH));
+    }
+
+    /**
+     * Verifying that the layout has a group for each party.
+     */
+    @Test
+    void numberOfGroupsIsNumberOfParties() {
+        assertEquals(2, layout.getNumberOfGroups());
+    }
+
+    /**
+     * Verifying that the groups are sorted.
+     */
+    @Test
+    void groupsAreSorted() {
+        assertEquals("Red Party", layout.getName(0));
+    }
+
+    /**
+     * Verifying that the lower bound of the confidence interval is calculated
+     * correctly when the probability mass function doesn't start at zero seats.
+     */
+    @Test
+    void lowerBoundIsCalculatedForSparseProbabilityMassFunction() {
+        assertEquals(1, layout.getLowerBound(1));
+    }
+
+    /**
+     * Verifying that the median is calculated correctly.
+     */
+    @Test
+    void medianIsCalculated() {
+        assertEquals(FOUR, layout.getMedian(0));
+    }
+
+    /**
+     * Verifying that the adjusted median is taken from the seat projection.
+     */
+    @Test
+    void adjustedMedianIsTakenFromSeatProjection() {
+        assertEquals(2, layout.getAdjustedMedian(1));
+    }
+
+    /**
+     * Verifying that the label for the confidence interval is formatted in seats.
+     */
+    @Test
+    void confidenceIntervalLabelIsFormattedInSeats() {
+        assertEquals("3–4 seats", layout.getConfidenceIntervalLabel(0));
+    }
+
+    /**
+     * Verifying that the largest number of seats is the largest upper bound.
+     */
+    @Test
+    void largestNumberOfSeatsIsLargestUpperBound() {
+        assertEquals(FOUR, layout.getLargestNumberOfSeats());
+    }
+
+    /**
+     * Verifying that the lower bound is the same as the one calculated by the
+     * probability mass function.
+     */
+    @Test
+    void lowerBoundIsSameAsProbabilityMassFunction() {
+        SeatProjection seatProjection = SeatProjection.parseFromString(DENSE_SEAT_PROJECTION);
+        SeatProjectionLayout denseLayout = new SeatProjectionLayout(seatProjection, FOUR,
+                GlyphAdvanceTable.createApproximation(Chart.M_WIDTH));
+        assertEquals(seatProjection.getConfidenceInterval("Blue Party", NINETY_FIVE_PERCENT).getLowerBound(),
+                denseLayout.getLowerBound(0));
+    }
+
+    /**
+     * Verifying that the upper bound is the same as the one calculated by the
+     * probability mass function.
+     */
+    @Test
+    void upperBoundIsSameAsProbabilityMassFunction() {
+        SeatProjection seatProjection = SeatProjection.parseFromString(DENSE_SEAT_PROJECTION);
+        SeatProjectionLayout denseLayout = new SeatProjectionLayout(seatProjection, FOUR,
+                GlyphAdvanceTable.createApproximation(Chart.M_WIDTH));
+        assertEquals(seatProjection.getConfidenceInterval("Blue Party", NINETY_FIVE_PERCENT).getUpperBound(),
+                denseLayout.getUpperBound(0));
+    }
+
+    /**
+     * Verifying that a layout without a seat projection has no groups.
+     */
+    @Test
+    void layoutWithoutSeatProjectionHasNoGroups() {
+        assertEquals(0, new SeatProjectionLayout(null, SIX, GlyphAdvanceTable.createApproximation(Chart.M_WIDTH))
+                .getNumberOfGroups());
+    }
+}
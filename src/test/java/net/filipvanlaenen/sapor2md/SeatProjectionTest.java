@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -36,6 +38,11 @@ public class SeatProjectionTest {
      * The magic number three.
      */
     private static final int THREE = 3;
+    /**
+     * A seat projection for two parties, as a string.
+     */
+    private static final String SEAT_PROJECTION =
+            "Choice | 0 | 1 | 2 | 3\nRed Party | 0.1 | 0.2 | 0.6 | 0.1\nBlue Party | 0.3 | 0.5 | 0.2 | 0";
 
     /**
      * Test verifying that the constructor throws an
@@ -225,4 +232,32 @@ public class SeatProjectionTest {
                 new ProbabilityMassFunction<Integer>(0, ONE_QUARTER, 1, THREE_QUARTERS));
         assertTrue(seatProjection.compareGroupsByAdjustedMedian("Blue Party", "Red Party", 2) < 0);
     }
+
+    /**
+     * Test verifying that a seat projection read in again with the statistics of
+     * an earlier copy doesn't compute the adjusted medians again.
+     */
+    @Test
+    void seatProjectionReadInAgainReusesAdjustedMediansFromStatistics() {
+        SymbolTable symbolTable = new SymbolTable();
+        AtomicInteger numberOfComputations = new AtomicInteger();
+        SeatProjectionStatistics statistics = new SeatProjectionStatistics(() -> {
+            numberOfComputations.incrementAndGet();
+            return SeatProjection.parseFromString(SEAT_PROJECTION, symbolTable);
+        });
+        SeatProjection.parseFromString(SEAT_PROJECTION, symbolTable, statistics).getAdjustedMedian("Red Party", THREE);
+        SeatProjection.parseFromString(SEAT_PROJECTION, symbolTable, statistics).getAdjustedMedian("Red Party", THREE);
+        assertEquals(1, numberOfComputations.get());
+    }
+
+    /**
+     * Test verifying that the confidence interval taken from the statistics is
+     * the one of the probability mass function of the group.
+     */
+    @Test
+    void confidenceIntervalIsTakenFromProbabilityMassFunction() {
+        SeatProjection seatProjection = SeatProjection.parseFromString(SEAT_PROJECTION);
+        assertEquals(seatProjection.getProbabilityMassFunction("Red Party").getConfidenceInterval(A_HALF)
+                .getLowerBound(), seatProjection.getConfidenceInterval("Red Party", A_HALF).getLowerBound());
+    }
 }
@@ -0,0 +1,134 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>SeatProjectionsChart</code> class.
+ */
+public class SeatProjectionsChartTest {
+    /**
+     * Magic number six.
+     */
+    private static final int SIX = 6;
+    /**
+     * Magic number nine.
+     */
+    private static final int NINE = 9;
+    /**
+     * Magic number 2020, used as a year number.
+     */
+    private static final int TWO_THOUSAND_AND_TWENTY = 2020;
+    /**
+     * The magic number one fifth.
+     */
+    private static final double ONE_FIFTH = 0.2D;
+    /**
+     * The magic number three tenths.
+     */
+    private static final double THREE_TENTHS = 0.3D;
+    /**
+     * The magic number seven tenths.
+     */
+    private static final double SEVEN_TENTHS = 0.7D;
+    /**
+     * The magic number four fifths.
+     */
+    private static final double FOUR_FIFTHS = 0.8D;
+    /**
+     * The text color of the country, as an integer.
+     */
+    private static final int TEXT_COLOR = 0x112233;
+
+    /**
+     * The chart to run the tests on.
+     */
+    private SeatProjectionsChart chart;
+
+    /**
+     * Creates a seat projections chart for a parliament with six seats to run the
+     * tests on.
+     */
+    @BeforeEach
+    void createChart() {
+        Map<String, String> map = new HashMap<String, String>();
+        map.put(CountryProperties.NUMBER_OF_SEATS_KEY, Integer.toString(SIX));
+        map.put(CountryProperties.PARLIAMENT_NAME_KEY, "Foo Parliament");
+        map.put(CountryProperties.BACKGROUND_COLOR_KEY, "#DDEEFF");
+        map.put(CountryProperties.TEXT_COLOR_KEY, "#112233");
+        LocalDateTime localDateTime = LocalDateTime.of(TWO_THOUSAND_AND_TWENTY, Month.JANUARY, 1, 0, 0);
+        OffsetDateTime timestamp = OffsetDateTime.of(localDateTime, ZoneOffset.of("+01:00"));
+        SaporDirectory directory = new InMemorySaporDirectory(new InMemoryCountryProperties(map, timestamp));
+        Map<String, String> properties = new HashMap<String, String>();
+        properties.put(Poll.POLLING_FIRM_KEY, "Baz");
+        properties.put(Poll.FIELDWORK_START_KEY, "2020-01-02");
+        properties.put(Poll.FIELDWORK_END_KEY, "2020-01-03");
+        SeatProjection seatProjection = new SeatProjection("Green Party",
+                new ProbabilityMassFunction<Integer>(1, THREE_TENTHS, 2, SEVEN_TENTHS), "Red Party",
+                new ProbabilityMassFunction<Integer>(3, ONE_FIFTH, 4, FOUR_FIFTHS));
+        Poll poll = new InMemoryPoll(
+                new Poll.Builder("2020-01-03-Baz", properties).setSeatProjection(seatProjection));
+        chart = new SeatProjectionsChart(directory, poll);
+        chart.setLabelGlyphAdvanceTable(GlyphAdvanceTable.createApproximation(Chart.M_WIDTH));
+    }
+
+    /**
+     * Test verifying that the file name is calculated correctly.
+     */
+    @Test
+    void fileNameShouldIncludeSeatsSuffix() {
+        assertEquals("2020-01-03-Baz-seats.svg", chart.getFileName());
+    }
+
+    /**
+     * Test verifying that the title text is correct.
+     */
+    @Test
+    void titleTextShouldBeCorrect() {
+        assertEquals("Seat Projections for the Foo Parliament", chart.getTitleText());
+    }
+
+    /**
+     * Test verifying that the number of groups is taken from the seat projection.
+     */
+    @Test
+    void numberOfGroupsShouldBeTakenFromSeatProjection() {
+        assertEquals(2, chart.getNumberOfGroups());
+    }
+
+    /**
+     * Test verifying that the chart is produced from the seat projection.
+     */
+    @Test
+    void inputFileNamesShouldIncludeSeatProjectionFile() {
+        assertEquals(List.of("country.properties", "2020-01-03-Baz.poll",
+                "2020-01-03-Baz-polychotomy-seats-probabilities.psv"), chart.getInputFileNames());
+    }
+
+    /**
+     * Test verifying that a rectangle is drawn for the background, and for each
+     * parliamentary group three bars and a marker for the adjusted median.
+     */
+    @Test
+    void rectanglesShouldBeDrawnForBackgroundBarsAndMarkers() {
+        assertEquals(NINE, chart.toString().split("<rect", -1).length - 1);
+    }
+
+    /**
+     * Test verifying that the bars are hatched in the text color of the country.
+     */
+    @Test
+    void hatchingsShouldUseTextColor() {
+        assertEquals(TEXT_COLOR, chart.createChartContentHatchings().get(0).getColor());
+    }
+}
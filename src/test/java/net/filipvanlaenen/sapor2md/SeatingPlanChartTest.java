@@ -0,0 +1,131 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>SeatingPlanChart</code> class.
+ */
+public class SeatingPlanChartTest {
+    /**
+     * Magic number six.
+     */
+    private static final int SIX = 6;
+    /**
+     * Magic number nine.
+     */
+    private static final int NINE = 9;
+    /**
+     * Magic number 2020, used as a year number.
+     */
+    private static final int TWO_THOUSAND_AND_TWENTY = 2020;
+    /**
+     * The magic number one fifth.
+     */
+    private static final double ONE_FIFTH = 0.2D;
+    /**
+     * The magic number three tenths.
+     */
+    private static final double THREE_TENTHS = 0.3D;
+    /**
+     * The magic number seven tenths.
+     */
+    private static final double SEVEN_TENTHS = 0.7D;
+    /**
+     * The magic number four fifths.
+     */
+    private static final double FOUR_FIFTHS = 0.8D;
+
+    /**
+     * The chart to run the tests on.
+     */
+    private SeatingPlanChart chart;
+
+    /**
+     * Creates a seating plan chart for a parliament with six seats to run the
+     * tests on.
+     */
+    @BeforeEach
+    void createChart() {
+        Map<String, String> map = new HashMap<String, String>();
+        map.put(CountryProperties.NUMBER_OF_SEATS_KEY, Integer.toString(SIX));
+        map.put(CountryProperties.PARLIAMENT_NAME_KEY, "Foo Parliament");
+        map.put(CountryProperties.BACKGROUND_COLOR_KEY, "#DDEEFF");
+        map.put(CountryProperties.TEXT_COLOR_KEY, "#112233");
+        LocalDateTime localDateTime = LocalDateTime.of(TWO_THOUSAND_AND_TWENTY, Month.JANUARY, 1, 0, 0);
+        OffsetDateTime timestamp = OffsetDateTime.of(localDateTime, ZoneOffset.of("+01:00"));
+        SaporDirectory directory = new InMemorySaporDirectory(new InMemoryCountryProperties(map, timestamp));
+        Map<String, String> properties = new HashMap<String, String>();
+        properties.put(Poll.POLLING_FIRM_KEY, "Baz");
+        properties.put(Poll.FIELDWORK_START_KEY, "2020-01-02");
+        properties.put(Poll.FIELDWORK_END_KEY, "2020-01-03");
+        SeatProjection seatProjection = new SeatProjection("Green Party",
+                new ProbabilityMassFunction<Integer>(1, THREE_TENTHS, 2, SEVEN_TENTHS), "Red Party",
+                new ProbabilityMassFunction<Integer>(3, ONE_FIFTH, 4, FOUR_FIFTHS));
+        Poll poll = new InMemoryPoll(
+                new Poll.Builder("2020-01-03-Baz", properties).setSeatProjection(seatProjection));
+        chart = new SeatingPlanChart(directory, poll);
+        chart.setLabelGlyphAdvanceTable(GlyphAdvanceTable.createApproximation(Chart.M_WIDTH));
+    }
+
+    /**
+     * Test verifying that the file name is calculated correctly.
+     */
+    @Test
+    void fileNameShouldIncludeSeatingPlanSuffix() {
+        assertEquals("2020-01-03-Baz-seating-plan.svg", chart.getFileName());
+    }
+
+    /**
+     * Test verifying that the title text is correct.
+     */
+    @Test
+    void titleTextShouldBeCorrect() {
+        assertEquals("Seating Plan Projection for the Foo Parliament", chart.getTitleText());
+    }
+
+    /**
+     * Test verifying that the parliamentary groups are sorted by adjusted median.
+     */
+    @Test
+    void groupsShouldBeSortedByAdjustedMedian() {
+        assertEquals(List.of("Red Party", "Green Party"), chart.getGroupsSortedByAdjustedMedian());
+    }
+
+    /**
+     * Test verifying that the chart is produced from the seat projection.
+     */
+    @Test
+    void inputFileNamesShouldIncludeSeatProjectionFile() {
+        assertEquals(List.of("country.properties", "2020-01-03-Baz.poll",
+                "2020-01-03-Baz-polychotomy-seats-probabilities.psv"), chart.getInputFileNames());
+    }
+
+    /**
+     * Test verifying that a rectangle is drawn for the background, for each seat
+     * and for each parliamentary group in the legend.
+     */
+    @Test
+    void rectangleShouldBeDrawnForBackgroundSeatsAndLegend() {
+        assertEquals(NINE, chart.toString().split("<rect", -1).length - 1);
+    }
+
+    /**
+     * Test verifying that the parliamentary groups are sorted only once.
+     */
+    @Test
+    void groupsShouldBeSortedOnlyOnce() {
+        assertSame(chart.getGroupsSortedByAdjustedMedian(), chart.getGroupsSortedByAdjustedMedian());
+    }
+}
@@ -0,0 +1,95 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>SeatingPlanLayout</code> class.
+ */
+public class SeatingPlanLayoutTest {
+    /**
+     * The number of seats in a large parliament.
+     */
+    private static final int LARGE_PARLIAMENT = 600;
+    /**
+     * The number of seats in a medium-sized parliament.
+     */
+    private static final int MEDIUM_PARLIAMENT = 150;
+    /**
+     * The delta for comparing doubles.
+     */
+    private static final double DELTA = 1E-9D;
+
+    /**
+     * Verifying that the layout has a position for each seat.
+     */
+    @Test
+    void layoutHasPositionForEachSeat() {
+        assertEquals(LARGE_PARLIAMENT, SeatingPlanLayout.forNumberOfSeats(LARGE_PARLIAMENT).getNumberOfSeats());
+    }
+
+    /**
+     * Verifying that the layout for a number of seats is calculated only once.
+     */
+    @Test
+    void layoutIsCalculatedOnlyOnce() {
+        assertSame(SeatingPlanLayout.forNumberOfSeats(LARGE_PARLIAMENT),
+                SeatingPlanLayout.forNumberOfSeats(LARGE_PARLIAMENT));
+    }
+
+    /**
+     * Verifying that the seats are ordered from left to right.
+     */
+    @Test
+    void seatsAreOrderedFromLeftToRight() {
+        SeatingPlanLayout layout = SeatingPlanLayout.forNumberOfSeats(MEDIUM_PARLIAMENT);
+        boolean ordered = true;
+        for (int k = 1; k < MEDIUM_PARLIAMENT; k++) {
+            double angle1 = Math.atan2(layout.getY(k - 1), layout.getX(k - 1));
+            double angle2 = Math.atan2(layout.getY(k), layout.getX(k));
+            ordered &= angle1 >= angle2 - DELTA;
+        }
+        assertTrue(ordered);
+    }
+
+    /**
+     * Verifying that all seats are inside the hemicycle.
+     */
+    @Test
+    void seatsAreInsideHemicycle() {
+        SeatingPlanLayout layout = SeatingPlanLayout.forNumberOfSeats(MEDIUM_PARLIAMENT);
+        boolean inside = true;
+        for (int k = 0; k < MEDIUM_PARLIAMENT; k++) {
+            inside &= Math.hypot(layout.getX(k), layout.getY(k)) + layout.getSeatSize() / 2D <= 1D + DELTA;
+        }
+        assertTrue(inside);
+    }
+
+    /**
+     * Verifying that no two seats overlap.
+     */
+    @Test
+    void seatsDoNotOverlap() {
+        SeatingPlanLayout layout = SeatingPlanLayout.forNumberOfSeats(MEDIUM_PARLIAMENT);
+        boolean overlap = false;
+        for (int k = 0; k < MEDIUM_PARLIAMENT; k++) {
+            for (int l = k + 1; l < MEDIUM_PARLIAMENT; l++) {
+                overlap |= Math.abs(layout.getX(k) - layout.getX(l)) < layout.getSeatSize()
+                        && Math.abs(layout.getY(k) - layout.getY(l)) < layout.getSeatSize();
+            }
+        }
+        assertFalse(overlap);
+    }
+
+    /**
+     * Verifying that a single seat is placed in the middle.
+     */
+    @Test
+    void singleSeatIsPlacedInTheMiddle() {
+        assertEquals(0D, SeatingPlanLayout.forNumberOfSeats(1).getX(0), DELTA);
+    }
+}
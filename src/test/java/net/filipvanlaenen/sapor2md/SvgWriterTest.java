@@ -0,0 +1,139 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.filipvanlaenen.tsvgj.G;
+import net.filipvanlaenen.tsvgj.Line;
+import net.filipvanlaenen.tsvgj.Pattern;
+import net.filipvanlaenen.tsvgj.Rect;
+import net.filipvanlaenen.tsvgj.Svg;
+
+/**
+ * Unit tests on the <code>SvgWriter</code> class.
+ */
+public class SvgWriterTest {
+    /**
+     * The width of the documents.
+     */
+    private static final double WIDTH = 100.5D;
+    /**
+     * The height of the documents.
+     */
+    private static final double HEIGHT = 50D;
+    /**
+     * Magic number ten.
+     */
+    private static final int TEN = 10;
+
+    /**
+     * Verifying that numbers are rounded to six decimals.
+     */
+    @Test
+    void numbersAreRoundedToSixDecimals() {
+        assertEquals("0.666667", SvgWriter.formatNumber(2D / 3D));
+    }
+
+    /**
+     * Verifying that whole numbers are formatted without decimals.
+     */
+    @Test
+    void wholeNumbersAreFormattedWithoutDecimals() {
+        assertEquals("1200", SvgWriter.formatNumber(1200D));
+    }
+
+    /**
+     * Verifying that numbers can be rounded to fewer decimals.
+     */
+    @Test
+    void numbersAreRoundedToRequestedDecimals() {
+        assertEquals("0.67", SvgWriter.formatNumber(2D / 3D, 2));
+    }
+
+    /**
+     * Verifying that a group without children is written as an empty element.
+     */
+    @Test
+    void groupWithoutChildrenIsWrittenAsEmptyElement() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        SvgWriter writer = new SvgWriter(sb);
+        writer.startDocument(WIDTH, HEIGHT);
+        writer.startGroup();
+        writer.endGroup();
+        writer.endDocument();
+        Svg svg = new Svg().width(WIDTH).height(HEIGHT).viewBox(0, 0, WIDTH, HEIGHT);
+        svg.addElement(new G());
+        assertEquals(svg.asString(), sb.toString());
+    }
+
+    /**
+     * Verifying that nested groups with elements are written the same way as
+     * tsvgj serializes them.
+     */
+    @Test
+    void nestedGroupsAreWrittenAsByTsvgj() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        SvgWriter writer = new SvgWriter(sb);
+        writer.startDocument(WIDTH, HEIGHT);
+        writer.startGroup();
+        writer.startGroup();
+        writer.writeElement(new Rect().x(1).y(2));
+        writer.endGroup();
+        writer.writeElement(new Rect());
+        writer.endGroup();
+        writer.endDocument();
+        Svg svg = new Svg().width(WIDTH).height(HEIGHT).viewBox(0, 0, WIDTH, HEIGHT);
+        G inner = new G();
+        inner.addElement(new Rect().x(1).y(2));
+        G outer = new G();
+        outer.addElement(inner);
+        outer.addElement(new Rect());
+        svg.addElement(outer);
+        assertEquals(svg.asString(), sb.toString());
+    }
+
+    /**
+     * Verifying that the definitions of patterns are written the same way as
+     * tsvgj serializes them, including the references to the patterns.
+     */
+    @Test
+    void definitionsAreWrittenAsByTsvgj() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        SvgWriter writer = new SvgWriter(sb);
+        writer.startDocument(WIDTH, HEIGHT);
+        Pattern writtenPattern = createPattern();
+        writer.writeDefinitions(List.of(writtenPattern));
+        writer.writeElement(new Rect().fill(writtenPattern));
+        writer.endDocument();
+        Svg svg = new Svg().width(WIDTH).height(HEIGHT).viewBox(0, 0, WIDTH, HEIGHT);
+        Pattern pattern = createPattern();
+        svg.registerElementForReference(pattern);
+        svg.addElement(new Rect().fill(pattern));
+        assertEquals(svg.asString(), sb.toString());
+    }
+
+    /**
+     * Verifying that nothing is written for an empty list of patterns.
+     */
+    @Test
+    void noDefinitionsAreWrittenForNoPatterns() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        new SvgWriter(sb).writeDefinitions(List.of());
+        assertEquals("", sb.toString());
+    }
+
+    /**
+     * Creates a pattern.
+     *
+     * @return A pattern.
+     */
+    private Pattern createPattern() {
+        Pattern pattern = new Pattern().height(TEN).width(TEN);
+        pattern.addElement(new Line().x1(0).y1(0).x2(0).y2(TEN).stroke(0));
+        return pattern;
+    }
+}
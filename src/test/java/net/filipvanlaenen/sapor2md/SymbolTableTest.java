@@ -0,0 +1,87 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>SymbolTable</code> class.
+ */
+public class SymbolTableTest {
+    /**
+     * The symbol table to run the tests on, with the symbols "Foo" and "Bar"
+     * interned in that order.
+     */
+    private SymbolTable symbolTable;
+
+    /**
+     * Creates a symbol table with two symbols.
+     */
+    @BeforeEach
+    void createSymbolTable() {
+        symbolTable = new SymbolTable();
+        symbolTable.intern("Foo");
+        symbolTable.intern("Bar");
+    }
+
+    /**
+     * Verifying that the first symbol interned gets ID zero.
+     */
+    @Test
+    void firstSymbolGetsIdZero() {
+        assertEquals(0, symbolTable.getId("Foo"));
+    }
+
+    /**
+     * Verifying that the second symbol interned gets ID one.
+     */
+    @Test
+    void secondSymbolGetsIdOne() {
+        assertEquals(1, symbolTable.getId("Bar"));
+    }
+
+    /**
+     * Verifying that interning a symbol again returns the same ID.
+     */
+    @Test
+    void internReturnsSameIdForKnownSymbol() {
+        assertEquals(0, symbolTable.intern("Foo"));
+    }
+
+    /**
+     * Verifying that interning a symbol again doesn't add it to the table.
+     */
+    @Test
+    void internDoesNotAddKnownSymbolAgain() {
+        symbolTable.intern("Foo");
+        assertEquals(2, symbolTable.size());
+    }
+
+    /**
+     * Verifying that the ID for an unknown symbol is <code>NO_ID</code>.
+     */
+    @Test
+    void getIdReturnsNoIdForUnknownSymbol() {
+        assertEquals(SymbolTable.NO_ID, symbolTable.getId("Baz"));
+    }
+
+    /**
+     * Verifying that the symbol can be looked up by its ID.
+     */
+    @Test
+    void getSymbolReturnsSymbolForId() {
+        assertEquals("Bar", symbolTable.getSymbol(1));
+    }
+
+    /**
+     * Verifying that voting intentions sharing a symbol table use the same ID for
+     * the same group.
+     */
+    @Test
+    void votingIntentionsSharingSymbolTableUseSameIdForGroup() {
+        VotingIntentions votingIntentions = new VotingIntentions(symbolTable, "Baz",
+                new ProbabilityMassFunction<ProbabilityRange>(new ProbabilityRange(0D, 1D), 1D));
+        assertEquals(2, votingIntentions.getGroupIds()[0]);
+    }
+}
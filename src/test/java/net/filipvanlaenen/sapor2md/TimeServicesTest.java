@@ -1,9 +1,14 @@
 package net.filipvanlaenen.sapor2md;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Locale;
 
 import org.junit.jupiter.api.Test;
 
@@ -20,6 +25,11 @@ public class TimeServicesTest {
      * Local date representing 1 January 2020.
      */
     private static final LocalDate FIRST_OF_JANUARY_2020 = LocalDate.of(TWO_THOUSAND_AND_TWENTY, Month.JANUARY, 1);
+    /**
+     * Timestamp representing midnight on 1 January 2020 in Central European Time.
+     */
+    private static final OffsetDateTime FIRST_OF_JANUARY_2020_CET = OffsetDateTime.of(FIRST_OF_JANUARY_2020,
+            LocalTime.MIDNIGHT, ZoneOffset.ofHours(1));
 
     /**
      * Verifying that when a period has the same start and end date, it is formatted
@@ -59,4 +69,41 @@ public class TimeServicesTest {
         assertEquals("1 January 2020–1 January 2021", TimeServices.formatPeriod(FIRST_OF_JANUARY_2020,
                 LocalDate.of(TWO_THOUSAND_AND_TWENTY_ONE, Month.JANUARY, 1)));
     }
+
+    /**
+     * Verifying that a period is formatted in the requested locale.
+     */
+    @Test
+    void formattedPeriodUsesLocale() {
+        assertEquals("1–2 janvier 2020", TimeServices.formatPeriod(FIRST_OF_JANUARY_2020,
+                LocalDate.of(TWO_THOUSAND_AND_TWENTY, Month.JANUARY, 2), Locale.FRENCH));
+    }
+
+    /**
+     * Verifying that a period that has been formatted before is taken from the
+     * cache.
+     */
+    @Test
+    void formattedPeriodIsCached() {
+        LocalDate end = LocalDate.of(TWO_THOUSAND_AND_TWENTY, Month.MARCH, 1);
+        assertSame(TimeServices.formatPeriod(FIRST_OF_JANUARY_2020, end),
+                TimeServices.formatPeriod(FIRST_OF_JANUARY_2020, end));
+    }
+
+    /**
+     * Verifying that a timestamp is formatted according to RFC 1123.
+     */
+    @Test
+    void timestampIsFormattedAccordingToRfc1123() {
+        assertEquals("Wed, 1 Jan 2020 00:00:00 +0100", TimeServices.formatRfc1123DateTime(FIRST_OF_JANUARY_2020_CET));
+    }
+
+    /**
+     * Verifying that a timestamp is formatted according to ISO 8601 with an
+     * offset.
+     */
+    @Test
+    void timestampIsFormattedAccordingToIsoWithOffset() {
+        assertEquals("2020-01-01T00:00:00+01:00", TimeServices.formatIsoOffsetDateTime(FIRST_OF_JANUARY_2020_CET));
+    }
 }
@@ -77,13 +77,13 @@ public class VotingIntentionsChangesChartTest {
         properties.put(Poll.POLLING_FIRM_KEY, "Baz");
         properties.put(Poll.FIELDWORK_START_KEY, "2020-01-02");
         properties.put(Poll.FIELDWORK_END_KEY, "2020-01-03");
-        Poll poll = new InMemoryPoll("2020-01-03-Baz", properties);
         VotingIntentions votingIntentions = new VotingIntentions("Red Party",
                 VotingIntentionsTestServices.createProbabilityMassFunctionForConfidenceInterval(
                         RED_PARTY_CONFIDENCE_INTERVAL_LOWER_BOUND, RED_PARTY_CONFIDENCE_INTERVAL_UPPER_BOUND),
                 "Green Party", VotingIntentionsTestServices.createProbabilityMassFunctionForConfidenceInterval(
                         GREEN_PARTY_CONFIDENCE_INTERVAL_LOWER_BOUND, GREEN_PARTY_CONFIDENCE_INTERVAL_UPPER_BOUND));
-        poll.setVotingIntentions(votingIntentions);
+        Poll poll = new InMemoryPoll(
+                new Poll.Builder("2020-01-03-Baz", properties).setVotingIntentions(votingIntentions));
         chart = new VotingIntentionsChangesChart(directory, poll);
     }
 
@@ -61,7 +61,9 @@ public class VotingIntentionsChartTest {
     private VotingIntentionsChart chart;
 
     /**
-     * Creates a voting intentions chart to run the tests on.
+     * Creates a voting intentions chart to run the tests on. The widths of the
+     * labels are approximated with the width of the letter M, such that the
+     * tests don't depend on the fonts installed.
      */
     @BeforeEach
     void createChart() {
@@ -79,14 +81,15 @@ public class VotingIntentionsChartTest {
         properties.put(Poll.POLLING_FIRM_KEY, "Baz");
         properties.put(Poll.FIELDWORK_START_KEY, "2020-01-02");
         properties.put(Poll.FIELDWORK_END_KEY, "2020-01-03");
-        Poll poll = new InMemoryPoll("2020-01-03-Baz", properties);
         VotingIntentions votingIntentions = new VotingIntentions("Red Party",
                 VotingIntentionsTestServices.createProbabilityMassFunctionForConfidenceInterval(
                         RED_PARTY_CONFIDENCE_INTERVAL_LOWER_BOUND, RED_PARTY_CONFIDENCE_INTERVAL_UPPER_BOUND),
                 GREEN_PARTY, VotingIntentionsTestServices.createProbabilityMassFunctionForConfidenceInterval(
                         GREEN_PARTY_CONFIDENCE_INTERVAL_LOWER_BOUND, GREEN_PARTY_CONFIDENCE_INTERVAL_UPPER_BOUND));
-        poll.setVotingIntentions(votingIntentions);
+        Poll poll = new InMemoryPoll(
+                new Poll.Builder("2020-01-03-Baz", properties).setVotingIntentions(votingIntentions));
         chart = new VotingIntentionsChart(directory, poll);
+        chart.setLabelGlyphAdvanceTable(GlyphAdvanceTable.createApproximation(Chart.M_WIDTH));
     }
 
     /**
@@ -151,14 +154,6 @@ public class VotingIntentionsChartTest {
         sb.append(" patternUnits=\"userSpaceOnUse\" width=\"10\">\n");
         sb.append("      <line stroke=\"#000000\" stroke-width=\"6.666667\" x1=\"0\" x2=\"0\" y1=\"0\" y2=\"10\"/>\n");
         sb.append("    </pattern>\n");
-        sb.append("    <pattern id=\"pattern-3\" height=\"10\" patternTransform=\"rotate(45 0,0)\"");
-        sb.append(" patternUnits=\"userSpaceOnUse\" width=\"10\">\n");
-        sb.append("      <line stroke=\"#000000\" stroke-width=\"6.666667\" x1=\"0\" x2=\"0\" y1=\"0\" y2=\"10\"/>\n");
-        sb.append("    </pattern>\n");
-        sb.append("    <pattern id=\"pattern-4\" height=\"10\" patternTransform=\"rotate(135 0,0)\"");
-        sb.append(" patternUnits=\"userSpaceOnUse\" width=\"10\">\n");
-        sb.append("      <line stroke=\"#000000\" stroke-width=\"6.666667\" x1=\"0\" x2=\"0\" y1=\"0\" y2=\"10\"/>\n");
-        sb.append("    </pattern>\n");
         sb.append("  </defs>\n");
         sb.append("  <g>\n");
         sb.append("    <g>\n");
@@ -192,9 +187,9 @@ public class VotingIntentionsChartTest {
         sb.append(" y=\"350.666667\">Green Party</text>\n");
         sb.append("        <rect/>\n");
         sb.append("        <text></text>\n");
-        sb.append("        <rect fill=\"url(#pattern-3)\" height=\"80\" stroke=\"#000000\" stroke-width=\"5\"");
+        sb.append("        <rect fill=\"url(#pattern-1)\" height=\"80\" stroke=\"#000000\" stroke-width=\"5\"");
         sb.append(" width=\"717.948718\" x=\"312.052\" y=\"284\"/>\n");
-        sb.append("        <rect fill=\"url(#pattern-4)\" height=\"80\" stroke=\"#000000\" stroke-width=\"5\"");
+        sb.append("        <rect fill=\"url(#pattern-2)\" height=\"80\" stroke=\"#000000\" stroke-width=\"5\"");
         sb.append(" width=\"615.384615\" x=\"312.052\" y=\"284\"/>\n");
         sb.append("        <rect fill=\"#000000\" height=\"80\" width=\"515.384615\" x=\"312.052\" y=\"284\"/>\n");
         sb.append("        <text fill=\"#112233\" font-family=\"Lato\" font-size=\"36\" font-style=\"normal\"");
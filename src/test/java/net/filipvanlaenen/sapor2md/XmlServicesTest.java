@@ -0,0 +1,80 @@
+package net.filipvanlaenen.sapor2md;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>XmlServices</code> class.
+ */
+public class XmlServicesTest {
+    /**
+     * Verifying that a text without characters to encode is returned as is.
+     */
+    @Test
+    void encodeReturnsSameInstanceIfNothingNeedsEncoding() {
+        String text = "Foo Bar";
+        assertSame(text, XmlServices.encode(text));
+    }
+
+    /**
+     * Verifying that the ampersand is encoded.
+     */
+    @Test
+    void encodeEncodesAmpersand() {
+        assertEquals("Foo &amp; Bar", XmlServices.encode("Foo & Bar"));
+    }
+
+    /**
+     * Verifying that the less-than and greater-than signs are encoded.
+     */
+    @Test
+    void encodeEncodesLessThanAndGreaterThanSigns() {
+        assertEquals("&lt;Foo&gt;", XmlServices.encode("<Foo>"));
+    }
+
+    /**
+     * Verifying that the double quote isn't encoded in element content.
+     */
+    @Test
+    void encodeDoesNotEncodeDoubleQuote() {
+        String text = "\"Foo\"";
+        assertSame(text, XmlServices.encode(text));
+    }
+
+    /**
+     * Verifying that the double quote is encoded in an attribute value.
+     *
+     * @throws IOException Thrown if appending fails.
+     */
+    @Test
+    void appendEncodedAttributeEncodesDoubleQuote() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        XmlServices.appendEncodedAttribute(sb, "\"Foo\" & <Bar>");
+        assertEquals("&quot;Foo&quot; &amp; &lt;Bar&gt;", sb.toString());
+    }
+
+    /**
+     * Verifying that an ampersand that is already part of an entity is encoded
+     * again.
+     */
+    @Test
+    void encodeEncodesAmpersandOfEntity() {
+        assertEquals("&amp;amp;", XmlServices.encode("&amp;"));
+    }
+
+    /**
+     * Verifying that the encoded text is appended to an appendable.
+     *
+     * @throws IOException Thrown if appending fails.
+     */
+    @Test
+    void appendEncodedAppendsEncodedText() throws IOException {
+        StringBuilder sb = new StringBuilder("Baz: ");
+        XmlServices.appendEncoded(sb, "Foo & <Bar>");
+        assertEquals("Baz: Foo &amp; &lt;Bar&gt;", sb.toString());
+    }
+}